@@ -1,22 +1,41 @@
 package com.sems.document.adapter.elasticsearch;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import co.elastic.clients.json.JsonData;
+import com.sems.document.application.exception.SearchCursorExpiredException;
 import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentSearchHit;
+import com.sems.document.domain.model.DocumentSearchPage;
 import com.sems.document.domain.port.SearchService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,14 +44,58 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ElasticsearchService implements SearchService {
 
+    private static final String INDEX_DEFINITION = "elasticsearch/documents-index.json";
+    // Filter fields that must be keywords for term queries to match whole ids
+    private static final List<String> KEYWORD_FIELDS = List.of("expenseId", "uploadedBy", "documentType");
+
     private final ElasticsearchClient elasticsearchClient;
 
+    // Fields required to build a DocumentResponse; everything else stays out of the hit payload
+    private static final List<String> RESPONSE_FIELDS = List.of(
+            "id", "fileName", "originalFileName", "contentType", "fileSize", "s3Url", "expenseId",
+            "uploadedBy", "documentType", "uploadedAt", "updatedAt", "description", "tags");
+
     @Value("${app.elasticsearch.index-name}")
     private String indexName;
 
+    @Value("${app.elasticsearch.search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.elasticsearch.search.pit-keep-alive:1m}")
+    private String pitKeepAlive;
+
+    // Set once the index is known to exist, so the first write can't create it with dynamic mappings
+    private volatile boolean indexReady;
+
+    @PostConstruct
+    public void initIndex() {
+        try {
+            ensureIndex();
+        } catch (Exception e) {
+            log.warn("Could not check search index {}, will retry before the next write: {}", indexName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void recreateIndex() {
+        try {
+            synchronized (this) {
+                if (elasticsearchClient.indices().exists(e -> e.index(indexName)).value()) {
+                    elasticsearchClient.indices().delete(d -> d.index(indexName));
+                }
+                createIndex();
+                indexReady = true;
+            }
+            log.info("Recreated search index {}", indexName);
+        } catch (IOException e) {
+            throw new RuntimeException("Error recreating search index " + indexName, e);
+        }
+    }
+
     @Override
     public void indexDocument(Document document) {
         try {
+            ensureIndex();
             IndexRequest<Document> indexRequest = IndexRequest.of(i -> i
                     .index(indexName)
                     .id(document.getId().toString())
@@ -46,6 +109,43 @@ public class ElasticsearchService implements SearchService {
         }
     }
 
+    @Override
+    public Map<UUID, String> bulkIndex(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        try {
+            ensureIndex();
+            BulkRequest.Builder bulkRequest = new BulkRequest.Builder();
+            for (Document document : documents) {
+                bulkRequest.operations(op -> op
+                        .index(i -> i
+                                .index(indexName)
+                                .id(document.getId().toString())
+                                .document(document)));
+            }
+
+            BulkResponse response = elasticsearchClient.bulk(bulkRequest.build());
+
+            // Collect per-item failures so callers can retry only the documents that were rejected
+            Map<UUID, String> failures = new HashMap<>();
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    if (item.error() != null) {
+                        failures.put(UUID.fromString(item.id()), item.error().reason());
+                    }
+                }
+            }
+            log.info("Bulk indexed {} documents in {} ms, failures: {}", 
+                    documents.size(), response.took(), failures.size());
+            return failures;
+        } catch (IOException e) {
+            log.error("Error bulk indexing documents in Elasticsearch", e);
+            throw new RuntimeException("Error bulk indexing documents in Elasticsearch", e);
+        }
+    }
+
     @Override
     public void updateDocument(Document document) {
         indexDocument(document); // Same operation in Elasticsearch
@@ -65,25 +165,62 @@ public class ElasticsearchService implements SearchService {
     }
 
     @Override
-    public List<Document> search(String query) {
-        try {
-            Query searchQuery = Query.of(q -> q
-                    .multiMatch(m -> m
-                            .query(query)
-                            .fields("fileName", "description", "tags", "contentType")));
+    public DocumentSearchPage search(DocumentSearchCriteria criteria) {
+        int size = criteria.getSize() > 0 ? Math.min(criteria.getSize(), maxPageSize) : maxPageSize;
+        SearchCursor cursor = criteria.getCursor() != null ? SearchCursor.decode(criteria.getCursor()) : null;
 
-            SearchRequest searchRequest = SearchRequest.of(s -> s
+        try {
+            // A point in time keeps deep paging stable while documents are being indexed
+            String pitId = cursor != null ? cursor.pitId() : elasticsearchClient.openPointInTime(o -> o
                     .index(indexName)
-                    .query(searchQuery));
+                    .keepAlive(k -> k.time(pitKeepAlive))).id();
+
+            SearchRequest searchRequest = SearchRequest.of(s -> {
+                s.pit(p -> p.id(pitId).keepAlive(k -> k.time(pitKeepAlive)))
+                        .query(buildQuery(criteria))
+                        .size(size)
+                        .sort(so -> so.field(f -> f.field("uploadedAt").order(SortOrder.Desc)))
+                        .sort(so -> so.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                        .source(src -> src.filter(f -> f.includes(RESPONSE_FIELDS)))
+                        .highlight(h -> h
+                                .fields("fileName", f -> f)
+                                .fields("description", f -> f))
+                        .trackTotalHits(t -> t.enabled(false));
+                if (cursor != null) {
+                    s.searchAfter(cursor.searchAfterValues());
+                }
+                return s;
+            });
 
             SearchResponse<Document> response = elasticsearchClient.search(searchRequest, Document.class);
+            List<Hit<Document>> hits = response.hits().hits();
 
-            return response.hits().hits().stream()
-                    .map(hit -> hit.source())
-                    .collect(Collectors.toList());
+            String nextCursor = null;
+            String nextPitId = response.pitId() != null ? response.pitId() : pitId;
+            if (hits.size() == size) {
+                nextCursor = SearchCursor.of(nextPitId, hits.get(hits.size() - 1).sort()).encode();
+            } else {
+                closePointInTime(nextPitId);
+            }
+
+            return DocumentSearchPage.builder()
+                    .hits(hits.stream()
+                            .map(hit -> DocumentSearchHit.builder()
+                                    .document(hit.source())
+                                    .highlights(hit.highlight())
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .nextCursor(nextCursor)
+                    .build();
+        } catch (ElasticsearchException e) {
+            // Elasticsearch answers 404 once the cursor's point in time has outlived its keep-alive
+            if (cursor != null && e.status() == 404) {
+                throw new SearchCursorExpiredException("Search cursor expired, start the search again", e);
+            }
+            throw e;
         } catch (IOException e) {
             log.error("Error searching documents in Elasticsearch", e);
-            return new ArrayList<>();
+            throw new RuntimeException("Error searching documents in Elasticsearch", e);
         }
     }
 
@@ -103,7 +240,9 @@ public class ElasticsearchService implements SearchService {
 
             SearchRequest searchRequest = SearchRequest.of(s -> s
                     .index(indexName)
-                    .query(searchQuery));
+                    .query(searchQuery)
+                    .source(src -> src.filter(f -> f.includes(RESPONSE_FIELDS)))
+                    .size(maxPageSize));
 
             SearchResponse<Document> response = elasticsearchClient.search(searchRequest, Document.class);
 
@@ -115,4 +254,89 @@ public class ElasticsearchService implements SearchService {
             return new ArrayList<>();
         }
     }
-} 
\ No newline at end of file
+
+    private Query buildQuery(DocumentSearchCriteria criteria) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        if (criteria.getQuery() != null && !criteria.getQuery().isBlank()) {
+            bool.must(m -> m.multiMatch(mm -> mm
+                    .query(criteria.getQuery())
+                    .fields("fileName", "description", "tags", "contentType")));
+        }
+        // Filters do not contribute to scoring and are cacheable by Elasticsearch
+        if (criteria.getExpenseId() != null) {
+            bool.filter(f -> f.term(t -> t.field("expenseId").value(criteria.getExpenseId().toString())));
+        }
+        if (criteria.getUploadedBy() != null) {
+            bool.filter(f -> f.term(t -> t.field("uploadedBy").value(criteria.getUploadedBy().toString())));
+        }
+        if (criteria.getDocumentType() != null) {
+            bool.filter(f -> f.term(t -> t.field("documentType").value(criteria.getDocumentType().name())));
+        }
+        if (criteria.getUploadedFrom() != null || criteria.getUploadedTo() != null) {
+            bool.filter(f -> f.range(r -> {
+                r.field("uploadedAt");
+                if (criteria.getUploadedFrom() != null) {
+                    r.gte(JsonData.of(criteria.getUploadedFrom().toString()));
+                }
+                if (criteria.getUploadedTo() != null) {
+                    r.lte(JsonData.of(criteria.getUploadedTo().toString()));
+                }
+                return r;
+            }));
+        }
+
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    private void ensureIndex() throws IOException {
+        if (indexReady) {
+            return;
+        }
+        synchronized (this) {
+            if (indexReady) {
+                return;
+            }
+            if (!elasticsearchClient.indices().exists(e -> e.index(indexName)).value()) {
+                createIndex();
+            } else {
+                checkMapping();
+            }
+            indexReady = true;
+        }
+    }
+
+    private void createIndex() throws IOException {
+        try (InputStream definition = new ClassPathResource(INDEX_DEFINITION).getInputStream()) {
+            elasticsearchClient.indices().create(c -> c.index(indexName).withJson(definition));
+            log.info("Created search index {}", indexName);
+        } catch (ElasticsearchException e) {
+            // Another instance got there first
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                throw e;
+            }
+        }
+    }
+
+    // Indices created before the explicit mapping have text ids that term filters can't match
+    private void checkMapping() throws IOException {
+        for (IndexMappingRecord index : elasticsearchClient.indices().getMapping(g -> g.index(indexName)).result().values()) {
+            for (String field : KEYWORD_FIELDS) {
+                var property = index.mappings().properties().get(field);
+                if (property == null || !property.isKeyword()) {
+                    log.error("Search index {} has no keyword mapping for {}, filters on it won't match; "
+                            + "POST /api/documents/admin/reindex?recreate=true to rebuild it", indexName, field);
+                }
+            }
+        }
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            // The PIT expires on its own after the keep-alive
+            log.warn("Failed to close point in time: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sems.document.adapter.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque paging token carrying the point-in-time id and the sort values of the last hit.
+ * Sort values are the uploadedAt epoch millis and the _shard_doc tiebreaker, both longs.
+ */
+record SearchCursor(String pitId, List<Long> searchAfter) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        StringBuilder raw = new StringBuilder(pitId);
+        for (Long value : searchAfter) {
+            raw.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    List<FieldValue> searchAfterValues() {
+        return searchAfter.stream()
+                .map(FieldValue::of)
+                .toList();
+    }
+
+    static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length < 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException("Missing point in time or sort values");
+            }
+            List<Long> searchAfter = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                searchAfter.add(Long.parseLong(parts[i]));
+            }
+            return new SearchCursor(parts[0], searchAfter);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+
+    static SearchCursor of(String pitId, List<FieldValue> sortValues) {
+        List<Long> searchAfter = sortValues.stream()
+                .map(FieldValue::longValue)
+                .toList();
+        return new SearchCursor(pitId, searchAfter);
+    }
+}
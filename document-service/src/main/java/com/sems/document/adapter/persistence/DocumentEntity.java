@@ -43,4 +43,8 @@ public class DocumentEntity {
     
     @Column(length = 1000)
     private String metadata;
+    
+    private String thumbnailKey;
+    
+    private String previewKey;
 } 
\ No newline at end of file
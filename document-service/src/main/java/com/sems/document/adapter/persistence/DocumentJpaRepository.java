@@ -1,14 +1,35 @@
 package com.sems.document.adapter.persistence;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface DocumentJpaRepository extends JpaRepository<DocumentEntity, UUID> {
     List<DocumentEntity> findByExpenseId(UUID expenseId);
+    List<DocumentEntity> findByExpenseIdIn(Collection<UUID> expenseIds);
     List<DocumentEntity> findByUploadedBy(UUID userId);
     List<DocumentEntity> findByDocumentType(String documentType);
+
+    // Integer.MIN_VALUE fetch size makes the MySQL driver stream rows instead of buffering the result set
+    @Query("SELECT d FROM DocumentEntity d")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    Stream<DocumentEntity> streamAll();
+
+    @Modifying
+    @Query("UPDATE DocumentEntity d SET d.thumbnailKey = :thumbnailKey, d.previewKey = :previewKey WHERE d.id = :id")
+    int updatePreviewKeys(@Param("id") UUID id,
+                          @Param("thumbnailKey") String thumbnailKey,
+                          @Param("previewKey") String previewKey);
 } 
\ No newline at end of file
@@ -1,15 +1,26 @@
 package com.sems.document.adapter.persistence;
 
 import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentSearchHit;
+import com.sems.document.domain.model.DocumentSearchPage;
 import com.sems.document.domain.model.DocumentType;
 import com.sems.document.domain.port.DocumentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -17,6 +28,10 @@ public class DocumentRepositoryImpl implements DocumentRepository {
 
     private final DocumentJpaRepository documentJpaRepository;
     private final DocumentMapper documentMapper;
+    private final EntityManager entityManager;
+
+    @Value("${app.elasticsearch.search.max-page-size:100}")
+    private int maxPageSize;
 
     @Override
     public Document save(Document document) {
@@ -38,6 +53,13 @@ public class DocumentRepositoryImpl implements DocumentRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Document> findByExpenseIds(Collection<UUID> expenseIds) {
+        return documentJpaRepository.findByExpenseIdIn(expenseIds).stream()
+                .map(documentMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Document> findByUploadedBy(UUID userId) {
         return documentJpaRepository.findByUploadedBy(userId).stream()
@@ -52,18 +74,95 @@ public class DocumentRepositoryImpl implements DocumentRepository {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Fallback for when Elasticsearch is unavailable: the same filters, with the text query
+     * matched by the ft_documents_file_name_description FULLTEXT index (see V1 migration),
+     * newest first and paged by keyset on (uploaded_at, id).
+     */
     @Override
-    public List<Document> search(String query) {
-        // Basic implementation - in a real app, could use Elasticsearch here
-        return documentJpaRepository.findAll().stream()
-                .filter(doc -> doc.getFileName().toLowerCase().contains(query.toLowerCase()) || 
-                               doc.getDescription() != null && doc.getDescription().toLowerCase().contains(query.toLowerCase()))
-                .map(documentMapper::toDomain)
-                .collect(Collectors.toList());
+    @SuppressWarnings("unchecked")
+    public DocumentSearchPage search(DocumentSearchCriteria criteria) {
+        int size = criteria.getSize() > 0 ? Math.min(criteria.getSize(), maxPageSize) : maxPageSize;
+        StringBuilder sql = new StringBuilder("SELECT * FROM documents WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (criteria.getQuery() != null && !criteria.getQuery().isBlank()) {
+            sql.append(" AND MATCH(file_name, description) AGAINST (:query IN NATURAL LANGUAGE MODE)");
+            parameters.put("query", criteria.getQuery());
+        }
+        if (criteria.getExpenseId() != null) {
+            sql.append(" AND expense_id = :expenseId");
+            parameters.put("expenseId", bytes(criteria.getExpenseId()));
+        }
+        if (criteria.getUploadedBy() != null) {
+            sql.append(" AND uploaded_by = :uploadedBy");
+            parameters.put("uploadedBy", bytes(criteria.getUploadedBy()));
+        }
+        if (criteria.getDocumentType() != null) {
+            sql.append(" AND document_type = :documentType");
+            parameters.put("documentType", criteria.getDocumentType().name());
+        }
+        if (criteria.getUploadedFrom() != null) {
+            sql.append(" AND uploaded_at >= :uploadedFrom");
+            parameters.put("uploadedFrom", criteria.getUploadedFrom());
+        }
+        if (criteria.getUploadedTo() != null) {
+            sql.append(" AND uploaded_at <= :uploadedTo");
+            parameters.put("uploadedTo", criteria.getUploadedTo());
+        }
+        if (criteria.getCursor() != null) {
+            KeysetCursor cursor = KeysetCursor.decode(criteria.getCursor());
+            sql.append(" AND (uploaded_at < :afterUploadedAt OR (uploaded_at = :afterUploadedAt AND id < :afterId))");
+            parameters.put("afterUploadedAt", cursor.uploadedAt());
+            parameters.put("afterId", bytes(cursor.id()));
+        }
+        sql.append(" ORDER BY uploaded_at DESC, id DESC");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), DocumentEntity.class)
+                .setMaxResults(size);
+        parameters.forEach(query::setParameter);
+        List<DocumentEntity> rows = query.getResultList();
+
+        String nextCursor = null;
+        if (rows.size() == size) {
+            DocumentEntity last = rows.get(rows.size() - 1);
+            nextCursor = new KeysetCursor(last.getUploadedAt(), last.getId()).encode();
+        }
+        return DocumentSearchPage.builder()
+                .hits(rows.stream()
+                        .map(entity -> DocumentSearchHit.builder()
+                                .document(documentMapper.toDomain(entity))
+                                .build())
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public Stream<Document> streamAll() {
+        // Detach each row once mapped so the persistence context stays small during long scans
+        return documentJpaRepository.streamAll()
+                .map(entity -> {
+                    entityManager.detach(entity);
+                    return documentMapper.toDomain(entity);
+                });
+    }
+
+    @Override
+    public boolean updatePreviewKeys(UUID id, String thumbnailKey, String previewKey) {
+        return documentJpaRepository.updatePreviewKeys(id, thumbnailKey, previewKey) > 0;
     }
 
     @Override
     public void deleteById(UUID id) {
         documentJpaRepository.deleteById(id);
     }
+
+    // Ids are stored as BINARY(16)
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.sems.document.adapter.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "document_index_dead_letters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexingDeadLetterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(nullable = false)
+    private UUID documentId;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    private int attempts;
+    
+    private LocalDateTime failedAt;
+}
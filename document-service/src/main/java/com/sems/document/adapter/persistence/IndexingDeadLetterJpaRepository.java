@@ -0,0 +1,10 @@
+package com.sems.document.adapter.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface IndexingDeadLetterJpaRepository extends JpaRepository<IndexingDeadLetterEntity, UUID> {
+}
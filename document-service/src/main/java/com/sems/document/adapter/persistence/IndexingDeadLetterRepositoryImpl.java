@@ -0,0 +1,31 @@
+package com.sems.document.adapter.persistence;
+
+import com.sems.document.domain.port.IndexingDeadLetterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class IndexingDeadLetterRepositoryImpl implements IndexingDeadLetterRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final IndexingDeadLetterJpaRepository deadLetterJpaRepository;
+
+    @Override
+    public void save(UUID documentId, String error, int attempts) {
+        String truncatedError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        
+        deadLetterJpaRepository.save(IndexingDeadLetterEntity.builder()
+                .documentId(documentId)
+                .error(truncatedError)
+                .attempts(attempts)
+                .failedAt(LocalDateTime.now())
+                .build());
+    }
+}
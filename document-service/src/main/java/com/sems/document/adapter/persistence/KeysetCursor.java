@@ -0,0 +1,36 @@
+package com.sems.document.adapter.persistence;
+
+import com.sems.document.domain.model.DocumentSearchCriteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Paging token of the database search fallback: the uploadedAt and id of the last row,
+ * behind {@link DocumentSearchCriteria#FALLBACK_CURSOR_PREFIX}.
+ */
+record KeysetCursor(LocalDateTime uploadedAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = uploadedAt + SEPARATOR + id;
+        return DocumentSearchCriteria.FALLBACK_CURSOR_PREFIX + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(
+                    cursor.substring(DocumentSearchCriteria.FALLBACK_CURSOR_PREFIX.length())), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+}
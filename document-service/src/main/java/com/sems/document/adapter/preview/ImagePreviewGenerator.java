@@ -0,0 +1,55 @@
+package com.sems.document.adapter.preview;
+
+import com.sems.document.domain.model.PreviewVariant;
+import com.sems.document.domain.port.PreviewGenerator;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ImagePreviewGenerator implements PreviewGenerator {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/bmp");
+
+    @Override
+    public boolean supports(String contentType) {
+        return contentType != null && SUPPORTED_TYPES.contains(contentType.toLowerCase());
+    }
+
+    @Override
+    public Map<PreviewVariant, byte[]> generate(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Decode phone-camera photos at reduced resolution instead of materializing every pixel
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / PreviewImages.largestDimension());
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                
+                BufferedImage image = reader.read(0, param);
+                return PreviewImages.encodeVariants(image);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate image preview", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.sems.document.adapter.preview;
+
+import com.sems.document.domain.model.PreviewVariant;
+import com.sems.document.domain.port.PreviewGenerator;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+@Component
+public class PdfPreviewGenerator implements PreviewGenerator {
+
+    @Value("${app.previews.pdf-render-dpi:110}")
+    private float renderDpi;
+
+    @Override
+    public boolean supports(String contentType) {
+        return "application/pdf".equalsIgnoreCase(contentType);
+    }
+
+    @Override
+    public Map<PreviewVariant, byte[]> generate(byte[] content) {
+        try (PDDocument pdf = Loader.loadPDF(content)) {
+            if (pdf.getNumberOfPages() == 0) {
+                throw new IllegalArgumentException("PDF has no pages");
+            }
+            // Only the first page is rendered; receipts and invoices are identified by it
+            BufferedImage firstPage = new PDFRenderer(pdf).renderImageWithDPI(0, renderDpi, ImageType.RGB);
+            return PreviewImages.encodeVariants(firstPage);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate PDF preview", e);
+        }
+    }
+}
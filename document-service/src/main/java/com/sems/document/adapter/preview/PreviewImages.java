@@ -0,0 +1,97 @@
+package com.sems.document.adapter.preview;
+
+import com.sems.document.domain.model.PreviewVariant;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+final class PreviewImages {
+
+    private PreviewImages() {
+    }
+
+    static int largestDimension() {
+        int largest = 0;
+        for (PreviewVariant variant : PreviewVariant.values()) {
+            largest = Math.max(largest, variant.getMaxDimension());
+        }
+        return largest;
+    }
+
+    /**
+     * Scales the source down to every variant, largest first so each step starts
+     * from the closest bigger image, and encodes the results as JPEG.
+     */
+    static Map<PreviewVariant, byte[]> encodeVariants(BufferedImage source) throws IOException {
+        Map<PreviewVariant, byte[]> variants = new EnumMap<>(PreviewVariant.class);
+        BufferedImage current = toRgb(source);
+        
+        PreviewVariant[] ordered = PreviewVariant.values().clone();
+        Arrays.sort(ordered, (a, b) -> Integer.compare(b.getMaxDimension(), a.getMaxDimension()));
+        for (PreviewVariant variant : ordered) {
+            current = downscale(current, variant.getMaxDimension());
+            variants.put(variant, toJpeg(current));
+        }
+        return variants;
+    }
+
+    // Halving repeatedly keeps bilinear downscaling sharp without the cost of area averaging
+    private static BufferedImage downscale(BufferedImage image, int maxDimension) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = Math.max(targetHeight, current.getHeight() / 2);
+            current = resize(current, nextWidth, nextHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    // JPEG has no alpha channel, so transparent PNGs are flattened onto white
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
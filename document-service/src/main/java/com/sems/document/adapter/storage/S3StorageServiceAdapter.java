@@ -1,5 +1,6 @@
 package com.sems.document.adapter.storage;
 
+import com.sems.document.application.exception.ResourceNotFoundException;
 import com.sems.document.domain.port.StorageService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,7 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
@@ -93,6 +95,8 @@ public class S3StorageServiceAdapter implements StorageService {
             ResponseBytes<GetObjectResponse> objectBytes = s3Client.getObjectAsBytes(request);
             log.info("Downloaded file from S3: {}", fileKey);
             return objectBytes.asByteArray();
+        } catch (NoSuchKeyException e) {
+            throw new ResourceNotFoundException("File not found in S3: " + fileKey);
         } catch (Exception e) {
             log.error("Failed to download file from S3", e);
             throw new RuntimeException("Failed to download file from S3: " + e.getMessage());
@@ -0,0 +1,35 @@
+package com.sems.document.adapter.web;
+
+import com.sems.document.application.service.DocumentReindexJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/documents/admin")
+@RequiredArgsConstructor
+public class DocumentAdminController {
+    private final DocumentReindexJob documentReindexJob;
+
+    @PostMapping("/reindex")
+    public ResponseEntity<Map<String, Boolean>> reindex(@RequestParam(defaultValue = "false") boolean recreate) {
+        try {
+            documentReindexJob.start(recreate);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("running", true));
+        }
+        return ResponseEntity.accepted().body(Map.of("running", true));
+    }
+
+    @GetMapping("/reindex")
+    public ResponseEntity<Map<String, Boolean>> reindexStatus() {
+        return ResponseEntity.ok(Map.of("running", documentReindexJob.isRunning()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sems.document.adapter.web;
+
+import com.sems.document.application.dto.DocumentResponse;
+import com.sems.document.application.dto.DocumentSearchResponse;
+import com.sems.document.application.exception.SearchCursorExpiredException;
+import com.sems.document.application.service.DocumentPreviewService;
+import com.sems.document.application.service.DocumentService;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentType;
+import com.sems.document.domain.model.PreviewVariant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/documents")
+@RequiredArgsConstructor
+public class DocumentController {
+    private final DocumentService documentService;
+    private final DocumentPreviewService documentPreviewService;
+
+    @Value("${app.documents.batch-lookup.max-expense-ids:500}")
+    private int maxBatchExpenseIds;
+
+    @GetMapping("/search")
+    public ResponseEntity<DocumentSearchResponse> searchDocuments(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID expenseId,
+            @RequestParam(required = false) UUID uploadedBy,
+            @RequestParam(required = false) DocumentType documentType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        DocumentSearchCriteria criteria = DocumentSearchCriteria.builder()
+                .query(q)
+                .expenseId(expenseId)
+                .uploadedBy(uploadedBy)
+                .documentType(documentType)
+                .uploadedFrom(from)
+                .uploadedTo(to)
+                .size(size)
+                .cursor(cursor)
+                .build();
+        try {
+            return ResponseEntity.ok(documentService.searchDocuments(criteria));
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor
+            return ResponseEntity.badRequest().build();
+        } catch (SearchCursorExpiredException e) {
+            // The client has to restart the search; not an outage
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalStateException e) {
+            // Elasticsearch is down and the cursor can only be continued there
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @PostMapping("/by-expenses")
+    public ResponseEntity<Map<UUID, List<DocumentResponse>>> getDocumentsByExpenseIds(
+            @RequestBody List<UUID> expenseIds) {
+        if (expenseIds.size() > maxBatchExpenseIds) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(documentService.getDocumentsByExpenseIds(expenseIds));
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<byte[]> getThumbnail(@PathVariable UUID id) {
+        return previewResponse(id, PreviewVariant.THUMBNAIL);
+    }
+
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<byte[]> getPreview(@PathVariable UUID id) {
+        return previewResponse(id, PreviewVariant.PREVIEW);
+    }
+
+    // Preview content never changes for a document, so browsers may cache it indefinitely
+    private ResponseEntity<byte[]> previewResponse(UUID id, PreviewVariant variant) {
+        return documentPreviewService.getPreview(id, variant)
+                .map(content -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                        .body(content))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
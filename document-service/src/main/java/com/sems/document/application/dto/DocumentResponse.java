@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -28,4 +29,6 @@ public class DocumentResponse {
     private LocalDateTime updatedAt;
     private String description;
     private List<String> tags;
+    // Only populated for search results
+    private Map<String, List<String>> highlights;
 } 
\ No newline at end of file
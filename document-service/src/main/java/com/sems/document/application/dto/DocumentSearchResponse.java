@@ -0,0 +1,17 @@
+package com.sems.document.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchResponse {
+    private List<DocumentResponse> documents;
+    private String nextCursor;
+}
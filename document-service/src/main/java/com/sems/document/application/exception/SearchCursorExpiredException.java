@@ -0,0 +1,14 @@
+package com.sems.document.application.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The point in time behind a search cursor has expired; the client has to start the search again.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class SearchCursorExpiredException extends RuntimeException {
+    public SearchCursorExpiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,199 @@
+package com.sems.document.application.service;
+
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.port.IndexingDeadLetterRepository;
+import com.sems.document.domain.port.SearchService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers documents for Elasticsearch and flushes them with the bulk API, either when a
+ * full batch is queued or on a fixed interval. Failed documents are retried with
+ * exponential backoff and end up in the dead-letter table after the last attempt.
+ */
+@Service
+@Slf4j
+public class DocumentIndexingService {
+
+    private final SearchService searchService;
+    private final IndexingDeadLetterRepository deadLetterRepository;
+    private final TransactionTemplate deadLetterTransaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+
+    private final BlockingQueue<PendingDocument> queue;
+    private final DelayQueue<PendingDocument> retryQueue = new DelayQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "document-indexing-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DocumentIndexingService(SearchService searchService,
+                                   IndexingDeadLetterRepository deadLetterRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.elasticsearch.indexing.batch-size:500}") int batchSize,
+                                   @Value("${app.elasticsearch.indexing.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.elasticsearch.indexing.max-attempts:5}") int maxAttempts,
+                                   @Value("${app.elasticsearch.indexing.initial-backoff-ms:1000}") long initialBackoffMs) {
+        this.searchService = searchService;
+        this.deadLetterRepository = deadLetterRepository;
+        // Dead letters are also written from afterCommit(), where the upload's transaction
+        // is finished but still bound and would swallow a joined insert
+        this.deadLetterTransaction = new TransactionTemplate(transactionManager);
+        this.deadLetterTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queues a document for indexing. Inside a transaction the document is only queued
+     * once the transaction commits, so rolled-back uploads never reach the index.
+     */
+    public void enqueue(Document document) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(new PendingDocument(document, 0, 0));
+                }
+            });
+        } else {
+            offer(new PendingDocument(document, 0, 0));
+        }
+    }
+
+    /**
+     * Hands a document Elasticsearch rejected elsewhere, e.g. during a reindex, to the
+     * retry and dead-letter path, as its first failed attempt.
+     */
+    public void retry(Document document, String error) {
+        retryOrDeadLetter(new PendingDocument(document, 0, 0), error);
+    }
+
+    @Scheduled(fixedDelayString = "${app.elasticsearch.indexing.flush-interval-ms:2000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<PendingDocument> batch = drainBatch();
+            while (!batch.isEmpty()) {
+                indexBatch(batch);
+                batch = queue.size() >= batchSize ? drainBatch() : Collections.emptyList();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+        if (!queue.isEmpty() || !retryQueue.isEmpty()) {
+            log.warn("Shutting down with {} queued and {} retrying documents not indexed",
+                    queue.size(), retryQueue.size());
+        }
+    }
+
+    private void offer(PendingDocument pending) {
+        if (!queue.offer(pending)) {
+            log.warn("Indexing queue full, dead-lettering document: {}", pending.document().getId());
+            deadLetter(pending.document().getId(), "Indexing queue full", pending.attempts());
+            return;
+        }
+        if (queue.size() >= batchSize) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    private List<PendingDocument> drainBatch() {
+        List<PendingDocument> batch = new ArrayList<>(batchSize);
+        retryQueue.drainTo(batch, batchSize);
+        queue.drainTo(batch, batchSize - batch.size());
+        return batch;
+    }
+
+    private void indexBatch(List<PendingDocument> batch) {
+        List<Document> documents = batch.stream()
+                .map(PendingDocument::document)
+                .toList();
+
+        Map<UUID, String> failures;
+        try {
+            failures = searchService.bulkIndex(documents);
+        } catch (Exception e) {
+            log.error("Bulk indexing of {} documents failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> retryOrDeadLetter(pending, e.getMessage()));
+            return;
+        }
+
+        for (PendingDocument pending : batch) {
+            String error = failures.get(pending.document().getId());
+            if (error != null) {
+                retryOrDeadLetter(pending, error);
+            }
+        }
+    }
+
+    private void retryOrDeadLetter(PendingDocument pending, String error) {
+        int attempts = pending.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up indexing document {} after {} attempts: {}",
+                    pending.document().getId(), attempts, error);
+            deadLetter(pending.document().getId(), error, attempts);
+            return;
+        }
+
+        long backoffMs = initialBackoffMs * (1L << (attempts - 1));
+        retryQueue.put(new PendingDocument(pending.document(), attempts, System.currentTimeMillis() + backoffMs));
+    }
+
+    private void deadLetter(UUID documentId, String error, int attempts) {
+        try {
+            deadLetterTransaction.executeWithoutResult(status -> deadLetterRepository.save(documentId, error, attempts));
+        } catch (Exception e) {
+            log.error("Failed to dead-letter document {}: {}", documentId, e.getMessage());
+        }
+    }
+
+    private record PendingDocument(Document document, int attempts, long notBeforeMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(notBeforeMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
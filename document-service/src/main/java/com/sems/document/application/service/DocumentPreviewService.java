@@ -0,0 +1,171 @@
+package com.sems.document.application.service;
+
+import com.sems.document.application.exception.ResourceNotFoundException;
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.PreviewVariant;
+import com.sems.document.domain.port.DocumentRepository;
+import com.sems.document.domain.port.PreviewGenerator;
+import com.sems.document.domain.port.StorageService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates downscaled thumbnails and first-page previews for uploaded documents on a
+ * bounded worker pool and stores them next to the original in object storage.
+ */
+@Service
+@Slf4j
+public class DocumentPreviewService {
+
+    private static final String PREVIEW_CONTENT_TYPE = "image/jpeg";
+
+    private final DocumentRepository documentRepository;
+    private final StorageService storageService;
+    private final List<PreviewGenerator> previewGenerators;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public DocumentPreviewService(DocumentRepository documentRepository,
+                                  StorageService storageService,
+                                  List<PreviewGenerator> previewGenerators,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.previews.worker-threads:2}") int workerThreads,
+                                  @Value("${app.previews.queue-capacity:200}") int queueCapacity) {
+        this.documentRepository = documentRepository;
+        this.storageService = storageService;
+        this.previewGenerators = previewGenerators;
+        this.transactionTemplate = transactionTemplate;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "document-preview-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Schedules preview generation once the surrounding transaction commits. Documents of
+     * unsupported types are ignored.
+     */
+    public void schedule(Document document) {
+        if (findGenerator(document.getContentType()).isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(document);
+                }
+            });
+        } else {
+            submit(document);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getPreview(UUID documentId, PreviewVariant variant) {
+        Document document = documentRepository.findById(documentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
+
+        String key = variant == PreviewVariant.THUMBNAIL ? document.getThumbnailKey() : document.getPreviewKey();
+        return Optional.ofNullable(key).map(storageService::downloadFile);
+    }
+
+    /**
+     * Deletes the stored thumbnail and preview of a document, if any. Failures are logged
+     * rather than thrown, as the document itself is already gone by then.
+     */
+    public void delete(Document document) {
+        for (String key : new String[]{document.getThumbnailKey(), document.getPreviewKey()}) {
+            if (key == null) {
+                continue;
+            }
+            try {
+                storageService.deleteFile(key);
+            } catch (Exception e) {
+                log.warn("Failed to delete preview {} of document {}: {}", key, document.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void submit(Document document) {
+        try {
+            executor.execute(() -> generate(document));
+        } catch (RejectedExecutionException e) {
+            // Previews are best-effort; the original stays downloadable
+            log.warn("Preview queue full, skipping previews for document: {}", document.getId());
+        }
+    }
+
+    private void generate(Document document) {
+        long started = System.currentTimeMillis();
+        try {
+            PreviewGenerator generator = findGenerator(document.getContentType()).orElseThrow();
+            byte[] original = storageService.downloadFile(document.getS3Key());
+            Map<PreviewVariant, byte[]> previews = generator.generate(original);
+
+            String thumbnailKey = store(document, PreviewVariant.THUMBNAIL, previews.get(PreviewVariant.THUMBNAIL));
+            String previewKey = store(document, PreviewVariant.PREVIEW, previews.get(PreviewVariant.PREVIEW));
+            Boolean updated = transactionTemplate.execute(status ->
+                    documentRepository.updatePreviewKeys(document.getId(), thumbnailKey, previewKey));
+            if (!Boolean.TRUE.equals(updated)) {
+                // Deleted while its previews were being generated
+                log.info("Document {} was deleted, discarding its previews", document.getId());
+                delete(Document.builder()
+                        .id(document.getId())
+                        .thumbnailKey(thumbnailKey)
+                        .previewKey(previewKey)
+                        .build());
+                return;
+            }
+
+            log.info("Generated previews for document {} in {} ms",
+                    document.getId(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to generate previews for document {}: {}", document.getId(), e.getMessage());
+        }
+    }
+
+    // Stored beside the original, e.g. documents/<name>_thumbnail.jpg
+    private String store(Document document, PreviewVariant variant, byte[] content) {
+        String fileName = document.getFileName();
+        int extension = fileName.lastIndexOf('.');
+        String baseName = extension > 0 ? fileName.substring(0, extension) : fileName;
+        String previewFileName = baseName + "_" + variant.name().toLowerCase() + ".jpg";
+
+        return storageService.uploadFile(previewFileName, new ByteArrayInputStream(content), PREVIEW_CONTENT_TYPE);
+    }
+
+    private Optional<PreviewGenerator> findGenerator(String contentType) {
+        return previewGenerators.stream()
+                .filter(generator -> generator.supports(contentType))
+                .findFirst();
+    }
+}
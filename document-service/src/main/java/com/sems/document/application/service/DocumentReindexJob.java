@@ -0,0 +1,128 @@
+package com.sems.document.application.service;
+
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.port.DocumentRepository;
+import com.sems.document.domain.port.SearchService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the search index in the background by streaming every row of the documents
+ * table and sending it to Elasticsearch in bulk batches. Documents Elasticsearch rejects
+ * go through the indexing retry and dead-letter path.
+ */
+@Service
+@Slf4j
+public class DocumentReindexJob {
+
+    private final DocumentRepository documentRepository;
+    private final SearchService searchService;
+    private final DocumentIndexingService documentIndexingService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "document-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DocumentReindexJob(DocumentRepository documentRepository,
+                              SearchService searchService,
+                              DocumentIndexingService documentIndexingService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.elasticsearch.reindex.batch-size:1000}") int batchSize) {
+        this.documentRepository = documentRepository;
+        this.searchService = searchService;
+        this.documentIndexingService = documentIndexingService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts a reindex in the background, optionally into a freshly created index, which
+     * is needed after a mapping change. Searches fall back to the database while it's empty.
+     *
+     * @throws IllegalStateException if one is already running
+     */
+    public void start(boolean recreateIndex) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reindex already in progress");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (recreateIndex) {
+                        searchService.recreateIndex();
+                    }
+                    reindexAll();
+                } catch (Exception e) {
+                    log.error("Reindex failed: {}", e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return number of documents indexed on the first attempt
+     */
+    long reindexAll() {
+        long started = System.currentTimeMillis();
+        Long indexed = readOnlyTransaction.execute(status -> {
+            long succeeded = 0;
+            long retried = 0;
+            try (Stream<Document> documents = documentRepository.streamAll()) {
+                List<Document> batch = new ArrayList<>(batchSize);
+                Iterator<Document> iterator = documents.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize || !iterator.hasNext()) {
+                        Map<UUID, String> failures = searchService.bulkIndex(batch);
+                        for (Document document : batch) {
+                            String error = failures.get(document.getId());
+                            if (error != null) {
+                                documentIndexingService.retry(document, error);
+                            }
+                        }
+                        succeeded += batch.size() - failures.size();
+                        retried += failures.size();
+                        batch.clear();
+                    }
+                }
+            }
+            log.info("Reindex completed: {} documents indexed, {} handed over for retry in {} ms",
+                    succeeded, retried, System.currentTimeMillis() - started);
+            return succeeded;
+        });
+        return indexed != null ? indexed : 0;
+    }
+}
@@ -15,6 +15,7 @@ public interface DocumentResponseMapper {
     
     @Mapping(target = "url", source = "s3Url")
     @Mapping(target = "tags", source = "tags", qualifiedByName = "stringToList")
+    @Mapping(target = "highlights", ignore = true)
     DocumentResponse toResponse(Document document);
     
     @Named("stringToList")
@@ -1,8 +1,13 @@
 package com.sems.document.application.service;
 
 import com.sems.document.application.dto.DocumentResponse;
+import com.sems.document.application.dto.DocumentSearchResponse;
 import com.sems.document.application.dto.DocumentUploadRequest;
+import com.sems.document.application.exception.ResourceNotFoundException;
+import com.sems.document.application.exception.SearchCursorExpiredException;
 import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentSearchPage;
 import com.sems.document.domain.port.DocumentRepository;
 import com.sems.document.domain.port.SearchService;
 import com.sems.document.domain.port.StorageService;
@@ -14,8 +19,12 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +36,8 @@ public class DocumentService {
     private final StorageService storageService;
     private final SearchService searchService;
     private final DocumentResponseMapper documentMapper;
+    private final DocumentIndexingService documentIndexingService;
+    private final DocumentPreviewService documentPreviewService;
     
     @Transactional
     public DocumentResponse uploadDocument(MultipartFile file, DocumentUploadRequest request) {
@@ -66,8 +77,11 @@ public class DocumentService {
             // Save to database
             Document savedDocument = documentRepository.save(document);
             
-            // Index in Elasticsearch
-            searchService.indexDocument(savedDocument);
+            // Queue for bulk indexing in Elasticsearch once the upload commits
+            documentIndexingService.enqueue(savedDocument);
+            
+            // Generate thumbnail and preview in the background
+            documentPreviewService.schedule(savedDocument);
             
             return documentMapper.toResponse(savedDocument);
         } catch (IOException e) {
@@ -79,7 +93,7 @@ public class DocumentService {
     @Transactional(readOnly = true)
     public DocumentResponse getDocumentById(UUID id) {
         Document document = documentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
         return documentMapper.toResponse(document);
     }
     
@@ -90,6 +104,25 @@ public class DocumentService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Resolves attachments for many expenses with a single indexed query. Every requested
+     * expense id is present in the result, in request order, with an empty list if it has
+     * no documents.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, List<DocumentResponse>> getDocumentsByExpenseIds(Collection<UUID> expenseIds) {
+        Map<UUID, List<DocumentResponse>> documentsByExpense = new LinkedHashMap<>();
+        expenseIds.forEach(expenseId -> documentsByExpense.put(expenseId, new ArrayList<>()));
+        if (documentsByExpense.isEmpty()) {
+            return documentsByExpense;
+        }
+        
+        documentRepository.findByExpenseIds(documentsByExpense.keySet())
+            .forEach(document -> documentsByExpense.get(document.getExpenseId())
+                .add(documentMapper.toResponse(document)));
+        return documentsByExpense;
+    }
+    
     @Transactional(readOnly = true)
     public List<DocumentResponse> getDocumentsByUserId(UUID userId) {
         return documentRepository.findByUploadedBy(userId).stream()
@@ -100,10 +133,11 @@ public class DocumentService {
     @Transactional
     public void deleteDocument(UUID id) {
         Document document = documentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
         
-        // Delete from S3
+        // Delete from S3, along with the generated thumbnail and preview
         storageService.deleteFile(document.getS3Key());
+        documentPreviewService.delete(document);
         
         // Delete from database
         documentRepository.deleteById(id);
@@ -115,17 +149,47 @@ public class DocumentService {
     @Transactional(readOnly = true)
     public byte[] downloadDocument(UUID id) {
         Document document = documentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
         
         return storageService.downloadFile(document.getS3Key());
     }
     
+    /**
+     * Searches Elasticsearch, or the database full-text index while Elasticsearch is
+     * unavailable. A fallback page's cursor continues in the database; a cursor from
+     * Elasticsearch can't be continued there, so that search has to be started over.
+     */
     @Transactional(readOnly = true)
-    public List<DocumentResponse> searchDocuments(String query) {
-        List<Document> documents = documentRepository.search(query);
-        return documents.stream()
-            .map(documentMapper::toResponse)
+    public DocumentSearchResponse searchDocuments(DocumentSearchCriteria criteria) {
+        DocumentSearchPage page;
+        if (criteria.hasFallbackCursor()) {
+            page = documentRepository.search(criteria);
+        } else {
+            try {
+                page = searchService.search(criteria);
+            } catch (IllegalArgumentException | SearchCursorExpiredException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (criteria.getCursor() != null) {
+                    throw new IllegalStateException("Search service unavailable, start the search again", e);
+                }
+                log.warn("Search service unavailable, falling back to database search: {}", e.getMessage());
+                page = documentRepository.search(criteria);
+            }
+        }
+
+        List<DocumentResponse> documents = page.getHits().stream()
+            .map(hit -> {
+                DocumentResponse response = documentMapper.toResponse(hit.getDocument());
+                response.setHighlights(hit.getHighlights());
+                return response;
+            })
             .collect(Collectors.toList());
+        
+        return DocumentSearchResponse.builder()
+            .documents(documents)
+            .nextCursor(page.getNextCursor())
+            .build();
     }
     
     @Transactional(readOnly = true)
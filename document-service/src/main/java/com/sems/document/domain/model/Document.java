@@ -27,4 +27,6 @@ public class Document {
     private LocalDateTime updatedAt;
     private String description;
     private String tags;
+    private String thumbnailKey;
+    private String previewKey;
 } 
\ No newline at end of file
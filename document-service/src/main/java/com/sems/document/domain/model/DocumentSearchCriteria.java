@@ -0,0 +1,33 @@
+package com.sems.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchCriteria {
+
+    // Cursors issued by the database fallback carry this prefix, so their pages continue there
+    public static final String FALLBACK_CURSOR_PREFIX = "db.";
+
+    private String query;
+    private UUID expenseId;
+    private UUID uploadedBy;
+    private DocumentType documentType;
+    private LocalDateTime uploadedFrom;
+    private LocalDateTime uploadedTo;
+    private int size;
+    // Opaque token returned with the previous page; null requests the first page
+    private String cursor;
+
+    public boolean hasFallbackCursor() {
+        return cursor != null && cursor.startsWith(FALLBACK_CURSOR_PREFIX);
+    }
+}
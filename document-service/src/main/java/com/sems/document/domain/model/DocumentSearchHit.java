@@ -0,0 +1,18 @@
+package com.sems.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchHit {
+    private Document document;
+    private Map<String, List<String>> highlights;
+}
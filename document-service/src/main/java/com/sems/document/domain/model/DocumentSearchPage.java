@@ -0,0 +1,18 @@
+package com.sems.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchPage {
+    private List<DocumentSearchHit> hits;
+    // Null when there are no further pages
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.sems.document.domain.model;
+
+public enum PreviewVariant {
+    THUMBNAIL(200),
+    PREVIEW(1024);
+
+    private final int maxDimension;
+
+    PreviewVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
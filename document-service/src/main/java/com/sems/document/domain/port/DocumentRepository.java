@@ -1,18 +1,26 @@
 package com.sems.document.domain.port;
 
 import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentSearchPage;
 import com.sems.document.domain.model.DocumentType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface DocumentRepository {
     Document save(Document document);
     Optional<Document> findById(UUID id);
     List<Document> findByExpenseId(UUID expenseId);
+    List<Document> findByExpenseIds(Collection<UUID> expenseIds);
     List<Document> findByUploadedBy(UUID userId);
     List<Document> findByDocumentType(DocumentType documentType);
-    List<Document> search(String query);
+    DocumentSearchPage search(DocumentSearchCriteria criteria);
+    Stream<Document> streamAll();
+    // False if the document no longer exists
+    boolean updatePreviewKeys(UUID id, String thumbnailKey, String previewKey);
     void deleteById(UUID id);
 } 
\ No newline at end of file
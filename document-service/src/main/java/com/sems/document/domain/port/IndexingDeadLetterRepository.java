@@ -0,0 +1,7 @@
+package com.sems.document.domain.port;
+
+import java.util.UUID;
+
+public interface IndexingDeadLetterRepository {
+    void save(UUID documentId, String error, int attempts);
+}
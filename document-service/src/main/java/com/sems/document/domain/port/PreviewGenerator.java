@@ -0,0 +1,10 @@
+package com.sems.document.domain.port;
+
+import com.sems.document.domain.model.PreviewVariant;
+
+import java.util.Map;
+
+public interface PreviewGenerator {
+    boolean supports(String contentType);
+    Map<PreviewVariant, byte[]> generate(byte[] content);
+}
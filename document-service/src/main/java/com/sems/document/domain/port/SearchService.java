@@ -1,14 +1,20 @@
 package com.sems.document.domain.port;
 
 import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentSearchPage;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface SearchService {
+    // Drops the index and creates it empty with the current mapping
+    void recreateIndex();
     void indexDocument(Document document);
+    Map<UUID, String> bulkIndex(List<Document> documents);
     void updateDocument(Document document);
     void deleteDocument(UUID id);
-    List<Document> search(String query);
+    DocumentSearchPage search(DocumentSearchCriteria criteria);
     List<Document> findByTags(List<String> tags);
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- Create documents table (no-op on databases previously created by Hibernate)
+CREATE TABLE IF NOT EXISTS documents (
+    id BINARY(16) PRIMARY KEY,
+    file_name VARCHAR(255),
+    content_type VARCHAR(255),
+    file_size BIGINT NOT NULL,
+    storage_location VARCHAR(255),
+    document_type VARCHAR(255),
+    expense_id BINARY(16),
+    uploaded_by BINARY(16),
+    uploaded_at DATETIME(6),
+    status VARCHAR(255),
+    description VARCHAR(255),
+    metadata VARCHAR(1000)
+);
+
+-- Full-text index used by the database search fallback
+CREATE FULLTEXT INDEX ft_documents_file_name_description ON documents(file_name, description);
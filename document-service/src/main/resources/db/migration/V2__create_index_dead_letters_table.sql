@@ -0,0 +1,10 @@
+-- Documents that could not be indexed in Elasticsearch after all retries
+CREATE TABLE IF NOT EXISTS document_index_dead_letters (
+    id BINARY(16) PRIMARY KEY,
+    document_id BINARY(16) NOT NULL,
+    error VARCHAR(1000),
+    attempts INT NOT NULL,
+    failed_at DATETIME(6)
+);
+
+CREATE INDEX idx_document_index_dead_letters_document_id ON document_index_dead_letters(document_id);
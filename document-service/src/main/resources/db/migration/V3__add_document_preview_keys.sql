@@ -0,0 +1,3 @@
+-- Storage keys of the derived thumbnail and first-page preview
+ALTER TABLE documents ADD COLUMN thumbnail_key VARCHAR(255);
+ALTER TABLE documents ADD COLUMN preview_key VARCHAR(255);
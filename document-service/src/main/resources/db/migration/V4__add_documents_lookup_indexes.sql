@@ -0,0 +1,3 @@
+-- Indexes for attachment lookups by expense and by uploader
+CREATE INDEX idx_documents_expense_id ON documents(expense_id);
+CREATE INDEX idx_documents_uploaded_by ON documents(uploaded_by);
@@ -0,0 +1,68 @@
+package com.sems.document.adapter.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import com.sems.document.application.exception.SearchCursorExpiredException;
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ElasticsearchServiceTest {
+
+    @Mock
+    private ElasticsearchClient elasticsearchClient;
+
+    private ElasticsearchService elasticsearchService;
+
+    @BeforeEach
+    void setUp() {
+        elasticsearchService = new ElasticsearchService(elasticsearchClient);
+        ReflectionTestUtils.setField(elasticsearchService, "indexName", "documents");
+        ReflectionTestUtils.setField(elasticsearchService, "maxPageSize", 100);
+        ReflectionTestUtils.setField(elasticsearchService, "pitKeepAlive", "1m");
+    }
+
+    @Test
+    void search_expiredPointInTimeMeansRestart() throws Exception {
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(Document.class))).thenThrow(error(404));
+
+        assertThrows(SearchCursorExpiredException.class, () -> elasticsearchService.search(withCursor()));
+    }
+
+    @Test
+    void search_otherErrorsPropagateAsOutage() throws Exception {
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(Document.class))).thenThrow(error(503));
+
+        ElasticsearchException thrown = assertThrows(ElasticsearchException.class,
+                () -> elasticsearchService.search(withCursor()));
+        assertEquals(503, thrown.status());
+    }
+
+    private static DocumentSearchCriteria withCursor() {
+        String cursor = SearchCursor.of("pit-id", List.of(FieldValue.of(1709283600000L), FieldValue.of(42L))).encode();
+        return DocumentSearchCriteria.builder().query("invoice").size(20).cursor(cursor).build();
+    }
+
+    private static ElasticsearchException error(int status) {
+        return new ElasticsearchException("search", ErrorResponse.of(r -> r
+                .status(status)
+                .error(e -> e.type(status == 404 ? "search_phase_execution_exception" : "unavailable_shards_exception")
+                        .reason(status == 404 ? "No search context found for id [1]" : "Shards unavailable"))));
+    }
+}
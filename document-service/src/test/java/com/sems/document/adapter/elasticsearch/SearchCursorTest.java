@@ -0,0 +1,35 @@
+package com.sems.document.adapter.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCursorTest {
+
+    @Test
+    void encode_roundTrips() {
+        SearchCursor cursor = SearchCursor.of("pit-id==", List.of(FieldValue.of(1709283600000L), FieldValue.of(42L)));
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        assertEquals("pit-id==", decoded.pitId());
+        assertEquals(List.of(1709283600000L, 42L), decoded.searchAfter());
+    }
+
+    @Test
+    void decode_rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("pit|abc")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("pit")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(""));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+package com.sems.document.adapter.web;
+
+import com.sems.document.application.service.DocumentReindexJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentAdminControllerTest {
+
+    @Mock
+    private DocumentReindexJob documentReindexJob;
+
+    @InjectMocks
+    private DocumentAdminController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void reindex_startsInBackground() throws Exception {
+        mockMvc.perform(post("/api/documents/admin/reindex"))
+                .andExpect(status().isAccepted());
+
+        verify(documentReindexJob).start(false);
+    }
+
+    @Test
+    void reindex_canRecreateIndex() throws Exception {
+        mockMvc.perform(post("/api/documents/admin/reindex").param("recreate", "true"))
+                .andExpect(status().isAccepted());
+
+        verify(documentReindexJob).start(true);
+    }
+
+    @Test
+    void reindex_conflictsWhileRunning() throws Exception {
+        doThrow(new IllegalStateException("Reindex already in progress")).when(documentReindexJob).start(false);
+
+        mockMvc.perform(post("/api/documents/admin/reindex"))
+                .andExpect(status().isConflict());
+    }
+}
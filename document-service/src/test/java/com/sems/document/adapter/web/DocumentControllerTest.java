@@ -0,0 +1,158 @@
+package com.sems.document.adapter.web;
+
+import com.sems.document.application.dto.DocumentSearchResponse;
+import com.sems.document.application.exception.ResourceNotFoundException;
+import com.sems.document.application.exception.SearchCursorExpiredException;
+import com.sems.document.application.service.DocumentPreviewService;
+import com.sems.document.application.service.DocumentService;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentType;
+import com.sems.document.domain.model.PreviewVariant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentControllerTest {
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private DocumentPreviewService documentPreviewService;
+
+    @InjectMocks
+    private DocumentController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "maxBatchExpenseIds", 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getThumbnail_isCacheable() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(documentPreviewService.getPreview(id, PreviewVariant.THUMBNAIL)).thenReturn(Optional.of(new byte[]{1, 2}));
+
+        mockMvc.perform(get("/api/documents/{id}/thumbnail", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    void getPreview_notFoundUntilGenerated() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(documentPreviewService.getPreview(id, PreviewVariant.PREVIEW)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/documents/{id}/preview", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPreview_notFoundForUnknownDocument() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(documentPreviewService.getPreview(id, PreviewVariant.PREVIEW))
+                .thenThrow(new ResourceNotFoundException("Document not found with id: " + id));
+
+        mockMvc.perform(get("/api/documents/{id}/preview", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getDocumentsByExpenseIds_returnsDocumentsGroupedPerExpense() throws Exception {
+        UUID expenseId = UUID.randomUUID();
+        when(documentService.getDocumentsByExpenseIds(List.of(expenseId)))
+                .thenReturn(Map.of(expenseId, List.of()));
+
+        mockMvc.perform(post("/api/documents/by-expenses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + expenseId + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + expenseId + "']").isEmpty());
+    }
+
+    @Test
+    void getDocumentsByExpenseIds_rejectsTooManyIds() throws Exception {
+        mockMvc.perform(post("/api/documents/by-expenses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + UUID.randomUUID() + "\",\"" + UUID.randomUUID() + "\",\""
+                                + UUID.randomUUID() + "\"]"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(documentService);
+    }
+
+    @Test
+    void searchDocuments_passesFiltersAndCursor() throws Exception {
+        when(documentService.searchDocuments(any())).thenReturn(DocumentSearchResponse.builder()
+                .documents(List.of())
+                .nextCursor("next")
+                .build());
+
+        mockMvc.perform(get("/api/documents/search")
+                        .param("q", "taxi")
+                        .param("documentType", "RECEIPT")
+                        .param("size", "5")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        ArgumentCaptor<DocumentSearchCriteria> criteria = ArgumentCaptor.forClass(DocumentSearchCriteria.class);
+        verify(documentService).searchDocuments(criteria.capture());
+        assertEquals("taxi", criteria.getValue().getQuery());
+        assertEquals(DocumentType.RECEIPT, criteria.getValue().getDocumentType());
+        assertEquals(5, criteria.getValue().getSize());
+        assertEquals("abc", criteria.getValue().getCursor());
+    }
+
+    @Test
+    void searchDocuments_rejectsMalformedCursor() throws Exception {
+        when(documentService.searchDocuments(any())).thenThrow(new IllegalArgumentException("Invalid search cursor"));
+
+        mockMvc.perform(get("/api/documents/search").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchDocuments_isUnavailableWhenCursorCannotBeContinued() throws Exception {
+        when(documentService.searchDocuments(any())).thenThrow(new IllegalStateException("Search service unavailable"));
+
+        mockMvc.perform(get("/api/documents/search").param("cursor", "abc"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void searchDocuments_isGoneWhenCursorExpired() throws Exception {
+        when(documentService.searchDocuments(any()))
+                .thenThrow(new SearchCursorExpiredException("Search cursor expired, start the search again", null));
+
+        mockMvc.perform(get("/api/documents/search").param("cursor", "abc"))
+                .andExpect(status().isGone());
+    }
+}
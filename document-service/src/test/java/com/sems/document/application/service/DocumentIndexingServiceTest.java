@@ -0,0 +1,104 @@
+package com.sems.document.application.service;
+
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.port.IndexingDeadLetterRepository;
+import com.sems.document.domain.port.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentIndexingServiceTest {
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private IndexingDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentIndexingService indexingService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (indexingService != null) {
+            indexingService.shutdown();
+        }
+    }
+
+    @Test
+    void enqueue_deadLettersInOwnTransactionWhenQueueIsFullAfterCommit() {
+        indexingService = new DocumentIndexingService(searchService, deadLetterRepository, transactionManager, 10, 1, 3, 0);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Document queued = document();
+        Document overflow = document();
+
+        TransactionSynchronizationManager.initSynchronization();
+        indexingService.enqueue(queued);
+        indexingService.enqueue(overflow);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        verify(deadLetterRepository).save(overflow.getId(), "Indexing queue full", 0);
+    }
+
+    @Test
+    void flush_retriesRejectedDocumentsThenDeadLettersThem() {
+        indexingService = new DocumentIndexingService(searchService, deadLetterRepository, transactionManager, 10, 100, 2, 0);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Document accepted = document();
+        Document rejected = document();
+        when(searchService.bulkIndex(anyList())).thenReturn(Map.of(rejected.getId(), "mapper_parsing_exception"));
+
+        indexingService.enqueue(accepted);
+        indexingService.enqueue(rejected);
+        indexingService.flush();
+        verifyNoInteractions(deadLetterRepository);
+
+        indexingService.flush();
+
+        verify(searchService).bulkIndex(List.of(accepted, rejected));
+        verify(searchService).bulkIndex(List.of(rejected));
+        verify(deadLetterRepository).save(rejected.getId(), "mapper_parsing_exception", 2);
+    }
+
+    @Test
+    void retry_countsAsFirstFailedAttempt() {
+        indexingService = new DocumentIndexingService(searchService, deadLetterRepository, transactionManager, 10, 100, 1, 0);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Document document = document();
+
+        indexingService.retry(document, "version_conflict");
+
+        verify(deadLetterRepository).save(document.getId(), "version_conflict", 1);
+        assertDoesNotThrow(indexingService::flush);
+        verifyNoInteractions(searchService);
+    }
+
+    private static Document document() {
+        return Document.builder().id(UUID.randomUUID()).fileName("receipt.pdf").build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.sems.document.application.service;
+
+import com.sems.document.application.exception.ResourceNotFoundException;
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.PreviewVariant;
+import com.sems.document.domain.port.DocumentRepository;
+import com.sems.document.domain.port.PreviewGenerator;
+import com.sems.document.domain.port.StorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DocumentPreviewServiceTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private PreviewGenerator previewGenerator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentPreviewService previewService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        previewService = new DocumentPreviewService(documentRepository, storageService, List.of(previewGenerator),
+                new TransactionTemplate(transactionManager), 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        previewService.shutdown();
+    }
+
+    @Test
+    void getPreview_notFoundForUnknownDocument() {
+        UUID id = UUID.randomUUID();
+        when(documentRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> previewService.getPreview(id, PreviewVariant.PREVIEW));
+    }
+
+    @Test
+    void getPreview_emptyUntilGenerated() {
+        Document document = document(null, null);
+        when(documentRepository.findById(document.getId())).thenReturn(Optional.of(document));
+
+        assertTrue(previewService.getPreview(document.getId(), PreviewVariant.THUMBNAIL).isEmpty());
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void delete_removesBothVariantsAndToleratesFailures() {
+        Document document = document("documents/a_thumbnail.jpg", "documents/a_preview.jpg");
+        doThrow(new RuntimeException("S3 unavailable")).when(storageService).deleteFile("documents/a_thumbnail.jpg");
+
+        assertDoesNotThrow(() -> previewService.delete(document));
+
+        verify(storageService).deleteFile("documents/a_preview.jpg");
+    }
+
+    @Test
+    void schedule_discardsPreviewsOfDocumentDeletedMeanwhile() {
+        Document document = document(null, null);
+        when(previewGenerator.supports("application/pdf")).thenReturn(true);
+        when(storageService.downloadFile(document.getS3Key())).thenReturn(new byte[]{1});
+        when(previewGenerator.generate(any())).thenReturn(Map.of(
+                PreviewVariant.THUMBNAIL, new byte[]{2},
+                PreviewVariant.PREVIEW, new byte[]{3}));
+        when(storageService.uploadFile(eq("a_thumbnail.jpg"), any(), any())).thenReturn("documents/a_thumbnail.jpg");
+        when(storageService.uploadFile(eq("a_preview.jpg"), any(), any())).thenReturn("documents/a_preview.jpg");
+        when(documentRepository.updatePreviewKeys(any(), any(), any())).thenReturn(false);
+
+        previewService.schedule(document);
+
+        verify(storageService, timeout(2000)).deleteFile("documents/a_thumbnail.jpg");
+        verify(storageService, timeout(2000)).deleteFile("documents/a_preview.jpg");
+    }
+
+    private static Document document(String thumbnailKey, String previewKey) {
+        return Document.builder()
+                .id(UUID.randomUUID())
+                .fileName("a.pdf")
+                .contentType("application/pdf")
+                .s3Key("documents/a.pdf")
+                .thumbnailKey(thumbnailKey)
+                .previewKey(previewKey)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.sems.document.application.service;
+
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.port.DocumentRepository;
+import com.sems.document.domain.port.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentReindexJobTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private DocumentIndexingService documentIndexingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentReindexJob reindexJob;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        reindexJob = new DocumentReindexJob(documentRepository, searchService, documentIndexingService, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reindexJob.shutdown();
+    }
+
+    @Test
+    void reindexAll_handsRejectedDocumentsToRetryPath() {
+        Document first = document();
+        Document second = document();
+        Document third = document();
+        when(documentRepository.streamAll()).thenReturn(Stream.of(first, second, third));
+        when(searchService.bulkIndex(List.of(first, second))).thenReturn(Map.of(second.getId(), "mapper_parsing_exception"));
+        when(searchService.bulkIndex(List.of(third))).thenReturn(Map.of());
+
+        assertEquals(2, reindexJob.reindexAll());
+
+        verify(documentIndexingService).retry(second, "mapper_parsing_exception");
+        verifyNoMoreInteractions(documentIndexingService);
+    }
+
+    @Test
+    void start_runsInBackgroundAndRejectsConcurrentRuns() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentRepository.streamAll()).thenReturn(Stream.of(document()));
+        when(searchService.bulkIndex(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+
+        reindexJob.start(true);
+
+        assertTrue(reindexJob.isRunning());
+        assertThrows(IllegalStateException.class, () -> reindexJob.start(false));
+        release.countDown();
+        for (int i = 0; i < 50 && reindexJob.isRunning(); i++) {
+            Thread.sleep(20);
+        }
+        assertFalse(reindexJob.isRunning());
+        verify(searchService).recreateIndex();
+    }
+
+    private static Document document() {
+        return Document.builder().id(UUID.randomUUID()).fileName("receipt.pdf").build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.sems.document.application.service;
+
+import com.sems.document.application.dto.DocumentResponse;
+import com.sems.document.application.dto.DocumentSearchResponse;
+import com.sems.document.application.exception.ResourceNotFoundException;
+import com.sems.document.application.exception.SearchCursorExpiredException;
+import com.sems.document.domain.model.Document;
+import com.sems.document.domain.model.DocumentSearchCriteria;
+import com.sems.document.domain.model.DocumentSearchHit;
+import com.sems.document.domain.model.DocumentSearchPage;
+import com.sems.document.domain.model.DocumentType;
+import com.sems.document.domain.port.DocumentRepository;
+import com.sems.document.domain.port.SearchService;
+import com.sems.document.domain.port.StorageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentServiceTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Spy
+    private DocumentResponseMapper documentMapper = new DocumentResponseMapperImpl();
+
+    @Mock
+    private DocumentIndexingService documentIndexingService;
+
+    @Mock
+    private DocumentPreviewService documentPreviewService;
+
+    @InjectMocks
+    private DocumentService documentService;
+
+    @Test
+    void searchDocuments_fallsBackToDatabaseWhenSearchServiceIsDown() {
+        DocumentSearchCriteria criteria = DocumentSearchCriteria.builder().query("invoice").size(20).build();
+        Document document = document();
+        when(searchService.search(criteria)).thenThrow(new RuntimeException("Connection refused"));
+        when(documentRepository.search(criteria)).thenReturn(page(document, "db.next"));
+
+        DocumentSearchResponse response = documentService.searchDocuments(criteria);
+
+        assertEquals(document.getId(), response.getDocuments().get(0).getId());
+        assertEquals("db.next", response.getNextCursor());
+    }
+
+    @Test
+    void searchDocuments_continuesFallbackPagesInDatabase() {
+        DocumentSearchCriteria criteria = DocumentSearchCriteria.builder().query("invoice").cursor("db.abc").build();
+        when(documentRepository.search(criteria)).thenReturn(page(document(), null));
+
+        DocumentSearchResponse response = documentService.searchDocuments(criteria);
+
+        assertEquals(1, response.getDocuments().size());
+        assertNull(response.getNextCursor());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchDocuments_cannotContinueSearchServiceCursorInDatabase() {
+        DocumentSearchCriteria criteria = DocumentSearchCriteria.builder().query("invoice").cursor("cGl0fDF8Mg").build();
+        when(searchService.search(criteria)).thenThrow(new RuntimeException("Connection refused"));
+
+        assertThrows(IllegalStateException.class, () -> documentService.searchDocuments(criteria));
+        verify(documentRepository, never()).search(any());
+    }
+
+    @Test
+    void searchDocuments_expiredCursorIsNotTreatedAsOutage() {
+        DocumentSearchCriteria criteria = DocumentSearchCriteria.builder().query("invoice").cursor("cGl0fDF8Mg").build();
+        when(searchService.search(criteria)).thenThrow(new SearchCursorExpiredException("Search cursor expired", null));
+
+        assertThrows(SearchCursorExpiredException.class, () -> documentService.searchDocuments(criteria));
+        verifyNoInteractions(documentRepository);
+    }
+
+    @Test
+    void searchDocuments_doesNotFallBackOnMalformedCursor() {
+        DocumentSearchCriteria criteria = DocumentSearchCriteria.builder().cursor("%%%").build();
+        when(searchService.search(criteria)).thenThrow(new IllegalArgumentException("Invalid search cursor"));
+
+        assertThrows(IllegalArgumentException.class, () -> documentService.searchDocuments(criteria));
+        verifyNoInteractions(documentRepository);
+    }
+
+    @Test
+    void deleteDocument_removesOriginalPreviewsAndIndexEntry() {
+        Document document = document();
+        when(documentRepository.findById(document.getId())).thenReturn(Optional.of(document));
+
+        documentService.deleteDocument(document.getId());
+
+        verify(storageService).deleteFile(document.getS3Key());
+        verify(documentPreviewService).delete(document);
+        verify(documentRepository).deleteById(document.getId());
+        verify(searchService).deleteDocument(document.getId());
+    }
+
+    @Test
+    void deleteDocument_notFoundForUnknownDocument() {
+        UUID id = UUID.randomUUID();
+        when(documentRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> documentService.deleteDocument(id));
+        verifyNoInteractions(storageService, searchService);
+    }
+
+    @Test
+    void getDocumentsByExpenseIds_groupsInRequestOrderWithOneQuery() {
+        UUID withDocuments = UUID.randomUUID();
+        UUID withoutDocuments = UUID.randomUUID();
+        Document first = document(withDocuments);
+        Document second = document(withDocuments);
+        when(documentRepository.findByExpenseIds(any())).thenReturn(List.of(first, second));
+
+        Map<UUID, List<DocumentResponse>> result =
+                documentService.getDocumentsByExpenseIds(List.of(withoutDocuments, withDocuments));
+
+        assertEquals(List.of(withoutDocuments, withDocuments), List.copyOf(result.keySet()));
+        assertTrue(result.get(withoutDocuments).isEmpty());
+        assertEquals(2, result.get(withDocuments).size());
+        verify(documentRepository, times(1)).findByExpenseIds(any());
+    }
+
+    @Test
+    void getDocumentsByExpenseIds_skipsQueryForNoIds() {
+        assertTrue(documentService.getDocumentsByExpenseIds(List.of()).isEmpty());
+        verifyNoInteractions(documentRepository);
+    }
+
+    private static DocumentSearchPage page(Document document, String nextCursor) {
+        return DocumentSearchPage.builder()
+                .hits(List.of(DocumentSearchHit.builder().document(document).build()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static Document document() {
+        return document(null);
+    }
+
+    private static Document document(UUID expenseId) {
+        return Document.builder()
+                .id(UUID.randomUUID())
+                .expenseId(expenseId)
+                .fileName("receipt.pdf")
+                .contentType("application/pdf")
+                .s3Key("documents/receipt.pdf")
+                .documentType(DocumentType.RECEIPT)
+                .uploadedAt(LocalDateTime.of(2024, 3, 1, 9, 0))
+                .tags("travel")
+                .build();
+    }
+}
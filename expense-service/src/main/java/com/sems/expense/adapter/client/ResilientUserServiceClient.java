@@ -0,0 +1,115 @@
+package com.sems.expense.adapter.client;
+
+import com.sems.common.resilience.Hedger;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * The {@link UserServiceClient} the rest of the service uses. Calls to user-service go through
+ * a bulkhead, a circuit breaker and a retry with jittered exponential backoff, configured under
+ * {@code resilience4j.*.instances.user-service}. With {@code hedge-delay-ms} set, a lookup still
+ * unanswered after that long is sent a second time and the first success wins. While
+ * user-service can't be reached, the last answer seen for a user, up to {@code fallback-ttl-ms}
+ * old, is returned instead.
+ */
+@Slf4j
+@Primary
+@Component
+public class ResilientUserServiceClient implements UserServiceClient {
+
+    static final String INSTANCE = "user-service";
+
+    private final UserServiceClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final Hedger hedger;
+    private final Duration fallbackTtl;
+    private final Map<UUID, KnownUser> lastKnown;
+    private final Counter fallbacks;
+
+    public ResilientUserServiceClient(@Qualifier("userServiceFeignClient") UserServiceClient delegate,
+                                      CircuitBreakerRegistry circuitBreakerRegistry,
+                                      BulkheadRegistry bulkheadRegistry,
+                                      RetryRegistry retryRegistry,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.resilience.user-service.hedge-delay-ms:0}") long hedgeDelayMs,
+                                      @Value("${app.resilience.user-service.hedge-threads:16}") int hedgeThreads,
+                                      @Value("${app.resilience.user-service.fallback-ttl-ms:600000}") long fallbackTtlMs,
+                                      @Value("${app.resilience.user-service.fallback-max-entries:10000}") int fallbackMaxEntries) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.retry = retryRegistry.retry(INSTANCE);
+        this.fallbackTtl = Duration.ofMillis(fallbackTtlMs);
+        this.lastKnown = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, KnownUser> eldest) {
+                return size() > fallbackMaxEntries;
+            }
+        });
+
+        this.hedger = new Hedger(INSTANCE, hedgeDelayMs, hedgeThreads, Counter.builder("user.service.hedges")
+                .description("User lookups sent a second time after hedge-delay-ms")
+                .register(meterRegistry));
+        this.fallbacks = Counter.builder("user.service.fallbacks")
+                .description("User lookups answered from the last known details while user-service was unavailable")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedger.shutdown();
+    }
+
+    @Override
+    public ResponseEntity<UserDto> getUserById(UUID id) {
+        Supplier<ResponseEntity<UserDto>> call = Bulkhead.decorateSupplier(bulkhead, () -> delegate.getUserById(id));
+        Supplier<ResponseEntity<UserDto>> guarded = Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker, () -> hedger.call(call)));
+        try {
+            ResponseEntity<UserDto> response = guarded.get();
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                lastKnown.put(id, new KnownUser(response.getBody(), System.nanoTime()));
+            }
+            return response;
+        } catch (FeignException.FeignClientException e) {
+            // user-service did answer, so this is not a case for stale data
+            if (e.status() == 404) {
+                lastKnown.remove(id);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            KnownUser known = lastKnown.get(id);
+            if (known == null || System.nanoTime() - known.fetchedAt() > fallbackTtl.toNanos()) {
+                throw e;
+            }
+            fallbacks.increment();
+            log.warn("user-service unavailable, using last known details of user {}: {}", id, e.getMessage());
+            return ResponseEntity.ok(known.user());
+        }
+    }
+
+    private record KnownUser(UserDto user, long fetchedAt) {}
+}
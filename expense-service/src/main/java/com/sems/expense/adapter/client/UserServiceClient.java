@@ -7,7 +7,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 import java.util.UUID;
 
-@FeignClient(name = "user-service", path = "/users/api/users")
+// Used through ResilientUserServiceClient, which is what gets injected elsewhere
+@FeignClient(name = "user-service", path = "/users/api/users", qualifiers = "userServiceFeignClient", primary = false)
 public interface UserServiceClient {
 
     @GetMapping("/{id}")
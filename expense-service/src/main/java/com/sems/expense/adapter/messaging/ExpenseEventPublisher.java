@@ -1,14 +1,21 @@
 package com.sems.expense.adapter.messaging;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.sems.expense.adapter.client.UserServiceClient;
 import com.sems.expense.domain.model.Expense;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -16,6 +23,9 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 @Slf4j
 public class ExpenseEventPublisher {
+    // Unique per published event; consumers deduplicate on it, as an expense can reach the same status twice
+    public static final String EVENT_ID_HEADER = "sems_event_id";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final UserServiceClient userServiceClient;
     
@@ -42,26 +52,32 @@ public class ExpenseEventPublisher {
                     userDto.email(),
                     expense.getTitle(),
                     expense.getDescription(),
-                    expense.getAmount() != null ? expense.getAmount().toString() : "0.00",
+                    expense.getAmount() != null ? expense.getAmount() : BigDecimal.ZERO,
                     expense.getCurrency() != null ? expense.getCurrency().toString() : "USD",
                     expense.getCategory() != null ? expense.getCategory().toString() : "OTHER",
                     expense.getStatus().toString(),
-                    expense.getExpenseDate() != null ? expense.getExpenseDate().toString() : ""
+                    expense.getExpenseDate(),
+                    expense.getDepartmentId(),
+                    expense.getProjectId()
                 );
                 
-                // Send the event and handle the CompletableFuture result
-                CompletableFuture<SendResult<String, Object>> future = 
-                    kafkaTemplate.send(expenseEventTopic, expense.getId().toString(), event);
-                
-                future.whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.info("Published expense event successfully for ID: {}, Status: {}", 
-                               expense.getId(), expense.getStatus());
-                    } else {
-                        log.error("Failed to publish expense event for ID: {}, Error: {}", 
-                               expense.getId(), ex.getMessage(), ex);
-                    }
-                });
+                ProducerRecord<String, Object> record =
+                    new ProducerRecord<>(expenseEventTopic, expense.getId().toString(), event);
+                record.headers().add(EVENT_ID_HEADER,
+                    UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+
+                // The event is built now, as the expense may change again before the commit,
+                // but only sent once the change is committed
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            send(record, event);
+                        }
+                    });
+                } else {
+                    send(record, event);
+                }
             } else {
                 log.error("Failed to get user details for expense event: {}, Status code: {}", 
                          expense.getId(), 
@@ -72,6 +88,25 @@ public class ExpenseEventPublisher {
                      expense.getId(), e.getMessage(), e);
         }
     }
+
+    private void send(ProducerRecord<String, Object> record, ExpenseEvent event) {
+        try {
+            CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(record);
+
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.info("Published expense event successfully for ID: {}, Status: {}",
+                           event.id(), event.status());
+                } else {
+                    log.error("Failed to publish expense event for ID: {}, Error: {}",
+                           event.id(), ex.getMessage(), ex);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error publishing expense event for ID: {}, Error: {}",
+                     event.id(), e.getMessage(), e);
+        }
+    }
     
     public record ExpenseEvent(
         UUID id,
@@ -79,10 +114,13 @@ public class ExpenseEventPublisher {
         String userEmail,
         String title,
         String description,
-        String amount,
+        // Written as strings in JSON so consumers that predate the typed fields keep working
+        @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal amount,
         String currency,
         String category,
         String status,
-        String expenseDate
+        @JsonFormat(shape = JsonFormat.Shape.STRING) LocalDate expenseDate,
+        UUID departmentId,
+        UUID projectId
     ) {}
 } 
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.sems.expense.adapter.messaging;
+
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writes {@link ExpenseEventPublisher.ExpenseEvent}s either as JSON or, with
+ * {@code sems.events.format=avro}, as Avro binary prefixed by a magic byte and the 4-byte
+ * schema version from the {@link FileSchemaRegistry}. Any other payload is written as JSON.
+ */
+public class ExpenseEventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "sems.events.format";
+    public static final String SCHEMA_LOCATION_CONFIG = "sems.schema.registry.location";
+    public static final String SUBJECT = "expense-event";
+    public static final byte MAGIC_BYTE = 0;
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private boolean binary;
+    private int schemaVersion;
+    private Schema schema;
+    private Schema uuidSchema;
+    private int amountScale;
+    private GenericDatumWriter<GenericRecord> writer;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+        binary = "avro".equalsIgnoreCase(Objects.toString(configs.get(FORMAT_CONFIG), "json"));
+        if (!binary) {
+            return;
+        }
+
+        FileSchemaRegistry registry = new FileSchemaRegistry(
+                Objects.toString(configs.get(SCHEMA_LOCATION_CONFIG), "classpath:schemas"), SUBJECT);
+        schemaVersion = registry.latestVersion();
+        schema = registry.get(schemaVersion);
+        uuidSchema = schema.getField("id").schema();
+        amountScale = ((LogicalTypes.Decimal) schema.getField("amount").schema().getLogicalType()).getScale();
+
+        GenericData data = new GenericData();
+        data.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        data.addLogicalTypeConversion(new TimeConversions.DateConversion());
+        writer = new GenericDatumWriter<>(schema, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (binary && data instanceof ExpenseEventPublisher.ExpenseEvent event) {
+            return encode(event);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    private byte[] encode(ExpenseEventPublisher.ExpenseEvent event) {
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("id", uuid(event.id()));
+        record.put("userId", uuid(event.userId()));
+        record.put("userEmail", event.userEmail());
+        record.put("title", event.title());
+        record.put("description", event.description());
+        BigDecimal amount = event.amount() != null ? event.amount() : BigDecimal.ZERO;
+        record.put("amount", amount.setScale(amountScale, RoundingMode.HALF_EVEN));
+        record.put("currency", event.currency());
+        record.put("category", event.category());
+        record.put("status", event.status());
+        record.put("expenseDate", event.expenseDate());
+        record.put("departmentId", event.departmentId() != null ? uuid(event.departmentId()) : null);
+        record.put("projectId", event.projectId() != null ? uuid(event.projectId()) : null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(schemaVersion).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to encode expense event " + event.id(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private GenericData.Fixed uuid(UUID value) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+        return new GenericData.Fixed(uuidSchema, buffer.array());
+    }
+}
@@ -0,0 +1,109 @@
+package com.sems.expense.adapter.out.persistence;
+
+import com.sems.expense.adapter.out.persistence.entity.ExpenseCategoryEntity;
+import com.sems.expense.adapter.out.persistence.entity.ExpenseStatusEntity;
+import com.sems.expense.domain.model.ExpenseExportFilter;
+import com.sems.expense.domain.model.ExpenseExportRow;
+import com.sems.expense.domain.model.ExpenseExportWatermark;
+import com.sems.expense.domain.model.ExpenseStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Builds the export query for an {@link ExpenseExportFilter}. Rows are selected through a
+ * constructor projection, so nothing enters the persistence context, and fetched with a
+ * server-side cursor of {@code fetchSize} rows at a time. The watermark applies the same
+ * filter.
+ */
+@Component
+class ExpenseExportQuery {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    ExpenseExportQuery(EntityManager entityManager,
+                       @Value("${app.expenses.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    Stream<ExpenseExportRow> stream(ExpenseExportFilter filter) {
+        StringBuilder jpql = new StringBuilder("SELECT new ")
+                .append(Projection.class.getName())
+                .append("(e.id, e.submittedBy, e.departmentId, e.projectId, e.title, e.amount, e.currencyCode, ")
+                .append("e.category, e.status, e.expenseDate, e.approvedBy, e.createdAt) ");
+        Map<String, Object> parameters = where(jpql, filter);
+        jpql.append(" ORDER BY e.expenseDate, e.id");
+
+        TypedQuery<Projection> query = entityManager.createQuery(jpql.toString(), Projection.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        parameters.forEach(query::setParameter);
+        return query.getResultStream().map(Projection::toRow);
+    }
+
+    ExpenseExportWatermark watermark(ExpenseExportFilter filter) {
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(e), MAX(e.updatedAt) ");
+        Map<String, Object> parameters = where(jpql, filter);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        Object[] result = query.getSingleResult();
+        return new ExpenseExportWatermark(((Number) result[0]).longValue(), (LocalDateTime) result[1]);
+    }
+
+    private static Map<String, Object> where(StringBuilder jpql, ExpenseExportFilter filter) {
+        jpql.append("FROM ExpenseEntity e WHERE e.expenseDate BETWEEN :dateFrom AND :dateTo");
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("dateFrom", filter.getDateFrom());
+        parameters.put("dateTo", filter.getDateTo());
+        restrict(jpql, parameters, "e.submittedBy", "userIds", filter.getUserIds());
+        restrict(jpql, parameters, "e.departmentId", "departmentIds", filter.getDepartmentIds());
+        restrict(jpql, parameters, "e.projectId", "projectIds", filter.getProjectIds());
+        if (filter.getStatuses() != null) {
+            restrict(jpql, parameters, "e.status", "statuses", filter.getStatuses().stream()
+                    .map(status -> ExpenseStatusEntity.valueOf(status.name()))
+                    .toList());
+        }
+        if (filter.getCategories() != null) {
+            restrict(jpql, parameters, "e.category", "categories", filter.getCategories().stream()
+                    .map(ExpenseCategoryEntity::valueOf)
+                    .toList());
+        }
+        return parameters;
+    }
+
+    private static void restrict(StringBuilder jpql, Map<String, Object> parameters,
+                                 String path, String name, List<?> values) {
+        if (values != null && !values.isEmpty()) {
+            jpql.append(" AND ").append(path).append(" IN :").append(name);
+            parameters.put(name, values);
+        }
+    }
+
+    record Projection(UUID id, UUID userId, UUID departmentId, UUID projectId, String title,
+                      BigDecimal amount, String currency, ExpenseCategoryEntity category,
+                      ExpenseStatusEntity status, LocalDate expenseDate, UUID approvedBy,
+                      LocalDateTime createdAt) {
+
+        ExpenseExportRow toRow() {
+            return new ExpenseExportRow(id, userId, departmentId, projectId, title, amount, currency,
+                    category != null ? category.name() : null,
+                    status != null ? ExpenseStatus.valueOf(status.name()) : null,
+                    expenseDate, approvedBy, createdAt);
+        }
+    }
+}
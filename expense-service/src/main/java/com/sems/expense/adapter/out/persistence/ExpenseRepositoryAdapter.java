@@ -4,6 +4,9 @@ import com.sems.expense.adapter.out.persistence.entity.ExpenseEntity;
 import com.sems.expense.adapter.out.persistence.entity.ExpenseStatusEntity;
 import com.sems.expense.adapter.out.persistence.repository.JpaExpenseRepository;
 import com.sems.expense.domain.model.Expense;
+import com.sems.expense.domain.model.ExpenseExportFilter;
+import com.sems.expense.domain.model.ExpenseExportRow;
+import com.sems.expense.domain.model.ExpenseExportWatermark;
 import com.sems.expense.domain.model.ExpenseStatus;
 import com.sems.expense.domain.port.out.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +19,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +27,7 @@ public class ExpenseRepositoryAdapter implements ExpenseRepository, com.sems.exp
 
     private final JpaExpenseRepository jpaExpenseRepository;
     private final ExpenseMapper mapper;
+    private final ExpenseExportQuery exportQuery;
 
     @Override
     public Expense save(Expense expense) {
@@ -167,6 +172,16 @@ public class ExpenseRepositoryAdapter implements ExpenseRepository, com.sems.exp
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<ExpenseExportRow> streamForExport(ExpenseExportFilter filter) {
+        return exportQuery.stream(filter);
+    }
+
+    @Override
+    public ExpenseExportWatermark exportWatermark(ExpenseExportFilter filter) {
+        return exportQuery.watermark(filter);
+    }
+
     private ExpenseStatusEntity mapStatusToEntity(ExpenseStatus status) {
         if (status == null) {
             return ExpenseStatusEntity.DRAFT;
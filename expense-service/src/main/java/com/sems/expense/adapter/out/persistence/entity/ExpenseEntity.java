@@ -17,7 +17,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_expense_date", columnList = "expenseDate"),
+        @Index(name = "idx_expenses_department_date", columnList = "departmentId, expenseDate"),
+        @Index(name = "idx_expenses_submitted_by_date", columnList = "submittedBy, expenseDate")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,69 @@
+package com.sems.expense.adapter.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sems.expense.application.service.ExpenseExportService;
+import com.sems.expense.domain.model.ExpenseExportFilter;
+import com.sems.expense.domain.model.ExpenseExportRow;
+import com.sems.expense.domain.model.ExpenseExportWatermark;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams the expenses matching a filter as newline-delimited JSON, one
+ * {@link ExpenseExportRow} per line, straight from the database cursor.
+ */
+@RestController
+@RequestMapping("/api/expenses/export")
+@RequiredArgsConstructor
+public class ExpenseExportController {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ExpenseExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@RequestBody ExpenseExportFilter filter) {
+        try {
+            exportService.validate(filter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Flushing is left to the response buffer rather than done per row
+        ObjectWriter rowWriter = objectMapper.writerFor(ExpenseExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                exportService.export(filter, row -> {
+                    rowWriter.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Lets consumers tell whether an export they hold is still current without fetching it again.
+     */
+    @PostMapping(path = "/watermark", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExpenseExportWatermark> exportWatermark(@RequestBody ExpenseExportFilter filter) {
+        try {
+            return ResponseEntity.ok(exportService.watermark(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sems.expense.application.service;
 
+import com.sems.expense.adapter.messaging.ExpenseEventPublisher;
 import com.sems.expense.domain.model.*;
 import com.sems.expense.domain.port.ExpenseRepository;
 import com.sems.expense.domain.port.in.ApprovalWorkflowUseCase;
@@ -28,6 +29,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
     private final ApprovalLevelRepository approvalLevelRepository;
     private final ApprovalStepRepository approvalStepRepository;
     private final UserValidationService userValidationService;
+    private final ExpenseEventPublisher eventPublisher;
     
     // Configuration property for auto-approval threshold
     private static final BigDecimal AUTO_APPROVAL_THRESHOLD = new BigDecimal("50.00");
@@ -73,7 +75,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
             log.info("Expense {} was auto-approved", expenseId);
         }
         
-        return expenseRepository.save(expense);
+        return saveAndPublish(expense);
     }
 
     @Override
@@ -134,7 +136,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
         }
         
         expense.setUpdatedAt(LocalDateTime.now());
-        return expenseRepository.save(expense);
+        return saveAndPublish(expense);
     }
 
     @Override
@@ -162,7 +164,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
         expense.setRejectionReason(reason);
         expense.setUpdatedAt(LocalDateTime.now());
         
-        return expenseRepository.save(expense);
+        return saveAndPublish(expense);
     }
 
     @Override
@@ -190,7 +192,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
         expense.setReviewComments(changes);
         expense.setUpdatedAt(LocalDateTime.now());
         
-        return expenseRepository.save(expense);
+        return saveAndPublish(expense);
     }
 
     @Override
@@ -234,7 +236,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
         expense.setReviewComments(reason);
         expense.setUpdatedAt(LocalDateTime.now());
         
-        return expenseRepository.save(expense);
+        return saveAndPublish(expense);
     }
 
     @Override
@@ -281,7 +283,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
         expense.setStatus(ExpenseStatus.PAID);
         expense.setUpdatedAt(LocalDateTime.now());
         
-        return expenseRepository.save(expense);
+        return saveAndPublish(expense);
     }
 
     @Override
@@ -454,7 +456,7 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
                     ApprovalStep.ApprovalAction.APPROVED
                 );
                 
-                expenseRepository.save(expense);
+                saveAndPublish(expense);
                 count++;
             }
         }
@@ -464,6 +466,13 @@ public class ApprovalWorkflowService implements ApprovalWorkflowUseCase {
     
     // Helper methods
     
+    // Every status change is published, so consumers can follow an expense through the workflow
+    private Expense saveAndPublish(Expense expense) {
+        Expense saved = expenseRepository.save(expense);
+        eventPublisher.publishExpenseStatusChange(saved);
+        return saved;
+    }
+
     private Expense getExpenseById(UUID expenseId) {
         return expenseRepository.findById(expenseId)
             .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
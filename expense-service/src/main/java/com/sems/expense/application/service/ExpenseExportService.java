@@ -0,0 +1,87 @@
+package com.sems.expense.application.service;
+
+import com.sems.expense.domain.model.ExpenseCategory;
+import com.sems.expense.domain.model.ExpenseExportFilter;
+import com.sems.expense.domain.model.ExpenseExportRow;
+import com.sems.expense.domain.model.ExpenseExportWatermark;
+import com.sems.expense.domain.port.ExpenseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams expenses matching a filter row by row, for consumers such as reporting that
+ * would otherwise page through or buffer whole result sets.
+ */
+@Service
+@Slf4j
+public class ExpenseExportService {
+
+    private final ExpenseRepository expenseRepository;
+    private final long maxRangeDays;
+
+    public ExpenseExportService(ExpenseRepository expenseRepository,
+                                @Value("${app.expenses.export.max-range-days:1830}") long maxRangeDays) {
+        this.expenseRepository = expenseRepository;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    public void validate(ExpenseExportFilter filter) {
+        if (filter.getDateFrom() == null || filter.getDateTo() == null) {
+            throw new IllegalArgumentException("dateFrom and dateTo are required");
+        }
+        if (filter.getDateTo().isBefore(filter.getDateFrom())) {
+            throw new IllegalArgumentException("dateTo must not be before dateFrom");
+        }
+        if (ChronoUnit.DAYS.between(filter.getDateFrom(), filter.getDateTo()) > maxRangeDays) {
+            throw new IllegalArgumentException("Export range must not exceed " + maxRangeDays + " days");
+        }
+        // Checked up front: once the export is streaming, an error can only cut the response short
+        if (filter.getCategories() != null) {
+            for (String category : filter.getCategories()) {
+                if (category == null || Arrays.stream(ExpenseCategory.values()).noneMatch(c -> c.name().equals(category))) {
+                    throw new IllegalArgumentException("Unknown expense category: " + category);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands every matching row to the sink while the cursor is open and returns the number
+     * of rows exported.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExpenseExportFilter filter, RowSink sink) throws IOException {
+        validate(filter);
+        long started = System.currentTimeMillis();
+        long count = 0;
+        try (Stream<ExpenseExportRow> rows = expenseRepository.streamForExport(filter)) {
+            Iterator<ExpenseExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
+            }
+        }
+        log.info("Exported {} expenses for {} to {} in {} ms",
+                count, filter.getDateFrom(), filter.getDateTo(), System.currentTimeMillis() - started);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public ExpenseExportWatermark watermark(ExpenseExportFilter filter) {
+        validate(filter);
+        return expenseRepository.exportWatermark(filter);
+    }
+
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(ExpenseExportRow row) throws IOException;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sems.expense.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the expenses of an export. Empty or missing lists don't restrict the export;
+ * the date range is required and inclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseExportFilter {
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private List<UUID> userIds;
+    private List<UUID> departmentIds;
+    private List<UUID> projectIds;
+    private List<ExpenseStatus> statuses;
+    private List<String> categories;
+}
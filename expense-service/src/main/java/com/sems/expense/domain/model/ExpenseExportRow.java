@@ -0,0 +1,24 @@
+package com.sems.expense.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, typed view of an expense as streamed to reporting.
+ */
+public record ExpenseExportRow(
+    UUID id,
+    UUID userId,
+    UUID departmentId,
+    UUID projectId,
+    String title,
+    BigDecimal amount,
+    String currency,
+    String category,
+    ExpenseStatus status,
+    LocalDate expenseDate,
+    UUID approvedBy,
+    LocalDateTime createdAt
+) {}
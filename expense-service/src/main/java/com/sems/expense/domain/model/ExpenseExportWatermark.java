@@ -0,0 +1,12 @@
+package com.sems.expense.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * How many expenses an export would return and when the latest of them was last modified.
+ * The export's content can only have changed if either of them did.
+ */
+public record ExpenseExportWatermark(
+    long count,
+    LocalDateTime lastModifiedAt
+) {}
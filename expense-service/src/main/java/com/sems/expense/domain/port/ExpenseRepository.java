@@ -1,6 +1,9 @@
 package com.sems.expense.domain.port;
 
 import com.sems.expense.domain.model.Expense;
+import com.sems.expense.domain.model.ExpenseExportFilter;
+import com.sems.expense.domain.model.ExpenseExportRow;
+import com.sems.expense.domain.model.ExpenseExportWatermark;
 import com.sems.expense.domain.model.ExpenseStatus;
 
 import java.math.BigDecimal;
@@ -9,6 +12,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ExpenseRepository {
     Expense save(Expense expense);
@@ -28,4 +32,12 @@ public interface ExpenseRepository {
     long countByCurrentApprovalLevelAndStatusIn(Integer level, Collection<ExpenseStatus> statuses);
     BigDecimal sumAmountByCurrentApprovalLevelAndStatusIn(Integer level, Collection<ExpenseStatus> statuses);
     List<Expense> findByStatusAndAmountLessThanEqual(ExpenseStatus status, BigDecimal amount);
+    
+    /**
+     * Streams matching expenses ordered by expense date without loading them into the
+     * persistence context. Must be consumed and closed inside a transaction.
+     */
+    Stream<ExpenseExportRow> streamForExport(ExpenseExportFilter filter);
+    
+    ExpenseExportWatermark exportWatermark(ExpenseExportFilter filter);
 } 
\ No newline at end of file
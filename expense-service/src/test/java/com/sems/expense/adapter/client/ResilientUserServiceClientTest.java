@@ -0,0 +1,106 @@
+package com.sems.expense.adapter.client;
+
+import com.sems.expense.adapter.client.UserServiceClient.UserDto;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientUserServiceClientTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UserDto USER = new UserDto(USER_ID, "jdoe", "jdoe@example.com", "John", "Doe", "EMPLOYEE", true);
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://user-service/users/api/users/" + USER_ID,
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Mock
+    private UserServiceClient delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResilientUserServiceClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void getUserById_servesLastKnownUserWhileUserServiceIsDown() {
+        client = client(0);
+        when(delegate.getUserById(USER_ID))
+                .thenReturn(ResponseEntity.ok(USER))
+                .thenThrow(new RetryableException(-1, "Connection refused", Request.HttpMethod.GET, (Long) null, REQUEST));
+
+        assertEquals(USER, client.getUserById(USER_ID).getBody());
+        assertEquals(USER, client.getUserById(USER_ID).getBody());
+
+        verify(delegate, times(4)).getUserById(USER_ID);
+        assertEquals(1, meterRegistry.counter("user.service.fallbacks").count());
+    }
+
+    @Test
+    void getUserById_doesNotRetryOrMaskNotFound() {
+        client = client(0);
+        when(delegate.getUserById(USER_ID))
+                .thenReturn(ResponseEntity.ok(USER))
+                .thenThrow(new FeignException.NotFound("Not Found", REQUEST, null, Map.of()));
+
+        client.getUserById(USER_ID);
+
+        assertThrows(FeignException.NotFound.class, () -> client.getUserById(USER_ID));
+        verify(delegate, times(2)).getUserById(USER_ID);
+    }
+
+    @Test
+    void getUserById_hedgesSlowLookups() {
+        client = client(50);
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.getUserById(any())).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                Thread.sleep(5000);
+            }
+            return ResponseEntity.ok(USER);
+        });
+
+        long started = System.nanoTime();
+        assertEquals(USER, client.getUserById(USER_ID).getBody());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2000);
+        assertEquals(1, meterRegistry.counter("user.service.hedges").count());
+    }
+
+    private ResilientUserServiceClient client(long hedgeDelayMs) {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .ignoreExceptions(FeignException.FeignClientException.class)
+                .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .retryExceptions(RetryableException.class, FeignException.FeignServerException.class)
+                .build());
+        return new ResilientUserServiceClient(delegate, circuitBreakers, BulkheadRegistry.ofDefaults(), retries,
+                meterRegistry, hedgeDelayMs, 4, 60000, 100);
+    }
+}
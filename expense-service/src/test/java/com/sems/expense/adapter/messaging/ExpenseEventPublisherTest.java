@@ -0,0 +1,103 @@
+package com.sems.expense.adapter.messaging;
+
+import com.sems.expense.adapter.client.UserServiceClient;
+import com.sems.expense.domain.model.Expense;
+import com.sems.expense.domain.model.ExpenseStatus;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private ExpenseEventPublisher publisher;
+
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ExpenseEventPublisher(kafkaTemplate, userServiceClient);
+        ReflectionTestUtils.setField(publisher, "expenseEventTopic", "expense-events");
+        expense = Expense.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .title("Taxi")
+                .amount(new BigDecimal("12.50"))
+                .status(ExpenseStatus.SUBMITTED)
+                .build();
+        when(userServiceClient.getUserById(expense.getUserId())).thenReturn(ResponseEntity.ok(
+                new UserServiceClient.UserDto(expense.getUserId(), "jane", "jane@example.com", "Jane", "Doe", "EMPLOYEE", true)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_InTransaction_SendsOnlyAfterCommitWithStatusAtPublishTime() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishExpenseStatusChange(expense);
+        expense.setStatus(ExpenseStatus.APPROVED);
+
+        verifyNoInteractions(kafkaTemplate);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertEquals("SUBMITTED", ((ExpenseEventPublisher.ExpenseEvent) sent.getValue().value()).status());
+        assertNotNull(sent.getValue().headers().lastHeader(ExpenseEventPublisher.EVENT_ID_HEADER));
+    }
+
+    @Test
+    void publish_InRolledBackTransaction_SendsNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishExpenseStatusChange(expense);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void publish_OutsideTransaction_SendsImmediately() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        publisher.publishExpenseStatusChange(expense);
+
+        verify(kafkaTemplate).send(any(ProducerRecord.class));
+    }
+}
@@ -0,0 +1,125 @@
+package com.sems.expense.adapter.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Conversions;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The expected payloads under {@code events/} are copied into the tests of every consumer of
+ * the expense-events topic, so a change here that they can't read fails there too.
+ */
+class ExpenseEventSerializerTest {
+
+    static final ExpenseEventPublisher.ExpenseEvent EVENT = new ExpenseEventPublisher.ExpenseEvent(
+            UUID.fromString("3b0f7c1e-8d2a-4c6b-9f4e-1a2b3c4d5e6f"),
+            UUID.fromString("9e8d7c6b-5a4f-4e3d-8c2b-1a0f9e8d7c6b"),
+            "jane.doe@example.com",
+            "Client dinner",
+            "Dinner with the Acme team",
+            new BigDecimal("84.50"),
+            "EUR",
+            "MEALS",
+            "APPROVED",
+            LocalDate.of(2024, 3, 14),
+            UUID.fromString("11111111-2222-4333-8444-555555555555"),
+            null);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void serialize_AvroMatchesSchemaAndConsumerFixture() throws IOException {
+        ExpenseEventSerializer serializer = serializer("avro");
+
+        byte[] bytes = serializer.serialize("expense-events", EVENT);
+
+        assertEquals(ExpenseEventSerializer.MAGIC_BYTE, bytes[0]);
+        FileSchemaRegistry registry = new FileSchemaRegistry("classpath:schemas", ExpenseEventSerializer.SUBJECT);
+        int version = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        assertEquals(registry.latestVersion(), version);
+
+        GenericData data = new GenericData();
+        data.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        data.addLogicalTypeConversion(new TimeConversions.DateConversion());
+        GenericRecord record = new GenericDatumReader<GenericRecord>(registry.get(version), registry.get(version), data)
+                .read(null, DecoderFactory.get().binaryDecoder(bytes, 5, bytes.length - 5, null));
+        assertEquals(EVENT.id(), uuid(record.get("id")));
+        assertEquals(EVENT.userId(), uuid(record.get("userId")));
+        assertEquals(EVENT.description(), record.get("description").toString());
+        assertEquals(EVENT.amount(), record.get("amount"));
+        assertEquals(EVENT.expenseDate(), record.get("expenseDate"));
+        assertEquals(EVENT.departmentId(), uuid(record.get("departmentId")));
+        assertNull(record.get("projectId"));
+
+        assertArrayEquals(fixture("events/expense-event-v2.avro"), bytes);
+    }
+
+    @Test
+    void serialize_AvroRoundsAmountToSchemaScale() {
+        ExpenseEventPublisher.ExpenseEvent event = new ExpenseEventPublisher.ExpenseEvent(EVENT.id(), EVENT.userId(),
+                null, null, null, new BigDecimal("10.005"), "EUR", "TRAVEL", "SUBMITTED", null, null, null);
+
+        byte[] bytes = serializer("avro").serialize("expense-events", event);
+
+        FileSchemaRegistry registry = new FileSchemaRegistry("classpath:schemas", ExpenseEventSerializer.SUBJECT);
+        GenericData data = new GenericData();
+        data.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        GenericRecord record = assertDoesNotThrow(() -> new GenericDatumReader<GenericRecord>(
+                registry.get(registry.latestVersion()), registry.get(registry.latestVersion()), data)
+                .read(null, DecoderFactory.get().binaryDecoder(bytes, 5, bytes.length - 5, null)));
+        assertEquals(new BigDecimal("10.00"), record.get("amount"));
+    }
+
+    @Test
+    void serialize_JsonByDefaultMatchesConsumerFixture() throws IOException {
+        ExpenseEventSerializer serializer = new ExpenseEventSerializer();
+        serializer.configure(Map.of("spring.json.type.mapping",
+                "expense:com.sems.expense.adapter.messaging.ExpenseEventPublisher$ExpenseEvent"), false);
+        Headers headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("expense-events", headers, EVENT);
+
+        assertEquals("expense", new String(headers.lastHeader("__TypeId__").value(), StandardCharsets.UTF_8));
+        JsonNode json = objectMapper.readTree(bytes);
+        assertEquals("84.50", json.get("amount").textValue());
+        assertEquals("2024-03-14", json.get("expenseDate").textValue());
+        assertEquals(objectMapper.readTree(fixture("events/expense-event.json")), json);
+    }
+
+    private static ExpenseEventSerializer serializer(String format) {
+        ExpenseEventSerializer serializer = new ExpenseEventSerializer();
+        serializer.configure(Map.of(ExpenseEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static UUID uuid(Object value) {
+        ByteBuffer buffer = ByteBuffer.wrap(((GenericFixed) value).bytes());
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static byte[] fixture(String path) throws IOException {
+        try (InputStream in = ExpenseEventSerializerTest.class.getClassLoader().getResourceAsStream(path)) {
+            assertNotNull(in, "Missing fixture " + path);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sems.expense.application.service;
 
+import com.sems.expense.adapter.messaging.ExpenseEventPublisher;
 import com.sems.expense.application.exception.ResourceNotFoundException;
 import com.sems.expense.application.exception.WorkflowException;
 import com.sems.expense.domain.model.*;
@@ -39,6 +40,9 @@ class ApprovalWorkflowServiceTest {
     @Mock
     private UserValidationService userValidationService;
 
+    @Mock
+    private ExpenseEventPublisher eventPublisher;
+
     @InjectMocks
     private ApprovalWorkflowService workflowService;
 
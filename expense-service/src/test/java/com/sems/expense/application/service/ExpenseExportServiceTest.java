@@ -0,0 +1,56 @@
+package com.sems.expense.application.service;
+
+import com.sems.expense.domain.model.ExpenseExportFilter;
+import com.sems.expense.domain.port.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseExportServiceTest {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExpenseExportService(expenseRepository, 1830);
+    }
+
+    @Test
+    void validate_AcceptsKnownCategories() {
+        assertDoesNotThrow(() -> exportService.validate(filter(List.of("TRAVEL", "MEALS"))));
+    }
+
+    @Test
+    void validate_RejectsUnknownCategoryBeforeStreaming() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.validate(filter(List.of("TRAVEL", "YACHTS"))));
+    }
+
+    @Test
+    void export_UnknownCategory_NeverOpensCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.export(filter(List.of("travel")), row -> { }));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    private static ExpenseExportFilter filter(List<String> categories) {
+        return ExpenseExportFilter.builder()
+                .dateFrom(MONTH_START)
+                .dateTo(MONTH_START.plusMonths(1).minusDays(1))
+                .categories(categories)
+                .build();
+    }
+}
@@ -1,25 +1,43 @@
 package com.sems.notification.adapter.email;
 
+import com.sems.notification.application.template.CompiledTemplate;
 import com.sems.notification.domain.model.Notification;
 import com.sems.notification.domain.port.EmailService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class EmailServiceAdapter implements EmailService {
     private final JavaMailSender mailSender;
+    // The HTML layout is parsed once; each notification only fills in its content
+    private final CompiledTemplate htmlLayout;
+
+    public EmailServiceAdapter(JavaMailSender mailSender,
+                               @Value("classpath:templates/email/basic-template.html") Resource layout) throws IOException {
+        this.mailSender = mailSender;
+        this.htmlLayout = CompiledTemplate.compile(layout.getContentAsString(StandardCharsets.UTF_8));
+    }
 
     @Override
     public void sendEmail(String to, String subject, String content) {
@@ -61,19 +79,63 @@ public class EmailServiceAdapter implements EmailService {
     @Override
     public void sendNotification(Notification notification) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, 
-                                               StandardCharsets.UTF_8.name());
-            
-            helper.setTo(notification.getRecipient());
-            helper.setSubject(notification.getSubject());
-            helper.setText(notification.getContent(), notification.getContent().contains("<html>"));
-            
-            mailSender.send(message);
+            mailSender.send(toMimeMessage(notification));
             log.info("Email notification sent to {}: {}", notification.getRecipient(), notification.getSubject());
         } catch (MessagingException e) {
             log.error("Failed to send email notification to {}: {}", notification.getRecipient(), e.getMessage());
             throw new RuntimeException("Failed to send email notification", e);
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    public Map<UUID, String> sendNotifications(List<Notification> notifications) {
+        Map<UUID, String> failures = new HashMap<>();
+        Map<MimeMessage, UUID> messages = new IdentityHashMap<>();
+        for (Notification notification : notifications) {
+            try {
+                messages.put(toMimeMessage(notification), notification.getId());
+            } catch (MessagingException e) {
+                failures.put(notification.getId(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        // JavaMailSenderImpl delivers all messages of one call over the same transport
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(id -> failures.put(id, e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, error) ->
+                        failures.put(messages.get(message), error.getMessage()));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+        
+        log.info("Sent {} of {} email notifications", notifications.size() - failures.size(), notifications.size());
+        return failures;
+    }
+
+    // Every notification goes out as multipart/alternative: the plain-text content and the
+    // same content escaped into the HTML layout. Only the layout is shared; JavaMail body
+    // parts belong to the message they were added to, so each message gets its own.
+    private MimeMessage toMimeMessage(Notification notification) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true,
+                                           StandardCharsets.UTF_8.name());
+        
+        helper.setTo(notification.getRecipient());
+        helper.setSubject(notification.getSubject());
+        helper.setText(notification.getContent(), renderHtml(notification.getContent()));
+        return message;
+    }
+
+    private String renderHtml(String content) {
+        String escaped = HtmlUtils.htmlEscape(content, StandardCharsets.UTF_8.name()).replace("\n", "<br>\n");
+        return htmlLayout.render(Map.of("content", escaped));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.sems.notification.adapter.messaging;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-publishes dead-lettered expense events to the main topic in throttled batches, with
+ * their dead-letter key, payload and headers, on a background thread. A replay reads every
+ * partition of the dead-letter topic up to the end offsets it saw when it started. Progress
+ * is tracked by committing the offsets of a dedicated consumer group once a batch is
+ * acknowledged by the broker, so each dead letter is replayed at least once; events that
+ * fail again end up back on the dead-letter topic for the next replay.
+ */
+@Service
+@Slf4j
+public class DeadLetterReplayService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(30);
+
+    private final KafkaProperties kafkaProperties;
+    private final KafkaTemplate<String, byte[]> deadLetterBytesTemplate;
+    private final String topic;
+    private final String deadLetterTopic;
+    private final String replayGroupId;
+    private final int batchSize;
+    private final long pauseMs;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger replayed = new AtomicInteger();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "dead-letter-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeadLetterReplayService(KafkaProperties kafkaProperties,
+                                   KafkaTemplate<String, byte[]> deadLetterBytesTemplate,
+                                   @Value("${app.kafka.topics.expense-events}") String topic,
+                                   @Value("${app.kafka.topics.expense-events-dlt}") String deadLetterTopic,
+                                   @Value("${spring.application.name}-dlt-replay") String replayGroupId,
+                                   @Value("${app.kafka.dead-letter.replay.batch-size:100}") int batchSize,
+                                   @Value("${app.kafka.dead-letter.replay.pause-ms:500}") long pauseMs) {
+        this.kafkaProperties = kafkaProperties;
+        this.deadLetterBytesTemplate = deadLetterBytesTemplate;
+        this.topic = topic;
+        this.deadLetterTopic = deadLetterTopic;
+        this.replayGroupId = replayGroupId;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    /**
+     * Starts replaying up to {@code maxRecords} dead letters in the background.
+     *
+     * @throws IllegalStateException if a replay is already running on this instance
+     */
+    public void start(int maxRecords) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Dead-letter replay already in progress");
+        }
+        replayed.set(0);
+        try {
+            executor.execute(() -> {
+                try {
+                    replay(maxRecords);
+                } catch (Exception e) {
+                    log.error("Dead-letter replay stopped after {} events: {}", replayed.get(), e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Events re-published by the running replay, or by the last one once it has finished.
+     */
+    public int getReplayed() {
+        return replayed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void replay(int maxRecords) throws InterruptedException {
+        try (Consumer<String, byte[]> consumer = createConsumer()) {
+            // Assigned rather than subscribed, so there's no wait for a group rebalance
+            List<TopicPartition> partitions = consumer.partitionsFor(deadLetterTopic).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            // Dead letters arriving after the start, including replayed events failing again, wait for the next replay
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            while (replayed.get() < maxRecords && !reachedEnd(consumer, endOffsets)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    continue;
+                }
+
+                // Commit only what was re-published; anything past the limit stays for the next replay
+                List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>();
+                Set<TopicPartition> rewound = new HashSet<>();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (replayed.get() + sends.size() >= maxRecords || record.offset() >= endOffsets.get(partition)) {
+                        if (rewound.add(partition)) {
+                            consumer.seek(partition, record.offset());
+                        }
+                        continue;
+                    }
+                    sends.add(deadLetterBytesTemplate.send(toReplay(record)));
+                }
+                deadLetterBytesTemplate.flush();
+                awaitSends(sends);
+                consumer.commitSync();
+                replayed.addAndGet(sends.size());
+                log.info("Replayed {} dead-lettered expense events ({} total)", sends.size(), replayed.get());
+
+                TimeUnit.MILLISECONDS.sleep(pauseMs);
+            }
+        }
+    }
+
+    private static boolean reachedEnd(Consumer<?, ?> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+    }
+
+    /**
+     * Fails the batch unless every event reached the main topic, so its offsets aren't
+     * committed. The next replay sends the whole batch again; the listener drops the events
+     * that did get through as duplicates.
+     */
+    private void awaitSends(List<CompletableFuture<SendResult<String, byte[]>>> sends) throws InterruptedException {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to re-publish dead-lettered event", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out re-publishing dead-lettered events", e);
+        }
+    }
+
+    private ProducerRecord<String, byte[]> toReplay(ConsumerRecord<String, byte[]> record) {
+        ProducerRecord<String, byte[]> replay = new ProducerRecord<>(topic, record.key(), record.value());
+        for (Header header : record.headers()) {
+            // Error metadata from the dead-letter recoverer doesn't belong on the replayed event
+            if (!header.key().startsWith(KafkaHeaders.PREFIX + "dlt-")) {
+                replay.headers().add(header);
+            }
+        }
+        return replay;
+    }
+
+    Consumer<String, byte[]> createConsumer() {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(null);
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, replayGroupId);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        return new DefaultKafkaConsumerFactory<>(properties, new StringDeserializer(), new ByteArrayDeserializer())
+                .createConsumer();
+    }
+}
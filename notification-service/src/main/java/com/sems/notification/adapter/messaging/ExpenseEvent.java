@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Data
@@ -17,9 +19,9 @@ public class ExpenseEvent {
     private String userEmail;
     private String title;
     private String description;
-    private String amount;
+    private BigDecimal amount;
     private String currency;
     private String category;
     private String status;
-    private String expenseDate;
+    private LocalDate expenseDate;
 } 
\ No newline at end of file
@@ -1,117 +1,250 @@
 package com.sems.notification.adapter.messaging;
 
+import com.sems.notification.application.service.EventIdempotencyService;
+import com.sems.notification.application.service.NotificationCoalescer;
+import com.sems.notification.application.template.NotificationTemplate;
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.model.Notification;
 import com.sems.notification.domain.model.NotificationType;
-import com.sems.notification.domain.port.NotificationService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Consumes expense events in batches. Notifications for a whole poll are rendered in memory
+ * and handed to the {@link NotificationCoalescer}, which persists them with batch inserts;
+ * offsets are committed once per batch. Redelivered events are dropped by the
+ * {@link EventIdempotencyService}, whose claims commit together with the notifications.
+ * Events that fail to deserialize or render go to the error handler from
+ * {@link KafkaErrorHandlingConfig}.
+ * <p>
+ * Also the rebalance listener of the default container factory, so partitions this instance
+ * loses stop counting towards its consumer lag gauge.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
-public class ExpenseEventKafkaListener {
-    private final NotificationService notificationService;
+public class ExpenseEventKafkaListener implements ConsumerAwareRebalanceListener {
+    // Set by expense-service on every published event
+    static final String EVENT_ID_HEADER = "sems_event_id";
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(ExpenseEventKafkaListener.class);
+
+    private final NotificationCoalescer notificationCoalescer;
+    private final EventIdempotencyService idempotencyService;
+    private final NotificationTemplateRegistry templateRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizeSummary;
+    // Lag per assigned partition, updated by whichever listener container currently owns it
+    private final Map<TopicPartition, Long> partitionLag = new ConcurrentHashMap<>();
+
+    public ExpenseEventKafkaListener(NotificationCoalescer notificationCoalescer,
+                                     EventIdempotencyService idempotencyService,
+                                     NotificationTemplateRegistry templateRegistry,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.notificationCoalescer = notificationCoalescer;
+        this.idempotencyService = idempotencyService;
+        this.templateRegistry = templateRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSizeSummary = DistributionSummary.builder("notification.consumer.batch.size")
+                .description("Expense events received per listener batch")
+                .register(meterRegistry);
+        Gauge.builder("notification.consumer.lag", partitionLag,
+                        lag -> lag.values().stream().mapToLong(Long::longValue).sum())
+                .description("Records behind the log end offset across assigned partitions")
+                .register(meterRegistry);
+    }
 
     @KafkaListener(
         topics = "${app.kafka.topics.expense-events}", 
-        groupId = "${spring.application.name}"
+        groupId = "${spring.application.name}",
+        batch = "true",
+        concurrency = "${app.kafka.listener.concurrency:3}"
     )
-    public void listen(ExpenseEvent event) {
-        log.info("Received expense event for expense ID: {}, status: {}", event.getId(), event.getStatus());
+    public void listen(List<ConsumerRecord<String, ExpenseEvent>> records, Consumer<?, ?> consumer) {
+        log.info("Received batch of {} expense events", records.size());
+        batchSizeSummary.record(records.size());
         
         try {
-            // Create and send appropriate notification based on event type
-            if (event.getStatus() == null) {
-                log.warn("No status in event, skipping notification");
-                return;
-            }
-            
-            ExpenseStatus status;
-            try {
-                status = ExpenseStatus.valueOf(event.getStatus());
-            } catch (IllegalArgumentException e) {
-                log.warn("Unknown expense status received: {}", event.getStatus());
-                return;
-            }
-            
-            switch (status) {
-                case SUBMITTED -> handleExpenseSubmitted(event);
-                case APPROVED -> handleExpenseApproved(event);
-                case REJECTED -> handleExpenseRejected(event);
-                case PAID -> handleExpensePaid(event);
-                case UNDER_REVIEW -> handleExpenseUnderReview(event);
-                default -> log.info("No notification needed for expense status: {}", event.getStatus());
+            List<EventKey> keys = new ArrayList<>(records.size());
+            List<Notification> rendered = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                ConsumerRecord<String, ExpenseEvent> record = records.get(i);
+                if (record.value() == null) {
+                    if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                        // A DeserializationException isn't retryable, so it goes straight to the dead-letter topic
+                        DeserializationException cause = SerializationUtils.getExceptionFromHeader(record,
+                                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+                        failAt(keys, rendered, i, cause != null ? cause
+                                : new DeserializationException("Undeserializable expense event", null, false, null));
+                    }
+                    continue;
+                }
+                
+                Optional<Notification> notification;
+                try {
+                    notification = toNotification(record.value());
+                } catch (Exception e) {
+                    failAt(keys, rendered, i, e);
+                    return;
+                }
+                if (notification.isPresent()) {
+                    keys.add(keyOf(record));
+                    rendered.add(notification.get());
+                }
             }
-        } catch (Exception e) {
-            log.error("Error processing expense event: {}", e.getMessage(), e);
+            process(keys, rendered);
+        } finally {
+            recordLag(consumer);
         }
     }
     
-    private void handleExpenseSubmitted(ExpenseEvent event) {
-        // Notify expense owner that their expense was submitted
-        String subject = "Expense Submitted: " + event.getTitle();
-        String content = String.format(
-                "Your expense '%s' for %s %s has been submitted and is awaiting approval.",
-                event.getTitle(), event.getAmount(), event.getCurrency());
-                
-        sendNotification(event, subject, content, NotificationType.EXPENSE_SUBMITTED);
-                
-        // Notify approvers that a new expense is submitted
-        // This would require integration with user service to get approvers
-        log.info("Would notify approvers about submitted expense: {}", event.getId());
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(partitionLag::remove);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(partitionLag::remove);
+    }
+
+    /**
+     * Processes the records before the failing one and hands the failing index to the
+     * error handler, which commits the processed prefix, retries from the failed record and
+     * eventually dead-letters it. Records after it are redelivered, so none are claimed here.
+     */
+    private void failAt(List<EventKey> keys, List<Notification> rendered, int index, Exception cause) {
+        process(keys, rendered);
+        throw new BatchListenerFailedException("Failed to process expense event", cause, index);
     }
     
-    private void handleExpenseApproved(ExpenseEvent event) {
-        String subject = "Expense Approved: " + event.getTitle();
-        String content = String.format(
-                "Your expense '%s' for %s %s has been approved.",
-                event.getTitle(), event.getAmount(), event.getCurrency());
-                
-        sendNotification(event, subject, content, NotificationType.EXPENSE_APPROVED);
+    /**
+     * Claims the events and stores the notifications of the first deliveries in one
+     * transaction, so a failure leaves the events unclaimed for the retry.
+     */
+    private void process(List<EventKey> keys, List<Notification> rendered) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<EventKey> firstDeliveries = idempotencyService.claim(keys);
+            
+            List<Notification> notifications = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                if (firstDeliveries.remove(keys.get(i))) {
+                    notifications.add(rendered.get(i));
+                } else {
+                    log.debug("Skipping duplicate event {}, status: {}", keys.get(i).eventId(), keys.get(i).status());
+                }
+            }
+            
+            if (!notifications.isEmpty()) {
+                notificationCoalescer.submit(notifications);
+                log.info("Rendered {} notifications from {} expense events", notifications.size(), keys.size());
+            }
+        });
     }
     
-    private void handleExpenseRejected(ExpenseEvent event) {
-        String subject = "Expense Rejected: " + event.getTitle();
-        String content = String.format(
-                "Your expense '%s' for %s %s has been rejected.",
-                event.getTitle(), event.getAmount(), event.getCurrency());
-                
-        sendNotification(event, subject, content, NotificationType.EXPENSE_REJECTED);
+    /**
+     * Keys the event on the id expense-service assigns to every publish. Events without one
+     * fall back to their position in the log, which still catches consumer redeliveries.
+     */
+    static EventKey keyOf(ConsumerRecord<String, ExpenseEvent> record) {
+        Header header = record.headers().lastHeader(EVENT_ID_HEADER);
+        if (header != null) {
+            try {
+                return new EventKey(UUID.fromString(new String(header.value(), StandardCharsets.UTF_8)),
+                        record.value().getStatus());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed event id on {}-{}@{}", record.topic(), record.partition(), record.offset());
+            }
+        }
+        String position = record.topic() + "-" + record.partition() + "@" + record.offset();
+        return new EventKey(UUID.nameUUIDFromBytes(position.getBytes(StandardCharsets.UTF_8)), record.value().getStatus());
     }
     
-    private void handleExpensePaid(ExpenseEvent event) {
-        String subject = "Expense Paid: " + event.getTitle();
-        String content = String.format(
-                "Your expense '%s' for %s %s has been paid.",
-                event.getTitle(), event.getAmount(), event.getCurrency());
-                
-        sendNotification(event, subject, content, NotificationType.EXPENSE_PAID);
+    private Optional<Notification> toNotification(ExpenseEvent event) {
+        if (event.getStatus() == null) {
+            log.warn("No status in event for expense {}, skipping notification", event.getId());
+            return Optional.empty();
+        }
+        
+        ExpenseStatus status;
+        try {
+            status = ExpenseStatus.valueOf(event.getStatus());
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown expense status received: {}", event.getStatus());
+            return Optional.empty();
+        }
+        
+        NotificationType type = switch (status) {
+            case SUBMITTED -> {
+                // Notifying approvers would require integration with user service
+                log.debug("Would notify approvers about submitted expense: {}", event.getId());
+                yield NotificationType.EXPENSE_SUBMITTED;
+            }
+            case APPROVED -> NotificationType.EXPENSE_APPROVED;
+            case REJECTED -> NotificationType.EXPENSE_REJECTED;
+            case PAID -> NotificationType.EXPENSE_PAID;
+            case UNDER_REVIEW -> NotificationType.EXPENSE_UNDER_REVIEW;
+            default -> null;
+        };
+        if (type == null) {
+            log.debug("No notification needed for expense status: {}", event.getStatus());
+            return Optional.empty();
+        }
+        
+        return Optional.of(render(event, type));
     }
     
-    private void handleExpenseUnderReview(ExpenseEvent event) {
-        String subject = "Expense Under Review: " + event.getTitle();
-        String content = String.format(
-                "Your expense '%s' for %s %s is currently under review.",
-                event.getTitle(), event.getAmount(), event.getCurrency());
-                
-        sendNotification(event, subject, content, NotificationType.EXPENSE_UNDER_REVIEW);
+    // Users have no stored language yet, so everything renders in the default locale
+    private Notification render(ExpenseEvent event, NotificationType type) {
+        NotificationTemplate template = templateRegistry.get(type, templateRegistry.getDefaultLocale());
+        Map<String, String> params = Map.of(
+                "title", String.valueOf(event.getTitle()),
+                "amount", String.valueOf(event.getAmount()),
+                "currency", String.valueOf(event.getCurrency()));
+        
+        return Notification.builder()
+                .userId(event.getUserId())
+                .recipient(event.getUserEmail())
+                .subject(template.subject().render(params))
+                .content(template.body().render(params))
+                .type(type)
+                .build();
     }
     
-    private void sendNotification(ExpenseEvent event, String subject, String content, NotificationType type) {
+    private void recordLag(Consumer<?, ?> consumer) {
         try {
-            notificationService.createNotification(
-                    event.getUserId(), 
-                    event.getUserEmail(), 
-                    subject, 
-                    content, 
-                    type);
-            log.info("Notification sent for expense {}, type: {}", event.getId(), type);
+            for (TopicPartition partition : consumer.assignment()) {
+                consumer.currentLag(partition).ifPresent(lag -> partitionLag.put(partition, lag));
+            }
         } catch (Exception e) {
-            log.error("Failed to send notification for expense {}, type: {}: {}", 
-                     event.getId(), type, e.getMessage(), e);
+            log.debug("Could not determine consumer lag: {}", e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
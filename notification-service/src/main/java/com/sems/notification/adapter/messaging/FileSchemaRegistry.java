@@ -0,0 +1,60 @@
+package com.sems.notification.adapter.messaging;
+
+import org.apache.avro.Schema;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for a schema registry: Avro schemas are read from
+ * {@code <location>/<subject>/v<version>.avsc}. The version doubles as the schema id written
+ * into each binary payload, so readers can always resolve the writer's schema.
+ */
+public class FileSchemaRegistry {
+
+    private static final Pattern VERSION_FILE = Pattern.compile("v(\\d+)\\.avsc");
+
+    private final String subject;
+    private final TreeMap<Integer, Schema> schemas = new TreeMap<>();
+
+    public FileSchemaRegistry(String location, String subject) {
+        this.subject = subject;
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources(location + "/" + subject + "/v*.avsc");
+            for (Resource resource : resources) {
+                Matcher matcher = VERSION_FILE.matcher(String.valueOf(resource.getFilename()));
+                if (!matcher.matches()) {
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    // Each version gets its own parser, since a parser rejects redefined names
+                    schemas.put(Integer.parseInt(matcher.group(1)), new Schema.Parser().parse(in));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load schemas for subject " + subject + " from " + location, e);
+        }
+        if (schemas.isEmpty()) {
+            throw new IllegalStateException("No schemas found for subject " + subject + " in " + location);
+        }
+    }
+
+    public Schema get(int version) {
+        Schema schema = schemas.get(version);
+        if (schema == null) {
+            throw new SerializationException("Unknown schema version " + version + " for subject " + subject);
+        }
+        return schema;
+    }
+
+    public int latestVersion() {
+        return schemas.lastKey();
+    }
+}
@@ -0,0 +1,75 @@
+package com.sems.notification.adapter.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retries a failing expense event a bounded number of times in memory, then publishes it to
+ * the dead-letter topic with the error metadata headers added by
+ * {@link DeadLetterPublishingRecoverer}, so a poison message never blocks its partition.
+ * Events that could not be deserialized are forwarded as their original bytes without retries.
+ * Events that were deserialized but failed in the listener no longer have their original bytes
+ * and are written to the dead-letter topic as JSON, whatever format they arrived in: an Avro
+ * event is replayed as JSON, which {@link ExpenseEventDeserializer} reads as well.
+ */
+@Configuration
+@Slf4j
+public class KafkaErrorHandlingConfig {
+
+    @Bean
+    public NewTopic expenseEventsDeadLetterTopic(
+            @Value("${app.kafka.topics.expense-events-dlt}") String deadLetterTopic,
+            @Value("${app.kafka.dead-letter.partitions:1}") int partitions) {
+        return TopicBuilder.name(deadLetterTopic).partitions(partitions).build();
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterBytesTemplate(KafkaProperties kafkaProperties) {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null), new StringSerializer(), new ByteArraySerializer()));
+    }
+
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(
+            KafkaProperties kafkaProperties,
+            KafkaTemplate<String, byte[]> deadLetterBytesTemplate,
+            @Value("${app.kafka.topics.expense-events-dlt}") String deadLetterTopic,
+            @Value("${app.kafka.dead-letter.retry-attempts:2}") long retryAttempts,
+            @Value("${app.kafka.dead-letter.retry-interval-ms:1000}") long retryIntervalMs) {
+        // Re-serializes deserialized events, so Avro events are dead-lettered as JSON
+        KafkaTemplate<String, Object> jsonTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null), new StringSerializer(), new JsonSerializer<>()));
+
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, deadLetterBytesTemplate);
+        templates.put(Object.class, jsonTemplate);
+
+        // A negative partition lets the producer pick one, so the DLT may have fewer partitions
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> {
+                    log.error("Sending expense event at {}-{}@{} to {}: {}", record.topic(), record.partition(),
+                            record.offset(), deadLetterTopic, exception.getMessage());
+                    return new TopicPartition(deadLetterTopic, -1);
+                });
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(retryIntervalMs, retryAttempts));
+    }
+}
@@ -0,0 +1,32 @@
+package com.sems.notification.adapter.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A finished scheduled report from reporting-service. The file is named by its key in the
+ * report storage shared with reporting-service, and is absent for failed reports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDeliveryEvent {
+    private UUID reportId;
+    private String reportName;
+    private String status;
+    private List<String> recipients;
+    private String storageKey;
+    private String fileName;
+    private String contentType;
+    private Long sizeBytes;
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private String errorMessage;
+}
@@ -0,0 +1,42 @@
+package com.sems.notification.adapter.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Listener container for report deliveries. Unlike expense events they are few and each
+ * sends emails, so they are consumed one record at a time and committed after each. A
+ * delivery that fails to reach some recipients is retried for those, and one that still
+ * cannot be read or sent is logged and skipped rather than dead-lettered.
+ */
+@Configuration
+@Slf4j
+public class ReportDeliveryKafkaConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ReportDeliveryEvent> reportDeliveryListenerContainerFactory(
+            KafkaProperties kafkaProperties) {
+        JsonDeserializer<ReportDeliveryEvent> jsonDeserializer = new JsonDeserializer<>(ReportDeliveryEvent.class, false);
+        ConcurrentKafkaListenerContainerFactory<String, ReportDeliveryEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(kafkaProperties.buildConsumerProperties(null),
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(jsonDeserializer)));
+        factory.setBatchListener(false);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        factory.setCommonErrorHandler(new DefaultErrorHandler((record, exception) ->
+                log.error("Dropping report delivery at {}-{}@{}: {}", record.topic(), record.partition(),
+                        record.offset(), exception.getMessage()),
+                new FixedBackOff(1000L, 2)));
+        return factory;
+    }
+}
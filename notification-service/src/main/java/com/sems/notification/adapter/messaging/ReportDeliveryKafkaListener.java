@@ -0,0 +1,34 @@
+package com.sems.notification.adapter.messaging;
+
+import com.sems.notification.application.service.ReportDeliveryService;
+import com.sems.notification.domain.model.ReportDelivery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportDeliveryKafkaListener {
+    private final ReportDeliveryService reportDeliveryService;
+
+    @KafkaListener(topics = "${app.kafka.topics.report-deliveries}",
+            groupId = "${spring.application.name}-report-deliveries",
+            containerFactory = "reportDeliveryListenerContainerFactory")
+    public void consume(ReportDeliveryEvent event) {
+        log.info("Received delivery of report {} ({})", event.getReportId(), event.getStatus());
+        reportDeliveryService.deliver(new ReportDelivery(
+                event.getReportId(),
+                event.getReportName(),
+                "COMPLETED".equals(event.getStatus()),
+                event.getRecipients() != null ? event.getRecipients() : List.of(),
+                event.getStorageKey(),
+                event.getSizeBytes(),
+                event.getDateFrom(),
+                event.getDateTo(),
+                event.getErrorMessage()));
+    }
+}
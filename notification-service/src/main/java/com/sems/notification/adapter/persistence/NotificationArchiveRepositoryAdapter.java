@@ -0,0 +1,205 @@
+package com.sems.notification.adapter.persistence;
+
+import com.sems.notification.domain.model.NotificationPartition;
+import com.sems.notification.domain.port.NotificationArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationArchiveRepositoryAdapter implements NotificationArchiveRepository {
+    private static final String COLUMNS = "id, user_id, recipient, subject, content, type, status, created_at, "
+            + "sent_at, read_at, attempts, max_attempts, next_attempt_at, last_error";
+    private static final String FUTURE_PARTITION = "p_future";
+    // Monthly partitions are named p<yyyyMM>; names end up in DDL so anything else is rejected
+    private static final Pattern PARTITION_NAME = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int archiveSentBefore(LocalDateTime cutoff, int limit) {
+        return moveSent("notifications", "created_at < ? ORDER BY created_at", limit, Timestamp.valueOf(cutoff));
+    }
+
+    @Override
+    public int archiveSentInPartition(String partition, int limit) {
+        return moveSent(partitionSource(partition), "1 = 1", limit);
+    }
+
+    @Override
+    public long countUnsent(String partition) {
+        Long unsent = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + partitionSource(partition) + " WHERE status <> 'SENT'", Long.class);
+        return unsent != null ? unsent : 0;
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        Integer partitions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() "
+                        + "AND TABLE_NAME = 'notifications' AND PARTITION_NAME IS NOT NULL", Integer.class);
+        return partitions != null && partitions > 0;
+    }
+
+    @Override
+    public List<NotificationPartition> findPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'notifications' "
+                        + "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new NotificationPartition(rs.getString(1), parseBound(rs.getString(2))));
+    }
+
+    /**
+     * Splits monthly partitions off the catch-all partition up to and including
+     * {@code month}. The catch-all is normally empty, so the split moves no rows.
+     */
+    @Override
+    public void ensurePartitionsThrough(YearMonth month) {
+        YearMonth next = findPartitions().stream()
+                .map(NotificationPartition::upperBound)
+                .filter(bound -> bound != null)
+                .map(YearMonth::from)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now());
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth current = next; !current.isAfter(month); current = current.plusMonths(1)) {
+            definitions.add("PARTITION p" + current.format(PARTITION_SUFFIX) + " VALUES LESS THAN ('"
+                    + current.plusMonths(1).atDay(1) + "')");
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE notifications REORGANIZE PARTITION " + FUTURE_PARTITION
+                + " INTO (" + String.join(", ", definitions) + ")");
+        log.info("Added {} notification partitions through {}", definitions.size() - 1, month);
+    }
+
+    @Override
+    public long archivePartition(String partition, int chunkSize) {
+        String source = partitionSource(partition);
+        long archived = 0;
+        byte[] lastId = null;
+        while (true) {
+            List<byte[]> ids = jdbcTemplate.query(
+                    "SELECT id FROM " + source + " WHERE (? IS NULL OR id > ?) ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> rs.getBytes(1), lastId, lastId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            String idFilter = idFilter(ids.size());
+            archived += copyToArchive(source, idFilter, ids.toArray());
+            lastId = ids.get(ids.size() - 1);
+        }
+        return archived;
+    }
+
+    /**
+     * Takes up to {@code limit} unread rows of the partition off their users' unread counters
+     * and marks them read, so a rerun doesn't take them off again. Run it after the rows were
+     * copied, which keeps the original read state in the archive.
+     */
+    @Override
+    public int releaseUnreadInPartition(String partition, int limit) {
+        String source = partitionSource(partition);
+        List<byte[]> ids = jdbcTemplate.query(
+                "SELECT id FROM " + source + " WHERE read_at IS NULL LIMIT ? FOR UPDATE",
+                (rs, rowNum) -> rs.getBytes(1), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String idFilter = idFilter(ids.size());
+        Object[] idArgs = ids.toArray();
+        releaseUnreadCounts(source, idFilter, idArgs);
+        Object[] params = new Object[idArgs.length + 1];
+        params[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(idArgs, 0, params, 1, idArgs.length);
+        jdbcTemplate.update("UPDATE " + source + " SET read_at = ? WHERE " + idFilter, params);
+        return ids.size();
+    }
+
+    @Override
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE notifications DROP PARTITION " + validated(partition));
+    }
+
+    // Copies, releases and deletes one chunk of SENT rows; the caller's transaction makes it all-or-nothing
+    private int moveSent(String source, String filter, int limit, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        System.arraycopy(args, 0, params, 0, args.length);
+        params[args.length] = limit;
+        List<byte[]> ids = jdbcTemplate.query(
+                "SELECT id FROM " + source + " WHERE status = 'SENT' AND " + filter + " LIMIT ? FOR UPDATE",
+                (rs, rowNum) -> rs.getBytes(1), params);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String idFilter = idFilter(ids.size());
+        Object[] idArgs = ids.toArray();
+        copyToArchive(source, idFilter, idArgs);
+        releaseUnreadCounts(source, idFilter, idArgs);
+        jdbcTemplate.update("DELETE FROM " + source + " WHERE " + idFilter, idArgs);
+        return ids.size();
+    }
+
+    // INSERT IGNORE keeps reruns after an interrupted archival from failing on rows already copied
+    private int copyToArchive(String source, String filter, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        params[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(args, 0, params, 1, args.length);
+        return jdbcTemplate.update("INSERT IGNORE INTO notifications_archive (" + COLUMNS + ", archived_at) "
+                + "SELECT " + COLUMNS + ", ? FROM " + source + " WHERE " + filter, params);
+    }
+
+    // Archived notifications that were never read must no longer count towards the badge
+    private void releaseUnreadCounts(String source, String filter, Object... args) {
+        jdbcTemplate.update("UPDATE notification_counters c JOIN (SELECT user_id, COUNT(*) AS unread FROM " + source
+                + " WHERE " + filter + " AND read_at IS NULL GROUP BY user_id) u ON c.user_id = u.user_id "
+                + "SET c.unread_count = GREATEST(c.unread_count - u.unread, 0)", args);
+    }
+
+    private static String idFilter(int count) {
+        return "id IN (" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    private static String partitionSource(String partition) {
+        return "notifications PARTITION (" + validated(partition) + ")";
+    }
+
+    private static String validated(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Not a monthly notification partition: " + partition);
+        }
+        return partition;
+    }
+
+    // RANGE COLUMNS bounds are reported as quoted literals, e.g. '2024-02-01 00:00:00'
+    private static LocalDateTime parseBound(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return value.length() == 10
+                ? LocalDateTime.parse(value + " 00:00:00", BOUND_FORMAT)
+                : LocalDateTime.parse(value, BOUND_FORMAT);
+    }
+}
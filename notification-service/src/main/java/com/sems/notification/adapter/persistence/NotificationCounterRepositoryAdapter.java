@@ -0,0 +1,46 @@
+package com.sems.notification.adapter.persistence;
+
+import com.sems.notification.adapter.persistence.entity.NotificationCounterEntity;
+import com.sems.notification.adapter.persistence.repository.NotificationCounterJpaRepository;
+import com.sems.notification.domain.port.NotificationCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationCounterRepositoryAdapter implements NotificationCounterRepository {
+    private static final String INCREMENT_SQL = "INSERT INTO notification_counters (user_id, unread_count) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE unread_count = unread_count + VALUES(unread_count)";
+
+    private final NotificationCounterJpaRepository notificationCounterJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long getUnreadCount(UUID userId) {
+        return notificationCounterJpaRepository.findById(userId)
+                .map(NotificationCounterEntity::getUnreadCount)
+                .orElse(0L);
+    }
+
+    @Override
+    public void incrementUnread(Map<UUID, Integer> deltasByUser) {
+        // Fixed row order so concurrent batches lock counters in the same sequence
+        List<Map.Entry<UUID, Integer>> deltas = new ArrayList<>(deltasByUser.entrySet());
+        deltas.sort(Map.Entry.comparingByKey());
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setBytes(1, UuidBytes.toBytes(delta.getKey()));
+            ps.setInt(2, delta.getValue());
+        });
+    }
+
+    @Override
+    public void decrementUnread(UUID userId, int delta) {
+        notificationCounterJpaRepository.decrementUnread(userId, delta);
+    }
+}
@@ -8,8 +8,14 @@ import com.sems.notification.domain.model.NotificationStatus;
 import com.sems.notification.domain.model.NotificationType;
 import com.sems.notification.domain.port.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,8 +24,19 @@ import java.util.stream.Collectors;
 @Component
 @RequiredArgsConstructor
 public class NotificationRepositoryAdapter implements NotificationRepository {
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(id, user_id, recipient, subject, content, type, status, created_at, sent_at, "
+            + "attempts, max_attempts, next_attempt_at, last_error) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_DELIVERY_STATE_SQL = "UPDATE notifications "
+            + "SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
     private final NotificationJpaRepository notificationJpaRepository;
     private final NotificationEntityMapper notificationEntityMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.notifications.insert-batch-size:500}")
+    private int insertBatchSize;
 
     @Override
     public Notification save(Notification notification) {
@@ -28,6 +45,30 @@ public class NotificationRepositoryAdapter implements NotificationRepository {
         return notificationEntityMapper.toDomain(savedEntity);
     }
 
+    /**
+     * Inserts new notifications with JDBC batching instead of one persist per row. With
+     * rewriteBatchedStatements on the MySQL URL each batch becomes a multi-row insert.
+     */
+    @Override
+    public List<Notification> saveAll(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications, insertBatchSize, (ps, notification) -> {
+            ps.setBytes(1, UuidBytes.toBytes(notification.getId()));
+            ps.setBytes(2, UuidBytes.toBytes(notification.getUserId()));
+            ps.setString(3, notification.getRecipient());
+            ps.setString(4, notification.getSubject());
+            ps.setString(5, notification.getContent());
+            ps.setString(6, notification.getType().name());
+            ps.setString(7, notification.getStatus().name());
+            ps.setTimestamp(8, Timestamp.valueOf(notification.getCreatedAt()));
+            ps.setTimestamp(9, toTimestamp(notification.getSentAt()));
+            ps.setInt(10, notification.getAttempts());
+            ps.setInt(11, notification.getMaxAttempts());
+            ps.setTimestamp(12, toTimestamp(notification.getNextAttemptAt()));
+            ps.setString(13, notification.getLastError());
+        });
+        return notifications;
+    }
+
     @Override
     public Optional<Notification> findById(UUID id) {
         return notificationJpaRepository.findById(id)
@@ -61,4 +102,97 @@ public class NotificationRepositoryAdapter implements NotificationRepository {
                 .map(notificationEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Locks up to {@code limit} due PENDING rows, skipping rows already locked by other
+     * instances, and marks them SENDING until {@code claimUntil}. Must run in a transaction.
+     */
+    @Override
+    public List<Notification> claimDispatchable(int limit, LocalDateTime now, LocalDateTime claimUntil) {
+        List<NotificationEntity> entities = notificationJpaRepository.findDispatchableForUpdate(now, limit);
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = entities.stream().map(NotificationEntity::getId).toList();
+        notificationJpaRepository.updateStatus(ids, NotificationStatus.SENDING, claimUntil);
+        return entities.stream()
+                .map(notificationEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int releaseExpiredClaims(LocalDateTime now) {
+        return notificationJpaRepository.releaseExpiredClaims(now);
+    }
+
+    @Override
+    public void markSent(Collection<UUID> ids, LocalDateTime sentAt) {
+        notificationJpaRepository.markSent(ids, sentAt);
+    }
+
+    @Override
+    public void updateDeliveryStates(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate(UPDATE_DELIVERY_STATE_SQL, notifications, insertBatchSize, (ps, notification) -> {
+            ps.setString(1, notification.getStatus().name());
+            ps.setInt(2, notification.getAttempts());
+            ps.setTimestamp(3, toTimestamp(notification.getNextAttemptAt()));
+            ps.setString(4, notification.getLastError());
+            ps.setBytes(5, UuidBytes.toBytes(notification.getId()));
+        });
+    }
+
+    /**
+     * Keyset page of a user's inbox, newest first. Served from the (user_id, created_at)
+     * index; {@code beforeCreatedAt}/{@code beforeId} identify the last row of the previous page.
+     */
+    @Override
+    public List<Notification> findInboxPage(UUID userId, LocalDateTime beforeCreatedAt, UUID beforeId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<NotificationEntity> entities = beforeCreatedAt == null
+                ? notificationJpaRepository.findInboxFirstPage(userId, page)
+                : notificationJpaRepository.findInboxPageBefore(userId, beforeCreatedAt, beforeId, page);
+        return entities.stream()
+                .map(notificationEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int markRead(UUID userId, Collection<UUID> ids, LocalDateTime readAt) {
+        return notificationJpaRepository.markRead(userId, ids, readAt);
+    }
+
+    @Override
+    public int markAllRead(UUID userId, LocalDateTime readAt) {
+        return notificationJpaRepository.markAllRead(userId, readAt);
+    }
+
+    /**
+     * Users whose digest buffer holds a row older than {@code openedBefore} or has reached
+     * {@code maxSize} rows, longest-waiting first.
+     */
+    @Override
+    public List<UUID> findUsersWithDueDigests(LocalDateTime openedBefore, int maxSize, int limit) {
+        return notificationJpaRepository.findUsersWithDueDigests(openedBefore, maxSize, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Locks and returns the user's BUFFERED rows, oldest first. Must run in a transaction;
+     * a concurrent flush of the same user waits and then finds the rows gone.
+     */
+    @Override
+    public List<Notification> lockBuffered(UUID userId) {
+        return notificationJpaRepository.findBufferedForUpdate(userId).stream()
+                .map(notificationEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        notificationJpaRepository.deleteAllByIdInBatch(ids);
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.sems.notification.adapter.persistence;
+
+import com.sems.notification.adapter.persistence.repository.ProcessedEventJpaRepository;
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.port.ProcessedEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProcessedEventRepositoryAdapter implements ProcessedEventRepository {
+    private static final String INSERT_SQL = "INSERT IGNORE INTO processed_events "
+            + "(event_id, status, claim_token, processed_at) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_PROCESSED_BEFORE_SQL =
+            "DELETE FROM processed_events WHERE processed_at < ? ORDER BY processed_at LIMIT ?";
+
+    private final ProcessedEventJpaRepository processedEventJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all keys tagged with a fresh claim token, letting the unique key on
+     * (event_id, status) drop the ones already present, then reads back the rows carrying
+     * the token. Batched update counts can't tell ignored rows apart once the driver
+     * rewrites the batch into a multi-row insert, so the token is what identifies our rows.
+     */
+    @Override
+    public Set<EventKey> claim(Collection<EventKey> keys) {
+        UUID claimToken = UUID.randomUUID();
+        Timestamp processedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new ArrayList<>(keys), keys.size(), (ps, key) -> {
+            ps.setBytes(1, UuidBytes.toBytes(key.eventId()));
+            ps.setString(2, key.status());
+            ps.setBytes(3, UuidBytes.toBytes(claimToken));
+            ps.setTimestamp(4, processedAt);
+        });
+
+        Set<UUID> eventIds = keys.stream().map(EventKey::eventId).collect(Collectors.toSet());
+        return processedEventJpaRepository.findByEventIdInAndClaimToken(eventIds, claimToken).stream()
+                .map(entity -> new EventKey(entity.getEventId(), entity.getStatus()))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<EventKey> findProcessed(Collection<EventKey> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> eventIds = keys.stream().map(EventKey::eventId).collect(Collectors.toSet());
+        return processedEventJpaRepository.findByEventIdIn(eventIds).stream()
+                .map(entity -> new EventKey(entity.getEventId(), entity.getStatus()))
+                .filter(keys::contains)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public int deleteProcessedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_PROCESSED_BEFORE_SQL, Timestamp.valueOf(cutoff), limit);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sems.notification.adapter.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// Hibernate maps UUID columns to BINARY(16) on MySQL; JDBC batch writes must match
+final class UuidBytes {
+
+    private UuidBytes() {
+    }
+
+    static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,76 @@
+package com.sems.notification.adapter.persistence.entity;
+
+import com.sems.notification.domain.model.NotificationStatus;
+import com.sems.notification.domain.model.NotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Same columns as notifications; rows are written by NotificationArchiveRepositoryAdapter
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_user_created", columnList = "user_id, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationArchiveEntity {
+    @Id
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(nullable = false)
+    private String recipient;
+    
+    @Column(nullable = false)
+    private String subject;
+    
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(32)")
+    private NotificationType type;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(32)")
+    private NotificationStatus status;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+    
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,27 @@
+package com.sems.notification.adapter.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "notification_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounterEntity {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
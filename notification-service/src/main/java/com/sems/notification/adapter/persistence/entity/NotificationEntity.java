@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +18,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_notifications_status_created", columnList = "status, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,11 +44,11 @@ public class NotificationEntity {
     private String content;
     
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = "varchar(32)")
     private NotificationType type;
     
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = "varchar(32)")
     private NotificationStatus status;
     
     @Column(name = "created_at", nullable = false)
@@ -51,4 +56,20 @@ public class NotificationEntity {
     
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
+    
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+    
+    // Earliest next delivery attempt; while SENDING, the end of the worker's claim
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.sems.notification.adapter.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "processed_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_processed_events_event_status", columnNames = {"event_id", "status"})
+}, indexes = {
+        @Index(name = "idx_processed_events_processed_at", columnList = "processed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+    
+    @Column(nullable = false, length = 50)
+    private String status;
+    
+    // Identifies the claim that inserted the row, see ProcessedEventRepositoryAdapter
+    @Column(name = "claim_token", nullable = false)
+    private UUID claimToken;
+    
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
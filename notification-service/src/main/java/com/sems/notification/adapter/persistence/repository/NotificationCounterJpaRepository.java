@@ -0,0 +1,18 @@
+package com.sems.notification.adapter.persistence.repository;
+
+import com.sems.notification.adapter.persistence.entity.NotificationCounterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface NotificationCounterJpaRepository extends JpaRepository<NotificationCounterEntity, UUID> {
+    @Modifying
+    @Query("UPDATE NotificationCounterEntity c SET c.unreadCount = "
+            + "CASE WHEN c.unreadCount > :delta THEN c.unreadCount - :delta ELSE 0 END WHERE c.userId = :userId")
+    int decrementUnread(@Param("userId") UUID userId, @Param("delta") long delta);
+}
@@ -3,9 +3,17 @@ package com.sems.notification.adapter.persistence.repository;
 import com.sems.notification.adapter.persistence.entity.NotificationEntity;
 import com.sems.notification.domain.model.NotificationStatus;
 import com.sems.notification.domain.model.NotificationType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,4 +23,62 @@ public interface NotificationJpaRepository extends JpaRepository<NotificationEnt
     List<NotificationEntity> findByStatus(NotificationStatus status);
     List<NotificationEntity> findByType(NotificationType type);
     List<NotificationEntity> findByUserIdAndStatus(UUID userId, NotificationStatus status);
-} 
\ No newline at end of file
+
+    @Query(value = "SELECT * FROM notifications WHERE status = 'PENDING' "
+            + "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) "
+            + "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationEntity> findDispatchableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.status = :status, n.nextAttemptAt = :nextAttemptAt WHERE n.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") NotificationStatus status,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.status = com.sems.notification.domain.model.NotificationStatus.PENDING "
+            + "WHERE n.status = com.sems.notification.domain.model.NotificationStatus.SENDING AND n.nextAttemptAt < :now")
+    int releaseExpiredClaims(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.status = com.sems.notification.domain.model.NotificationStatus.SENT, "
+            + "n.sentAt = :sentAt, n.nextAttemptAt = null, n.lastError = null WHERE n.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Query("SELECT n FROM NotificationEntity n WHERE n.userId = :userId "
+            + "AND n.status <> com.sems.notification.domain.model.NotificationStatus.BUFFERED "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationEntity> findInboxFirstPage(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT n FROM NotificationEntity n WHERE n.userId = :userId "
+            + "AND n.status <> com.sems.notification.domain.model.NotificationStatus.BUFFERED "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationEntity> findInboxPageBefore(@Param("userId") UUID userId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") UUID id,
+                                                 Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.readAt = :readAt "
+            + "WHERE n.userId = :userId AND n.id IN :ids AND n.readAt IS NULL "
+            + "AND n.status <> com.sems.notification.domain.model.NotificationStatus.BUFFERED")
+    int markRead(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.readAt = :readAt WHERE n.userId = :userId AND n.readAt IS NULL "
+            + "AND n.status <> com.sems.notification.domain.model.NotificationStatus.BUFFERED")
+    int markAllRead(@Param("userId") UUID userId, @Param("readAt") LocalDateTime readAt);
+
+    @Query("SELECT n.userId FROM NotificationEntity n WHERE n.status = com.sems.notification.domain.model.NotificationStatus.BUFFERED "
+            + "GROUP BY n.userId HAVING MIN(n.createdAt) <= :openedBefore OR COUNT(n) >= :maxSize "
+            + "ORDER BY MIN(n.createdAt), n.userId")
+    List<UUID> findUsersWithDueDigests(@Param("openedBefore") LocalDateTime openedBefore,
+                                       @Param("maxSize") long maxSize,
+                                       Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM NotificationEntity n WHERE n.userId = :userId "
+            + "AND n.status = com.sems.notification.domain.model.NotificationStatus.BUFFERED ORDER BY n.createdAt, n.id")
+    List<NotificationEntity> findBufferedForUpdate(@Param("userId") UUID userId);
+}
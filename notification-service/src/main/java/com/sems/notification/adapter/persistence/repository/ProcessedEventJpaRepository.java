@@ -0,0 +1,16 @@
+package com.sems.notification.adapter.persistence.repository;
+
+import com.sems.notification.adapter.persistence.entity.ProcessedEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProcessedEventJpaRepository extends JpaRepository<ProcessedEventEntity, Long> {
+    List<ProcessedEventEntity> findByEventIdInAndClaimToken(Collection<UUID> eventIds, UUID claimToken);
+
+    List<ProcessedEventEntity> findByEventIdIn(Collection<UUID> eventIds);
+}
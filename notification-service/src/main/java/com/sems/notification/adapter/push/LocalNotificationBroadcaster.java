@@ -0,0 +1,24 @@
+package com.sems.notification.adapter.push;
+
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.port.NotificationBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single-instance fan-out: only clients connected to this instance are reached.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.push.fanout", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalNotificationBroadcaster implements NotificationBroadcaster {
+    private final SseSubscriberRegistry subscriberRegistry;
+
+    @Override
+    public void broadcast(List<Notification> notifications) {
+        subscriberRegistry.deliver(notifications);
+    }
+}
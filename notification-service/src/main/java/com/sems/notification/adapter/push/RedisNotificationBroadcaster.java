@@ -0,0 +1,67 @@
+package com.sems.notification.adapter.push;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.port.NotificationBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Cross-instance fan-out over Redis pub/sub. Every instance, the publisher included,
+ * subscribes to the channel and delivers to its own connections, so a user reaches all of
+ * their open clients regardless of which instance they are connected to.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.push.fanout", havingValue = "redis")
+@Slf4j
+public class RedisNotificationBroadcaster implements NotificationBroadcaster, MessageListener {
+
+    private static final TypeReference<List<Notification>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SseSubscriberRegistry subscriberRegistry;
+    private final String channel;
+
+    public RedisNotificationBroadcaster(StringRedisTemplate redisTemplate,
+                                        ObjectMapper objectMapper,
+                                        SseSubscriberRegistry subscriberRegistry,
+                                        @Value("${app.notifications.push.channel:sems:notifications}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.subscriberRegistry = subscriberRegistry;
+        this.channel = channel;
+    }
+
+    @Override
+    public void broadcast(List<Notification> notifications) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(notifications));
+        } catch (Exception e) {
+            // Push is best-effort; clients still see the notifications in their inbox
+            log.warn("Failed to publish {} notifications to Redis, delivering locally: {}",
+                    notifications.size(), e.getMessage());
+            subscriberRegistry.deliver(notifications);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+            subscriberRegistry.deliver(objectMapper.readValue(payload, PAYLOAD_TYPE));
+        } catch (Exception e) {
+            log.error("Failed to handle pushed notifications from Redis: {}", e.getMessage());
+        }
+    }
+}
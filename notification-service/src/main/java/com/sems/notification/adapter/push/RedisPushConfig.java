@@ -0,0 +1,25 @@
+package com.sems.notification.adapter.push;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.notifications.push.fanout", havingValue = "redis")
+public class RedisPushConfig {
+
+    @Bean
+    public RedisMessageListenerContainer notificationPushListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisNotificationBroadcaster broadcaster,
+            @Value("${app.notifications.push.channel:sems:notifications}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -0,0 +1,180 @@
+package com.sems.notification.adapter.push;
+
+import com.sems.notification.application.dto.PushedNotificationResponse;
+import com.sems.notification.domain.model.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event connections of this instance, grouped by user. Every connection has a
+ * bounded buffer drained by a shared sender pool, so a slow client only loses its own
+ * oldest undelivered events and never holds up the publisher. Idle connections receive
+ * heartbeat comments so proxies keep them open and dead ones are detected.
+ */
+@Component
+@Slf4j
+public class SseSubscriberRegistry {
+
+    private final Map<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final long emitterTimeoutMs;
+    private final Counter droppedEvents;
+
+    public SseSubscriberRegistry(MeterRegistry meterRegistry,
+                                 @Value("${app.notifications.push.sender-threads:4}") int senderThreads,
+                                 @Value("${app.notifications.push.buffer-size:100}") int bufferSize,
+                                 @Value("${app.notifications.push.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                 @Value("${app.notifications.push.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+
+        // At most one drain task per connection is queued, so the queue is bounded by connections
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "notification-push-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("notification.push.connections", subscribers,
+                        registry -> registry.values().stream().mapToInt(List::size).sum())
+                .description("Open server-sent event connections")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("notification.push.dropped")
+                .description("Events dropped because a connection's buffer was full")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            List<Subscriber> current = userSubscribers != null ? userSubscribers : new CopyOnWriteArrayList<>();
+            current.add(subscriber);
+            // Close the oldest tabs beyond the per-user limit
+            while (current.size() > maxConnectionsPerUser) {
+                evicted.add(current.remove(0));
+            }
+            return current;
+        });
+        evicted.forEach(oldest -> oldest.emitter().complete());
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Queues notifications for the recipients connected to this instance.
+     */
+    public void deliver(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            List<Subscriber> userSubscribers = subscribers.get(notification.getUserId());
+            if (userSubscribers == null) {
+                continue;
+            }
+            PushedNotificationResponse pushed = PushedNotificationResponse.builder()
+                    .id(notification.getId())
+                    .type(notification.getType())
+                    .subject(notification.getSubject())
+                    .content(notification.getContent())
+                    .createdAt(notification.getCreatedAt())
+                    .build();
+            for (Subscriber subscriber : userSubscribers) {
+                enqueue(subscriber, SseEmitter.event()
+                        .id(notification.getId().toString())
+                        .name("notification")
+                        .data(pushed));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.push.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber ->
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber ->
+                subscriber.emitter().complete()));
+        senders.shutdown();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        while (!subscriber.buffer().offer(event)) {
+            subscriber.buffer().poll();
+            droppedEvents.increment();
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.buffer().poll()) != null) {
+                subscriber.emitter().send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping push connection of user {}: {}", subscriber.userId(), e.getMessage());
+            subscriber.buffer().clear();
+            unsubscribe(subscriber);
+            subscriber.emitter().completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // Events offered after the loop ended but before the flag was cleared
+        if (!subscriber.buffer().isEmpty() && subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (userId, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private record Subscriber(UUID userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> buffer,
+                              AtomicBoolean draining) {
+        Subscriber(UUID userId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> buffer) {
+            this(userId, emitter, buffer, new AtomicBoolean());
+        }
+    }
+}
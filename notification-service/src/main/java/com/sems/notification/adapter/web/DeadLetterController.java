@@ -0,0 +1,38 @@
+package com.sems.notification.adapter.web;
+
+import com.sems.notification.adapter.messaging.DeadLetterReplayService;
+import com.sems.notification.application.dto.DeadLetterReplayResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replay(@RequestParam(defaultValue = "1000") int maxRecords) {
+        try {
+            deadLetterReplayService.start(maxRecords);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status());
+        }
+        return ResponseEntity.accepted().body(status());
+    }
+
+    @GetMapping("/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replayStatus() {
+        return ResponseEntity.ok(status());
+    }
+
+    private DeadLetterReplayResponse status() {
+        return new DeadLetterReplayResponse(deadLetterReplayService.isRunning(), deadLetterReplayService.getReplayed());
+    }
+}
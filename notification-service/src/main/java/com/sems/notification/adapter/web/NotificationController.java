@@ -0,0 +1,72 @@
+package com.sems.notification.adapter.web;
+
+import com.sems.notification.adapter.push.SseSubscriberRegistry;
+import com.sems.notification.application.dto.UnreadCountResponse;
+import com.sems.notification.domain.model.NotificationPage;
+import com.sems.notification.domain.port.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+// Served under the /notifications context path, i.e. /api/notifications/... through the gateway
+@RestController
+@RequestMapping("/user/{userId}")
+@RequiredArgsConstructor
+public class NotificationController {
+    private final NotificationService notificationService;
+    private final SseSubscriberRegistry subscriberRegistry;
+
+    /**
+     * Pushes new notifications as they are created. The current unread count is sent first
+     * so the badge is correct without an extra request.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable UUID userId) throws IOException {
+        SseEmitter emitter = subscriberRegistry.subscribe(userId);
+        emitter.send(SseEmitter.event()
+                .name("unread-count")
+                .data(new UnreadCountResponse(notificationService.getUnreadCount(userId))));
+        return emitter;
+    }
+
+    @GetMapping("/inbox")
+    public ResponseEntity<NotificationPage> getInbox(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(notificationService.getInbox(userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(@PathVariable UUID userId) {
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.getUnreadCount(userId)));
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<UnreadCountResponse> markAsRead(
+            @PathVariable UUID userId,
+            @RequestBody List<UUID> notificationIds) {
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.markAsRead(userId, notificationIds)));
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<UnreadCountResponse> markAllAsRead(@PathVariable UUID userId) {
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.markAllAsRead(userId)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.sems.notification.application.dto;
+
+import com.sems.notification.domain.model.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What a connected client is sent for a new notification; delivery details such as the
+ * recipient address and the last send error stay on the server.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushedNotificationResponse {
+    private UUID id;
+    private NotificationType type;
+    private String subject;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.sems.notification.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountResponse {
+    private long unreadCount;
+}
@@ -0,0 +1,28 @@
+package com.sems.notification.application.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed one-second window limiter keyed by recipient domain, so a burst to one provider
+ * does not trip its throttling while other domains keep flowing.
+ */
+class DomainRateLimiter {
+
+    private final int permitsPerSecond;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    DomainRateLimiter(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    boolean tryAcquire(String domain) {
+        long second = System.currentTimeMillis() / 1000;
+        Window window = windows.merge(domain, new Window(second, 1),
+                (current, fresh) -> current.second() == second ? new Window(second, current.count() + 1) : fresh);
+        return window.count() <= permitsPerSecond;
+    }
+
+    private record Window(long second, int count) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.port.ProcessedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers which events were already turned into notifications so redeliveries are
+ * dropped. Recently seen keys are answered from a bounded LRU cache; everything else is
+ * checked against the processed_events table, whose unique key is the source of truth.
+ * Keys older than the retention are purged daily; it has to exceed how long the topic
+ * keeps events, or a redelivery of an older event is processed again.
+ */
+@Service
+@Slf4j
+public class EventIdempotencyService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final Map<EventKey, Boolean> recentKeys;
+    private final Duration retention;
+    private final int purgeChunkSize;
+
+    public EventIdempotencyService(ProcessedEventRepository processedEventRepository,
+                                   @Value("${app.notifications.idempotency.cache-size:100000}") int cacheSize,
+                                   @Value("${app.notifications.idempotency.retention:P30D}") Duration retention,
+                                   @Value("${app.notifications.idempotency.purge-chunk-size:10000}") int purgeChunkSize) {
+        this.processedEventRepository = processedEventRepository;
+        this.retention = retention;
+        this.purgeChunkSize = purgeChunkSize;
+        this.recentKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EventKey, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Records the given keys as processed and returns those seen for the first time, in
+     * their original order. Duplicates within the same call are returned once. Call it in
+     * the transaction that stores the events' effects: if that rolls back, so do the claims,
+     * and the cache only learns the keys once the transaction has committed.
+     */
+    @Transactional
+    public Set<EventKey> claim(Collection<EventKey> keys) {
+        Set<EventKey> candidates = new LinkedHashSet<>(keys);
+        synchronized (recentKeys) {
+            candidates.removeIf(recentKeys::containsKey);
+        }
+        if (candidates.isEmpty()) {
+            log.debug("Dropped {} redelivered events from cache", keys.size());
+            return candidates;
+        }
+
+        // Whether claimed now or earlier, every candidate is processed once this commits
+        Set<EventKey> claimed = processedEventRepository.claim(candidates);
+        rememberAfterCommit(List.copyOf(candidates));
+        candidates.retainAll(claimed);
+
+        if (candidates.size() < keys.size()) {
+            log.debug("Dropped {} duplicate events out of {}", keys.size() - candidates.size(), keys.size());
+        }
+        return candidates;
+    }
+
+    /**
+     * The given keys that were already claimed, without claiming the others. For work that
+     * can't be undone by a rollback, such as sending an email, which is claimed after it's done.
+     */
+    public Set<EventKey> processed(Collection<EventKey> keys) {
+        Set<EventKey> processed = new LinkedHashSet<>();
+        List<EventKey> unknown;
+        synchronized (recentKeys) {
+            keys.stream().filter(recentKeys::containsKey).forEach(processed::add);
+            unknown = keys.stream().filter(key -> !processed.contains(key)).toList();
+        }
+        if (!unknown.isEmpty()) {
+            processed.addAll(processedEventRepository.findProcessed(unknown));
+        }
+        return processed;
+    }
+
+    @Scheduled(cron = "${app.notifications.idempotency.purge-cron:0 0 4 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = processedEventRepository.deleteProcessedBefore(cutoff, purgeChunkSize);
+            purged += deleted;
+        } while (deleted == purgeChunkSize);
+        log.info("Purged {} processed event keys older than {}", purged, cutoff);
+    }
+
+    private void rememberAfterCommit(Collection<EventKey> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(keys);
+            }
+        });
+    }
+
+    private void remember(Collection<EventKey> keys) {
+        synchronized (recentKeys) {
+            keys.forEach(key -> recentKeys.put(key, Boolean.TRUE));
+        }
+    }
+}
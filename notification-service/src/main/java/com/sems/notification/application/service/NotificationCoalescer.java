@@ -0,0 +1,169 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.application.template.CompiledTemplate;
+import com.sems.notification.application.template.NotificationTemplate;
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationStatus;
+import com.sems.notification.domain.model.NotificationType;
+import com.sems.notification.domain.port.NotificationRepository;
+import com.sems.notification.domain.port.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Buffers notifications per user and merges everything received within a window into a
+ * single digest, so bulk approvals produce one email per user instead of one per expense.
+ * A user's buffer is flushed when its oldest entry is older than the window or it reaches
+ * the size cap. Digest sections use the per-type headings from the
+ * {@link NotificationTemplateRegistry}.
+ * <p>
+ * Buffered notifications are stored as BUFFERED rows in the caller's transaction, so they
+ * survive a crash once the consumer has committed its offsets. A flush locks the user's rows,
+ * replaces them with the digest and commits both together, so each entry is sent exactly once
+ * even with several instances flushing.
+ */
+@Service
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationService notificationService;
+    private final NotificationRepository notificationRepository;
+    private final NotificationTemplateRegistry templateRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxSize;
+    private final int flushBatchSize;
+
+    public NotificationCoalescer(NotificationService notificationService,
+                                 NotificationRepository notificationRepository,
+                                 NotificationTemplateRegistry templateRegistry,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.notifications.digest.enabled:true}") boolean enabled,
+                                 @Value("${app.notifications.digest.window-ms:60000}") long windowMs,
+                                 @Value("${app.notifications.digest.max-size:50}") int maxSize,
+                                 @Value("${app.notifications.digest.flush-batch-size:500}") int flushBatchSize) {
+        this.notificationService = notificationService;
+        this.notificationRepository = notificationRepository;
+        this.templateRegistry = templateRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxSize = maxSize;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    @Transactional
+    public void submit(List<Notification> notifications) {
+        if (!enabled) {
+            notificationService.createNotifications(notifications);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        notifications.forEach(notification -> {
+            notification.setId(UUID.randomUUID());
+            notification.setStatus(NotificationStatus.BUFFERED);
+            notification.setCreatedAt(now);
+        });
+        notificationRepository.saveAll(notifications);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.digest.flush-interval-ms:5000}")
+    public void flushExpired() {
+        LocalDateTime openedBefore = LocalDateTime.now().minus(Duration.ofMillis(windowMs));
+        List<UUID> users;
+        int failed;
+        do {
+            users = notificationRepository.findUsersWithDueDigests(openedBefore, maxSize, flushBatchSize);
+            int digests = 0;
+            int items = 0;
+            failed = 0;
+            for (UUID userId : users) {
+                try {
+                    int[] flushed = transactionTemplate.execute(status -> flush(userId));
+                    digests += flushed[0];
+                    items += flushed[1];
+                } catch (Exception e) {
+                    // One user's failure mustn't hold back everyone else's digests; it's retried next run
+                    log.error("Failed to flush digest for user {}: {}", userId, e.getMessage(), e);
+                    failed++;
+                }
+            }
+            if (digests > 0) {
+                log.info("Flushed {} digests covering {} notifications", digests, items);
+            }
+            // Failed users are still due and come back in the next page, so stop once a page is all failures
+        } while (users.size() == flushBatchSize && failed < users.size());
+    }
+
+    // Returns the number of digests created and of buffered notifications they replace
+    private int[] flush(UUID userId) {
+        List<Notification> buffered = notificationRepository.lockBuffered(userId);
+        if (buffered.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        List<Notification> digests = new ArrayList<>();
+        for (int i = 0; i < buffered.size(); i += maxSize) {
+            digests.add(merge(buffered.subList(i, Math.min(i + maxSize, buffered.size()))));
+        }
+        notificationRepository.deleteAll(buffered.stream().map(Notification::getId).toList());
+        notificationService.createNotifications(digests);
+        return new int[]{digests.size(), buffered.size()};
+    }
+
+    private Notification merge(List<Notification> items) {
+        if (items.size() == 1) {
+            Notification item = items.get(0);
+            return Notification.builder()
+                    .userId(item.getUserId())
+                    .recipient(item.getRecipient())
+                    .subject(item.getSubject())
+                    .content(item.getContent())
+                    .type(item.getType())
+                    .build();
+        }
+
+        Map<NotificationType, List<Notification>> byType = new LinkedHashMap<>();
+        items.forEach(item -> byType.computeIfAbsent(item.getType(), type -> new ArrayList<>()).add(item));
+
+        Locale locale = templateRegistry.getDefaultLocale();
+        NotificationTemplate digestTemplate = templateRegistry.get(NotificationType.EXPENSE_DIGEST, locale);
+        StringBuilder content = new StringBuilder();
+        byType.forEach((type, sectionItems) -> {
+            if (!content.isEmpty()) {
+                content.append('\n');
+            }
+            CompiledTemplate heading = templateRegistry.find(type, locale)
+                    .map(NotificationTemplate::digestSection)
+                    .orElse(digestTemplate.digestSection());
+            heading.render(Map.of("count", String.valueOf(sectionItems.size())), content);
+            content.append('\n');
+            sectionItems.forEach(item -> content.append("- ").append(item.getContent()).append('\n'));
+        });
+
+        Notification latest = items.get(items.size() - 1);
+        return Notification.builder()
+                .userId(latest.getUserId())
+                .recipient(latest.getRecipient())
+                .subject(digestTemplate.subject().render(Map.of("count", String.valueOf(items.size()))))
+                .content(content.toString())
+                .type(NotificationType.EXPENSE_DIGEST)
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationStatus;
+import com.sems.notification.domain.port.EmailService;
+import com.sems.notification.domain.port.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers PENDING notifications in the background. Each poll claims a batch with
+ * {@code SKIP LOCKED}, so several instances can dispatch concurrently, groups it by
+ * recipient domain and sends every chunk over one SMTP connection on a bounded worker
+ * pool. Outcomes are written back in bulk; failures are retried with exponential backoff
+ * until the notification's max attempts are used up.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainRateLimiter rateLimiter;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int connectionBatchSize;
+    private final int defaultMaxAttempts;
+    private final Duration initialBackoff;
+    private final Duration claimTimeout;
+
+    public NotificationDispatcher(NotificationRepository notificationRepository,
+                                  EmailService emailService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.notifications.dispatch.batch-size:200}") int batchSize,
+                                  @Value("${app.notifications.dispatch.connection-batch-size:50}") int connectionBatchSize,
+                                  @Value("${app.notifications.dispatch.worker-threads:4}") int workerThreads,
+                                  @Value("${app.notifications.dispatch.domain-rate-limit:20}") int domainRateLimit,
+                                  @Value("${app.notifications.dispatch.max-attempts:5}") int defaultMaxAttempts,
+                                  @Value("${app.notifications.dispatch.initial-backoff-ms:30000}") long initialBackoffMs,
+                                  @Value("${app.notifications.dispatch.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.notificationRepository = notificationRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimiter = new DomainRateLimiter(domainRateLimit);
+        this.batchSize = batchSize;
+        this.connectionBatchSize = connectionBatchSize;
+        this.defaultMaxAttempts = defaultMaxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+
+        // Caller-runs keeps the poller from claiming more than the workers can send
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerThreads * 2),
+                r -> {
+                    Thread thread = new Thread(r, "notification-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch.poll-interval-ms:1000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = transactionTemplate.execute(status -> notificationRepository.releaseExpiredClaims(now));
+        if (released != null && released > 0) {
+            log.warn("Released {} notifications from expired dispatch claims", released);
+        }
+
+        List<Notification> claimed = transactionTemplate.execute(status ->
+                notificationRepository.claimDispatchable(batchSize, now, now.plus(claimTimeout)));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        List<Notification> updates = new ArrayList<>();
+        Map<String, List<Notification>> byDomain = new LinkedHashMap<>();
+        for (Notification notification : claimed) {
+            String domain = domainOf(notification.getRecipient());
+            if (rateLimiter.tryAcquire(domain)) {
+                byDomain.computeIfAbsent(domain, d -> new ArrayList<>()).add(notification);
+            } else {
+                // Over the domain's rate: hand back without spending an attempt
+                notification.setStatus(NotificationStatus.PENDING);
+                notification.setNextAttemptAt(now.plusSeconds(1));
+                updates.add(notification);
+            }
+        }
+
+        List<ChunkSend> sends = new ArrayList<>();
+        byDomain.values().forEach(notifications -> {
+            for (int i = 0; i < notifications.size(); i += connectionBatchSize) {
+                List<Notification> chunk = notifications.subList(i, Math.min(i + connectionBatchSize, notifications.size()));
+                sends.add(new ChunkSend(chunk, executor.submit(() -> emailService.sendNotifications(chunk))));
+            }
+        });
+
+        List<UUID> sentIds = new ArrayList<>();
+        for (ChunkSend send : sends) {
+            Map<UUID, String> failures;
+            try {
+                failures = send.result().get(claimTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                send.result().cancel(true);
+                String error = "Send failed: " + e.getMessage();
+                failures = new LinkedHashMap<>();
+                for (Notification notification : send.chunk()) {
+                    failures.put(notification.getId(), error);
+                }
+            }
+
+            for (Notification notification : send.chunk()) {
+                String error = failures.get(notification.getId());
+                if (error == null) {
+                    sentIds.add(notification.getId());
+                } else {
+                    recordFailure(notification, error);
+                    updates.add(notification);
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                notificationRepository.markSent(sentIds, LocalDateTime.now());
+            }
+            if (!updates.isEmpty()) {
+                notificationRepository.updateDeliveryStates(updates);
+            }
+        });
+        log.info("Dispatched {} notifications: {} sent, {} deferred or failed",
+                claimed.size(), sentIds.size(), updates.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void recordFailure(Notification notification, String error) {
+        int attempts = notification.getAttempts() + 1;
+        int maxAttempts = notification.getMaxAttempts() > 0 ? notification.getMaxAttempts() : defaultMaxAttempts;
+        notification.setAttempts(attempts);
+        notification.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on notification {} after {} attempts: {}", notification.getId(), attempts, error);
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setNextAttemptAt(null);
+        } else {
+            notification.setStatus(NotificationStatus.PENDING);
+            notification.setNextAttemptAt(LocalDateTime.now().plus(initialBackoff.multipliedBy(1L << (attempts - 1))));
+        }
+    }
+
+    private static String domainOf(String recipient) {
+        int at = recipient.lastIndexOf('@');
+        return at >= 0 ? recipient.substring(at + 1).toLowerCase() : recipient.toLowerCase();
+    }
+
+    private record ChunkSend(List<Notification> chunk, Future<Map<UUID, String>> result) {
+    }
+}
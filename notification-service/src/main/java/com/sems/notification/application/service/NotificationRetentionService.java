@@ -0,0 +1,141 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.domain.model.NotificationPartition;
+import com.sems.notification.domain.port.NotificationArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Moves old notifications out of the live table into notifications_archive.
+ * <p>
+ * When the live table is range-partitioned by month (see scripts/partition-notifications.sql),
+ * partitions lying entirely before the cutoff are copied to the archive and dropped, so no
+ * mass delete runs against the live table; upcoming monthly partitions are created ahead of
+ * time. Only SENT notifications are archived: a partition still holding others is kept and
+ * just its SENT rows are moved. Otherwise SENT notifications older than the cutoff are moved
+ * in chunks, one transaction per chunk.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    private final NotificationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+    private final int chunkSize;
+    private final boolean partitioningEnabled;
+    private final int partitionsAhead;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter archivedRows;
+    private final Counter droppedPartitions;
+    private final Timer runTimer;
+
+    public NotificationRetentionService(NotificationArchiveRepository archiveRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.notifications.retention.max-age:P90D}") Duration maxAge,
+                                        @Value("${app.notifications.retention.chunk-size:1000}") int chunkSize,
+                                        @Value("${app.notifications.retention.partitioning.enabled:true}") boolean partitioningEnabled,
+                                        @Value("${app.notifications.retention.partitioning.months-ahead:3}") int partitionsAhead) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAge = maxAge;
+        this.chunkSize = chunkSize;
+        this.partitioningEnabled = partitioningEnabled;
+        this.partitionsAhead = partitionsAhead;
+
+        this.archivedRows = Counter.builder("notification.retention.archived")
+                .description("Notifications moved to the archive table")
+                .register(meterRegistry);
+        this.droppedPartitions = Counter.builder("notification.retention.partitions.dropped")
+                .description("Monthly notification partitions dropped after archival")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("notification.retention.duration")
+                .description("Time taken by a retention run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Notification retention already running, skipping");
+            return;
+        }
+        try {
+            runTimer.record(this::archiveExpired);
+        } catch (Exception e) {
+            log.error("Notification retention failed: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archiveExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        long started = System.currentTimeMillis();
+        long archived = partitioningEnabled && archiveRepository.isPartitioned()
+                ? archivePartitions(cutoff)
+                : archiveInChunks(limit -> archiveRepository.archiveSentBefore(cutoff, limit));
+        log.info("Archived {} notifications older than {} in {} ms",
+                archived, cutoff, System.currentTimeMillis() - started);
+    }
+
+    private long archivePartitions(LocalDateTime cutoff) {
+        archiveRepository.ensurePartitionsThrough(YearMonth.now().plusMonths(partitionsAhead));
+
+        long archived = 0;
+        for (NotificationPartition partition : archiveRepository.findPartitions()) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            long unsent = archiveRepository.countUnsent(partition.name());
+            if (unsent > 0) {
+                // Dropping the partition would lose them, so only its SENT rows move out
+                long moved = archiveInChunks(limit -> archiveRepository.archiveSentInPartition(partition.name(), limit));
+                archived += moved;
+                log.info("Kept notification partition {} holding {} unsent notifications, archived {} sent ones",
+                        partition.name(), unsent, moved);
+                continue;
+            }
+
+            long rows = archiveRepository.archivePartition(partition.name(), chunkSize);
+            int released;
+            do {
+                Integer chunk = transactionTemplate.execute(status ->
+                        archiveRepository.releaseUnreadInPartition(partition.name(), chunkSize));
+                released = chunk != null ? chunk : 0;
+            } while (released == chunkSize);
+            archiveRepository.dropPartition(partition.name());
+            archivedRows.increment(rows);
+            droppedPartitions.increment();
+            archived += rows;
+            log.info("Archived and dropped notification partition {} ({} rows)", partition.name(), rows);
+        }
+        return archived;
+    }
+
+    private long archiveInChunks(IntUnaryOperator moveChunk) {
+        long archived = 0;
+        int moved;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> moveChunk.applyAsInt(chunkSize));
+            moved = chunk != null ? chunk : 0;
+            archivedRows.increment(moved);
+            archived += moved;
+        } while (moved == chunkSize);
+        return archived;
+    }
+}
@@ -1,27 +1,42 @@
 package com.sems.notification.application.service;
 
 import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationPage;
 import com.sems.notification.domain.model.NotificationStatus;
 import com.sems.notification.domain.model.NotificationType;
-import com.sems.notification.domain.port.EmailService;
+import com.sems.notification.domain.port.NotificationBroadcaster;
+import com.sems.notification.domain.port.NotificationCounterRepository;
 import com.sems.notification.domain.port.NotificationRepository;
 import com.sems.notification.domain.port.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final NotificationBroadcaster notificationBroadcaster;
+
+    @Value("${app.notifications.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.inbox.max-page-size:100}")
+    private int maxInboxPageSize;
 
     @Override
     @Transactional
@@ -34,28 +49,51 @@ public class NotificationServiceImpl implements NotificationService {
                 .content(content)
                 .type(type)
                 .status(NotificationStatus.PENDING)
+                .maxAttempts(maxAttempts)
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        notificationCounterRepository.incrementUnread(Map.of(userId, 1));
+        broadcastAfterCommit(List.of(saved));
+        return saved;
     }
 
+    @Override
+    @Transactional
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        notifications.forEach(notification -> {
+            notification.setId(UUID.randomUUID());
+            notification.setStatus(NotificationStatus.PENDING);
+            notification.setMaxAttempts(maxAttempts);
+            notification.setCreatedAt(now);
+        });
+        
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        notificationCounterRepository.incrementUnread(notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.summingInt(notification -> 1))));
+        broadcastAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Queues the notification for immediate delivery by {@link NotificationDispatcher};
+     * failed notifications get a fresh set of attempts.
+     */
     @Override
     @Transactional
     public void sendNotification(UUID notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            try {
-                emailService.sendNotification(notification);
-                notification.setStatus(NotificationStatus.SENT);
-                notification.setSentAt(LocalDateTime.now());
-                notificationRepository.save(notification);
-                log.info("Notification sent successfully: {}", notification.getId());
-            } catch (Exception e) {
-                notification.setStatus(NotificationStatus.FAILED);
+        notificationRepository.findById(notificationId)
+            .filter(notification -> notification.getStatus() == NotificationStatus.PENDING
+                    || notification.getStatus() == NotificationStatus.FAILED)
+            .ifPresent(notification -> {
+                notification.setStatus(NotificationStatus.PENDING);
+                notification.setAttempts(0);
+                notification.setNextAttemptAt(null);
                 notificationRepository.save(notification);
-                log.error("Failed to send notification: {}", notification.getId(), e);
-            }
-        });
+                log.info("Notification queued for delivery: {}", notification.getId());
+            });
     }
 
     @Override
@@ -81,4 +119,71 @@ public class NotificationServiceImpl implements NotificationService {
     public List<Notification> getUserNotificationsByStatus(UUID userId, NotificationStatus status) {
         return notificationRepository.findByUserIdAndStatus(userId, status);
     }
-} 
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPage getInbox(UUID userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxInboxPageSize));
+        InboxCursor after = cursor != null ? InboxCursor.decode(cursor) : null;
+
+        // One extra row tells whether another page follows
+        List<Notification> notifications = notificationRepository.findInboxPage(userId,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1);
+
+        String nextCursor = null;
+        if (notifications.size() > pageSize) {
+            notifications = notifications.subList(0, pageSize);
+            Notification last = notifications.get(pageSize - 1);
+            nextCursor = new InboxCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return NotificationPage.builder()
+                .notifications(notifications)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(UUID userId) {
+        return notificationCounterRepository.getUnreadCount(userId);
+    }
+
+    @Override
+    @Transactional
+    public long markAsRead(UUID userId, Collection<UUID> notificationIds) {
+        if (!notificationIds.isEmpty()) {
+            int updated = notificationRepository.markRead(userId, notificationIds, LocalDateTime.now());
+            if (updated > 0) {
+                notificationCounterRepository.decrementUnread(userId, updated);
+            }
+        }
+        return notificationCounterRepository.getUnreadCount(userId);
+    }
+
+    @Override
+    @Transactional
+    public long markAllAsRead(UUID userId) {
+        int updated = notificationRepository.markAllRead(userId, LocalDateTime.now());
+        if (updated > 0) {
+            notificationCounterRepository.decrementUnread(userId, updated);
+        }
+        return notificationCounterRepository.getUnreadCount(userId);
+    }
+
+    private void broadcastAfterCommit(List<Notification> notifications) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificationBroadcaster.broadcast(notifications);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    notificationBroadcaster.broadcast(notifications);
+                } catch (Exception e) {
+                    log.warn("Failed to push {} notifications: {}", notifications.size(), e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,157 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.application.template.NotificationTemplate;
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.model.NotificationType;
+import com.sems.notification.domain.model.ReportDelivery;
+import com.sems.notification.domain.port.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Emails scheduled reports to their recipients with the file attached straight from the
+ * report storage shared with reporting-service. Files over {@code max-attachment-bytes}, or
+ * missing from the storage, are announced without the attachment.
+ * <p>
+ * Every recipient is claimed with the {@link EventIdempotencyService} once their email is
+ * sent, so redeliveries skip them. If a send fails, the delivery fails after trying everyone
+ * else and the listener's retries only email the recipients still missing it.
+ */
+@Service
+@Slf4j
+public class ReportDeliveryService {
+
+    private static final String DELIVERY_STATUS = "REPORT_DELIVERY";
+
+    private final EmailService emailService;
+    private final EventIdempotencyService idempotencyService;
+    private final NotificationTemplateRegistry templateRegistry;
+    private final Path storageDirectory;
+    private final long maxAttachmentBytes;
+    private final Counter sent;
+    private final Counter failed;
+
+    public ReportDeliveryService(EmailService emailService,
+                                 EventIdempotencyService idempotencyService,
+                                 NotificationTemplateRegistry templateRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.reports.storage.directory}") String storageDirectory,
+                                 @Value("${app.reports.delivery.max-attachment-bytes:10485760}") long maxAttachmentBytes) {
+        this.emailService = emailService;
+        this.idempotencyService = idempotencyService;
+        this.templateRegistry = templateRegistry;
+        this.storageDirectory = Path.of(storageDirectory).toAbsolutePath().normalize();
+        this.maxAttachmentBytes = maxAttachmentBytes;
+        this.sent = Counter.builder("notification.reports.sent")
+                .description("Scheduled report emails sent")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.reports.failed")
+                .description("Scheduled report emails that could not be sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalStateException if the report couldn't be emailed to some recipients
+     */
+    public void deliver(ReportDelivery delivery) {
+        Map<String, EventKey> keys = new LinkedHashMap<>();
+        delivery.recipients().forEach(recipient -> keys.put(recipient, recipientKey(delivery.reportId(), recipient)));
+        Set<EventKey> delivered = idempotencyService.processed(keys.values());
+        List<String> recipients = keys.entrySet().stream()
+                .filter(entry -> !delivered.contains(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (recipients.isEmpty()) {
+            log.info("Report {} was already delivered", delivery.reportId());
+            return;
+        }
+
+        Path attachment = delivery.completed() ? resolve(delivery.storageKey()) : null;
+        NotificationType type;
+        if (!delivery.completed()) {
+            type = NotificationType.REPORT_FAILED;
+        } else if (attachment == null || size(delivery, attachment) > maxAttachmentBytes) {
+            type = NotificationType.REPORT_UNATTACHED;
+            attachment = null;
+        } else {
+            type = NotificationType.REPORT_READY;
+        }
+
+        NotificationTemplate template = templateRegistry.get(type, templateRegistry.getDefaultLocale());
+        Map<String, String> params = Map.of(
+                "reportName", Objects.toString(delivery.reportName(), ""),
+                "dateFrom", Objects.toString(delivery.dateFrom(), ""),
+                "dateTo", Objects.toString(delivery.dateTo(), ""),
+                "error", Objects.toString(delivery.errorMessage(), "unknown error"));
+        String subject = template.subject().render(params);
+        String body = template.body().render(params);
+
+        int failures = 0;
+        for (String recipient : recipients) {
+            try {
+                if (attachment != null) {
+                    emailService.sendEmailWithAttachment(recipient, subject, body, attachment.toString());
+                } else {
+                    emailService.sendEmail(recipient, subject, body);
+                }
+            } catch (RuntimeException e) {
+                failures++;
+                failed.increment();
+                log.error("Failed to email report {} to {}: {}", delivery.reportId(), recipient, e.getMessage());
+                continue;
+            }
+            sent.increment();
+            idempotencyService.claim(List.of(keys.get(recipient)));
+        }
+        if (failures > 0) {
+            throw new IllegalStateException("Failed to email report " + delivery.reportId() + " to "
+                    + failures + " of " + recipients.size() + " recipients");
+        }
+        log.info("Delivered report {} as {} to {} recipients", delivery.reportId(), type, recipients.size());
+    }
+
+    private static EventKey recipientKey(UUID reportId, String recipient) {
+        return new EventKey(UUID.nameUUIDFromBytes((reportId + "|" + recipient.toLowerCase())
+                .getBytes(StandardCharsets.UTF_8)), DELIVERY_STATUS);
+    }
+
+    // Keys come from another service, so they must not escape the storage directory
+    private Path resolve(String storageKey) {
+        if (storageKey == null || storageKey.isBlank()) {
+            return null;
+        }
+        Path file = storageDirectory.resolve(storageKey).normalize();
+        if (!file.startsWith(storageDirectory)) {
+            log.warn("Ignoring report file outside the storage directory: {}", storageKey);
+            return null;
+        }
+        if (!Files.isRegularFile(file)) {
+            log.warn("Report file {} not found in {}", storageKey, storageDirectory);
+            return null;
+        }
+        return file;
+    }
+
+    private static long size(ReportDelivery delivery, Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return delivery.sizeBytes() != null ? delivery.sizeBytes() : Long.MAX_VALUE;
+        }
+    }
+}
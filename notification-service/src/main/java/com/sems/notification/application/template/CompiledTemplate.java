@@ -0,0 +1,62 @@
+package com.sems.notification.application.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A template parsed once into literal and {@code {placeholder}} segments, so rendering is a
+ * single pass appending into a presized buffer. Braces not wrapping a plain identifier,
+ * such as CSS blocks, are kept as literal text. Unknown placeholders render as empty.
+ */
+public final class CompiledTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z][A-Za-z0-9]*)}");
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(position, matcher.start()));
+            placeholders.add(matcher.group(1));
+            position = matcher.end();
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    public String render(Map<String, String> params) {
+        StringBuilder out = new StringBuilder(literalLength + placeholders.length * 16);
+        render(params, out);
+        return out.toString();
+    }
+
+    public void render(Map<String, String> params, StringBuilder out) {
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            String value = params.get(placeholders[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        out.append(literals[placeholders.length]);
+    }
+}
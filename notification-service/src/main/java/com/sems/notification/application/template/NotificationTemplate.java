@@ -0,0 +1,8 @@
+package com.sems.notification.application.template;
+
+/**
+ * Compiled subject and body of one notification type in one locale, plus the section
+ * heading used when notifications of the type are merged into a digest.
+ */
+public record NotificationTemplate(CompiledTemplate subject, CompiledTemplate body, CompiledTemplate digestSection) {
+}
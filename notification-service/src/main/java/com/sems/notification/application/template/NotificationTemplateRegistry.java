@@ -0,0 +1,104 @@
+package com.sems.notification.application.template;
+
+import com.sems.notification.domain.model.NotificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the notification templates from {@code templates/notifications/notifications[_locale].properties}
+ * and compiles every type's subject, body and digest heading once at startup. Lookups fall
+ * back from the full locale to its language and then to the default bundle; resolved
+ * combinations are cached.
+ */
+@Component
+@Slf4j
+public class NotificationTemplateRegistry {
+
+    private static final String BUNDLE_PATTERN = "classpath*:templates/notifications/notifications*.properties";
+    private static final String BUNDLE_PREFIX = "notifications";
+    private static final String DEFAULT_BUNDLE = "";
+    private static final CompiledTemplate EMPTY = CompiledTemplate.compile("");
+
+    private final Locale defaultLocale;
+    private final Map<String, Map<NotificationType, NotificationTemplate>> bundles = new HashMap<>();
+    private final Map<Locale, Map<NotificationType, NotificationTemplate>> resolved = new ConcurrentHashMap<>();
+
+    public NotificationTemplateRegistry(@Value("${app.notifications.default-locale:en}") String defaultLocale) throws IOException {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(BUNDLE_PATTERN)) {
+            String name = resource.getFilename();
+            String suffix = name.substring(BUNDLE_PREFIX.length(), name.length() - ".properties".length());
+            String bundle = suffix.isEmpty() ? DEFAULT_BUNDLE : suffix.substring(1).replace('_', '-');
+            bundles.put(bundle, compile(resource));
+        }
+        if (!bundles.containsKey(DEFAULT_BUNDLE)) {
+            throw new IllegalStateException("Default notification template bundle not found: " + BUNDLE_PATTERN);
+        }
+        log.info("Compiled notification templates for locales: {}", bundles.keySet());
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    public NotificationTemplate get(NotificationType type, Locale locale) {
+        return find(type, locale)
+                .orElseThrow(() -> new IllegalArgumentException("No notification template for type: " + type));
+    }
+
+    public Optional<NotificationTemplate> find(NotificationType type, Locale locale) {
+        return Optional.ofNullable(resolved.computeIfAbsent(locale, this::resolve).get(type));
+    }
+
+    private Map<NotificationType, NotificationTemplate> resolve(Locale locale) {
+        Map<NotificationType, NotificationTemplate> templates = new EnumMap<>(bundles.get(DEFAULT_BUNDLE));
+        Map<NotificationType, NotificationTemplate> language = bundles.get(locale.getLanguage());
+        if (language != null) {
+            templates.putAll(language);
+        }
+        Map<NotificationType, NotificationTemplate> exact = bundles.get(locale.toLanguageTag());
+        if (exact != null) {
+            templates.putAll(exact);
+        }
+        return templates;
+    }
+
+    private static Map<NotificationType, NotificationTemplate> compile(Resource resource) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<NotificationType, NotificationTemplate> templates = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            String subject = properties.getProperty(type.name() + ".subject");
+            if (subject == null) {
+                continue;
+            }
+            templates.put(type, new NotificationTemplate(
+                    CompiledTemplate.compile(subject),
+                    compileOptional(properties.getProperty(type.name() + ".body")),
+                    compileOptional(properties.getProperty(type.name() + ".digest"))));
+        }
+        return templates;
+    }
+
+    private static CompiledTemplate compileOptional(String source) {
+        return source != null ? CompiledTemplate.compile(source) : EMPTY;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sems.notification.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Identity of a consumed expense event. {@code eventId} is assigned by the producer for
+ * every published event, so redeliveries share it while an expense returning to an earlier
+ * status is a new event. {@code status} is kept alongside for diagnostics.
+ */
+public record EventKey(UUID eventId, String status) {
+}
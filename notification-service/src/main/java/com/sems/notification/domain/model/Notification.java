@@ -22,6 +22,11 @@ public class Notification {
     private NotificationStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime sentAt;
+    private LocalDateTime readAt;
+    private int attempts;
+    private int maxAttempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
     
     public void setStatus(NotificationStatus status) {
         this.status = status;
@@ -0,0 +1,18 @@
+package com.sems.notification.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPage {
+    private List<Notification> notifications;
+    // Opaque cursor for the next (older) page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,10 @@
+package com.sems.notification.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A monthly range partition of the notifications table; {@code upperBound} is exclusive
+ * and null for the catch-all partition.
+ */
+public record NotificationPartition(String name, LocalDateTime upperBound) {
+}
@@ -1,7 +1,10 @@
 package com.sems.notification.domain.model;
 
 public enum NotificationStatus {
+    // Waiting in the digest buffer; neither dispatched nor shown until merged
+    BUFFERED,
     PENDING,
+    SENDING,
     SENT,
     FAILED
 } 
\ No newline at end of file
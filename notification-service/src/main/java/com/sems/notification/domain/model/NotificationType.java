@@ -8,6 +8,10 @@ public enum NotificationType {
     EXPENSE_REJECTED,
     EXPENSE_PAID,
     EXPENSE_CHANGES_REQUESTED,
+    EXPENSE_DIGEST,
+    REPORT_READY,
+    REPORT_UNATTACHED,
+    REPORT_FAILED,
     USER_REGISTERED,
     PASSWORD_RESET
 } 
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.sems.notification.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A scheduled report to email to its recipients, attached from the shared report storage
+ * when it completed.
+ */
+public record ReportDelivery(
+        UUID reportId,
+        String reportName,
+        boolean completed,
+        List<String> recipients,
+        String storageKey,
+        Long sizeBytes,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        String errorMessage) {
+}
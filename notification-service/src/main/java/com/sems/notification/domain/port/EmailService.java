@@ -2,8 +2,19 @@ package com.sems.notification.domain.port;
 
 import com.sems.notification.domain.model.Notification;
 
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 public interface EmailService {
     void sendEmail(String to, String subject, String content);
     void sendEmailWithAttachment(String to, String subject, String content, String attachmentPath);
     void sendNotification(Notification notification);
+
+    /**
+     * Sends the notifications over a single SMTP connection.
+     *
+     * @return error messages keyed by the id of each notification that could not be sent
+     */
+    Map<UUID, String> sendNotifications(List<Notification> notifications);
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.sems.notification.domain.port;
+
+import com.sems.notification.domain.model.NotificationPartition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface NotificationArchiveRepository {
+    /**
+     * Moves up to {@code limit} SENT notifications created before {@code cutoff} into the
+     * archive table and returns how many were moved. Must run in a transaction.
+     */
+    int archiveSentBefore(LocalDateTime cutoff, int limit);
+
+    /**
+     * Like {@link #archiveSentBefore}, for the SENT rows of one partition. Must run in a transaction.
+     */
+    int archiveSentInPartition(String partition, int limit);
+
+    /**
+     * Number of rows in the partition that are not SENT and must not be dropped with it.
+     */
+    long countUnsent(String partition);
+
+    boolean isPartitioned();
+    List<NotificationPartition> findPartitions();
+    void ensurePartitionsThrough(YearMonth month);
+
+    /**
+     * Copies every row of the partition into the archive table in chunks and returns the
+     * number of rows archived. Safe to repeat if interrupted.
+     */
+    long archivePartition(String partition, int chunkSize);
+
+    /**
+     * Removes up to {@code limit} unread rows of the partition from their users' unread
+     * counters and returns how many were released; 0 once none are left. Must run in a
+     * transaction; safe to repeat.
+     */
+    int releaseUnreadInPartition(String partition, int limit);
+    void dropPartition(String partition);
+}
@@ -0,0 +1,12 @@
+package com.sems.notification.domain.port;
+
+import com.sems.notification.domain.model.Notification;
+
+import java.util.List;
+
+/**
+ * Pushes newly created notifications to the users' connected clients.
+ */
+public interface NotificationBroadcaster {
+    void broadcast(List<Notification> notifications);
+}
@@ -0,0 +1,10 @@
+package com.sems.notification.domain.port;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface NotificationCounterRepository {
+    long getUnreadCount(UUID userId);
+    void incrementUnread(Map<UUID, Integer> deltasByUser);
+    void decrementUnread(UUID userId, int delta);
+}
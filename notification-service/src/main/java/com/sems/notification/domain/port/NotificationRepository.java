@@ -3,15 +3,28 @@ package com.sems.notification.domain.port;
 import com.sems.notification.domain.model.Notification;
 import com.sems.notification.domain.model.NotificationStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface NotificationRepository {
     Notification save(Notification notification);
+    List<Notification> saveAll(List<Notification> notifications);
     Optional<Notification> findById(UUID id);
     List<Notification> findByUserId(UUID userId);
     List<Notification> findByStatus(NotificationStatus status);
     List<Notification> findByUserIdAndStatus(UUID userId, NotificationStatus status);
     List<Notification> findAll();
+    List<Notification> claimDispatchable(int limit, LocalDateTime now, LocalDateTime claimUntil);
+    int releaseExpiredClaims(LocalDateTime now);
+    void markSent(Collection<UUID> ids, LocalDateTime sentAt);
+    void updateDeliveryStates(List<Notification> notifications);
+    List<Notification> findInboxPage(UUID userId, LocalDateTime beforeCreatedAt, UUID beforeId, int limit);
+    int markRead(UUID userId, Collection<UUID> ids, LocalDateTime readAt);
+    int markAllRead(UUID userId, LocalDateTime readAt);
+    List<UUID> findUsersWithDueDigests(LocalDateTime openedBefore, int maxSize, int limit);
+    List<Notification> lockBuffered(UUID userId);
+    void deleteAll(Collection<UUID> ids);
 } 
\ No newline at end of file
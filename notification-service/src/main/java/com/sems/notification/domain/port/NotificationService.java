@@ -1,18 +1,25 @@
 package com.sems.notification.domain.port;
 
 import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationPage;
 import com.sems.notification.domain.model.NotificationStatus;
 import com.sems.notification.domain.model.NotificationType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface NotificationService {
     Notification createNotification(UUID userId, String recipient, String subject, String content, NotificationType type);
+    List<Notification> createNotifications(List<Notification> notifications);
     void sendNotification(UUID notificationId);
     Optional<Notification> getNotification(UUID id);
     List<Notification> getUserNotifications(UUID userId);
     List<Notification> getNotificationsByStatus(NotificationStatus status);
     List<Notification> getUserNotificationsByStatus(UUID userId, NotificationStatus status);
+    NotificationPage getInbox(UUID userId, String cursor, int size);
+    long getUnreadCount(UUID userId);
+    long markAsRead(UUID userId, Collection<UUID> notificationIds);
+    long markAllAsRead(UUID userId);
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.sems.notification.domain.port;
+
+import com.sems.notification.domain.model.EventKey;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+public interface ProcessedEventRepository {
+    /**
+     * Records the keys as processed and returns the ones recorded by this call; keys that
+     * were already recorded, possibly concurrently by another consumer, are left out.
+     */
+    Set<EventKey> claim(Collection<EventKey> keys);
+
+    /**
+     * The given keys that are already recorded as processed.
+     */
+    Set<EventKey> findProcessed(Collection<EventKey> keys);
+
+    /**
+     * Deletes up to {@code limit} keys processed before {@code cutoff} and returns how many were deleted.
+     */
+    int deleteProcessedBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,66 @@
+package com.sems.notification.adapter.email;
+
+import com.sems.notification.application.template.NotificationTemplate;
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationType;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceAdapterTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailServiceAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adapter = new EmailServiceAdapter(mailSender, new ClassPathResource("templates/email/basic-template.html"));
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+    }
+
+    @Test
+    void sendNotification_EscapesRenderedParametersInHtmlPart() throws Exception {
+        NotificationTemplate template = new NotificationTemplateRegistry("en")
+                .get(NotificationType.EXPENSE_APPROVED, Locale.ENGLISH);
+        Map<String, String> params = Map.of("title", "<script>x</script>", "amount", "5", "currency", "A&B");
+
+        adapter.sendNotification(Notification.builder()
+                .id(UUID.randomUUID())
+                .recipient("user@example.com")
+                .subject(template.subject().render(params))
+                .content(template.body().render(params))
+                .type(NotificationType.EXPENSE_APPROVED)
+                .build());
+
+        ArgumentCaptor<MimeMessage> sent = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(sent.capture());
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        sent.getValue().writeTo(raw);
+        String message = raw.toString(StandardCharsets.UTF_8);
+        String html = message.substring(message.indexOf("<!DOCTYPE html>"));
+        assertTrue(html.contains("&lt;script&gt;x&lt;/script&gt;"));
+        assertTrue(html.contains("5 A&amp;B"));
+        assertFalse(html.contains("<script>x"));
+    }
+}
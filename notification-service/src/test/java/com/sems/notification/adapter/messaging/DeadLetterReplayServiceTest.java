@@ -0,0 +1,122 @@
+package com.sems.notification.adapter.messaging;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayServiceTest {
+
+    private static final String DLT = "expense-events-dlt";
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @Mock
+    private KafkaTemplate<String, byte[]> deadLetterBytesTemplate;
+
+    // Stays open after the replay so the committed offsets can be checked
+    private final MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+        @Override
+        public synchronized void close() {
+        }
+    };
+
+    private DeadLetterReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, 2L));
+        service = new DeadLetterReplayService(new KafkaProperties(), deadLetterBytesTemplate,
+                "expense-events", DLT, "notification-service-dlt-replay", 100, 0) {
+            @Override
+            Consumer<String, byte[]> createConsumer() {
+                return consumer;
+            }
+        };
+    }
+
+    @Test
+    void replay_CommitsOffsetsOnceBrokerAcknowledgedEverySend() throws Exception {
+        scheduleRecords();
+        when(deadLetterBytesTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        service.replay(10);
+
+        assertEquals(2, service.getReplayed());
+        assertEquals(2, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+    }
+
+    @Test
+    void replay_KeepsPollingUntilEndOffsetsAfterEmptyPoll() throws Exception {
+        consumer.schedulePollTask(() -> {
+        });
+        scheduleRecords();
+        when(deadLetterBytesTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        service.replay(10);
+
+        assertEquals(2, service.getReplayed());
+        assertEquals(2, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+    }
+
+    @Test
+    void replay_LeavesDeadLettersPastStartingEndOffsetForNextReplay() throws Exception {
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 0, "a", new byte[]{1}));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 1, "b", new byte[]{2}));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 2, "c", new byte[]{3}));
+        });
+        when(deadLetterBytesTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        service.replay(10);
+
+        verify(deadLetterBytesTemplate, times(2)).send(any(ProducerRecord.class));
+        assertEquals(2, service.getReplayed());
+        assertEquals(2, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+    }
+
+    @Test
+    void replay_FailedSendLeavesBatchUncommitted() {
+        scheduleRecords();
+        when(deadLetterBytesTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        assertThrows(IllegalStateException.class, () -> service.replay(10));
+
+        assertEquals(0, service.getReplayed());
+        assertNull(consumer.committed(Set.of(PARTITION)).get(PARTITION));
+    }
+
+    private void scheduleRecords() {
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 0, "a", new byte[]{1}));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 1, "b", new byte[]{2}));
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.sems.notification.adapter.messaging;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads the payloads expense-service's ExpenseEventSerializerTest checks its output against,
+ * copied under {@code events/}.
+ */
+class ExpenseEventDeserializerTest {
+
+    private static final ExpenseEvent EXPECTED = ExpenseEvent.builder()
+            .id(UUID.fromString("3b0f7c1e-8d2a-4c6b-9f4e-1a2b3c4d5e6f"))
+            .userId(UUID.fromString("9e8d7c6b-5a4f-4e3d-8c2b-1a0f9e8d7c6b"))
+            .userEmail("jane.doe@example.com")
+            .title("Client dinner")
+            .description("Dinner with the Acme team")
+            .amount(new BigDecimal("84.50"))
+            .currency("EUR")
+            .category("MEALS")
+            .status("APPROVED")
+            .expenseDate(LocalDate.of(2024, 3, 14))
+            .build();
+
+    private ExpenseEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        deserializer = new ExpenseEventDeserializer();
+        deserializer.configure(Map.of(
+                ExpenseEventDeserializer.SCHEMA_LOCATION_CONFIG, "classpath:schemas",
+                "spring.json.trusted.packages", "com.sems.expense.adapter.messaging,com.sems.notification.adapter.messaging",
+                "spring.json.type.mapping", "expense:com.sems.notification.adapter.messaging.ExpenseEvent"), false);
+    }
+
+    @Test
+    void deserialize_ReadsAvroWrittenByExpenseService() throws IOException {
+        assertEquals(EXPECTED, deserializer.deserialize("expense-events", fixture("events/expense-event-v2.avro")));
+    }
+
+    @Test
+    void deserialize_ReadsJsonWrittenByExpenseService() throws IOException {
+        Headers headers = new RecordHeaders();
+        headers.add("__TypeId__", "expense".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(EXPECTED, deserializer.deserialize("expense-events", headers, fixture("events/expense-event.json")));
+    }
+
+    @Test
+    void deserialize_ResolvesOlderSchemaVersion() {
+        FileSchemaRegistry registry = new FileSchemaRegistry("classpath:schemas", ExpenseEventDeserializer.SUBJECT);
+        Schema v1 = registry.get(1);
+        GenericRecord record = new GenericData.Record(v1);
+        record.put("id", uuid(v1, EXPECTED.getId()));
+        record.put("userId", uuid(v1, EXPECTED.getUserId()));
+        record.put("amount", ByteBuffer.wrap(new BigDecimal("84.50").unscaledValue().toByteArray()));
+        record.put("currency", "EUR");
+        record.put("category", "MEALS");
+        record.put("status", "APPROVED");
+
+        ExpenseEvent event = deserializer.deserialize("expense-events", encode(v1, 1, record));
+
+        assertEquals(EXPECTED.getId(), event.getId());
+        assertEquals(new BigDecimal("84.50"), event.getAmount());
+        assertNull(event.getExpenseDate());
+    }
+
+    @Test
+    void deserialize_RejectsUnknownSchemaVersion() throws IOException {
+        byte[] bytes = fixture("events/expense-event-v2.avro");
+        ByteBuffer.wrap(bytes, 1, Integer.BYTES).putInt(99);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("expense-events", bytes));
+    }
+
+    @Test
+    void deserialize_RejectsTruncatedAvro() throws IOException {
+        byte[] bytes = fixture("events/expense-event-v2.avro");
+        byte[] truncated = Arrays.copyOf(bytes, 20);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("expense-events", truncated));
+    }
+
+    private static GenericData.Fixed uuid(Schema schema, UUID value) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+        return new GenericData.Fixed(schema.getField("id").schema(), buffer.array());
+    }
+
+    private static byte[] encode(Schema schema, int version, GenericRecord record) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ExpenseEventDeserializer.MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(version).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            new GenericDatumWriter<GenericRecord>(schema).write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] fixture(String path) throws IOException {
+        try (InputStream in = ExpenseEventDeserializerTest.class.getClassLoader().getResourceAsStream(path)) {
+            assertNotNull(in, "Missing fixture " + path);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.sems.notification.adapter.messaging;
+
+import com.sems.notification.application.service.EventIdempotencyService;
+import com.sems.notification.application.service.NotificationCoalescer;
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.port.ProcessedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseEventKafkaListenerTest {
+
+    private static final String TOPIC = "expense-events";
+
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    @Mock
+    private Consumer<?, ?> consumer;
+
+    // Claims committed to processed_events
+    private final Set<EventKey> stored = new HashSet<>();
+    private final InMemoryTransactionManager transactionManager = new InMemoryTransactionManager();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExpenseEventKafkaListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Behaves like the unique key on processed_events; rows become visible on commit
+        when(processedEventRepository.claim(any())).thenAnswer(invocation -> {
+            Collection<EventKey> keys = invocation.getArgument(0);
+            Set<EventKey> claimed = new HashSet<>();
+            keys.stream().filter(key -> !stored.contains(key)).forEach(claimed::add);
+            transactionManager.uncommitted.addAll(claimed);
+            return claimed;
+        });
+        EventIdempotencyService idempotencyService =
+                new EventIdempotencyService(processedEventRepository, 100, Duration.ofDays(30), 1000);
+        listener = new ExpenseEventKafkaListener(notificationCoalescer, idempotencyService,
+                new NotificationTemplateRegistry("en"), new TransactionTemplate(transactionManager),
+                meterRegistry);
+    }
+
+    @Test
+    void listen_RedeliveredEvent_NotifiesOnce() {
+        UUID eventId = UUID.randomUUID();
+        ExpenseEvent event = event(UUID.randomUUID(), "APPROVED");
+
+        listener.listen(List.of(record(0, event, eventId)), consumer);
+        listener.listen(List.of(record(5, event, eventId)), consumer);
+
+        verify(notificationCoalescer, times(1)).submit(any());
+    }
+
+    @Test
+    void listen_ExpenseReachingSameStatusAgain_NotifiesTwice() {
+        UUID expenseId = UUID.randomUUID();
+
+        listener.listen(List.of(record(0, event(expenseId, "SUBMITTED"), UUID.randomUUID())), consumer);
+        listener.listen(List.of(record(1, event(expenseId, "SUBMITTED"), UUID.randomUUID())), consumer);
+
+        verify(notificationCoalescer, times(2)).submit(any());
+    }
+
+    @Test
+    void listen_EventWithoutId_DeduplicatesOnLogPosition() {
+        ExpenseEvent event = event(UUID.randomUUID(), "PAID");
+
+        listener.listen(List.of(record(3, event, null), record(3, event, null)), consumer);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> submitted = ArgumentCaptor.forClass(List.class);
+        verify(notificationCoalescer).submit(submitted.capture());
+        assertEquals(1, submitted.getValue().size());
+    }
+
+    @Test
+    void listen_FailedSubmit_RollsBackClaimsSoRetryNotifies() {
+        UUID eventId = UUID.randomUUID();
+        ExpenseEvent event = event(UUID.randomUUID(), "REJECTED");
+        doThrow(new IllegalStateException("Database unavailable")).doNothing()
+                .when(notificationCoalescer).submit(any());
+
+        assertThrows(IllegalStateException.class, () -> listener.listen(List.of(record(0, event, eventId)), consumer));
+        listener.listen(List.of(record(0, event, eventId)), consumer);
+        listener.listen(List.of(record(0, event, eventId)), consumer);
+
+        verify(notificationCoalescer, times(2)).submit(any());
+        assertEquals(Set.of(ExpenseEventKafkaListener.keyOf(record(0, event, eventId))), stored);
+    }
+
+    @Test
+    void listen_UndeserializableEvent_DeadLetteredWithoutRetry() {
+        ConsumerRecord<String, ExpenseEvent> good = record(0, event(UUID.randomUUID(), "APPROVED"), UUID.randomUUID());
+        ConsumerRecord<String, ExpenseEvent> poison = new ConsumerRecord<>(TOPIC, 0, 1, "key", null);
+        poison.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER,
+                "not a serialized exception".getBytes(StandardCharsets.UTF_8));
+        List<ConsumerRecord<String, ExpenseEvent>> batch = List.of(good, poison);
+        BatchListenerFailedException failure =
+                assertThrows(BatchListenerFailedException.class, () -> listener.listen(batch, consumer));
+        assertInstanceOf(DeserializationException.class, failure.getCause());
+
+        @SuppressWarnings("unchecked")
+        ConsumerRecordRecoverer recoverer = mock(ConsumerRecordRecoverer.class);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        ConsumerRecords<?, ?> records = new ConsumerRecords<>(Map.of(partition, List.copyOf(batch)));
+
+        new DefaultErrorHandler(recoverer, new FixedBackOff(0, 2))
+                .handleBatch(failure, records, consumer, container, () -> { });
+
+        verify(recoverer).accept(eq(poison), any());
+        verify(notificationCoalescer, times(1)).submit(any());
+    }
+
+    @Test
+    void onPartitionsRevoked_DropsRevokedPartitionsFromLag() {
+        TopicPartition first = new TopicPartition(TOPIC, 0);
+        TopicPartition second = new TopicPartition(TOPIC, 1);
+        when(consumer.assignment()).thenReturn(Set.of(first, second));
+        when(consumer.currentLag(first)).thenReturn(OptionalLong.of(5));
+        when(consumer.currentLag(second)).thenReturn(OptionalLong.of(7));
+
+        listener.listen(List.of(record(0, event(UUID.randomUUID(), "APPROVED"), UUID.randomUUID())), consumer);
+        assertEquals(12, meterRegistry.get("notification.consumer.lag").gauge().value());
+
+        listener.onPartitionsRevokedAfterCommit(consumer, List.of(second));
+        assertEquals(5, meterRegistry.get("notification.consumer.lag").gauge().value());
+    }
+
+    private static ConsumerRecord<String, ExpenseEvent> record(long offset, ExpenseEvent event, UUID eventId) {
+        ConsumerRecord<String, ExpenseEvent> record = new ConsumerRecord<>(TOPIC, 0, offset, event.getId().toString(), event);
+        if (eventId != null) {
+            record.headers().add(ExpenseEventKafkaListener.EVENT_ID_HEADER,
+                    eventId.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+
+    private class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+        private final Set<EventKey> uncommitted = new HashSet<>();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            uncommitted.clear();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            stored.addAll(uncommitted);
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            uncommitted.clear();
+        }
+    }
+
+    private static ExpenseEvent event(UUID expenseId, String status) {
+        return ExpenseEvent.builder()
+                .id(expenseId)
+                .userId(UUID.randomUUID())
+                .userEmail("user@example.com")
+                .title("Taxi")
+                .amount(new BigDecimal("12.50"))
+                .currency("EUR")
+                .status(status)
+                .build();
+    }
+}
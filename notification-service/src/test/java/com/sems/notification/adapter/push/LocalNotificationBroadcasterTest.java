@@ -0,0 +1,32 @@
+package com.sems.notification.adapter.push;
+
+import com.sems.notification.domain.model.Notification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalNotificationBroadcasterTest {
+
+    @Mock
+    private SseSubscriberRegistry subscriberRegistry;
+
+    @InjectMocks
+    private LocalNotificationBroadcaster broadcaster;
+
+    @Test
+    void broadcast_deliversToThisInstancesConnections() {
+        List<Notification> notifications = List.of(Notification.builder().id(UUID.randomUUID()).build());
+
+        broadcaster.broadcast(notifications);
+
+        verify(subscriberRegistry).deliver(notifications);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sems.notification.adapter.push;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisNotificationBroadcasterTest {
+
+    private static final String CHANNEL = "sems:notifications";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SseSubscriberRegistry subscriberRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private RedisNotificationBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new RedisNotificationBroadcaster(redisTemplate, objectMapper, subscriberRegistry, CHANNEL);
+    }
+
+    @Test
+    void broadcast_publishesToChannelInsteadOfDeliveringLocally() {
+        List<Notification> notifications = List.of(notification());
+
+        broadcaster.broadcast(notifications);
+
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+        verifyNoInteractions(subscriberRegistry);
+    }
+
+    @Test
+    void broadcast_deliversLocallyWhenRedisIsDown() {
+        List<Notification> notifications = List.of(notification());
+        when(redisTemplate.convertAndSend(eq(CHANNEL), anyString()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        broadcaster.broadcast(notifications);
+
+        verify(subscriberRegistry).deliver(notifications);
+    }
+
+    @Test
+    void onMessage_deliversPublishedNotificationsToLocalConnections() throws Exception {
+        Notification notification = notification();
+        byte[] payload = objectMapper.writeValueAsString(List.of(notification)).getBytes(StandardCharsets.UTF_8);
+
+        broadcaster.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), payload), null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> delivered = ArgumentCaptor.forClass(List.class);
+        verify(subscriberRegistry).deliver(delivered.capture());
+        assertEquals(List.of(notification), delivered.getValue());
+    }
+
+    @Test
+    void onMessage_ignoresMalformedPayload() {
+        broadcaster.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        verifyNoInteractions(subscriberRegistry);
+    }
+
+    private static Notification notification() {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .subject("Expense paid")
+                .content("Taxi was paid")
+                .type(NotificationType.EXPENSE_PAID)
+                .createdAt(LocalDateTime.of(2024, 3, 1, 12, 0))
+                .build();
+    }
+}
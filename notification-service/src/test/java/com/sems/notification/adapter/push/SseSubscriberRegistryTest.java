@@ -0,0 +1,117 @@
+package com.sems.notification.adapter.push;
+
+import com.sems.notification.adapter.web.NotificationController;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationType;
+import com.sems.notification.domain.port.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class SseSubscriberRegistryTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SseSubscriberRegistry registry;
+    private MockMvc mockMvc;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SseSubscriberRegistry(meterRegistry, 1, 10, 2, 60_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new NotificationController(notificationService, registry)).build();
+        when(notificationService.getUnreadCount(userId)).thenReturn(4L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void deliver_pushesNotificationWithoutDeliveryDetails() throws Exception {
+        MockHttpServletResponse response = connect();
+
+        registry.deliver(List.of(Notification.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .recipient("jane@example.com")
+                .subject("Expense approved")
+                .content("Taxi was approved")
+                .type(NotificationType.EXPENSE_APPROVED)
+                .createdAt(LocalDateTime.now())
+                .lastError("550 mailbox unavailable")
+                .build()));
+
+        String stream = awaitContent(response, "event:notification");
+        assertTrue(stream.contains("event:unread-count"));
+        assertTrue(stream.contains("\"unreadCount\":4"));
+        assertTrue(stream.contains("Taxi was approved"));
+        assertFalse(stream.contains("jane@example.com"));
+        assertFalse(stream.contains("550 mailbox unavailable"));
+    }
+
+    @Test
+    void deliver_skipsOtherUsers() throws Exception {
+        MockHttpServletResponse response = connect();
+
+        registry.deliver(List.of(Notification.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .content("Not yours")
+                .build()));
+        registry.sendHeartbeats();
+
+        String stream = awaitContent(response, "heartbeat");
+        assertFalse(stream.contains("Not yours"));
+    }
+
+    @Test
+    void subscribe_closesOldestConnectionBeyondLimit() throws Exception {
+        connect();
+        connect();
+        connect();
+
+        assertEquals(2, meterRegistry.get("notification.push.connections").gauge().value());
+    }
+
+    private MockHttpServletResponse connect() throws Exception {
+        MvcResult result = mockMvc.perform(get("/user/{userId}/stream", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 2000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), () -> "Missing " + expected + " in " + response);
+        return content;
+    }
+}
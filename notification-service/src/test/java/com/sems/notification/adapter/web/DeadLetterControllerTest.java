@@ -0,0 +1,67 @@
+package com.sems.notification.adapter.web;
+
+import com.sems.notification.adapter.messaging.DeadLetterReplayService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterControllerTest {
+
+    @Mock
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @InjectMocks
+    private DeadLetterController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void replay_startsInBackground() throws Exception {
+        when(deadLetterReplayService.isRunning()).thenReturn(true);
+
+        mockMvc.perform(post("/admin/dead-letters/replay").param("maxRecords", "50"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.running").value(true));
+
+        verify(deadLetterReplayService).start(50);
+    }
+
+    @Test
+    void replay_conflictsWhileRunning() throws Exception {
+        doThrow(new IllegalStateException("Dead-letter replay already in progress"))
+                .when(deadLetterReplayService).start(1000);
+        when(deadLetterReplayService.isRunning()).thenReturn(true);
+        when(deadLetterReplayService.getReplayed()).thenReturn(300);
+
+        mockMvc.perform(post("/admin/dead-letters/replay"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.replayed").value(300));
+    }
+
+    @Test
+    void replayStatus_reportsProgress() throws Exception {
+        when(deadLetterReplayService.getReplayed()).thenReturn(42);
+
+        mockMvc.perform(get("/admin/dead-letters/replay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(false))
+                .andExpect(jsonPath("$.replayed").value(42));
+    }
+}
@@ -0,0 +1,93 @@
+package com.sems.notification.adapter.web;
+
+import com.sems.notification.adapter.push.SseSubscriberRegistry;
+import com.sems.notification.domain.model.NotificationPage;
+import com.sems.notification.domain.port.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationControllerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private SseSubscriberRegistry subscriberRegistry;
+
+    @InjectMocks
+    private NotificationController controller;
+
+    private MockMvc mockMvc;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getInbox_returnsPageWithNextCursor() throws Exception {
+        when(notificationService.getInbox(userId, "abc", 10))
+                .thenReturn(NotificationPage.builder().notifications(List.of()).nextCursor("def").build());
+
+        mockMvc.perform(get("/user/{userId}/inbox", userId).param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void getInbox_rejectsMalformedCursor() throws Exception {
+        when(notificationService.getInbox(userId, "%%", 20)).thenThrow(new IllegalArgumentException("Invalid inbox cursor"));
+
+        mockMvc.perform(get("/user/{userId}/inbox", userId).param("cursor", "%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUnreadCount_returnsCounter() throws Exception {
+        when(notificationService.getUnreadCount(userId)).thenReturn(3L);
+
+        mockMvc.perform(get("/user/{userId}/unread-count", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadCount").value(3));
+    }
+
+    @Test
+    void markAsRead_returnsRemainingUnreadCount() throws Exception {
+        UUID notificationId = UUID.randomUUID();
+        when(notificationService.markAsRead(userId, List.of(notificationId))).thenReturn(2L);
+
+        mockMvc.perform(post("/user/{userId}/read", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + notificationId + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadCount").value(2));
+    }
+
+    @Test
+    void markAllAsRead_returnsZero() throws Exception {
+        when(notificationService.markAllAsRead(userId)).thenReturn(0L);
+
+        mockMvc.perform(post("/user/{userId}/read-all", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadCount").value(0));
+    }
+}
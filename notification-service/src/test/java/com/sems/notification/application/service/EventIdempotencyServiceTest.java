@@ -0,0 +1,250 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.port.ProcessedEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EventIdempotencyServiceTest {
+
+    private static final String[] STATUSES = {"SUBMITTED", "UNDER_REVIEW", "APPROVED", "PAID"};
+
+    private InMemoryProcessedEventRepository processedEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        processedEventRepository = new InMemoryProcessedEventRepository();
+    }
+
+    @Test
+    void claim_DuplicatesWithinBatch_ReturnsKeyOnce() {
+        EventIdempotencyService service = service(100);
+        EventKey key = new EventKey(UUID.randomUUID(), "APPROVED");
+        EventKey other = new EventKey(key.eventId(), "PAID");
+
+        Set<EventKey> claimed = service.claim(List.of(key, other, key));
+
+        assertEquals(List.of(key, other), new ArrayList<>(claimed));
+    }
+
+    @Test
+    void claim_RedeliveryAfterCacheEviction_FallsBackToStore() {
+        EventIdempotencyService service = service(1);
+        EventKey first = new EventKey(UUID.randomUUID(), "APPROVED");
+        EventKey second = new EventKey(UUID.randomUUID(), "APPROVED");
+
+        service.claim(List.of(first));
+        service.claim(List.of(second));
+
+        assertTrue(service.claim(List.of(first)).isEmpty());
+        assertEquals(3, processedEventRepository.claimCalls.get());
+    }
+
+    @Test
+    void processed_ReportsClaimedKeysWithoutClaimingOthers() {
+        EventIdempotencyService service = service(1);
+        EventKey first = new EventKey(UUID.randomUUID(), "REPORT_DELIVERY");
+        EventKey second = new EventKey(UUID.randomUUID(), "REPORT_DELIVERY");
+        EventKey unseen = new EventKey(UUID.randomUUID(), "REPORT_DELIVERY");
+        service.claim(List.of(first));
+        // Evicts the first key from the cache, so it's found in the store
+        service.claim(List.of(second));
+
+        assertEquals(Set.of(first, second), service.processed(List.of(first, second, unseen)));
+        assertEquals(Set.of(unseen), service.claim(List.of(unseen)));
+    }
+
+    @Test
+    void claim_HighVolumeWithInjectedRedeliveries_ProcessesEachEventOnce() {
+        int uniqueEvents = 200_000;
+        int batchSize = 500;
+        double redeliveryRate = 0.3;
+        // Smaller than the event count so redeliveries of evicted keys hit the store
+        EventIdempotencyService service = service(10_000);
+        List<EventKey> events = generateEvents(uniqueEvents);
+        List<List<EventKey>> batches = withRedeliveries(events, batchSize, redeliveryRate, new Random(42));
+        Map<EventKey, AtomicInteger> sideEffects = new ConcurrentHashMap<>();
+
+        int delivered = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            int count = 0;
+            for (List<EventKey> batch : batches) {
+                count += batch.size();
+                service.claim(batch).forEach(key ->
+                        sideEffects.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet());
+            }
+            return count;
+        });
+
+        assertTrue(delivered > uniqueEvents);
+        assertEquals(uniqueEvents, sideEffects.size());
+        assertTrue(sideEffects.values().stream().allMatch(count -> count.get() == 1));
+    }
+
+    @Test
+    void claim_ConcurrentConsumersReplayingSameBatches_ProcessEachEventOnce() throws Exception {
+        // Simulates a rebalance where two instances consume the same partitions
+        EventIdempotencyService firstInstance = service(10_000);
+        EventIdempotencyService secondInstance = service(10_000);
+        List<EventKey> events = generateEvents(50_000);
+        List<List<EventKey>> batches = withRedeliveries(events, 250, 0.2, new Random(7));
+        Map<EventKey, AtomicInteger> sideEffects = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> consumers = new ArrayList<>();
+            for (EventIdempotencyService instance : List.of(firstInstance, secondInstance)) {
+                consumers.add(executor.submit(() -> batches.forEach(batch -> instance.claim(batch).forEach(key ->
+                        sideEffects.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet()))));
+            }
+            for (Future<?> consumer : consumers) {
+                consumer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(events.size(), sideEffects.size());
+        assertTrue(sideEffects.values().stream().allMatch(count -> count.get() == 1));
+    }
+
+    @Test
+    void claim_RolledBackTransaction_LeavesKeyClaimableForRetry() {
+        EventKey key = new EventKey(UUID.randomUUID(), "APPROVED");
+        ProcessedEventRepository rolledBack = mock(ProcessedEventRepository.class);
+        when(rolledBack.claim(any())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(0)));
+        EventIdempotencyService rolledBackService = new EventIdempotencyService(rolledBack, 100, Duration.ofDays(30), 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(Set.of(key), rolledBackService.claim(List.of(key)));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Not cached, so the retry asks the store again, where the claim was rolled back too
+        assertEquals(Set.of(key), rolledBackService.claim(List.of(key)));
+        verify(rolledBack, times(2)).claim(any());
+    }
+
+    @Test
+    void claim_CommittedTransaction_CachesKeys() {
+        ProcessedEventRepository repository = mock(ProcessedEventRepository.class);
+        when(repository.claim(any())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(0)));
+        EventIdempotencyService service = new EventIdempotencyService(repository, 100, Duration.ofDays(30), 100);
+        EventKey key = new EventKey(UUID.randomUUID(), "APPROVED");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.claim(List.of(key));
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.claim(List.of(key)).isEmpty());
+        verify(repository, times(1)).claim(any());
+    }
+
+    @Test
+    void purgeExpired_DeletesInChunksUntilNoneAreLeft() {
+        ProcessedEventRepository repository = mock(ProcessedEventRepository.class);
+        when(repository.deleteProcessedBefore(any(), eq(100))).thenReturn(100, 100, 42);
+        EventIdempotencyService service = new EventIdempotencyService(repository, 100, Duration.ofDays(30), 100);
+
+        service.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(3)).deleteProcessedBefore(cutoff.capture(), eq(100));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+    }
+
+    private EventIdempotencyService service(int cacheSize) {
+        return new EventIdempotencyService(processedEventRepository, cacheSize, Duration.ofDays(30), 1000);
+    }
+
+    private static List<EventKey> generateEvents(int count) {
+        List<EventKey> events = new ArrayList<>(count);
+        UUID expenseId = UUID.randomUUID();
+        for (int i = 0; i < count; i++) {
+            if (i % STATUSES.length == 0) {
+                expenseId = UUID.randomUUID();
+            }
+            events.add(new EventKey(expenseId, STATUSES[i % STATUSES.length]));
+        }
+        return events;
+    }
+
+    // Mixes already delivered events back into later batches, as after a rebalance or failed commit
+    private static List<List<EventKey>> withRedeliveries(List<EventKey> events, int batchSize,
+                                                         double redeliveryRate, Random random) {
+        List<List<EventKey>> batches = new ArrayList<>();
+        List<EventKey> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < events.size(); i++) {
+            batch.add(events.get(i));
+            if (i > 0 && random.nextDouble() < redeliveryRate) {
+                batch.add(events.get(random.nextInt(i)));
+            }
+            if (batch.size() >= batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    // Behaves like the unique key on processed_events: the first claim of a key wins
+    private static class InMemoryProcessedEventRepository implements ProcessedEventRepository {
+        private final Set<EventKey> processed = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger claimCalls = new AtomicInteger();
+
+        @Override
+        public Set<EventKey> claim(Collection<EventKey> keys) {
+            claimCalls.incrementAndGet();
+            return keys.stream()
+                    .filter(processed::add)
+                    .collect(Collectors.toSet());
+        }
+
+        @Override
+        public Set<EventKey> findProcessed(Collection<EventKey> keys) {
+            return keys.stream()
+                    .filter(processed::contains)
+                    .collect(Collectors.toSet());
+        }
+
+        @Override
+        public int deleteProcessedBefore(LocalDateTime cutoff, int limit) {
+            return 0;
+        }
+    }
+}
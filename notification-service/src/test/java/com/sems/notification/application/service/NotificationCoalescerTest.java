@@ -0,0 +1,143 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationStatus;
+import com.sems.notification.domain.model.NotificationType;
+import com.sems.notification.domain.port.NotificationRepository;
+import com.sems.notification.domain.port.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCoalescerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        coalescer = new NotificationCoalescer(notificationService, notificationRepository,
+                new NotificationTemplateRegistry("en"), new TransactionTemplate(transactionManager),
+                true, 60_000, 3, 100);
+    }
+
+    @Test
+    void submit_storesNotificationsAsBufferedRows() {
+        UUID userId = UUID.randomUUID();
+        List<Notification> notifications = new ArrayList<>(List.of(notification(userId, "one")));
+
+        coalescer.submit(notifications);
+
+        verify(notificationRepository).saveAll(notifications);
+        assertEquals(NotificationStatus.BUFFERED, notifications.get(0).getStatus());
+        assertNotNull(notifications.get(0).getId());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void flushExpired_replacesBufferedRowsWithDigestsOfAtMostMaxSize() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        UUID userId = UUID.randomUUID();
+        List<Notification> buffered = List.of(notification(userId, "one"), notification(userId, "two"),
+                notification(userId, "three"), notification(userId, "four"));
+        when(notificationRepository.findUsersWithDueDigests(any(), eq(3), eq(100))).thenReturn(List.of(userId));
+        when(notificationRepository.lockBuffered(userId)).thenReturn(buffered);
+
+        coalescer.flushExpired();
+
+        verify(notificationRepository).deleteAll(buffered.stream().map(Notification::getId).toList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> digests = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).createNotifications(digests.capture());
+        assertEquals(2, digests.getValue().size());
+        Notification digest = digests.getValue().get(0);
+        assertEquals(NotificationType.EXPENSE_DIGEST, digest.getType());
+        assertTrue(digest.getContent().contains("- one") && digest.getContent().contains("- three"));
+        assertEquals("four", digests.getValue().get(1).getContent());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void flushExpired_skipsUserAlreadyFlushedByAnotherInstance() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.findUsersWithDueDigests(any(), anyInt(), anyInt())).thenReturn(List.of(userId));
+        when(notificationRepository.lockBuffered(userId)).thenReturn(List.of());
+
+        coalescer.flushExpired();
+
+        verify(notificationRepository, never()).deleteAll(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void flushExpired_failedUserDoesNotBlockOthers() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        UUID failing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        Notification buffered = notification(other, "one");
+        when(notificationRepository.findUsersWithDueDigests(any(), anyInt(), anyInt())).thenReturn(List.of(failing, other));
+        when(notificationRepository.lockBuffered(failing)).thenThrow(new IllegalStateException("Lock timeout"));
+        when(notificationRepository.lockBuffered(other)).thenReturn(List.of(buffered));
+
+        coalescer.flushExpired();
+
+        verify(notificationRepository).deleteAll(List.of(buffered.getId()));
+        verify(notificationService).createNotifications(argThat(digests -> digests.size() == 1
+                && digests.get(0).getUserId().equals(other)));
+    }
+
+    @Test
+    void flushExpired_stopsPagingWhenEveryUserInPageFails() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        coalescer = new NotificationCoalescer(notificationService, notificationRepository,
+                new NotificationTemplateRegistry("en"), new TransactionTemplate(transactionManager),
+                true, 60_000, 3, 1);
+        UUID failing = UUID.randomUUID();
+        when(notificationRepository.findUsersWithDueDigests(any(), anyInt(), anyInt())).thenReturn(List.of(failing));
+        when(notificationRepository.lockBuffered(failing)).thenThrow(new IllegalStateException("Lock timeout"));
+
+        coalescer.flushExpired();
+
+        verify(notificationRepository, times(1)).findUsersWithDueDigests(any(), anyInt(), anyInt());
+        verifyNoInteractions(notificationService);
+    }
+
+    private static Notification notification(UUID userId, String content) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .recipient("user@example.com")
+                .subject("Expense approved")
+                .content(content)
+                .type(NotificationType.EXPENSE_APPROVED)
+                .status(NotificationStatus.BUFFERED)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.domain.model.NotificationPartition;
+import com.sems.notification.domain.port.NotificationArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private NotificationArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        retentionService = new NotificationRetentionService(archiveRepository, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(), Duration.ofDays(90), CHUNK_SIZE, true, 3);
+    }
+
+    @Test
+    void applyRetention_archivesReleasesAndDropsFullySentPartition() {
+        givenPartitions(new NotificationPartition("p202001", LocalDateTime.of(2020, 2, 1, 0, 0)));
+        when(archiveRepository.countUnsent("p202001")).thenReturn(0L);
+        when(archiveRepository.archivePartition("p202001", CHUNK_SIZE)).thenReturn(5L);
+        when(archiveRepository.releaseUnreadInPartition("p202001", CHUNK_SIZE)).thenReturn(2, 1);
+
+        retentionService.applyRetention();
+
+        InOrder inOrder = inOrder(archiveRepository, transactionManager);
+        inOrder.verify(archiveRepository).archivePartition("p202001", CHUNK_SIZE);
+        inOrder.verify(archiveRepository).releaseUnreadInPartition("p202001", CHUNK_SIZE);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(archiveRepository).releaseUnreadInPartition("p202001", CHUNK_SIZE);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(archiveRepository).dropPartition("p202001");
+    }
+
+    @Test
+    void applyRetention_keepsPartitionWithUnsentNotifications() {
+        givenPartitions(new NotificationPartition("p202001", LocalDateTime.of(2020, 2, 1, 0, 0)));
+        when(archiveRepository.countUnsent("p202001")).thenReturn(3L);
+        when(archiveRepository.archiveSentInPartition("p202001", CHUNK_SIZE)).thenReturn(2, 0);
+
+        retentionService.applyRetention();
+
+        verify(archiveRepository, times(2)).archiveSentInPartition("p202001", CHUNK_SIZE);
+        verify(archiveRepository, never()).archivePartition(any(), anyInt());
+        verify(archiveRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void applyRetention_leavesRecentAndCatchAllPartitionsAlone() {
+        givenPartitions(new NotificationPartition("p" + LocalDateTime.now().getYear() + "01",
+                        LocalDateTime.now().plusMonths(1)),
+                new NotificationPartition("p_future", null));
+
+        retentionService.applyRetention();
+
+        verify(archiveRepository, never()).countUnsent(any());
+        verify(archiveRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void applyRetention_movesSentRowsInChunksWhenNotPartitioned() {
+        when(archiveRepository.isPartitioned()).thenReturn(false);
+        when(archiveRepository.archiveSentBefore(any(), eq(CHUNK_SIZE))).thenReturn(2, 2, 1);
+
+        retentionService.applyRetention();
+
+        verify(archiveRepository, times(3)).archiveSentBefore(any(), eq(CHUNK_SIZE));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    private void givenPartitions(NotificationPartition... partitions) {
+        when(archiveRepository.isPartitioned()).thenReturn(true);
+        when(archiveRepository.findPartitions()).thenReturn(List.of(partitions));
+    }
+}
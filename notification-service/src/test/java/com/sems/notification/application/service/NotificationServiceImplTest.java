@@ -0,0 +1,138 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.domain.model.Notification;
+import com.sems.notification.domain.model.NotificationPage;
+import com.sems.notification.domain.port.NotificationBroadcaster;
+import com.sems.notification.domain.port.NotificationCounterRepository;
+import com.sems.notification.domain.port.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceImplTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationCounterRepository notificationCounterRepository;
+
+    @Mock
+    private NotificationBroadcaster notificationBroadcaster;
+
+    @InjectMocks
+    private NotificationServiceImpl notificationService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(notificationService, "maxInboxPageSize", 3);
+    }
+
+    @Test
+    void getInbox_returnsCursorOfLastRowWhenMoreFollow() {
+        List<Notification> rows = notifications(3);
+        when(notificationRepository.findInboxPage(userId, null, null, 3)).thenReturn(rows);
+
+        NotificationPage page = notificationService.getInbox(userId, null, 2);
+
+        assertEquals(rows.subList(0, 2), page.getNotifications());
+        InboxCursor cursor = InboxCursor.decode(page.getNextCursor());
+        assertEquals(rows.get(1).getId(), cursor.id());
+        assertEquals(rows.get(1).getCreatedAt(), cursor.createdAt());
+    }
+
+    @Test
+    void getInbox_continuesAfterCursorAndClampsPageSize() {
+        Notification last = notifications(1).get(0);
+        String cursor = new InboxCursor(last.getCreatedAt(), last.getId()).encode();
+        when(notificationRepository.findInboxPage(userId, last.getCreatedAt(), last.getId(), 4))
+                .thenReturn(notifications(2));
+
+        NotificationPage page = notificationService.getInbox(userId, cursor, 500);
+
+        assertEquals(2, page.getNotifications().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getInbox_rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getInbox(userId, "not-a-cursor", 20));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void createNotifications_incrementsUnreadPerUserAndBroadcasts() {
+        UUID otherUser = UUID.randomUUID();
+        List<Notification> notifications = new ArrayList<>(List.of(
+                Notification.builder().userId(userId).build(),
+                Notification.builder().userId(userId).build(),
+                Notification.builder().userId(otherUser).build()));
+        when(notificationRepository.saveAll(notifications)).thenReturn(notifications);
+
+        notificationService.createNotifications(notifications);
+
+        verify(notificationCounterRepository).incrementUnread(Map.of(userId, 2, otherUser, 1));
+        verify(notificationBroadcaster).broadcast(notifications);
+    }
+
+    @Test
+    void markAsRead_decrementsByRowsActuallyMarked() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRepository.markRead(eq(userId), eq(ids), any())).thenReturn(1);
+        when(notificationCounterRepository.getUnreadCount(userId)).thenReturn(4L);
+
+        assertEquals(4L, notificationService.markAsRead(userId, ids));
+
+        verify(notificationCounterRepository).decrementUnread(userId, 1);
+    }
+
+    @Test
+    void markAsRead_alreadyReadLeavesCounterAlone() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(notificationRepository.markRead(eq(userId), eq(ids), any())).thenReturn(0);
+
+        notificationService.markAsRead(userId, ids);
+
+        verify(notificationCounterRepository, never()).decrementUnread(any(), anyInt());
+    }
+
+    @Test
+    void markAllAsRead_decrementsByRowsMarked() {
+        when(notificationRepository.markAllRead(eq(userId), any())).thenReturn(7);
+
+        notificationService.markAllAsRead(userId);
+
+        verify(notificationCounterRepository).decrementUnread(userId, 7);
+    }
+
+    private List<Notification> notifications(int count) {
+        List<Notification> notifications = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            notifications.add(Notification.builder()
+                    .id(UUID.randomUUID())
+                    .userId(userId)
+                    .createdAt(createdAt.minusMinutes(i))
+                    .build());
+        }
+        return notifications;
+    }
+}
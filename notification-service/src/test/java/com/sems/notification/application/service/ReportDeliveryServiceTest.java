@@ -0,0 +1,113 @@
+package com.sems.notification.application.service;
+
+import com.sems.notification.application.template.NotificationTemplateRegistry;
+import com.sems.notification.domain.model.EventKey;
+import com.sems.notification.domain.model.ReportDelivery;
+import com.sems.notification.domain.port.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportDeliveryServiceTest {
+
+    @TempDir
+    Path storage;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private EventIdempotencyService idempotencyService;
+
+    private ReportDeliveryService deliveryService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        deliveryService = new ReportDeliveryService(emailService, idempotencyService,
+                new NotificationTemplateRegistry("en"), new SimpleMeterRegistry(), storage.toString(), 1024);
+        Files.createDirectories(storage.resolve("reports"));
+        Files.writeString(storage.resolve("reports/summary.csv"), "a,b");
+    }
+
+    @Test
+    void deliver_ShouldAttachFileAndClaimEachRecipientAfterSending() {
+        when(idempotencyService.processed(anyCollection())).thenReturn(Set.of());
+
+        deliveryService.deliver(delivery("a@example.com", "b@example.com"));
+
+        String file = storage.resolve("reports/summary.csv").toString();
+        verify(emailService).sendEmailWithAttachment(eq("a@example.com"), anyString(), anyString(), eq(file));
+        verify(emailService).sendEmailWithAttachment(eq("b@example.com"), anyString(), anyString(), eq(file));
+        verify(idempotencyService, times(2)).claim(anyCollection());
+    }
+
+    @Test
+    void deliver_ShouldFailWithoutClaimingRecipientWhoseSendFailed() {
+        when(idempotencyService.processed(anyCollection())).thenReturn(Set.of());
+        doThrow(new IllegalStateException("SMTP down"))
+                .when(emailService).sendEmailWithAttachment(eq("a@example.com"), anyString(), anyString(), anyString());
+        ArgumentCaptor<Collection<EventKey>> claimed = ArgumentCaptor.forClass(Collection.class);
+
+        assertThrows(IllegalStateException.class, () -> deliveryService.deliver(delivery("a@example.com", "b@example.com")));
+
+        verify(emailService).sendEmailWithAttachment(eq("b@example.com"), anyString(), anyString(), anyString());
+        verify(idempotencyService).claim(claimed.capture());
+        assertEquals(1, claimed.getValue().size());
+    }
+
+    @Test
+    void deliver_ShouldOnlyEmailRecipientsNotYetDelivered() {
+        ReportDelivery delivery = delivery("a@example.com", "b@example.com");
+        // First attempt reaches b only
+        when(idempotencyService.processed(anyCollection())).thenReturn(Set.of());
+        doThrow(new IllegalStateException("SMTP down")).doNothing()
+                .when(emailService).sendEmailWithAttachment(eq("a@example.com"), anyString(), anyString(), anyString());
+        ArgumentCaptor<Collection<EventKey>> claimed = ArgumentCaptor.forClass(Collection.class);
+        assertThrows(IllegalStateException.class, () -> deliveryService.deliver(delivery));
+        verify(idempotencyService).claim(claimed.capture());
+        when(idempotencyService.processed(anyCollection())).thenReturn(Set.copyOf(claimed.getValue()));
+
+        deliveryService.deliver(delivery);
+
+        verify(emailService, times(2)).sendEmailWithAttachment(eq("a@example.com"), anyString(), anyString(), anyString());
+        verify(emailService, times(1)).sendEmailWithAttachment(eq("b@example.com"), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void deliver_ShouldSkipReportDeliveredToEveryone() {
+        when(idempotencyService.processed(anyCollection()))
+                .thenAnswer(invocation -> Set.copyOf(invocation.<Collection<EventKey>>getArgument(0)));
+
+        deliveryService.deliver(delivery("a@example.com"));
+
+        verifyNoInteractions(emailService);
+        verify(idempotencyService, never()).claim(any());
+    }
+
+    private static ReportDelivery delivery(String... recipients) {
+        return new ReportDelivery(UUID.randomUUID(), "Monthly expenses", true, List.of(recipients),
+                "reports/summary.csv", 3L, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.sems.notification.application.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_ReplacesEveryPlaceholder() {
+        CompiledTemplate template = CompiledTemplate.compile("{title} for {amount} {currency}, {title} again");
+
+        assertEquals("Taxi for 12.50 EUR, Taxi again",
+                template.render(Map.of("title", "Taxi", "amount", "12.50", "currency", "EUR")));
+    }
+
+    @Test
+    void render_MissingParameterRendersEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("Report '{reportName}' failed: {error}");
+
+        assertEquals("Report 'Monthly' failed: ", template.render(Map.of("reportName", "Monthly")));
+    }
+
+    @Test
+    void render_KeepsBracesThatAreNotPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("body { color: #333; } {} {1st} <p>{content}</p>");
+
+        assertEquals("body { color: #333; } {} {1st} <p>Hi</p>", template.render(Map.of("content", "Hi")));
+    }
+
+    @Test
+    void render_InsertsParametersVerbatim() {
+        CompiledTemplate template = CompiledTemplate.compile("Expense {title}");
+
+        // Values containing placeholder syntax aren't expanded again
+        assertEquals("Expense {amount} & <b>", template.render(Map.of("title", "{amount} & <b>", "amount", "1")));
+    }
+
+    @Test
+    void render_AppendsToExistingBuffer() {
+        StringBuilder out = new StringBuilder("Digest: ");
+
+        CompiledTemplate.compile("Approved ({count}):").render(Map.of("count", "3"), out);
+
+        assertEquals("Digest: Approved (3):", out.toString());
+    }
+}
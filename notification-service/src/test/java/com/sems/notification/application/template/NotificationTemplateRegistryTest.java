@@ -0,0 +1,66 @@
+package com.sems.notification.application.template;
+
+import com.sems.notification.domain.model.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationTemplateRegistryTest {
+
+    private static final Map<String, String> PARAMS = Map.of("title", "Taxi", "amount", "12.50", "currency", "EUR");
+
+    private NotificationTemplateRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new NotificationTemplateRegistry("en");
+    }
+
+    @Test
+    void get_DefaultLocaleUsesDefaultBundle() {
+        NotificationTemplate template = registry.get(NotificationType.EXPENSE_APPROVED, registry.getDefaultLocale());
+
+        assertEquals("Expense Approved: Taxi", template.subject().render(PARAMS));
+        assertEquals("Your expense 'Taxi' for 12.50 EUR has been approved.", template.body().render(PARAMS));
+        assertEquals("Approved (2):", template.digestSection().render(Map.of("count", "2")));
+    }
+
+    @Test
+    void get_LocaleOverridesTypesItDefines() {
+        NotificationTemplate template = registry.get(NotificationType.EXPENSE_APPROVED, Locale.GERMAN);
+
+        assertEquals("Ausgabe genehmigt: Taxi", template.subject().render(PARAMS));
+    }
+
+    @Test
+    void get_RegionFallsBackToLanguage() {
+        NotificationTemplate template = registry.get(NotificationType.EXPENSE_APPROVED, Locale.forLanguageTag("de-AT"));
+
+        assertEquals("Ausgabe genehmigt: Taxi", template.subject().render(PARAMS));
+    }
+
+    @Test
+    void get_TypeMissingFromLocaleFallsBackToDefault() {
+        NotificationTemplate template = registry.get(NotificationType.EXPENSE_REJECTED, Locale.GERMAN);
+
+        assertEquals("Expense Rejected: Taxi", template.subject().render(PARAMS));
+    }
+
+    @Test
+    void get_UnknownLocaleFallsBackToDefault() {
+        NotificationTemplate template = registry.get(NotificationType.EXPENSE_APPROVED, Locale.FRENCH);
+
+        assertEquals("Expense Approved: Taxi", template.subject().render(PARAMS));
+    }
+
+    @Test
+    void get_TypeWithoutTemplateFails() {
+        assertTrue(registry.find(NotificationType.PASSWORD_RESET, Locale.ENGLISH).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.get(NotificationType.PASSWORD_RESET, Locale.ENGLISH));
+    }
+}
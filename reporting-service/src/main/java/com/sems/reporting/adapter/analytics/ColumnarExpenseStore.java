@@ -0,0 +1,318 @@
+package com.sems.reporting.adapter.analytics;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.port.out.ExpenseAnalyticsStore;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory column store of expenses. Every attribute is a primitive array indexed by row:
+ * dimensions are dictionary-encoded into int codes, dates are epoch days and amounts are
+ * cents. A group-by is a single pass over those arrays that accumulates into dense arrays
+ * indexed by the combined dimension codes, so it touches no objects per row.
+ */
+@Component
+public class ColumnarExpenseStore implements ExpenseAnalyticsStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int AMOUNT_SCALE = 2;
+    // Above this many possible groups, results are accumulated in a map instead of arrays
+    private static final long DENSE_GROUP_LIMIT = 1 << 20;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> rowsById = new HashMap<>();
+    private final Map<ExpenseDimension, Dictionary> dictionaries = new EnumMap<>(ExpenseDimension.class);
+    private final Map<ExpenseDimension, int[]> codes = new EnumMap<>(ExpenseDimension.class);
+    private int[] days = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int size;
+    // Rows upserted since startSweep(), or null when no sweep is running
+    private BitSet written;
+
+    public ColumnarExpenseStore() {
+        for (ExpenseDimension dimension : ExpenseDimension.values()) {
+            dictionaries.put(dimension, new Dictionary());
+            codes.put(dimension, new int[INITIAL_CAPACITY]);
+        }
+    }
+
+    @Override
+    public void upsert(ExpenseRow row) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowsById.get(row.id());
+            int index;
+            if (existing != null) {
+                index = existing;
+            } else {
+                ensureCapacity(size + 1);
+                index = size++;
+                rowsById.put(row.id(), index);
+            }
+            if (written != null) {
+                written.set(index);
+            }
+
+            for (ExpenseDimension dimension : ExpenseDimension.values()) {
+                codes.get(dimension)[index] = dictionaries.get(dimension).encode(dimension.valueOf(row));
+            }
+            days[index] = row.expenseDate() != null ? (int) row.expenseDate().toEpochDay() : Integer.MIN_VALUE;
+            amounts[index] = row.amount() != null
+                    ? row.amount().setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact()
+                    : 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ExpenseAggregate> aggregate(ExpenseQuery filter, List<ExpenseDimension> groupBy) {
+        lock.readLock().lock();
+        try {
+            int from = (int) filter.getDateFrom().toEpochDay();
+            int to = (int) filter.getDateTo().toEpochDay();
+            List<Condition> conditions = new ArrayList<>();
+            if (!addCondition(conditions, ExpenseDimension.USER, filter.getUserIds())
+                    || !addCondition(conditions, ExpenseDimension.DEPARTMENT, filter.getDepartmentIds())
+                    || !addCondition(conditions, ExpenseDimension.PROJECT, filter.getProjectIds())
+                    || !addCondition(conditions, ExpenseDimension.STATUS, filter.getStatuses())
+                    || !addCondition(conditions, ExpenseDimension.CATEGORY, filter.getCategories())) {
+                // A filter value that was never seen matches nothing
+                return List.of();
+            }
+
+            int[][] groupCodes = new int[groupBy.size()][];
+            int[] cardinalities = new int[groupBy.size()];
+            long groups = 1;
+            for (int d = 0; d < groupBy.size(); d++) {
+                groupCodes[d] = codes.get(groupBy.get(d));
+                cardinalities[d] = dictionaries.get(groupBy.get(d)).size();
+                groups *= cardinalities[d];
+            }
+
+            Accumulator accumulator = groups <= DENSE_GROUP_LIMIT
+                    ? new DenseAccumulator((int) groups) : new SparseAccumulator();
+            for (int row = 0; row < size; row++) {
+                int day = days[row];
+                if (day < from || day > to || !matches(conditions, row)) {
+                    continue;
+                }
+                long group = 0;
+                for (int d = 0; d < groupCodes.length; d++) {
+                    group = group * cardinalities[d] + groupCodes[d][row];
+                }
+                accumulator.add(group, amounts[row]);
+            }
+
+            List<ExpenseAggregate> result = new ArrayList<>();
+            accumulator.forEach((group, count, cents) ->
+                    result.add(new ExpenseAggregate(decode(group, groupBy, cardinalities), count,
+                            BigDecimal.valueOf(cents, AMOUNT_SCALE))));
+            result.sort(ExpenseAggregate.BY_KEY);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void startSweep() {
+        lock.writeLock().lock();
+        try {
+            written = new BitSet(size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int sweep() {
+        lock.writeLock().lock();
+        try {
+            if (written == null) {
+                return 0;
+            }
+            // Compacts the kept rows to the front, preserving their order
+            int[] moved = new int[size];
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                if (!written.get(row)) {
+                    moved[row] = -1;
+                    continue;
+                }
+                if (kept != row) {
+                    days[kept] = days[row];
+                    amounts[kept] = amounts[row];
+                    for (int[] column : codes.values()) {
+                        column[kept] = column[row];
+                    }
+                }
+                moved[row] = kept++;
+            }
+            int removed = size - kept;
+            rowsById.entrySet().removeIf(entry -> moved[entry.getValue()] < 0);
+            rowsById.replaceAll((id, row) -> moved[row]);
+            size = kept;
+            written = null;
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean addCondition(List<Condition> conditions, ExpenseDimension dimension, List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return true;
+        }
+        Dictionary dictionary = dictionaries.get(dimension);
+        boolean[] accepted = new boolean[dictionary.size()];
+        boolean any = false;
+        for (Object value : values) {
+            int code = dictionary.find(value != null ? value.toString() : null);
+            if (code >= 0) {
+                accepted[code] = true;
+                any = true;
+            }
+        }
+        conditions.add(new Condition(codes.get(dimension), accepted));
+        return any;
+    }
+
+    private static boolean matches(List<Condition> conditions, int row) {
+        for (Condition condition : conditions) {
+            if (!condition.accepted[condition.codes[row]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> decode(long group, List<ExpenseDimension> groupBy, int[] cardinalities) {
+        String[] key = new String[groupBy.size()];
+        for (int d = groupBy.size() - 1; d >= 0; d--) {
+            key[d] = dictionaries.get(groupBy.get(d)).value((int) (group % cardinalities[d]));
+            group /= cardinalities[d];
+        }
+        return Arrays.asList(key);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= days.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, days.length * 2);
+        days = Arrays.copyOf(days, newCapacity);
+        amounts = Arrays.copyOf(amounts, newCapacity);
+        codes.replaceAll((dimension, column) -> Arrays.copyOf(column, newCapacity));
+    }
+
+    private record Condition(int[] codes, boolean[] accepted) {
+    }
+
+    /**
+     * Maps the distinct values of one dimension to dense int codes; code 0 is null.
+     */
+    private static final class Dictionary {
+        private final List<String> values = new ArrayList<>(List.of(""));
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int find(String value) {
+            return value == null ? 0 : codes.getOrDefault(value, -1);
+        }
+
+        String value(int code) {
+            return code == 0 ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    private interface Accumulator {
+        void add(long group, long cents);
+
+        void forEach(GroupConsumer consumer);
+    }
+
+    @FunctionalInterface
+    private interface GroupConsumer {
+        void accept(long group, long count, long cents);
+    }
+
+    private static final class DenseAccumulator implements Accumulator {
+        private final long[] counts;
+        private final long[] sums;
+
+        DenseAccumulator(int groups) {
+            this.counts = new long[groups];
+            this.sums = new long[groups];
+        }
+
+        @Override
+        public void add(long group, long cents) {
+            counts[(int) group]++;
+            sums[(int) group] += cents;
+        }
+
+        @Override
+        public void forEach(GroupConsumer consumer) {
+            for (int group = 0; group < counts.length; group++) {
+                if (counts[group] > 0) {
+                    consumer.accept(group, counts[group], sums[group]);
+                }
+            }
+        }
+    }
+
+    private static final class SparseAccumulator implements Accumulator {
+        private final Map<Long, long[]> groups = new HashMap<>();
+
+        @Override
+        public void add(long group, long cents) {
+            long[] totals = groups.computeIfAbsent(group, g -> new long[2]);
+            totals[0]++;
+            totals[1] += cents;
+        }
+
+        @Override
+        public void forEach(GroupConsumer consumer) {
+            groups.forEach((group, totals) -> consumer.accept(group, totals[0], totals[1]));
+        }
+    }
+}
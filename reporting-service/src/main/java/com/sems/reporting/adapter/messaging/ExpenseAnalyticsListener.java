@@ -0,0 +1,53 @@
+package com.sems.reporting.adapter.messaging;
+
+import com.sems.reporting.application.ExpenseAnalyticsService;
+import com.sems.reporting.domain.model.ExpenseRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds expense events into the analytics store. Each instance keeps its own store, so each
+ * consumes the whole topic in a group of its own, named after the instance so restarts reuse
+ * it. Consumption starts from the latest events when the instance starts; older state comes
+ * from the store's load.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpenseAnalyticsListener implements ConsumerSeekAware {
+
+    private final ExpenseAnalyticsService analyticsService;
+    private final AtomicBoolean positioned = new AtomicBoolean();
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        // Offsets committed before a restart are behind the store's fresh load; later
+        // rebalances within this run resume from the committed offsets
+        if (positioned.compareAndSet(false, true)) {
+            callback.seekToEnd(assignments.keySet());
+        }
+    }
+
+    @KafkaListener(
+        topics = "${app.kafka.topics.expense-events}",
+        groupId = "${app.analytics.consumer-group}"
+    )
+    public void onExpenseEvent(ConsumerRecord<String, ExpenseEvent> record) {
+        ExpenseEvent event = record.value();
+        if (event == null || event.getId() == null) {
+            log.warn("Skipping expense event without id at offset {}", record.offset());
+            return;
+        }
+        analyticsService.apply(new ExpenseRow(event.getId(), event.getUserId(), event.getDepartmentId(),
+                event.getProjectId(), event.getTitle(), event.getAmount(), event.getCurrency(),
+                event.getCategory(), event.getStatus(), event.getExpenseDate(), null, null), record.timestamp());
+    }
+}
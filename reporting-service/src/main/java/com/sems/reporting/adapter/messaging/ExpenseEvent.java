@@ -0,0 +1,30 @@
+package com.sems.reporting.adapter.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Expense status change as published by expense-service; only the fields analytics needs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseEvent {
+    private UUID id;
+    private UUID userId;
+    private UUID departmentId;
+    private UUID projectId;
+    private String title;
+    private BigDecimal amount;
+    private String currency;
+    private String category;
+    private String status;
+    private LocalDate expenseDate;
+}
@@ -0,0 +1,111 @@
+package com.sems.reporting.adapter.messaging;
+
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads expense events in either wire format while producers migrate: Avro binary, marked by
+ * a leading magic byte and the writer's schema version, is resolved against the latest schema
+ * in the {@link FileSchemaRegistry}; anything else is handed to the {@link JsonDeserializer}.
+ */
+public class ExpenseEventDeserializer implements Deserializer<ExpenseEvent> {
+
+    public static final String SCHEMA_LOCATION_CONFIG = "sems.schema.registry.location";
+    public static final String SUBJECT = "expense-event";
+    public static final byte MAGIC_BYTE = 0;
+    private static final int HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    private final GenericData data = new GenericData();
+    // One resolving reader per writer version, all reading into the latest schema
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+    private FileSchemaRegistry registry;
+    private Schema readerSchema;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+        registry = new FileSchemaRegistry(
+                Objects.toString(configs.get(SCHEMA_LOCATION_CONFIG), "classpath:schemas"), SUBJECT);
+        readerSchema = registry.get(registry.latestVersion());
+        data.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        data.addLogicalTypeConversion(new TimeConversions.DateConversion());
+    }
+
+    @Override
+    public ExpenseEvent deserialize(String topic, byte[] bytes) {
+        return deserialize(topic, null, bytes);
+    }
+
+    @Override
+    public ExpenseEvent deserialize(String topic, Headers headers, byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length > HEADER_LENGTH && bytes[0] == MAGIC_BYTE) {
+            return decode(bytes);
+        }
+        return (ExpenseEvent) jsonDeserializer.deserialize(topic, headers, bytes);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private ExpenseEvent decode(byte[] bytes) {
+        int version = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        GenericDatumReader<GenericRecord> reader = readers.computeIfAbsent(version,
+                v -> new GenericDatumReader<>(registry.get(v), readerSchema, data));
+        try {
+            GenericRecord record = reader.read(null,
+                    DecoderFactory.get().binaryDecoder(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, null));
+            return ExpenseEvent.builder()
+                    .id(uuid(record.get("id")))
+                    .userId(uuid(record.get("userId")))
+                    .departmentId(uuid(record.get("departmentId")))
+                    .projectId(uuid(record.get("projectId")))
+                    .title(string(record.get("title")))
+                    .amount((BigDecimal) record.get("amount"))
+                    .currency(string(record.get("currency")))
+                    .category(string(record.get("category")))
+                    .status(string(record.get("status")))
+                    .expenseDate((LocalDate) record.get("expenseDate"))
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to decode expense event with schema version " + version, e);
+        }
+    }
+
+    private static UUID uuid(Object value) {
+        if (value == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(((GenericFixed) value).bytes());
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    // Avro strings arrive as Utf8
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
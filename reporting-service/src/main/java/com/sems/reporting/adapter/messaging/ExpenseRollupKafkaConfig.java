@@ -0,0 +1,70 @@
+package com.sems.reporting.adapter.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Listener container for the rollups. An expense event that keeps failing is retried a
+ * bounded number of times, then published to the rollup dead-letter topic so it doesn't
+ * block its partition; a backfill over its expense date repairs the rollups afterwards.
+ * Events that could not be deserialized are forwarded as their original bytes without retries.
+ */
+@Configuration
+@Slf4j
+public class ExpenseRollupKafkaConfig {
+
+    @Bean
+    public NewTopic expenseRollupsDeadLetterTopic(
+            @Value("${app.kafka.topics.expense-rollups-dlt}") String deadLetterTopic,
+            @Value("${app.kafka.dead-letter.partitions:1}") int partitions) {
+        return TopicBuilder.name(deadLetterTopic).partitions(partitions).build();
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> rollupListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaProperties kafkaProperties,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${app.kafka.topics.expense-rollups-dlt}") String deadLetterTopic,
+            @Value("${app.kafka.dead-letter.retry-attempts:2}") long retryAttempts,
+            @Value("${app.kafka.dead-letter.retry-interval-ms:1000}") long retryIntervalMs) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null), new StringSerializer(), new ByteArraySerializer())));
+        templates.put(Object.class, kafkaTemplate);
+
+        // A negative partition lets the producer pick one, so the DLT may have fewer partitions
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> {
+                    log.error("Sending expense event at {}-{}@{} to {}: {}", record.topic(), record.partition(),
+                            record.offset(), deadLetterTopic, exception.getMessage());
+                    return new TopicPartition(deadLetterTopic, -1);
+                });
+        factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, new FixedBackOff(retryIntervalMs, retryAttempts)));
+        return factory;
+    }
+}
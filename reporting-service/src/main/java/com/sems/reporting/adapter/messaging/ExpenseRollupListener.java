@@ -0,0 +1,39 @@
+package com.sems.reporting.adapter.messaging;
+
+import com.sems.reporting.application.ExpenseRollupService;
+import com.sems.reporting.domain.model.ExpenseRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds expense events into the rollups. The rollups are shared by all instances, so they
+ * consume the topic together in one group. Events that keep failing are dead-lettered by
+ * {@link ExpenseRollupKafkaConfig}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpenseRollupListener {
+
+    private final ExpenseRollupService rollupService;
+
+    @KafkaListener(
+        topics = "${app.kafka.topics.expense-events}",
+        groupId = "${app.rollups.consumer-group}",
+        containerFactory = "rollupListenerContainerFactory",
+        properties = "auto.offset.reset=earliest"
+    )
+    public void onExpenseEvent(ConsumerRecord<String, ExpenseEvent> record) {
+        ExpenseEvent event = record.value();
+        if (event == null || event.getId() == null) {
+            log.warn("Skipping expense event without id at offset {}", record.offset());
+            return;
+        }
+        rollupService.apply(new ExpenseRow(event.getId(), event.getUserId(), event.getDepartmentId(),
+                event.getProjectId(), event.getTitle(), event.getAmount(), event.getCurrency(),
+                event.getCategory(), event.getStatus(), event.getExpenseDate(), null, null), record.timestamp());
+    }
+}
@@ -0,0 +1,76 @@
+package com.sems.reporting.adapter.messaging;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.sems.reporting.domain.model.ReportDelivery;
+import com.sems.reporting.domain.port.out.ReportDeliveryPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes deliveries to notification-service, which emails the report file from the shared
+ * report storage. Sends are waited for so a delivery is only marked sent once Kafka has it.
+ */
+@Slf4j
+@Component
+public class KafkaReportDeliveryPublisher implements ReportDeliveryPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final long sendTimeoutMs;
+
+    public KafkaReportDeliveryPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                        @Value("${app.kafka.topics.report-deliveries}") String topic,
+                                        @Value("${app.reports.schedules.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Override
+    public void publish(ReportDelivery delivery) {
+        ReportDeliveryEvent event = new ReportDeliveryEvent(
+                delivery.reportId(),
+                delivery.reportName(),
+                delivery.status().name(),
+                delivery.recipients(),
+                delivery.storageKey(),
+                delivery.fileName(),
+                delivery.contentType(),
+                delivery.sizeBytes(),
+                delivery.dateFrom(),
+                delivery.dateTo(),
+                delivery.errorMessage());
+        try {
+            kafkaTemplate.send(topic, delivery.reportId().toString(), event).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted publishing delivery of report " + delivery.reportId(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish delivery of report " + delivery.reportId(), e);
+        }
+        log.info("Published delivery of report {} to {} recipients", delivery.reportId(), delivery.recipients().size());
+    }
+
+    public record ReportDeliveryEvent(
+        UUID reportId,
+        String reportName,
+        String status,
+        List<String> recipients,
+        String storageKey,
+        String fileName,
+        String contentType,
+        Long sizeBytes,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) LocalDate dateFrom,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) LocalDate dateTo,
+        String errorMessage
+    ) {}
+}
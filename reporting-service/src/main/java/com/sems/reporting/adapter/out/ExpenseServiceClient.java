@@ -1,95 +1,163 @@
 package com.sems.reporting.adapter.out;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sems.common.resilience.Hedger;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.model.ExpenseWatermark;
 import com.sems.reporting.domain.port.out.ExpenseDataClient;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Talks to expense-service. Expenses are read from its NDJSON export feed one row at a time,
+ * so the size of a report's input never has to fit in memory.
+ * <p>
+ * Calls go through the {@code expense-service} bulkhead, circuit breaker and jittered retry of
+ * {@code resilience4j.*}; background loads pass the {@code expense-service-background} bulkhead
+ * instead. An export is only retried while no row of it has reached the consumer,
+ * as starting over would hand rows over twice. Watermark checks are small and read-only, so one
+ * still unanswered after {@code hedge-delay-ms} is sent a second time and the first answer wins.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ExpenseServiceClient implements ExpenseDataClient {
-    
+
+    private static final String INSTANCE = "expense-service";
+    private static final String BACKGROUND_BULKHEAD = INSTANCE + "-background";
+    private static final String EXPORT_PATH = "/expenses/api/expenses/export";
+    private static final String WATERMARK_PATH = EXPORT_PATH + "/watermark";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final RestTemplate restTemplate;
-    
-    @Value("${services.expense.url}")
-    private String expenseServiceUrl;
-    
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final String expenseServiceUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Bulkhead backgroundBulkhead;
+    private final Retry retry;
+    private final Hedger hedger;
+
+    public ExpenseServiceClient(RestTemplate restTemplate,
+                                ObjectMapper objectMapper,
+                                CircuitBreakerRegistry circuitBreakerRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                RetryRegistry retryRegistry,
+                                MeterRegistry meterRegistry,
+                                @Value("${services.expense.url}") String expenseServiceUrl,
+                                @Value("${app.resilience.expense-service.hedge-delay-ms:0}") long hedgeDelayMs,
+                                @Value("${app.resilience.expense-service.hedge-threads:8}") int hedgeThreads) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(ExpenseRow.class);
+        this.expenseServiceUrl = expenseServiceUrl;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.backgroundBulkhead = bulkheadRegistry.bulkhead(BACKGROUND_BULKHEAD);
+        this.retry = retryRegistry.retry(INSTANCE);
+
+        this.hedger = new Hedger(INSTANCE, hedgeDelayMs, hedgeThreads, Counter.builder("expense.service.hedges")
+                .description("Watermark checks sent a second time after hedge-delay-ms")
+                .register(meterRegistry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedger.shutdown();
+    }
+
     @Override
-    public List<Map<String, Object>> getExpensesByUserAndDateRange(UUID userId, LocalDateTime start, LocalDateTime end) {
-        try {
-            String url = UriComponentsBuilder.fromUriString(expenseServiceUrl)
-                    .path("/api/v1/expenses/user/{userId}")
-                    .queryParam("startDate", start.format(DateTimeFormatter.ISO_DATE_TIME))
-                    .queryParam("endDate", end.format(DateTimeFormatter.ISO_DATE_TIME))
-                    .buildAndExpand(userId)
-                    .toUriString();
-            
-            return restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            ).getBody();
-        } catch (Exception e) {
-            log.error("Error fetching expenses for user {}: {}", userId, e.getMessage(), e);
-            return Collections.emptyList();
-        }
+    public long streamExpenses(ExpenseQuery query, Consumer<ExpenseRow> consumer) {
+        return streamThrough(bulkhead, query, consumer);
     }
-    
+
     @Override
-    public List<Map<String, Object>> getExpensesByDepartmentAndDateRange(String department, LocalDateTime start, LocalDateTime end) {
-        try {
-            String url = UriComponentsBuilder.fromUriString(expenseServiceUrl)
-                    .path("/api/v1/expenses/department/{department}")
-                    .queryParam("startDate", start.format(DateTimeFormatter.ISO_DATE_TIME))
-                    .queryParam("endDate", end.format(DateTimeFormatter.ISO_DATE_TIME))
-                    .buildAndExpand(department)
-                    .toUriString();
-            
-            return restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            ).getBody();
-        } catch (Exception e) {
-            log.error("Error fetching expenses for department {}: {}", department, e.getMessage(), e);
-            return Collections.emptyList();
+    public long streamExpensesInBackground(ExpenseQuery query, Consumer<ExpenseRow> consumer) {
+        return streamThrough(backgroundBulkhead, query, consumer);
+    }
+
+    private long streamThrough(Bulkhead bulkhead, ExpenseQuery query, Consumer<ExpenseRow> consumer) {
+        Retry.Context<Long> context = retry.context();
+        while (true) {
+            long[] consumed = {0};
+            try {
+                long rows = circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(() -> stream(query, row -> {
+                    consumer.accept(row);
+                    consumed[0]++;
+                })));
+                context.onComplete();
+                return rows;
+            } catch (RuntimeException e) {
+                if (consumed[0] > 0) {
+                    throw e;
+                }
+                context.onRuntimeError(e);
+                log.debug("Retrying export for {} after: {}", query, e.getMessage());
+            }
         }
     }
-    
+
     @Override
-    public Map<String, Object> getBudgetAnalysis(UUID userId, LocalDateTime start, LocalDateTime end) {
-        try {
-            String url = UriComponentsBuilder.fromUriString(expenseServiceUrl)
-                    .path("/api/v1/budget/analysis/{userId}")
-                    .queryParam("startDate", start.format(DateTimeFormatter.ISO_DATE_TIME))
-                    .queryParam("endDate", end.format(DateTimeFormatter.ISO_DATE_TIME))
-                    .buildAndExpand(userId)
-                    .toUriString();
-            
-            return restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<Map<String, Object>>() {}
-            ).getBody();
-        } catch (Exception e) {
-            log.error("Error fetching budget analysis for user {}: {}", userId, e.getMessage(), e);
-            return Collections.emptyMap();
+    public ExpenseWatermark watermark(ExpenseQuery query) {
+        Supplier<ExpenseWatermark> call = Bulkhead.decorateSupplier(bulkhead, () -> fetchWatermark(query));
+        return Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker,
+                () -> hedger.call(call))).get();
+    }
+
+    private long stream(ExpenseQuery query, Consumer<ExpenseRow> consumer) {
+        String url = UriComponentsBuilder.fromUriString(expenseServiceUrl)
+                .path(EXPORT_PATH)
+                .toUriString();
+
+        Long rows = restTemplate.execute(url, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    request.getHeaders().setAccept(List.of(APPLICATION_NDJSON));
+                    request.getBody().write(objectMapper.writeValueAsBytes(query));
+                },
+                response -> {
+                    long count = 0;
+                    try (MappingIterator<ExpenseRow> iterator = rowReader.readValues(response.getBody())) {
+                        while (iterator.hasNextValue()) {
+                            consumer.accept(iterator.nextValue());
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+        log.debug("Streamed {} expenses for {}", rows, query);
+        return rows != null ? rows : 0;
+    }
+
+    private ExpenseWatermark fetchWatermark(ExpenseQuery query) {
+        String url = UriComponentsBuilder.fromUriString(expenseServiceUrl)
+                .path(WATERMARK_PATH)
+                .toUriString();
+        ExpenseWatermark watermark = restTemplate.postForObject(url, query, ExpenseWatermark.class);
+        if (watermark == null) {
+            throw new IllegalStateException("expense-service returned no watermark for " + query);
         }
+        return watermark;
     }
-} 
\ No newline at end of file
+}
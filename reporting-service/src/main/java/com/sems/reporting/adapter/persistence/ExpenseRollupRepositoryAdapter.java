@@ -0,0 +1,205 @@
+package com.sems.reporting.adapter.persistence;
+
+import com.sems.reporting.adapter.persistence.entity.ExpenseRollupEntity;
+import com.sems.reporting.adapter.persistence.entity.ExpenseRollupMemberEntity;
+import com.sems.reporting.adapter.persistence.repository.SpringDataExpenseRollupMemberRepository;
+import com.sems.reporting.adapter.persistence.repository.SpringDataExpenseRollupRepository;
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseRollupKey;
+import com.sems.reporting.domain.model.RollupDelta;
+import com.sems.reporting.domain.model.RollupGranularity;
+import com.sems.reporting.domain.model.RollupMember;
+import com.sems.reporting.domain.model.RollupQuery;
+import com.sems.reporting.domain.port.out.ExpenseRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpenseRollupRepositoryAdapter implements ExpenseRollupRepository {
+
+    private final SpringDataExpenseRollupRepository cellRepository;
+    private final SpringDataExpenseRollupMemberRepository memberRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<UUID, RollupMember> findMembersForUpdate(Collection<UUID> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return Map.of();
+        }
+        return memberRepository.findAllForUpdate(expenseIds).stream()
+                .collect(Collectors.toMap(ExpenseRollupMemberEntity::getExpenseId, this::toDomain));
+    }
+
+    @Override
+    public void saveMembers(Collection<RollupMember> members) {
+        for (RollupMember member : members) {
+            // Members locked earlier in the transaction come from the persistence context
+            ExpenseRollupMemberEntity entity = entityManager.find(ExpenseRollupMemberEntity.class, member.expenseId());
+            boolean created = entity == null;
+            if (created) {
+                entity = ExpenseRollupMemberEntity.builder().expenseId(member.expenseId()).build();
+            }
+            ExpenseRollupKey key = member.key();
+            entity.setBucket(key.bucket());
+            entity.setDepartmentId(key.departmentId());
+            entity.setProjectId(key.projectId());
+            entity.setCategory(key.category());
+            entity.setStatus(key.status());
+            entity.setCurrency(key.currency());
+            entity.setAmount(member.amount());
+            entity.setAppliedVersion(member.version());
+            if (created) {
+                entityManager.persist(entity);
+            }
+        }
+    }
+
+    @Override
+    public void applyDeltas(Map<ExpenseRollupKey, RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<UUID, ExpenseRollupKey> keys = deltas.keySet().stream()
+                .collect(Collectors.toMap(ExpenseRollupRepositoryAdapter::cellId, Function.identity()));
+        Map<UUID, ExpenseRollupEntity> cells = cellRepository.findAllForUpdate(keys.keySet()).stream()
+                .collect(Collectors.toMap(ExpenseRollupEntity::getId, Function.identity()));
+
+        keys.keySet().stream().sorted().forEach(id -> {
+            ExpenseRollupKey key = keys.get(id);
+            RollupDelta delta = deltas.get(key);
+            ExpenseRollupEntity cell = cells.get(id);
+            if (cell == null) {
+                if (delta.count() <= 0) {
+                    log.warn("Ignoring {} for missing rollup cell {}", delta, key);
+                    return;
+                }
+                cell = newCell(id, key);
+                entityManager.persist(cell);
+            }
+            cell.setExpenseCount(cell.getExpenseCount() + delta.count());
+            cell.setTotalAmount(cell.getTotalAmount().add(delta.total()));
+            if (cell.getExpenseCount() <= 0) {
+                entityManager.remove(cell);
+            }
+        });
+    }
+
+    @Override
+    public List<ExpenseAggregate> aggregate(RollupQuery query) {
+        boolean bucketed = query.getGranularity() != RollupGranularity.TOTAL;
+        List<String> groupPaths = new ArrayList<>();
+        if (bucketed) {
+            groupPaths.add("c.bucket");
+        }
+        query.getGroupBy().forEach(dimension -> groupPaths.add(path(dimension)));
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        groupPaths.forEach(path -> jpql.append(path).append(", "));
+        jpql.append("SUM(c.expenseCount), SUM(c.totalAmount) FROM ExpenseRollupEntity c ")
+                .append("WHERE c.bucket BETWEEN :dateFrom AND :dateTo");
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("dateFrom", query.getDateFrom());
+        parameters.put("dateTo", query.getDateTo());
+        restrict(jpql, parameters, "c.departmentId", "departmentIds", query.getDepartmentIds());
+        restrict(jpql, parameters, "c.projectId", "projectIds", query.getProjectIds());
+        restrict(jpql, parameters, "c.category", "categories", query.getCategories());
+        restrict(jpql, parameters, "c.status", "statuses", query.getStatuses());
+        restrict(jpql, parameters, "c.currency", "currencies", query.getCurrencies());
+        if (!groupPaths.isEmpty()) {
+            jpql.append(" GROUP BY ").append(String.join(", ", groupPaths));
+        }
+
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(typedQuery::setParameter);
+
+        // Day buckets are merged into the requested periods here, over far fewer rows than expenses
+        Map<List<String>, RollupDelta> groups = new HashMap<>();
+        for (Object[] row : typedQuery.getResultList()) {
+            int column = 0;
+            List<String> key = new ArrayList<>(groupPaths.size());
+            if (bucketed) {
+                key.add(query.getGranularity().period((LocalDate) row[column++]));
+            }
+            for (int d = 0; d < query.getGroupBy().size(); d++) {
+                key.add(Objects.toString(row[column++], null));
+            }
+            Number count = (Number) row[column++];
+            BigDecimal total = (BigDecimal) row[column];
+            if (count != null && count.longValue() > 0) {
+                groups.merge(key, new RollupDelta(count.longValue(), total), RollupDelta::plus);
+            }
+        }
+        return groups.entrySet().stream()
+                .map(entry -> new ExpenseAggregate(entry.getKey(), entry.getValue().count(), entry.getValue().total()))
+                .sorted(ExpenseAggregate.BY_KEY)
+                .toList();
+    }
+
+    private static UUID cellId(ExpenseRollupKey key) {
+        String name = String.join("|", Objects.toString(key.bucket(), ""),
+                Objects.toString(key.departmentId(), ""), Objects.toString(key.projectId(), ""),
+                Objects.toString(key.category(), ""), Objects.toString(key.status(), ""),
+                Objects.toString(key.currency(), ""));
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ExpenseRollupEntity newCell(UUID id, ExpenseRollupKey key) {
+        return ExpenseRollupEntity.builder()
+                .id(id)
+                .bucket(key.bucket())
+                .departmentId(key.departmentId())
+                .projectId(key.projectId())
+                .category(key.category())
+                .status(key.status())
+                .currency(key.currency())
+                .totalAmount(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static String path(ExpenseDimension dimension) {
+        return switch (dimension) {
+            case DEPARTMENT -> "c.departmentId";
+            case PROJECT -> "c.projectId";
+            case CATEGORY -> "c.category";
+            case STATUS -> "c.status";
+            case CURRENCY -> "c.currency";
+            case USER -> throw new IllegalArgumentException("Rollups are not kept per user");
+        };
+    }
+
+    private static void restrict(StringBuilder jpql, Map<String, Object> parameters,
+                                 String path, String name, List<?> values) {
+        if (values != null && !values.isEmpty()) {
+            jpql.append(" AND ").append(path).append(" IN :").append(name);
+            parameters.put(name, values);
+        }
+    }
+
+    private RollupMember toDomain(ExpenseRollupMemberEntity entity) {
+        return new RollupMember(entity.getExpenseId(),
+                new ExpenseRollupKey(entity.getBucket(), entity.getDepartmentId(), entity.getProjectId(),
+                        entity.getCategory(), entity.getStatus(), entity.getCurrency()),
+                entity.getAmount(), entity.getAppliedVersion());
+    }
+}
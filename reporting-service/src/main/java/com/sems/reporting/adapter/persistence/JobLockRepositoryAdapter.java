@@ -0,0 +1,57 @@
+package com.sems.reporting.adapter.persistence;
+
+import com.sems.reporting.adapter.persistence.entity.JobLockEntity;
+import com.sems.reporting.adapter.persistence.repository.SpringDataJobLockRepository;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class JobLockRepositoryAdapter implements JobLockRepository {
+
+    private final SpringDataJobLockRepository repository;
+
+    @Override
+    public void lock(String name) {
+        if (repository.findForUpdate(name).isEmpty()) {
+            // The first use creates the row, which the insert keeps locked. Should two instances
+            // race on it, one fails on the primary key and gets the row locked next time.
+            repository.saveAndFlush(JobLockEntity.builder().name(name).build());
+        }
+    }
+
+    @Override
+    public boolean tryLease(String name, String owner, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        JobLockEntity lock = repository.findForUpdate(name).orElse(null);
+        if (lock == null) {
+            repository.saveAndFlush(JobLockEntity.builder()
+                    .name(name)
+                    .owner(owner)
+                    .leasedUntil(now.plus(duration))
+                    .build());
+            return true;
+        }
+        if (lock.getOwner() != null && !lock.getOwner().equals(owner)
+                && lock.getLeasedUntil() != null && lock.getLeasedUntil().isAfter(now)) {
+            return false;
+        }
+        lock.setOwner(owner);
+        lock.setLeasedUntil(now.plus(duration));
+        return true;
+    }
+
+    @Override
+    public void releaseLease(String name, String owner) {
+        repository.findForUpdate(name)
+                .filter(lock -> owner.equals(lock.getOwner()))
+                .ifPresent(lock -> {
+                    lock.setOwner(null);
+                    lock.setLeasedUntil(null);
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package com.sems.reporting.adapter.persistence;
+
+import com.sems.reporting.adapter.persistence.mapper.ReportCacheEntryMapper;
+import com.sems.reporting.adapter.persistence.repository.SpringDataReportCacheRepository;
+import com.sems.reporting.domain.model.ReportCacheEntry;
+import com.sems.reporting.domain.port.out.ReportCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ReportCacheRepositoryAdapter implements ReportCacheRepository {
+
+    private final SpringDataReportCacheRepository repository;
+    private final ReportCacheEntryMapper mapper;
+
+    @Override
+    public Optional<ReportCacheEntry> findByFingerprint(String fingerprint) {
+        return repository.findById(fingerprint)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Optional<ReportCacheEntry> findByFingerprintForUpdate(String fingerprint) {
+        return repository.findByFingerprintForUpdate(fingerprint)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public ReportCacheEntry save(ReportCacheEntry entry) {
+        return mapper.toDomain(repository.save(mapper.toEntity(entry)));
+    }
+
+    @Override
+    public void touch(String fingerprint, LocalDateTime accessedAt) {
+        repository.touch(fingerprint, accessedAt);
+    }
+
+    @Override
+    public long totalSize() {
+        return repository.totalSize();
+    }
+
+    @Override
+    public List<ReportCacheEntry> findLeastRecentlyUsedForUpdate(int limit) {
+        return repository.findLeastRecentlyUsedForUpdate(limit).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void delete(String fingerprint) {
+        repository.deleteById(fingerprint);
+    }
+
+    @Override
+    public boolean existsByStorageKey(String storageKey) {
+        return repository.existsByStorageKey(storageKey);
+    }
+}
@@ -2,13 +2,18 @@ package com.sems.reporting.adapter.persistence;
 
 import com.sems.reporting.adapter.persistence.mapper.ReportMapper;
 import com.sems.reporting.adapter.persistence.repository.SpringDataReportRepository;
+import com.sems.reporting.domain.model.DeliveryStatus;
 import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportStatus;
 import com.sems.reporting.domain.port.out.ReportRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -51,4 +56,86 @@ public class ReportRepositoryAdapter implements ReportRepository {
     public void delete(UUID id) {
         repository.deleteById(id);
     }
+
+    @Override
+    public boolean existsByGeneratedFilePath(String generatedFilePath) {
+        return repository.existsByGeneratedFilePath(generatedFilePath);
+    }
+
+    @Override
+    public List<Report> findQueuedForUpdate(int limit) {
+        return repository.findQueuedForUpdate(limit).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<UUID, Long> countProcessingByUser(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : repository.countProcessingByUser(userIds)) {
+            counts.put((UUID) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
+    public long countByStatus(ReportStatus status) {
+        return repository.countByStatus(status);
+    }
+
+    @Override
+    public long countActiveScheduled() {
+        return repository.countActiveScheduled();
+    }
+
+    @Override
+    public List<Report> findPendingDeliveryForUpdate(int limit) {
+        return repository.findPendingDeliveryForUpdate(limit).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void markDelivery(UUID id, DeliveryStatus deliveryStatus) {
+        repository.markDelivery(id, deliveryStatus);
+    }
+
+    @Override
+    public void markClaimed(UUID id, String claimToken, LocalDateTime now) {
+        repository.markClaimed(id, claimToken, now);
+    }
+
+    @Override
+    public boolean completeQueued(UUID id, String generatedFilePath, LocalDateTime now) {
+        return repository.completeQueued(id, generatedFilePath, now) > 0;
+    }
+
+    @Override
+    public int heartbeat(Collection<String> claimTokens, LocalDateTime now) {
+        return claimTokens.isEmpty() ? 0 : repository.heartbeat(claimTokens, now);
+    }
+
+    @Override
+    public void updateProgress(UUID id, String claimToken, int progress) {
+        repository.updateProgress(id, claimToken, progress);
+    }
+
+    @Override
+    public boolean finish(UUID id, String claimToken, ReportStatus status, String generatedFilePath,
+                          String errorMessage, LocalDateTime completedAt) {
+        return repository.finish(id, claimToken, status, generatedFilePath, errorMessage, completedAt) > 0;
+    }
+
+    @Override
+    public int failOrphaned(LocalDateTime staleBefore, int maxAttempts, String errorMessage) {
+        return repository.failOrphaned(staleBefore, maxAttempts, errorMessage);
+    }
+
+    @Override
+    public int requeueOrphaned(LocalDateTime staleBefore) {
+        return repository.requeueOrphaned(staleBefore);
+    }
 } 
\ No newline at end of file
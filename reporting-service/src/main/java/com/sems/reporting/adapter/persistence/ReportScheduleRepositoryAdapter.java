@@ -0,0 +1,52 @@
+package com.sems.reporting.adapter.persistence;
+
+import com.sems.reporting.adapter.persistence.mapper.ReportScheduleMapper;
+import com.sems.reporting.adapter.persistence.repository.SpringDataReportScheduleRepository;
+import com.sems.reporting.domain.model.ReportSchedule;
+import com.sems.reporting.domain.port.out.ReportScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ReportScheduleRepositoryAdapter implements ReportScheduleRepository {
+
+    private final SpringDataReportScheduleRepository repository;
+    private final ReportScheduleMapper mapper;
+
+    @Override
+    public ReportSchedule save(ReportSchedule schedule) {
+        return mapper.toDomain(repository.save(mapper.toEntity(schedule)));
+    }
+
+    @Override
+    public Optional<ReportSchedule> findById(UUID id) {
+        return repository.findById(id)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<ReportSchedule> findByUserId(UUID userId) {
+        return repository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void delete(UUID id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    public List<ReportSchedule> findDueForUpdate(LocalDateTime now, int limit) {
+        return repository.findDueForUpdate(now, limit).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+}
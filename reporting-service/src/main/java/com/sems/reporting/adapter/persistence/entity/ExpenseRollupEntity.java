@@ -0,0 +1,55 @@
+package com.sems.reporting.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One rollup cell. The id is derived from the cell's key, as a unique constraint can't
+ * cover the nullable department and project.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "expense_rollups", indexes = {
+        @Index(name = "idx_expense_rollups_bucket", columnList = "bucket"),
+        @Index(name = "idx_expense_rollups_department_bucket", columnList = "department_id, bucket")
+})
+public class ExpenseRollupEntity {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "bucket", nullable = false)
+    private LocalDate bucket;
+
+    @Column(name = "department_id")
+    private UUID departmentId;
+
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "category", length = 50)
+    private String category;
+
+    @Column(name = "status", length = 30)
+    private String status;
+
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+}
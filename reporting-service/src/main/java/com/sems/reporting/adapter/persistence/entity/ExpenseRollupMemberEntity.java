@@ -0,0 +1,48 @@
+package com.sems.reporting.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "expense_rollup_members")
+public class ExpenseRollupMemberEntity {
+
+    @Id
+    @Column(name = "expense_id", nullable = false)
+    private UUID expenseId;
+
+    @Column(name = "bucket", nullable = false)
+    private LocalDate bucket;
+
+    @Column(name = "department_id")
+    private UUID departmentId;
+
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "category", length = 50)
+    private String category;
+
+    @Column(name = "status", length = 30)
+    private String status;
+
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "applied_version", nullable = false)
+    private long appliedVersion;
+}
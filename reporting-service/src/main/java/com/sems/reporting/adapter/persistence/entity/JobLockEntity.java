@@ -0,0 +1,29 @@
+package com.sems.reporting.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "job_locks")
+public class JobLockEntity {
+
+    @Id
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    // Set while the lock is leased to an instance; see JobLockRepository#tryLease
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+}
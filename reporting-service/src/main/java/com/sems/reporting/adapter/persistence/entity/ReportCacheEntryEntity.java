@@ -0,0 +1,40 @@
+package com.sems.reporting.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "report_cache_entries", indexes = {
+        @Index(name = "idx_report_cache_last_accessed", columnList = "last_accessed_at"),
+        @Index(name = "idx_report_cache_storage_key", columnList = "storage_key")
+})
+public class ReportCacheEntryEntity {
+
+    @Id
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    @Column(name = "watermark", nullable = false, length = 100)
+    private String watermark;
+
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_accessed_at", nullable = false)
+    private LocalDateTime lastAccessedAt;
+}
@@ -1,5 +1,7 @@
 package com.sems.reporting.adapter.persistence.entity;
 
+import com.sems.reporting.domain.model.DeliveryStatus;
+import com.sems.reporting.domain.model.ReportFormat;
 import com.sems.reporting.domain.model.ReportStatus;
 import com.sems.reporting.domain.model.ReportType;
 import jakarta.persistence.*;
@@ -18,7 +20,13 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+        @Index(name = "idx_reports_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_reports_status_heartbeat", columnList = "status, heartbeat_at"),
+        @Index(name = "idx_reports_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_reports_generated_file_path", columnList = "generated_file_path"),
+        @Index(name = "idx_reports_delivery_status", columnList = "delivery_status")
+})
 public class ReportEntity {
     
     @Id
@@ -32,6 +40,10 @@ public class ReportEntity {
     @Column(name = "type", nullable = false)
     private ReportType type;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", length = 10)
+    private ReportFormat format;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private ReportStatus status;
@@ -51,6 +63,24 @@ public class ReportEntity {
     @Column(name = "generated_file_path")
     private String generatedFilePath;
     
+    @Column(name = "progress", nullable = false)
+    private int progress;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "claim_token", length = 64)
+    private String claimToken;
+    
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,4 +91,11 @@ public class ReportEntity {
     
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
+    
+    @Column(name = "schedule_id")
+    private UUID scheduleId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_status", length = 20)
+    private DeliveryStatus deliveryStatus;
 } 
\ No newline at end of file
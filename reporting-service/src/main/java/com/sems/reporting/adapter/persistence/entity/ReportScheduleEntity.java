@@ -0,0 +1,78 @@
+package com.sems.reporting.adapter.persistence.entity;
+
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportPeriod;
+import com.sems.reporting.domain.model.ReportType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "report_schedules", indexes = {
+        @Index(name = "idx_report_schedules_due", columnList = "enabled, next_run_at"),
+        @Index(name = "idx_report_schedules_user", columnList = "user_id")
+})
+public class ReportScheduleEntity {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ReportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ReportFormat format;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "parameters", columnDefinition = "TEXT")
+    private String parameters;
+
+    @Column(name = "cron", nullable = false, length = 100)
+    private String cron;
+
+    @Column(name = "time_zone", nullable = false, length = 50)
+    private String timeZone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 20)
+    private ReportPeriod period;
+
+    // Comma-separated email addresses
+    @Column(name = "recipients", nullable = false, length = 2000)
+    private String recipients;
+
+    @Column(name = "enabled", nullable = false)
+    private boolean enabled;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_report_id")
+    private UUID lastReportId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.sems.reporting.adapter.persistence.mapper;
+
+import com.sems.reporting.adapter.persistence.entity.ReportCacheEntryEntity;
+import com.sems.reporting.domain.model.ReportCacheEntry;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ReportCacheEntryMapper {
+
+    ReportCacheEntry toDomain(ReportCacheEntryEntity entity);
+
+    ReportCacheEntryEntity toEntity(ReportCacheEntry domain);
+}
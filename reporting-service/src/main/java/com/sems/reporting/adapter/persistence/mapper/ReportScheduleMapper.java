@@ -0,0 +1,24 @@
+package com.sems.reporting.adapter.persistence.mapper;
+
+import com.sems.reporting.adapter.persistence.entity.ReportScheduleEntity;
+import com.sems.reporting.domain.model.ReportSchedule;
+import org.mapstruct.Mapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ReportScheduleMapper {
+
+    ReportSchedule toDomain(ReportScheduleEntity entity);
+
+    ReportScheduleEntity toEntity(ReportSchedule domain);
+
+    default String joinRecipients(List<String> recipients) {
+        return recipients != null ? String.join(",", recipients) : null;
+    }
+
+    default List<String> splitRecipients(String recipients) {
+        return recipients == null || recipients.isBlank() ? List.of() : Arrays.asList(recipients.split(","));
+    }
+}
@@ -0,0 +1,21 @@
+package com.sems.reporting.adapter.persistence.repository;
+
+import com.sems.reporting.adapter.persistence.entity.ExpenseRollupMemberEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataExpenseRollupMemberRepository extends JpaRepository<ExpenseRollupMemberEntity, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM ExpenseRollupMemberEntity m WHERE m.expenseId IN :ids ORDER BY m.expenseId")
+    List<ExpenseRollupMemberEntity> findAllForUpdate(@Param("ids") Collection<UUID> ids);
+}
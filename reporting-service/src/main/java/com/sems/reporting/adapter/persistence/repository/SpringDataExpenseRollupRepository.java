@@ -0,0 +1,21 @@
+package com.sems.reporting.adapter.persistence.repository;
+
+import com.sems.reporting.adapter.persistence.entity.ExpenseRollupEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataExpenseRollupRepository extends JpaRepository<ExpenseRollupEntity, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ExpenseRollupEntity c WHERE c.id IN :ids ORDER BY c.id")
+    List<ExpenseRollupEntity> findAllForUpdate(@Param("ids") Collection<UUID> ids);
+}
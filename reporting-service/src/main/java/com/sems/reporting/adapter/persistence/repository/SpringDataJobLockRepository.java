@@ -0,0 +1,19 @@
+package com.sems.reporting.adapter.persistence.repository;
+
+import com.sems.reporting.adapter.persistence.entity.JobLockEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SpringDataJobLockRepository extends JpaRepository<JobLockEntity, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM JobLockEntity l WHERE l.name = :name")
+    Optional<JobLockEntity> findForUpdate(@Param("name") String name);
+}
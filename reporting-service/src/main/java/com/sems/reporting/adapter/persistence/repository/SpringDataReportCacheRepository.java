@@ -0,0 +1,33 @@
+package com.sems.reporting.adapter.persistence.repository;
+
+import com.sems.reporting.adapter.persistence.entity.ReportCacheEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SpringDataReportCacheRepository extends JpaRepository<ReportCacheEntryEntity, String> {
+
+    @Query(value = "SELECT * FROM report_cache_entries WHERE fingerprint = :fingerprint FOR UPDATE",
+            nativeQuery = true)
+    Optional<ReportCacheEntryEntity> findByFingerprintForUpdate(@Param("fingerprint") String fingerprint);
+
+    @Query(value = "SELECT * FROM report_cache_entries ORDER BY last_accessed_at LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<ReportCacheEntryEntity> findLeastRecentlyUsedForUpdate(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE ReportCacheEntryEntity e SET e.lastAccessedAt = :accessedAt WHERE e.fingerprint = :fingerprint")
+    int touch(@Param("fingerprint") String fingerprint, @Param("accessedAt") LocalDateTime accessedAt);
+
+    @Query("SELECT COALESCE(SUM(e.sizeBytes), 0) FROM ReportCacheEntryEntity e")
+    long totalSize();
+
+    boolean existsByStorageKey(String storageKey);
+}
@@ -1,10 +1,16 @@
 package com.sems.reporting.adapter.persistence.repository;
 
 import com.sems.reporting.adapter.persistence.entity.ReportEntity;
+import com.sems.reporting.domain.model.DeliveryStatus;
+import com.sems.reporting.domain.model.ReportStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +20,84 @@ public interface SpringDataReportRepository extends JpaRepository<ReportEntity,
     List<ReportEntity> findByUserId(UUID userId);
     
     List<ReportEntity> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-} 
\ No newline at end of file
+    
+    boolean existsByGeneratedFilePath(String generatedFilePath);
+    
+    @Query(value = "SELECT * FROM reports WHERE status = 'QUEUED' "
+            + "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReportEntity> findQueuedForUpdate(@Param("limit") int limit);
+    
+    @Query("SELECT r.userId, COUNT(r) FROM ReportEntity r "
+            + "WHERE r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING AND r.userId IN :userIds "
+            + "GROUP BY r.userId")
+    List<Object[]> countProcessingByUser(@Param("userIds") Collection<UUID> userIds);
+    
+    long countByStatus(ReportStatus status);
+    
+    @Query("SELECT COUNT(r) FROM ReportEntity r WHERE r.scheduleId IS NOT NULL AND r.status IN ("
+            + "com.sems.reporting.domain.model.ReportStatus.QUEUED, "
+            + "com.sems.reporting.domain.model.ReportStatus.PROCESSING)")
+    long countActiveScheduled();
+    
+    @Query(value = "SELECT * FROM reports WHERE delivery_status = 'PENDING' AND status IN ('COMPLETED', 'FAILED') "
+            + "ORDER BY completed_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReportEntity> findPendingDeliveryForUpdate(@Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.deliveryStatus = :deliveryStatus WHERE r.id = :id")
+    int markDelivery(@Param("id") UUID id, @Param("deliveryStatus") DeliveryStatus deliveryStatus);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING, "
+            + "r.claimToken = :claimToken, r.heartbeatAt = :now, r.startedAt = :now, r.progress = 0, "
+            + "r.attempts = r.attempts + 1, r.errorMessage = null WHERE r.id = :id")
+    int markClaimed(@Param("id") UUID id, @Param("claimToken") String claimToken, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.status = com.sems.reporting.domain.model.ReportStatus.COMPLETED, "
+            + "r.generatedFilePath = :generatedFilePath, r.progress = 100, r.startedAt = :now, r.completedAt = :now "
+            + "WHERE r.id = :id AND r.status = com.sems.reporting.domain.model.ReportStatus.QUEUED")
+    int completeQueued(@Param("id") UUID id,
+                       @Param("generatedFilePath") String generatedFilePath,
+                       @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.heartbeatAt = :now WHERE r.claimToken IN :claimTokens "
+            + "AND r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING")
+    int heartbeat(@Param("claimTokens") Collection<String> claimTokens, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.progress = :progress WHERE r.id = :id AND r.claimToken = :claimToken "
+            + "AND r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING")
+    int updateProgress(@Param("id") UUID id, @Param("claimToken") String claimToken, @Param("progress") int progress);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.status = :status, r.generatedFilePath = :generatedFilePath, "
+            + "r.errorMessage = :errorMessage, r.completedAt = :completedAt, r.claimToken = null, "
+            + "r.progress = CASE WHEN :status = com.sems.reporting.domain.model.ReportStatus.COMPLETED "
+            + "THEN 100 ELSE r.progress END "
+            + "WHERE r.id = :id AND r.claimToken = :claimToken "
+            + "AND r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING")
+    int finish(@Param("id") UUID id,
+               @Param("claimToken") String claimToken,
+               @Param("status") ReportStatus status,
+               @Param("generatedFilePath") String generatedFilePath,
+               @Param("errorMessage") String errorMessage,
+               @Param("completedAt") LocalDateTime completedAt);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.status = com.sems.reporting.domain.model.ReportStatus.FAILED, "
+            + "r.claimToken = null, r.errorMessage = :errorMessage "
+            + "WHERE r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING "
+            + "AND r.heartbeatAt < :staleBefore AND r.attempts >= :maxAttempts")
+    int failOrphaned(@Param("staleBefore") LocalDateTime staleBefore,
+                     @Param("maxAttempts") int maxAttempts,
+                     @Param("errorMessage") String errorMessage);
+    
+    @Modifying
+    @Query("UPDATE ReportEntity r SET r.status = com.sems.reporting.domain.model.ReportStatus.QUEUED, "
+            + "r.claimToken = null, r.progress = 0 "
+            + "WHERE r.status = com.sems.reporting.domain.model.ReportStatus.PROCESSING "
+            + "AND r.heartbeatAt < :staleBefore")
+    int requeueOrphaned(@Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,21 @@
+package com.sems.reporting.adapter.persistence.repository;
+
+import com.sems.reporting.adapter.persistence.entity.ReportScheduleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataReportScheduleRepository extends JpaRepository<ReportScheduleEntity, UUID> {
+
+    List<ReportScheduleEntity> findByUserIdOrderByCreatedAtDesc(UUID userId);
+
+    @Query(value = "SELECT * FROM report_schedules WHERE enabled = true AND next_run_at <= :now "
+            + "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReportScheduleEntity> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
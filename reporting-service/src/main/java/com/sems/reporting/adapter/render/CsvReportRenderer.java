@@ -0,0 +1,92 @@
+package com.sems.reporting.adapter.render;
+
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportLayout;
+import com.sems.reporting.domain.port.out.ReportRenderer;
+import com.sems.reporting.domain.port.out.ReportWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes RFC 4180 CSV, one line per row, through a fixed-size buffer.
+ */
+@Component
+public class CsvReportRenderer implements ReportRenderer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    @Override
+    public ReportFormat format() {
+        return ReportFormat.CSV;
+    }
+
+    @Override
+    public ReportWriter open(OutputStream out, ReportLayout layout) throws IOException {
+        CsvWriter writer = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        writer.writeRow(layout.columns());
+        return writer;
+    }
+
+    private static final class CsvWriter implements ReportWriter {
+
+        private final Writer writer;
+
+        CsvWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeRow(List<?> cells) throws IOException {
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(cells.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void writeCell(Object cell) throws IOException {
+            if (cell == null) {
+                return;
+            }
+            if (cell instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+                return;
+            }
+            if (cell instanceof Number) {
+                writer.write(cell.toString());
+                return;
+            }
+
+            String text = cell.toString();
+            // Keep spreadsheet apps from evaluating user-entered text as a formula; a leading tab
+            // or carriage return is dropped by some of them, exposing whatever follows
+            if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+    }
+}
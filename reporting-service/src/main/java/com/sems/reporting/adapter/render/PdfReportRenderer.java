@@ -0,0 +1,165 @@
+package com.sems.reporting.adapter.render;
+
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportLayout;
+import com.sems.reporting.domain.port.out.ReportRenderer;
+import com.sems.reporting.domain.port.out.ReportWriter;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.util.Matrix;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Lays report rows out as a table on landscape A4 pages. Each page's content stream is
+ * closed as soon as the page is full and kept in a temp-file backed stream cache, so the heap
+ * only holds the current page and the small page dictionaries until the document is saved.
+ */
+@Component
+public class PdfReportRenderer implements ReportRenderer {
+
+    private static final PDRectangle PAGE_SIZE = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
+    private static final float MARGIN = 36;
+    private static final float TITLE_SIZE = 14;
+    private static final float FONT_SIZE = 8;
+    private static final float ROW_HEIGHT = 12;
+    private static final float CELL_PADDING = 3;
+
+    @Override
+    public ReportFormat format() {
+        return ReportFormat.PDF;
+    }
+
+    @Override
+    public ReportWriter open(OutputStream out, ReportLayout layout) throws IOException {
+        return new PdfWriter(out, layout);
+    }
+
+    private static final class PdfWriter implements ReportWriter {
+
+        private final PDDocument document = new PDDocument(IOUtils.createTempFileOnlyStreamCache());
+        private final PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        private final PDType1Font boldFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        private final OutputStream out;
+        private final ReportLayout layout;
+        private final float columnWidth;
+        private PDPageContentStream content;
+        private int pageCount;
+        private float y;
+
+        PdfWriter(OutputStream out, ReportLayout layout) throws IOException {
+            this.out = out;
+            this.layout = layout;
+            this.columnWidth = (PAGE_SIZE.getWidth() - 2 * MARGIN) / Math.max(1, layout.columns().size());
+            newPage();
+        }
+
+        @Override
+        public void writeRow(List<?> cells) throws IOException {
+            if (y < MARGIN + ROW_HEIGHT) {
+                newPage();
+            }
+            writeCells(cells, font);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                content.close();
+                document.save(out);
+            } finally {
+                document.close();
+            }
+        }
+
+        private void newPage() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+            PDPage page = new PDPage(PAGE_SIZE);
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            pageCount++;
+            y = PAGE_SIZE.getHeight() - MARGIN;
+
+            content.beginText();
+            content.setFont(boldFont, TITLE_SIZE);
+            content.newLineAtOffset(MARGIN, y - TITLE_SIZE);
+            content.showText(printable(layout.title()));
+            content.setFont(font, FONT_SIZE);
+            content.setTextMatrix(Matrix.getTranslateInstance(PAGE_SIZE.getWidth() - MARGIN - 40, MARGIN / 2));
+            content.showText("Page " + pageCount);
+            content.endText();
+            y -= TITLE_SIZE + ROW_HEIGHT;
+
+            writeCells(layout.columns(), boldFont);
+            content.moveTo(MARGIN, y + ROW_HEIGHT - FONT_SIZE - 2);
+            content.lineTo(PAGE_SIZE.getWidth() - MARGIN, y + ROW_HEIGHT - FONT_SIZE - 2);
+            content.stroke();
+        }
+
+        private void writeCells(List<?> cells, PDType1Font cellFont) throws IOException {
+            content.beginText();
+            content.setFont(cellFont, FONT_SIZE);
+            for (int i = 0; i < cells.size(); i++) {
+                Object cell = cells.get(i);
+                if (cell == null) {
+                    continue;
+                }
+                String text = fit(format(cell), cellFont);
+                float x = MARGIN + i * columnWidth + CELL_PADDING;
+                if (cell instanceof Number) {
+                    // Right-align numbers so their decimals line up
+                    x = MARGIN + (i + 1) * columnWidth - CELL_PADDING - width(text, cellFont);
+                }
+                content.setTextMatrix(Matrix.getTranslateInstance(x, y - FONT_SIZE));
+                content.showText(text);
+            }
+            content.endText();
+            y -= ROW_HEIGHT;
+        }
+
+        private String fit(String text, PDType1Font cellFont) throws IOException {
+            float available = columnWidth - 2 * CELL_PADDING;
+            if (width(text, cellFont) <= available) {
+                return text;
+            }
+            int end = text.length();
+            while (end > 0 && width(text.substring(0, end) + "...", cellFont) > available) {
+                end--;
+            }
+            return text.substring(0, end) + "...";
+        }
+
+        private float width(String text, PDType1Font cellFont) throws IOException {
+            return cellFont.getStringWidth(text) / 1000 * FONT_SIZE;
+        }
+
+        private static String format(Object cell) {
+            if (cell instanceof BigDecimal decimal) {
+                return decimal.setScale(2, RoundingMode.HALF_EVEN).toPlainString();
+            }
+            return printable(cell.toString());
+        }
+
+        // The standard 14 fonts only cover WinAnsi; anything else would fail to encode
+        private static String printable(String text) {
+            StringBuilder result = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                result.append((c >= 0x20 && c <= 0x7E) || (c >= 0xA0 && c <= 0xFF) ? c : '?');
+            }
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.sems.reporting.adapter.render;
+
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportLayout;
+import com.sems.reporting.domain.port.out.ReportRenderer;
+import com.sems.reporting.domain.port.out.ReportWriter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes XLSX through POI's streaming workbook: only the last {@code windowSize} rows stay in
+ * memory, older ones are flushed to a compressed temp file until the workbook is written out.
+ * Rows beyond a sheet's limit continue on a new sheet.
+ */
+@Component
+public class XlsxReportRenderer implements ReportRenderer {
+
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final int windowSize;
+
+    public XlsxReportRenderer(@Value("${app.reports.render.xlsx-window-size:200}") int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public ReportFormat format() {
+        return ReportFormat.XLSX;
+    }
+
+    @Override
+    public ReportWriter open(OutputStream out, ReportLayout layout) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        return new XlsxWriter(workbook, out, layout);
+    }
+
+    private static final class XlsxWriter implements ReportWriter {
+
+        private final SXSSFWorkbook workbook;
+        private final OutputStream out;
+        private final ReportLayout layout;
+        private final CellStyle headerStyle;
+        private final CellStyle amountStyle;
+        private final CellStyle dateStyle;
+        private final CellStyle dateTimeStyle;
+        private SXSSFSheet sheet;
+        private int sheetCount;
+        private int rowIndex;
+
+        XlsxWriter(SXSSFWorkbook workbook, OutputStream out, ReportLayout layout) {
+            this.workbook = workbook;
+            this.out = out;
+            this.layout = layout;
+
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            this.headerStyle = workbook.createCellStyle();
+            this.headerStyle.setFont(bold);
+            this.amountStyle = style("#,##0.00");
+            this.dateStyle = style("yyyy-mm-dd");
+            this.dateTimeStyle = style("yyyy-mm-dd hh:mm:ss");
+            newSheet();
+        }
+
+        @Override
+        public void writeRow(List<?> cells) {
+            if (rowIndex >= MAX_ROWS_PER_SHEET) {
+                newSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < cells.size(); i++) {
+                setValue(row.createCell(i), cells.get(i));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        }
+
+        private void newSheet() {
+            sheetCount++;
+            String name = sheetCount == 1 ? layout.title() : layout.title() + " (" + sheetCount + ")";
+            sheet = workbook.createSheet(WorkbookUtil.createSafeSheetName(name));
+            rowIndex = 0;
+
+            Row header = sheet.createRow(rowIndex++);
+            for (int i = 0; i < layout.columns().size(); i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(layout.columns().get(i));
+                cell.setCellStyle(headerStyle);
+            }
+            sheet.createFreezePane(0, 1);
+        }
+
+        private void setValue(Cell cell, Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof BigDecimal decimal) {
+                cell.setCellValue(decimal.doubleValue());
+                cell.setCellStyle(amountStyle);
+            } else if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof LocalDate date) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else if (value instanceof LocalDateTime dateTime) {
+                cell.setCellValue(dateTime);
+                cell.setCellStyle(dateTimeStyle);
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+
+        private CellStyle style(String format) {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat(format));
+            return style;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.sems.reporting.adapter.storage;
+
+import com.sems.reporting.application.exception.ResourceNotFoundException;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps report files under a local directory, which may be a shared volume. Files are written
+ * to a unique temp file next to their target and moved into place once complete, so readers
+ * and concurrent writers of the same key never see a partial file.
+ */
+@Slf4j
+@Component
+public class FileSystemReportStorage implements ReportStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public FileSystemReportStorage(@Value("${app.reports.storage.directory:${java.io.tmpdir}/sems-reports}") String directory) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void write(String key, ContentWriter writer) {
+        Path target = resolve(key);
+        Path partial = null;
+        try {
+            Files.createDirectories(target.getParent());
+            partial = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+                writer.write(out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            throw new UncheckedIOException("Failed to store report file: " + key, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(partial);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Report file not found: " + key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open report file: " + key, e);
+        }
+    }
+
+    @Override
+    public long size(String key) {
+        try {
+            return Files.size(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Report file not found: " + key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read size of report file: " + key, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete report file: " + key, e);
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid report file key: " + key);
+        }
+        return path;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to remove partial report file {}: {}", path, e.getMessage());
+        }
+    }
+}
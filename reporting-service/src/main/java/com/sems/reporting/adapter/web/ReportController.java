@@ -3,13 +3,19 @@ package com.sems.reporting.adapter.web;
 import com.sems.reporting.adapter.web.dto.CreateReportRequest;
 import com.sems.reporting.adapter.web.dto.ReportResponse;
 import com.sems.reporting.adapter.web.mapper.ReportDtoMapper;
+import com.sems.reporting.domain.model.ReportFile;
 import com.sems.reporting.domain.port.in.ReportUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,6 +40,7 @@ public class ReportController {
         var report = reportUseCase.createReport(
                 request.getName(),
                 request.getType(),
+                request.getFormat(),
                 request.getUserId(),
                 request.getParameters(),
                 request.getDateFrom(),
@@ -65,6 +72,25 @@ public class ReportController {
         return ResponseEntity.accepted().build();
     }
     
+    @GetMapping("/{reportId}/download")
+    @Operation(summary = "Download a generated report")
+    public ResponseEntity<Resource> downloadReport(@PathVariable UUID reportId) {
+        ReportFile file;
+        try {
+            file = reportUseCase.downloadReport(reportId);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .contentLength(file.size())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.fileName())
+                        .build()
+                        .toString())
+                .body(new InputStreamResource(file.content()));
+    }
+    
     @GetMapping
     @Operation(summary = "Get reports by date range")
     public List<ReportResponse> getReportsByDateRange(
@@ -0,0 +1,90 @@
+package com.sems.reporting.adapter.web;
+
+import com.sems.reporting.adapter.web.dto.CreateReportScheduleRequest;
+import com.sems.reporting.adapter.web.dto.ReportScheduleResponse;
+import com.sems.reporting.adapter.web.mapper.ReportScheduleDtoMapper;
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportPeriod;
+import com.sems.reporting.domain.model.ReportSchedule;
+import com.sems.reporting.domain.model.ReportType;
+import com.sems.reporting.domain.port.in.ReportScheduleUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/v1/reports/schedules")
+@RequiredArgsConstructor
+@Tag(name = "Report schedules", description = "Recurring report delivery API")
+public class ReportScheduleController {
+
+    private final ReportScheduleUseCase scheduleUseCase;
+    private final ReportScheduleDtoMapper mapper;
+
+    @PostMapping
+    @Operation(summary = "Schedule a recurring report emailed to its recipients")
+    public ResponseEntity<ReportScheduleResponse> createSchedule(@Valid @RequestBody CreateReportScheduleRequest request) {
+        try {
+            ReportSchedule schedule = scheduleUseCase.createSchedule(ReportSchedule.builder()
+                    .name(request.getName())
+                    .type(ReportType.valueOf(request.getType().toUpperCase()))
+                    .format(request.getFormat() != null && !request.getFormat().isBlank()
+                            ? ReportFormat.valueOf(request.getFormat().toUpperCase()) : null)
+                    .userId(request.getUserId())
+                    .parameters(request.getParameters())
+                    .cron(request.getCron())
+                    .timeZone(request.getTimeZone())
+                    .period(ReportPeriod.valueOf(request.getPeriod().toUpperCase()))
+                    .recipients(request.getRecipients())
+                    .build());
+            return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toResponse(schedule));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{scheduleId}")
+    @Operation(summary = "Get a report schedule by ID")
+    public ReportScheduleResponse getScheduleById(@PathVariable UUID scheduleId) {
+        return mapper.toResponse(scheduleUseCase.getScheduleById(scheduleId));
+    }
+
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get all report schedules for a user")
+    public List<ReportScheduleResponse> getUserSchedules(@PathVariable UUID userId) {
+        return scheduleUseCase.getUserSchedules(userId).stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @PostMapping("/{scheduleId}/pause")
+    @Operation(summary = "Stop running a report schedule")
+    public ReportScheduleResponse pauseSchedule(@PathVariable UUID scheduleId) {
+        return mapper.toResponse(scheduleUseCase.setEnabled(scheduleId, false));
+    }
+
+    @PostMapping("/{scheduleId}/resume")
+    @Operation(summary = "Resume a paused report schedule from its next run")
+    public ResponseEntity<ReportScheduleResponse> resumeSchedule(@PathVariable UUID scheduleId) {
+        try {
+            return ResponseEntity.ok(mapper.toResponse(scheduleUseCase.setEnabled(scheduleId, true)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @DeleteMapping("/{scheduleId}")
+    @Operation(summary = "Delete a report schedule")
+    public ResponseEntity<Void> deleteSchedule(@PathVariable UUID scheduleId) {
+        scheduleUseCase.deleteSchedule(scheduleId);
+        return ResponseEntity.noContent().build();
+    }
+}
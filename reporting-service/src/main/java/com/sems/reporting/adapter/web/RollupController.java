@@ -0,0 +1,102 @@
+package com.sems.reporting.adapter.web;
+
+import com.sems.reporting.adapter.web.dto.RollupResponse;
+import com.sems.reporting.adapter.web.dto.RollupRowResponse;
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.RollupGranularity;
+import com.sems.reporting.domain.model.RollupQuery;
+import com.sems.reporting.domain.port.in.ExpenseRollupUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/reports/rollups")
+@RequiredArgsConstructor
+@Tag(name = "Expense rollups", description = "Pre-aggregated expense totals for dashboards")
+public class RollupController {
+
+    private final ExpenseRollupUseCase rollupUseCase;
+
+    @GetMapping
+    @Operation(summary = "Query expense rollups",
+            description = "Groups by period and the given dimensions. Drill down by filtering on a row's "
+                    + "values and grouping by a further dimension or a finer granularity.")
+    public ResponseEntity<RollupResponse> query(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(defaultValue = "MONTH") RollupGranularity granularity,
+            @RequestParam(required = false) List<ExpenseDimension> groupBy,
+            @RequestParam(required = false) List<UUID> departmentId,
+            @RequestParam(required = false) List<UUID> projectId,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> currency) {
+        RollupQuery query = RollupQuery.builder()
+                .dateFrom(dateFrom)
+                .dateTo(dateTo)
+                .granularity(granularity)
+                .groupBy(groupBy != null ? groupBy : List.of())
+                .departmentIds(departmentId)
+                .projectIds(projectId)
+                .categories(category)
+                .statuses(status)
+                .currencies(currency)
+                .build();
+
+        List<ExpenseAggregate> aggregates;
+        try {
+            aggregates = rollupUseCase.query(query);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean bucketed = granularity != RollupGranularity.TOTAL;
+        return ResponseEntity.ok(RollupResponse.builder()
+                .dateFrom(dateFrom)
+                .dateTo(dateTo)
+                .granularity(granularity.name())
+                .groupBy(query.getGroupBy().stream().map(Enum::name).toList())
+                .rows(aggregates.stream().map(aggregate -> toRow(aggregate, bucketed, query.getGroupBy())).toList())
+                .build());
+    }
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Rebuild the rollups of a date range from expense-service")
+    public ResponseEntity<Void> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+        try {
+            rollupUseCase.startBackfill(dateFrom, dateTo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private RollupRowResponse toRow(ExpenseAggregate aggregate, boolean bucketed, List<ExpenseDimension> groupBy) {
+        int column = bucketed ? 1 : 0;
+        Map<String, String> dimensions = new LinkedHashMap<>();
+        for (ExpenseDimension dimension : groupBy) {
+            dimensions.put(dimension.name(), aggregate.key().get(column++));
+        }
+        return RollupRowResponse.builder()
+                .period(bucketed ? aggregate.key().get(0) : null)
+                .dimensions(dimensions)
+                .count(aggregate.count())
+                .total(aggregate.total())
+                .build();
+    }
+}
@@ -22,6 +22,8 @@ public class CreateReportRequest {
     @NotBlank(message = "Report type is required")
     private String type;
     
+    private String format;
+    
     @NotNull(message = "User ID is required")
     private UUID userId;
     
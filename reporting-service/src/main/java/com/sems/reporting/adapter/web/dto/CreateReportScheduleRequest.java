@@ -0,0 +1,44 @@
+package com.sems.reporting.adapter.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateReportScheduleRequest {
+
+    @NotBlank(message = "Schedule name is required")
+    private String name;
+
+    @NotBlank(message = "Report type is required")
+    private String type;
+
+    private String format;
+
+    @NotNull(message = "User ID is required")
+    private UUID userId;
+
+    private String parameters;
+
+    // Five-field cron, e.g. "0 8 * * MON"
+    @NotBlank(message = "Cron expression is required")
+    private String cron;
+
+    private String timeZone;
+
+    @NotBlank(message = "Report period is required")
+    private String period;
+
+    @NotEmpty(message = "At least one recipient is required")
+    private List<String> recipients;
+}
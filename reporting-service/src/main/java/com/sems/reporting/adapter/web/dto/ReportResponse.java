@@ -16,13 +16,19 @@ public class ReportResponse {
     private UUID id;
     private String name;
     private String type;
+    private String format;
     private String status;
     private UUID userId;
     private String parameters;
     private LocalDateTime dateFrom;
     private LocalDateTime dateTo;
     private String generatedFilePath;
+    private int progress;
+    private String errorMessage;
+    private LocalDateTime startedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime completedAt;
+    private UUID scheduleId;
+    private String deliveryStatus;
 } 
\ No newline at end of file
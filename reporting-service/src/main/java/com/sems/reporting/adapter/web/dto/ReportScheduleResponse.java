@@ -0,0 +1,33 @@
+package com.sems.reporting.adapter.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportScheduleResponse {
+    private UUID id;
+    private String name;
+    private String type;
+    private String format;
+    private UUID userId;
+    private String parameters;
+    private String cron;
+    private String timeZone;
+    private String period;
+    private List<String> recipients;
+    private boolean enabled;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime lastRunAt;
+    private UUID lastReportId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.sems.reporting.adapter.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupResponse {
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private String granularity;
+    private List<String> groupBy;
+    private List<RollupRowResponse> rows;
+}
@@ -0,0 +1,20 @@
+package com.sems.reporting.adapter.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRowResponse {
+    private String period;
+    private Map<String, String> dimensions;
+    private long count;
+    private BigDecimal total;
+}
@@ -0,0 +1,11 @@
+package com.sems.reporting.adapter.web.mapper;
+
+import com.sems.reporting.adapter.web.dto.ReportScheduleResponse;
+import com.sems.reporting.domain.model.ReportSchedule;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ReportScheduleDtoMapper {
+
+    ReportScheduleResponse toResponse(ReportSchedule schedule);
+}
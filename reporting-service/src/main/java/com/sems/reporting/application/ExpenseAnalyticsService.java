@@ -0,0 +1,172 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.port.out.ExpenseAnalyticsStore;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the {@link ExpenseAnalyticsStore} in step with expense-service. The store is loaded
+ * from the export feed and then kept current from expense events. While a load runs,
+ * expenses changed by newer events are skipped in the snapshot so it can't overwrite them;
+ * events older than the snapshot are already part of it and are dropped. A scheduled
+ * reconcile loads the store again, repairing rows that drifted through missed events and
+ * removing expenses the export no longer returns, while aggregates keep being served.
+ * <p>
+ * Drafts change without events, so only submitted expenses are tracked. Aggregates are only
+ * served from the store once it's loaded and covers the requested range.
+ */
+@Service
+@Slf4j
+public class ExpenseAnalyticsService {
+
+    public static final List<String> TRACKED_STATUSES =
+            List.of("SUBMITTED", "UNDER_REVIEW", "CHANGES_REQUESTED", "APPROVED", "REJECTED", "PAID");
+    // Future-dated expenses included in the initial load
+    private static final int LOOKAHEAD_DAYS = 30;
+
+    private final ExpenseAnalyticsStore store;
+    private final ExpenseDataClient expenseDataClient;
+    private final boolean enabled;
+    private final int historyDays;
+    private final long clockSkewMs;
+    private final ExecutorService loader;
+    // Ids changed by events during the running load; guarded by this
+    private final Set<UUID> shadowed = new HashSet<>();
+    private long loadStartedAt;
+    private volatile boolean loading;
+    private volatile LocalDate coverageFrom;
+
+    public ExpenseAnalyticsService(ExpenseAnalyticsStore store,
+                                   ExpenseDataClient expenseDataClient,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.analytics.enabled:true}") boolean enabled,
+                                   @Value("${app.analytics.history-days:1795}") int historyDays,
+                                   @Value("${app.analytics.clock-skew-ms:5000}") long clockSkewMs) {
+        this.store = store;
+        this.expenseDataClient = expenseDataClient;
+        this.enabled = enabled;
+        this.historyDays = historyDays;
+        this.clockSkewMs = clockSkewMs;
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "analytics-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("report.analytics.rows", store, ExpenseAnalyticsStore::size)
+                .description("Expenses held in the local analytics store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the initial load, and retries it until it succeeds.
+     */
+    @Scheduled(initialDelayString = "${app.analytics.load-initial-delay-ms:5000}",
+            fixedDelayString = "${app.analytics.load-retry-interval-ms:60000}")
+    public void ensureLoaded() {
+        if (!enabled || coverageFrom != null || loading) {
+            return;
+        }
+        loading = true;
+        loader.execute(this::load);
+    }
+
+    @Scheduled(cron = "${app.analytics.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled || coverageFrom == null || loading) {
+            return;
+        }
+        loading = true;
+        loader.execute(this::load);
+    }
+
+    /**
+     * Applies an expense event published at {@code timestamp} (epoch millis).
+     */
+    public synchronized void apply(ExpenseRow row, long timestamp) {
+        if (!enabled || !TRACKED_STATUSES.contains(row.status())) {
+            return;
+        }
+        if (timestamp < loadStartedAt - clockSkewMs) {
+            return;
+        }
+        if (loading) {
+            shadowed.add(row.id());
+        }
+        store.upsert(row);
+    }
+
+    /**
+     * Aggregates from the local store, or returns empty if the store can't answer for the
+     * whole range yet.
+     */
+    public Optional<List<ExpenseAggregate>> aggregate(ExpenseQuery filter, List<ExpenseDimension> groupBy) {
+        LocalDate coverage = coverageFrom;
+        if (coverage == null || filter.getDateFrom().isBefore(coverage)) {
+            return Optional.empty();
+        }
+        return Optional.of(store.aggregate(filter, groupBy));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    void load() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(historyDays);
+        synchronized (this) {
+            loading = true;
+            loadStartedAt = System.currentTimeMillis();
+            shadowed.clear();
+            // Rows written by the snapshot or by events during it are kept
+            store.startSweep();
+        }
+        try {
+            long started = System.currentTimeMillis();
+            long rows = expenseDataClient.streamExpensesInBackground(ExpenseQuery.builder()
+                    .dateFrom(from)
+                    .dateTo(today.plusDays(LOOKAHEAD_DAYS))
+                    .statuses(TRACKED_STATUSES)
+                    .build(), this::loadRow);
+            int removed;
+            synchronized (this) {
+                shadowed.clear();
+                removed = store.sweep();
+                coverageFrom = from;
+            }
+            log.info("Loaded {} expenses from {} into the analytics store in {} ms, removed {} stale ones",
+                    rows, from, System.currentTimeMillis() - started, removed);
+        } catch (RuntimeException e) {
+            log.warn("Loading the analytics store failed, will retry: {}", e.getMessage());
+        } finally {
+            loading = false;
+        }
+    }
+
+    private synchronized void loadRow(ExpenseRow row) {
+        if (!shadowed.contains(row.id())) {
+            store.upsert(row);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Groups expenses streamed from expense-service by fetching slices of the query concurrently:
+ * one per department and, for ranges longer than a month, per calendar month. Slices run on a
+ * pool of {@code parallelism} threads shared by all reports, with at most
+ * {@code per-report-parallelism} of one report's slices in flight at a time. A slice that
+ * fails or exceeds {@code slice-timeout-ms} is retried; once one has used up its attempts the
+ * rest are cancelled and the report fails, rather than completing with data silently missing.
+ */
+@Slf4j
+@Component
+public class ExpenseFanOutCollector {
+
+    private static final int MAX_SINGLE_SLICE_DAYS = 31;
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final int PROGRESS_STEP = 5;
+
+    private final ExpenseDataClient expenseDataClient;
+    private final ThreadPoolExecutor executor;
+    private final int perReportParallelism;
+    private final Duration sliceTimeout;
+    private final int maxAttempts;
+    private final int maxSlices;
+    private final Timer sliceTimer;
+    private final Counter sliceFailures;
+
+    public ExpenseFanOutCollector(ExpenseDataClient expenseDataClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.reports.fanout.parallelism:8}") int parallelism,
+                                  @Value("${app.reports.fanout.per-report-parallelism:4}") int perReportParallelism,
+                                  @Value("${app.reports.fanout.slice-timeout-ms:60000}") long sliceTimeoutMs,
+                                  @Value("${app.reports.fanout.max-attempts:2}") int maxAttempts,
+                                  @Value("${app.reports.fanout.max-slices:256}") int maxSlices) {
+        this.expenseDataClient = expenseDataClient;
+        this.perReportParallelism = perReportParallelism;
+        this.sliceTimeout = Duration.ofMillis(sliceTimeoutMs);
+        this.maxAttempts = maxAttempts;
+        this.maxSlices = maxSlices;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "report-fanout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.sliceTimer = Timer.builder("report.fanout.slice.duration")
+                .description("Time spent fetching one slice of a report's expenses")
+                .register(meterRegistry);
+        this.sliceFailures = Counter.builder("report.fanout.slice.failures")
+                .description("Slice fetches that failed or timed out")
+                .register(meterRegistry);
+        Gauge.builder("report.fanout.queued", executor, pool -> pool.getQueue().size())
+                .description("Slices waiting for a fan-out thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<ExpenseAggregate> aggregate(ExpenseQuery query, List<ExpenseDimension> groupBy, ReportProgress progress) {
+        List<ExpenseQuery> slices = slices(query);
+        Deque<Attempt> pending = new ArrayDeque<>();
+        slices.forEach(slice -> pending.add(new Attempt(slice, 1)));
+
+        CompletionService<Map<List<String>, Partial>> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<Map<List<String>, Partial>>, Attempt> inFlight = new HashMap<>();
+        Map<List<String>, Partial> groups = new HashMap<>();
+        int completed = 0;
+        int reported = 0;
+        try {
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                while (inFlight.size() < perReportParallelism && !pending.isEmpty()) {
+                    Attempt attempt = pending.poll();
+                    inFlight.put(completion.submit(() -> {
+                        attempt.startedAt = System.nanoTime();
+                        return fetch(attempt.slice, groupBy);
+                    }), attempt);
+                }
+
+                Future<Map<List<String>, Partial>> done = completion.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                // Cancelled slices still arrive here, after they were already given up on
+                Attempt attempt = done != null ? inFlight.remove(done) : null;
+                if (attempt != null) {
+                    try {
+                        done.get().forEach((key, partial) -> groups.merge(key, partial, Partial::merge));
+                        completed++;
+                        int percent = completed * 100 / slices.size();
+                        if (percent >= reported + PROGRESS_STEP) {
+                            reported = percent;
+                            progress.update(percent);
+                        }
+                    } catch (ExecutionException e) {
+                        retry(attempt, e.getCause(), pending);
+                    }
+                }
+
+                for (var it = inFlight.entrySet().iterator(); it.hasNext(); ) {
+                    var entry = it.next();
+                    if (entry.getValue().overdue(sliceTimeout)) {
+                        entry.getKey().cancel(true);
+                        it.remove();
+                        retry(entry.getValue(), new CancellationException(
+                                "timed out after " + sliceTimeout.toMillis() + " ms"), pending);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while collecting expenses", e);
+        } finally {
+            inFlight.keySet().forEach(future -> future.cancel(true));
+        }
+
+        if (slices.size() > 1) {
+            log.debug("Merged {} slices into {} groups", slices.size(), groups.size());
+        }
+        return groups.entrySet().stream()
+                .map(entry -> new ExpenseAggregate(entry.getKey(), entry.getValue().count, entry.getValue().total))
+                .sorted(ExpenseAggregate.BY_KEY)
+                .toList();
+    }
+
+    /**
+     * Splits the query per department and, when it covers more than a month, per calendar
+     * month. Months are merged pairwise, then in threes and so on, until there are no more
+     * than {@code max-slices}.
+     */
+    List<ExpenseQuery> slices(ExpenseQuery query) {
+        List<List<UUID>> departments = query.getDepartmentIds() == null || query.getDepartmentIds().isEmpty()
+                ? Arrays.asList((List<UUID>) null)
+                : query.getDepartmentIds().stream().map(List::of).toList();
+
+        List<LocalDate[]> ranges = new ArrayList<>();
+        if (ChronoUnit.DAYS.between(query.getDateFrom(), query.getDateTo()) < MAX_SINGLE_SLICE_DAYS) {
+            ranges.add(new LocalDate[]{query.getDateFrom(), query.getDateTo()});
+        } else {
+            long months = ChronoUnit.MONTHS.between(query.getDateFrom().withDayOfMonth(1), query.getDateTo().withDayOfMonth(1)) + 1;
+            long monthsPerSlice = Math.max(1, (months * departments.size() + maxSlices - 1) / maxSlices);
+            for (LocalDate start = query.getDateFrom(); !start.isAfter(query.getDateTo()); ) {
+                LocalDate end = start.withDayOfMonth(1).plusMonths(monthsPerSlice).minusDays(1);
+                if (end.isAfter(query.getDateTo())) {
+                    end = query.getDateTo();
+                }
+                ranges.add(new LocalDate[]{start, end});
+                start = end.plusDays(1);
+            }
+        }
+
+        List<ExpenseQuery> slices = new ArrayList<>(departments.size() * ranges.size());
+        for (List<UUID> department : departments) {
+            for (LocalDate[] range : ranges) {
+                slices.add(ExpenseQuery.builder()
+                        .dateFrom(range[0])
+                        .dateTo(range[1])
+                        .userIds(query.getUserIds())
+                        .departmentIds(department != null ? department : query.getDepartmentIds())
+                        .projectIds(query.getProjectIds())
+                        .statuses(query.getStatuses())
+                        .categories(query.getCategories())
+                        .build());
+            }
+        }
+        return slices;
+    }
+
+    private Map<List<String>, Partial> fetch(ExpenseQuery slice, List<ExpenseDimension> groupBy) {
+        long started = System.nanoTime();
+        Map<List<String>, Partial> groups = new HashMap<>();
+        try {
+            expenseDataClient.streamExpenses(slice, row -> {
+                List<String> key = groupBy.stream().map(dimension -> dimension.valueOf(row)).toList();
+                groups.computeIfAbsent(key, k -> new Partial()).add(row.amount());
+            });
+            return groups;
+        } finally {
+            sliceTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void retry(Attempt attempt, Throwable cause, Deque<Attempt> pending) {
+        sliceFailures.increment();
+        String slice = describe(attempt.slice);
+        if (attempt.number >= maxAttempts) {
+            throw new IllegalStateException("Could not fetch expenses for " + slice + " after "
+                    + attempt.number + " attempts: " + cause.getMessage(), cause);
+        }
+        log.warn("Fetching expenses for {} failed on attempt {}, retrying: {}", slice, attempt.number, cause.getMessage());
+        pending.addFirst(new Attempt(attempt.slice, attempt.number + 1));
+    }
+
+    private static String describe(ExpenseQuery slice) {
+        return slice.getDateFrom() + ".." + slice.getDateTo()
+                + (slice.getDepartmentIds() != null && slice.getDepartmentIds().size() == 1
+                        ? " of department " + slice.getDepartmentIds().get(0) : "");
+    }
+
+    private static final class Attempt {
+        private final ExpenseQuery slice;
+        private final int number;
+        // Set once a thread picks the slice up, so time spent queued behind other reports doesn't count
+        private volatile long startedAt;
+
+        Attempt(ExpenseQuery slice, int number) {
+            this.slice = slice;
+            this.number = number;
+        }
+
+        boolean overdue(Duration timeout) {
+            long started = startedAt;
+            return started != 0 && System.nanoTime() - started > timeout.toNanos();
+        }
+    }
+
+    private static final class Partial {
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        void add(BigDecimal amount) {
+            count++;
+            if (amount != null) {
+                total = total.add(amount);
+            }
+        }
+
+        Partial merge(Partial other) {
+            count += other.count;
+            total = total.add(other.total);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRollupKey;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.model.RollupDelta;
+import com.sems.reporting.domain.model.RollupGranularity;
+import com.sems.reporting.domain.model.RollupMember;
+import com.sems.reporting.domain.model.RollupQuery;
+import com.sems.reporting.domain.port.in.ExpenseRollupUseCase;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import com.sems.reporting.domain.port.out.ExpenseRollupRepository;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the expense rollups: per-day cells of expense counts and totals by department,
+ * project, category, status and currency. Every expense remembers the cell it is counted in,
+ * so a status change moves it from its old cell to its new one. Changes carry the timestamp
+ * of the state they reflect and only newer states are applied, which makes redelivered
+ * events and backfills racing with events harmless. Transactions that lose a lock wait or a
+ * deadlock are retried, as the database may still pick one when new cells are inserted.
+ * <p>
+ * One backfill runs at a time across all instances, guarded by a lease on the
+ * {@value #BACKFILL_LOCK} job lock that is renewed after every batch.
+ * <p>
+ * Like the analytics store, only submitted expenses are tracked.
+ */
+@Service
+@Slf4j
+public class ExpenseRollupService implements ExpenseRollupUseCase {
+
+    private static final int AMOUNT_SCALE = 2;
+    // expense-service caps the range of a single export
+    private static final int BACKFILL_WINDOW_DAYS = 365;
+    static final String BACKFILL_LOCK = "rollup-backfill";
+
+    private final ExpenseRollupRepository rollupRepository;
+    private final ExpenseDataClient expenseDataClient;
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long clockSkewMs;
+    private final int lockRetries;
+    private final Duration backfillLease;
+    // Owner of the backfill lease taken by this instance
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService backfillExecutor;
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+    private final Counter backfilledRows;
+
+    public ExpenseRollupService(ExpenseRollupRepository rollupRepository,
+                                ExpenseDataClient expenseDataClient,
+                                JobLockRepository jobLockRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.rollups.backfill.batch-size:500}") int batchSize,
+                                @Value("${app.rollups.clock-skew-ms:5000}") long clockSkewMs,
+                                @Value("${app.rollups.lock-retries:3}") int lockRetries,
+                                @Value("${app.rollups.backfill.lease-ms:300000}") long backfillLeaseMs) {
+        this.rollupRepository = rollupRepository;
+        this.expenseDataClient = expenseDataClient;
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.clockSkewMs = clockSkewMs;
+        this.lockRetries = lockRetries;
+        this.backfillLease = Duration.ofMillis(backfillLeaseMs);
+        this.backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "rollup-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.backfilledRows = Counter.builder("report.rollups.backfill.rows")
+                .description("Expenses read by rollup backfills")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<ExpenseAggregate> query(RollupQuery query) {
+        if (query.getDateFrom() == null || query.getDateTo() == null) {
+            throw new IllegalArgumentException("Both dateFrom and dateTo are required");
+        }
+        if (query.getDateFrom().isAfter(query.getDateTo())) {
+            throw new IllegalArgumentException("dateFrom must not be after dateTo");
+        }
+        if (query.getGroupBy() == null) {
+            query.setGroupBy(List.of());
+        }
+        if (query.getGroupBy().contains(ExpenseDimension.USER)) {
+            throw new IllegalArgumentException("Rollups are not kept per user");
+        }
+        if (query.getGranularity() == null) {
+            query.setGranularity(RollupGranularity.MONTH);
+        }
+        return rollupRepository.aggregate(query);
+    }
+
+    @Override
+    public void startBackfill(LocalDate dateFrom, LocalDate dateTo) {
+        if (dateFrom.isAfter(dateTo)) {
+            throw new IllegalArgumentException("dateFrom must not be after dateTo");
+        }
+        if (!backfilling.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rollup backfill is already running");
+        }
+        try {
+            if (!renewLease()) {
+                throw new IllegalStateException("A rollup backfill is already running on another instance");
+            }
+            // The export reflects at least the state at this time; events older than that are in it
+            long version = System.currentTimeMillis() - clockSkewMs;
+            backfillExecutor.execute(() -> backfill(dateFrom, dateTo, version));
+        } catch (RuntimeException e) {
+            backfilling.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Applies an expense event published at {@code timestamp} (epoch millis).
+     */
+    public void apply(ExpenseRow row, long timestamp) {
+        apply(List.of(row), timestamp);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private void backfill(LocalDate dateFrom, LocalDate dateTo, long version) {
+        long started = System.currentTimeMillis();
+        long rows = 0;
+        try {
+            for (LocalDate from = dateFrom; !from.isAfter(dateTo); from = from.plusDays(BACKFILL_WINDOW_DAYS)) {
+                LocalDate to = from.plusDays(BACKFILL_WINDOW_DAYS - 1);
+                List<ExpenseRow> batch = new ArrayList<>(batchSize);
+                rows += expenseDataClient.streamExpensesInBackground(ExpenseQuery.builder()
+                        .dateFrom(from)
+                        .dateTo(to.isAfter(dateTo) ? dateTo : to)
+                        .statuses(ExpenseAnalyticsService.TRACKED_STATUSES)
+                        .build(), row -> {
+                    batch.add(row);
+                    if (batch.size() >= batchSize) {
+                        apply(batch, version);
+                        batch.clear();
+                        if (!renewLease()) {
+                            throw new IllegalStateException("Lost the rollup backfill lease");
+                        }
+                    }
+                });
+                apply(batch, version);
+            }
+            log.info("Backfilled rollups from {} to {} with {} expenses in {} ms",
+                    dateFrom, dateTo, rows, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Rollup backfill from {} to {} failed after {} expenses: {}",
+                    dateFrom, dateTo, rows, e.getMessage(), e);
+        } finally {
+            backfilledRows.increment(rows);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jobLockRepository.releaseLease(BACKFILL_LOCK, instanceId));
+            } catch (RuntimeException e) {
+                log.warn("Releasing the rollup backfill lease failed, it runs out by itself: {}", e.getMessage());
+            } finally {
+                backfilling.set(false);
+            }
+        }
+    }
+
+    private boolean renewLease() {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                jobLockRepository.tryLease(BACKFILL_LOCK, instanceId, backfillLease)));
+    }
+
+    private void apply(List<ExpenseRow> rows, long version) {
+        List<ExpenseRow> tracked = rows.stream()
+                .filter(row -> row.expenseDate() != null
+                        && ExpenseAnalyticsService.TRACKED_STATUSES.contains(row.status()))
+                .toList();
+        if (tracked.isEmpty()) {
+            return;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                applyTracked(tracked, version);
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt > lockRetries) {
+                    throw e;
+                }
+                log.debug("Retrying rollup update of {} expenses after: {}", tracked.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void applyTracked(List<ExpenseRow> tracked, long version) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<UUID, RollupMember> members = new HashMap<>(rollupRepository.findMembersForUpdate(
+                    tracked.stream().map(ExpenseRow::id).distinct().toList()));
+            Map<ExpenseRollupKey, RollupDelta> deltas = new HashMap<>();
+            Map<UUID, RollupMember> changed = new HashMap<>();
+            for (ExpenseRow row : tracked) {
+                RollupMember previous = members.get(row.id());
+                if (previous != null && previous.version() >= version) {
+                    continue;
+                }
+                if (previous != null) {
+                    deltas.merge(previous.key(), new RollupDelta(1, previous.amount()).negate(), RollupDelta::plus);
+                }
+                BigDecimal amount = row.amount() != null
+                        ? row.amount().setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN) : BigDecimal.ZERO;
+                RollupMember member = new RollupMember(row.id(), ExpenseRollupKey.of(row), amount, version);
+                deltas.merge(member.key(), new RollupDelta(1, amount), RollupDelta::plus);
+                members.put(row.id(), member);
+                changed.put(row.id(), member);
+            }
+
+            deltas.values().removeIf(RollupDelta::isZero);
+            rollupRepository.applyDeltas(deltas);
+            rollupRepository.saveMembers(changed.values());
+        });
+    }
+}
@@ -0,0 +1,299 @@
+package com.sems.reporting.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseWatermark;
+import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportCacheEntry;
+import com.sems.reporting.domain.model.ReportStatus;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import com.sems.reporting.domain.port.out.ReportCacheRepository;
+import com.sems.reporting.domain.port.out.ReportRepository;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reuses generated report files. Reports are fingerprinted by everything that shapes their
+ * file: type, format, owner, name, parameters and date range. A new report with the same
+ * fingerprint gets the cached file for as long as the watermark of the expenses it reads
+ * hasn't moved. Files may be shared by the cache and any number of reports, and are deleted
+ * once nothing refers to them; the cache itself is held to a size budget by evicting the
+ * least recently used entries.
+ */
+@Service
+@Slf4j
+public class ReportCache {
+
+    private static final String FINGERPRINT_VERSION = "1";
+    private static final int EVICTION_BATCH = 50;
+
+    private final ReportCacheRepository cacheRepository;
+    private final ReportRepository reportRepository;
+    private final ReportStorage reportStorage;
+    private final ExpenseDataClient expenseDataClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter canonicalWriter;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Duration settleTime;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ReportCache(ReportCacheRepository cacheRepository,
+                       ReportRepository reportRepository,
+                       ReportStorage reportStorage,
+                       ExpenseDataClient expenseDataClient,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.reports.cache.enabled:true}") boolean enabled,
+                       @Value("${app.reports.cache.max-bytes:1073741824}") long maxBytes,
+                       @Value("${app.reports.cache.settle-ms:60000}") long settleMs) {
+        this.cacheRepository = cacheRepository;
+        this.reportRepository = reportRepository;
+        this.reportStorage = reportStorage;
+        this.expenseDataClient = expenseDataClient;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.settleTime = Duration.ofMillis(settleMs);
+
+        this.hits = Counter.builder("report.cache.requests").tag("result", "hit")
+                .description("Reports created while a cached file could be reused, or not")
+                .register(meterRegistry);
+        this.misses = Counter.builder("report.cache.requests").tag("result", "miss")
+                .description("Reports created while a cached file could be reused, or not")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("report.cache.evictions")
+                .description("Cached report files evicted to stay within the size budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Saves the new report as completed with a cached file, if there's one for its
+     * fingerprint that is still current.
+     */
+    public Optional<Report> complete(Report report, ExpenseQuery query) {
+        return reuse(report, query, () -> Optional.of(reportRepository.save(report)));
+    }
+
+    /**
+     * Completes a report that is already saved as QUEUED with a cached file, like
+     * {@link #complete}, unless a job engine has claimed it in the meantime.
+     */
+    public Optional<Report> completeQueued(Report report, ExpenseQuery query) {
+        return reuse(report, query, () -> reportRepository.completeQueued(
+                report.getId(), report.getGeneratedFilePath(), report.getCompletedAt())
+                ? Optional.of(report) : Optional.empty());
+    }
+
+    private Optional<Report> reuse(Report report, ExpenseQuery query, Supplier<Optional<Report>> persist) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String fingerprint = fingerprint(report);
+        if (cacheRepository.findByFingerprint(fingerprint).isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        ExpenseWatermark watermark = watermark(query);
+        if (watermark == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        // The entry stays locked until the report refers to its file, so it can't be evicted in between
+        Optional<Report> completed = transactionTemplate.execute(status -> cacheRepository
+                .findByFingerprintForUpdate(fingerprint)
+                .filter(entry -> entry.getWatermark().equals(watermark.token()))
+                .filter(entry -> reportStorage.exists(entry.getStorageKey()))
+                .flatMap(entry -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    report.setStatus(ReportStatus.COMPLETED);
+                    report.setProgress(100);
+                    report.setGeneratedFilePath(entry.getStorageKey());
+                    report.setStartedAt(now);
+                    report.setCompletedAt(now);
+                    Optional<Report> persisted = persist.get();
+                    if (persisted.isPresent()) {
+                        cacheRepository.touch(fingerprint, now);
+                    }
+                    return persisted;
+                }));
+        if (completed != null && completed.isPresent()) {
+            hits.increment();
+            log.info("Report {} served from cache entry {}", report.getId(), fingerprint);
+            return completed;
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * The current watermark of the query, or null if caching is off or expense-service
+     * can't tell.
+     */
+    public ExpenseWatermark watermark(ExpenseQuery query) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return expenseDataClient.watermark(query);
+        } catch (RuntimeException e) {
+            log.warn("Could not fetch expense watermark, bypassing report cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Caches the file generated for the report from data at {@code watermark}, taken before
+     * generation started. Data changed shortly before that may not have reached the analytics
+     * store summaries are read from, so such files aren't cached, and neither are files larger
+     * than the whole cache budget. Eviction never removes the entry stored here: the report
+     * doesn't refer to the file yet, so that would delete it before the report completes.
+     */
+    public void store(Report report, String storageKey, ExpenseWatermark watermark, LocalDateTime startedAt) {
+        if (!enabled || watermark == null) {
+            return;
+        }
+        if (watermark.lastModifiedAt() != null && watermark.lastModifiedAt().isAfter(startedAt.minus(settleTime))) {
+            log.debug("Not caching report {}, its data changed at {}", report.getId(), watermark.lastModifiedAt());
+            return;
+        }
+
+        try {
+            long size = reportStorage.size(storageKey);
+            if (size > maxBytes) {
+                log.debug("Not caching report {}, its file of {} bytes exceeds the cache budget", report.getId(), size);
+                return;
+            }
+            String fingerprint = fingerprint(report);
+            String replaced = transactionTemplate.execute(status -> {
+                Optional<ReportCacheEntry> previous = cacheRepository.findByFingerprintForUpdate(fingerprint);
+                LocalDateTime now = LocalDateTime.now();
+                cacheRepository.save(ReportCacheEntry.builder()
+                        .fingerprint(fingerprint)
+                        .watermark(watermark.token())
+                        .storageKey(storageKey)
+                        .sizeBytes(size)
+                        .createdAt(now)
+                        .lastAccessedAt(now)
+                        .build());
+                return previous.map(ReportCacheEntry::getStorageKey)
+                        .filter(key -> !key.equals(storageKey))
+                        .orElse(null);
+            });
+            if (replaced != null) {
+                release(replaced);
+            }
+            evict(fingerprint);
+        } catch (RuntimeException e) {
+            log.warn("Failed to cache file {} of report {}: {}", storageKey, report.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the file, unless a report or cache entry still refers to it.
+     */
+    public void release(String storageKey) {
+        if (reportRepository.existsByGeneratedFilePath(storageKey) || cacheRepository.existsByStorageKey(storageKey)) {
+            return;
+        }
+        try {
+            reportStorage.delete(storageKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete report file {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    String fingerprint(Report report) {
+        String canonical = String.join("\u0000",
+                FINGERPRINT_VERSION,
+                report.getType().name(),
+                Objects.toString(report.getFormat(), ""),
+                Objects.toString(report.getUserId(), ""),
+                Objects.toString(report.getName(), ""),
+                canonicalParameters(report.getParameters()),
+                Objects.toString(report.getDateFrom(), ""),
+                Objects.toString(report.getDateTo(), ""));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Equivalent JSON objects or UUIDs written differently share a fingerprint
+    private String canonicalParameters(String parameters) {
+        if (parameters == null || parameters.isBlank()) {
+            return "";
+        }
+        String trimmed = parameters.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                return canonicalWriter.writeValueAsString(objectMapper.readValue(trimmed, Object.class));
+            } catch (JsonProcessingException e) {
+                return trimmed;
+            }
+        }
+        try {
+            return UUID.fromString(trimmed).toString();
+        } catch (IllegalArgumentException e) {
+            return trimmed;
+        }
+    }
+
+    private void evict(String keptFingerprint) {
+        while (cacheRepository.totalSize() > maxBytes) {
+            List<String> evicted = transactionTemplate.execute(status -> {
+                long excess = cacheRepository.totalSize() - maxBytes;
+                List<String> keys = new ArrayList<>();
+                for (ReportCacheEntry entry : cacheRepository.findLeastRecentlyUsedForUpdate(EVICTION_BATCH)) {
+                    if (excess <= 0) {
+                        break;
+                    }
+                    if (entry.getFingerprint().equals(keptFingerprint)) {
+                        continue;
+                    }
+                    cacheRepository.delete(entry.getFingerprint());
+                    excess -= entry.getSizeBytes();
+                    keys.add(entry.getStorageKey());
+                }
+                return keys;
+            });
+            if (evicted == null || evicted.isEmpty()) {
+                return;
+            }
+            // Files are only released once the entries are gone, so a concurrent hit either got in first or misses
+            evicted.forEach(this::release);
+            evictions.increment(evicted.size());
+            log.info("Evicted {} cached report files", evicted.size());
+        }
+    }
+}
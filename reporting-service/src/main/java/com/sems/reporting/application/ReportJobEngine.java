@@ -0,0 +1,210 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportStatus;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import com.sems.reporting.domain.port.out.ReportRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs QUEUED reports in the background. Each poll claims at most as many reports as there
+ * are idle workers with {@code SKIP LOCKED}, so any number of instances can share the queue,
+ * while holding every user to a limited number of concurrently processing reports and the
+ * whole cluster to {@code global-limit} of them. Instances take turns claiming under a shared
+ * job lock, so those limits hold across the cluster. Running
+ * jobs are heartbeated; jobs whose heartbeat goes stale because their instance died are
+ * requeued, or failed once they have used up their attempts.
+ */
+@Service
+@Slf4j
+public class ReportJobEngine {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    // Extra candidates per free slot, so users at their limit don't starve the poll
+    private static final int CANDIDATE_FACTOR = 4;
+    private static final String CLAIM_LOCK = "report-job-claim";
+
+    private final ReportRepository reportRepository;
+    private final ReportService reportService;
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int workerThreads;
+    private final int perUserLimit;
+    private final int globalLimit;
+    private final int maxAttempts;
+    private final Duration orphanTimeout;
+    private final Timer jobTimer;
+    // Claim token of every job running on this instance
+    private final Map<UUID, String> running = new ConcurrentHashMap<>();
+
+    public ReportJobEngine(ReportRepository reportRepository,
+                           ReportService reportService,
+                           JobLockRepository jobLockRepository,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.reports.jobs.worker-threads:4}") int workerThreads,
+                           @Value("${app.reports.jobs.per-user-limit:2}") int perUserLimit,
+                           @Value("${app.reports.jobs.global-limit:16}") int globalLimit,
+                           @Value("${app.reports.jobs.max-attempts:3}") int maxAttempts,
+                           @Value("${app.reports.jobs.orphan-timeout-ms:120000}") long orphanTimeoutMs) {
+        this.reportRepository = reportRepository;
+        this.reportService = reportService;
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.workerThreads = workerThreads;
+        this.perUserLimit = perUserLimit;
+        this.globalLimit = globalLimit;
+        this.maxAttempts = maxAttempts;
+        this.orphanTimeout = Duration.ofMillis(orphanTimeoutMs);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.jobTimer = Timer.builder("report.jobs.duration")
+                .description("Time spent generating a report")
+                .register(meterRegistry);
+        Gauge.builder("report.jobs.active", running, Map::size)
+                .description("Report jobs running on this instance")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        int free = workerThreads - running.size();
+        if (free <= 0) {
+            return;
+        }
+
+        List<ClaimedJob> claimed = transactionTemplate.execute(status -> claim(free));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+        for (ClaimedJob job : claimed) {
+            running.put(job.report().getId(), job.claimToken());
+            executor.execute(() -> run(job.report(), job.claimToken()));
+        }
+        log.info("Claimed {} report jobs", claimed.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.jobs.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> claimTokens = new ArrayList<>(running.values());
+        if (!claimTokens.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> reportRepository.heartbeat(claimTokens, now));
+        }
+
+        // Any instance may recover jobs orphaned by another one
+        LocalDateTime staleBefore = now.minus(orphanTimeout);
+        transactionTemplate.executeWithoutResult(status -> {
+            int failed = reportRepository.failOrphaned(staleBefore, maxAttempts,
+                    "Abandoned after " + maxAttempts + " attempts");
+            int requeued = reportRepository.requeueOrphaned(staleBefore);
+            if (failed > 0 || requeued > 0) {
+                log.warn("Recovered orphaned report jobs: {} requeued, {} failed", requeued, failed);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Unfinished jobs stop heartbeating and are picked up by another instance
+        executor.shutdownNow();
+    }
+
+    private List<ClaimedJob> claim(int free) {
+        // Counting and claiming would otherwise race with other instances, which could each
+        // see the same counts and overshoot both limits. Claims are short, so queueing them is cheap.
+        jobLockRepository.lock(CLAIM_LOCK);
+        int slots = Math.min(free, globalLimit - (int) reportRepository.countByStatus(ReportStatus.PROCESSING));
+        if (slots <= 0) {
+            return List.of();
+        }
+        List<Report> candidates = reportRepository.findQueuedForUpdate(slots * CANDIDATE_FACTOR);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Long> active = new HashMap<>(reportRepository.countProcessingByUser(
+                candidates.stream().map(Report::getUserId).distinct().toList()));
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedJob> claimed = new ArrayList<>();
+        for (Report report : candidates) {
+            if (claimed.size() >= slots) {
+                break;
+            }
+            if (active.getOrDefault(report.getUserId(), 0L) >= perUserLimit) {
+                continue;
+            }
+            String claimToken = UUID.randomUUID().toString();
+            reportRepository.markClaimed(report.getId(), claimToken, now);
+            active.merge(report.getUserId(), 1L, Long::sum);
+            report.setStatus(ReportStatus.PROCESSING);
+            claimed.add(new ClaimedJob(report, claimToken));
+        }
+        return claimed;
+    }
+
+    private void run(Report report, String claimToken) {
+        long started = System.nanoTime();
+        ReportStatus outcome = ReportStatus.COMPLETED;
+        String filePath = null;
+        String error = null;
+        try {
+            filePath = reportService.executeReport(report, percent -> transactionTemplate.executeWithoutResult(
+                    status -> reportRepository.updateProgress(report.getId(), claimToken, Math.min(percent, 99))));
+        } catch (Exception e) {
+            log.error("Report {} failed: {}", report.getId(), e.getMessage(), e);
+            outcome = ReportStatus.FAILED;
+            error = e.getMessage() != null && e.getMessage().length() > MAX_ERROR_LENGTH
+                    ? e.getMessage().substring(0, MAX_ERROR_LENGTH) : e.getMessage();
+        }
+
+        try {
+            ReportStatus status = outcome;
+            String path = filePath;
+            String message = error;
+            Boolean finished = transactionTemplate.execute(tx -> reportRepository.finish(
+                    report.getId(), claimToken, status, path, message, LocalDateTime.now()));
+            if (!Boolean.TRUE.equals(finished)) {
+                log.warn("Report {} was reclaimed while running, discarding this result", report.getId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to record outcome of report {}: {}", report.getId(), e.getMessage());
+        } finally {
+            running.remove(report.getId());
+            jobTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record ClaimedJob(Report report, String claimToken) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.sems.reporting.application;
+
+/**
+ * Receives the completion percentage of a running report job.
+ */
+@FunctionalInterface
+public interface ReportProgress {
+
+    ReportProgress NONE = percent -> { };
+
+    void update(int percent);
+}
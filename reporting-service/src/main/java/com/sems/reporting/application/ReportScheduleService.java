@@ -0,0 +1,181 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.application.exception.ResourceNotFoundException;
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportSchedule;
+import com.sems.reporting.domain.port.in.ReportScheduleUseCase;
+import com.sems.reporting.domain.port.out.ReportScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Manages report schedules and works out when each should next run. Run times are the cron
+ * occurrence in the schedule's time zone plus a jitter of up to {@code max-jitter-ms}, so the
+ * many schedules set for the top of the hour don't all hit expense-service at once. The jitter
+ * is derived from the schedule and the occurrence, so every instance computes the same time.
+ */
+@Slf4j
+@Service
+public class ReportScheduleService implements ReportScheduleUseCase {
+
+    private final ReportScheduleRepository scheduleRepository;
+    private final Duration maxJitter;
+
+    public ReportScheduleService(ReportScheduleRepository scheduleRepository,
+                                 @Value("${app.reports.schedules.max-jitter-ms:900000}") long maxJitterMs) {
+        this.scheduleRepository = scheduleRepository;
+        this.maxJitter = Duration.ofMillis(maxJitterMs);
+    }
+
+    @Override
+    public ReportSchedule createSchedule(ReportSchedule schedule) {
+        if (schedule.getName() == null || schedule.getName().isBlank()) {
+            throw new IllegalArgumentException("Schedule name is required");
+        }
+        if (schedule.getType() == null || schedule.getUserId() == null || schedule.getPeriod() == null) {
+            throw new IllegalArgumentException("Schedule type, user and period are required");
+        }
+        List<String> recipients = schedule.getRecipients() == null ? List.of() : schedule.getRecipients().stream()
+                .map(String::trim)
+                .filter(recipient -> !recipient.isEmpty())
+                .distinct()
+                .toList();
+        if (recipients.isEmpty() || recipients.stream().anyMatch(recipient -> recipient.indexOf('@') < 1
+                || recipient.contains(","))) {
+            throw new IllegalArgumentException("At least one valid recipient email address is required");
+        }
+        cron(schedule.getCron());
+        schedule.setTimeZone(zone(schedule.getTimeZone()).getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        schedule.setId(UUID.randomUUID());
+        schedule.setRecipients(recipients);
+        if (schedule.getFormat() == null) {
+            schedule.setFormat(ReportFormat.PDF);
+        }
+        schedule.setEnabled(true);
+        schedule.setNextRunAt(nextRunAt(schedule, now));
+        if (schedule.getNextRunAt() == null) {
+            throw new IllegalArgumentException("Cron expression " + schedule.getCron() + " has no future runs");
+        }
+        schedule.setCreatedAt(now);
+        schedule.setUpdatedAt(now);
+        ReportSchedule saved = scheduleRepository.save(schedule);
+        log.info("Created report schedule {} ({}), next run at {}", saved.getId(), saved.getCron(), saved.getNextRunAt());
+        return saved;
+    }
+
+    @Override
+    public ReportSchedule getScheduleById(UUID scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report schedule not found with id: " + scheduleId));
+    }
+
+    @Override
+    public List<ReportSchedule> getUserSchedules(UUID userId) {
+        return scheduleRepository.findByUserId(userId);
+    }
+
+    @Override
+    public ReportSchedule setEnabled(UUID scheduleId, boolean enabled) {
+        ReportSchedule schedule = getScheduleById(scheduleId);
+        LocalDateTime now = LocalDateTime.now();
+        if (enabled && !schedule.isEnabled()) {
+            // Runs missed while paused are skipped rather than all dispatched at once
+            LocalDateTime next = nextRunAt(schedule, now);
+            if (next == null) {
+                throw new IllegalStateException("Report schedule " + scheduleId + " has no future runs");
+            }
+            schedule.setNextRunAt(next);
+        }
+        schedule.setEnabled(enabled);
+        schedule.setUpdatedAt(now);
+        return scheduleRepository.save(schedule);
+    }
+
+    @Override
+    public void deleteSchedule(UUID scheduleId) {
+        scheduleRepository.delete(scheduleId);
+    }
+
+    /**
+     * The first run of {@code schedule} after {@code after}, jittered, in system time; null when
+     * the cron expression has no further occurrences.
+     */
+    public LocalDateTime nextRunAt(ReportSchedule schedule, LocalDateTime after) {
+        CronExpression cron = cron(schedule.getCron());
+        ZoneId zone = zone(schedule.getTimeZone());
+        ZonedDateTime nominal = cron.next(after.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone));
+        if (nominal == null) {
+            return null;
+        }
+
+        // Never jitter past the middle of the gap to the following run
+        long window = maxJitter.toMillis();
+        ZonedDateTime following = cron.next(nominal);
+        if (following != null) {
+            window = Math.min(window, Duration.between(nominal, following).toMillis() / 2);
+        }
+        long jitter = window > 0
+                ? new SplittableRandom(schedule.getId().getMostSignificantBits()
+                        ^ schedule.getId().getLeastSignificantBits()
+                        ^ nominal.toEpochSecond()).nextLong(window)
+                : 0;
+        return nominal.plus(Duration.ofMillis(jitter))
+                .withZoneSameInstant(ZoneId.systemDefault())
+                .toLocalDateTime();
+    }
+
+    /**
+     * The cron occurrence {@code runAt} was jittered from, in system time: the last one at or
+     * before it, as the jitter never reaches the following occurrence. Falls back to
+     * {@code runAt} when there is none, e.g. after the cron expression changed.
+     */
+    public LocalDateTime nominalRunAt(ReportSchedule schedule, LocalDateTime runAt) {
+        CronExpression cron = cron(schedule.getCron());
+        ZoneId zone = zone(schedule.getTimeZone());
+        ZonedDateTime end = runAt.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone);
+        ZonedDateTime nominal = null;
+        for (ZonedDateTime occurrence = cron.next(end.minus(maxJitter).minusNanos(1));
+             occurrence != null && !occurrence.isAfter(end);
+             occurrence = cron.next(occurrence)) {
+            nominal = occurrence;
+        }
+        return nominal != null
+                ? nominal.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                : runAt;
+    }
+
+    /**
+     * Parses a standard five-field cron expression, or Spring's six-field form with seconds.
+     */
+    static CronExpression cron(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Cron expression is required");
+        }
+        String trimmed = expression.trim();
+        return CronExpression.parse(trimmed.split("\\s+").length == 5 ? "0 " + trimmed : trimmed);
+    }
+
+    static ZoneId zone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + timeZone);
+        }
+    }
+}
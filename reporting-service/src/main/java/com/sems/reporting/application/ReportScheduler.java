@@ -0,0 +1,198 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.DeliveryStatus;
+import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportDelivery;
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportPeriod;
+import com.sems.reporting.domain.model.ReportSchedule;
+import com.sems.reporting.domain.model.ReportStatus;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import com.sems.reporting.domain.port.out.ReportDeliveryPublisher;
+import com.sems.reporting.domain.port.out.ReportRepository;
+import com.sems.reporting.domain.port.out.ReportScheduleRepository;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Turns due schedules into QUEUED reports for the {@link ReportJobEngine} and hands finished
+ * ones over for delivery. Schedules are claimed with {@code SKIP LOCKED}, so instances share
+ * the work, and only while fewer than {@code max-outstanding} scheduled reports are queued or
+ * processing: a burst of schedules due at the same time is fed into the queue gradually
+ * instead of crowding out reports users asked for. Instances count and claim under a shared
+ * job lock, so the limit holds across the cluster. Reports whose file is cached are completed
+ * after the claim has committed.
+ */
+@Slf4j
+@Service
+public class ReportScheduler {
+
+    private static final String CLAIM_LOCK = "report-schedule-claim";
+
+    private final ReportScheduleRepository scheduleRepository;
+    private final ReportRepository reportRepository;
+    private final ReportScheduleService scheduleService;
+    private final ReportService reportService;
+    private final ReportStorage reportStorage;
+    private final ReportDeliveryPublisher deliveryPublisher;
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOutstanding;
+    private final int batchSize;
+    private final Counter dispatched;
+    private final Counter delivered;
+
+    public ReportScheduler(ReportScheduleRepository scheduleRepository,
+                           ReportRepository reportRepository,
+                           ReportScheduleService scheduleService,
+                           ReportService reportService,
+                           ReportStorage reportStorage,
+                           ReportDeliveryPublisher deliveryPublisher,
+                           JobLockRepository jobLockRepository,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.reports.schedules.max-outstanding:4}") int maxOutstanding,
+                           @Value("${app.reports.schedules.batch-size:10}") int batchSize) {
+        this.scheduleRepository = scheduleRepository;
+        this.reportRepository = reportRepository;
+        this.scheduleService = scheduleService;
+        this.reportService = reportService;
+        this.reportStorage = reportStorage;
+        this.deliveryPublisher = deliveryPublisher;
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxOutstanding = maxOutstanding;
+        this.batchSize = batchSize;
+        this.dispatched = Counter.builder("report.schedules.dispatched")
+                .description("Reports created by schedules")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("report.schedules.delivered")
+                .description("Scheduled reports handed over for delivery")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.schedules.poll-interval-ms:30000}")
+    public void dispatch() {
+        List<Report> reports = transactionTemplate.execute(status -> claim());
+        if (reports == null || reports.isEmpty()) {
+            return;
+        }
+        dispatched.increment(reports.size());
+        log.info("Dispatched {} scheduled reports", reports.size());
+
+        // The cache lookup may call expense-service, so it runs once the schedule rows and the lock are released
+        for (Report report : reports) {
+            try {
+                reportService.completeFromCache(report);
+            } catch (Exception e) {
+                log.warn("Cache lookup for scheduled report {} failed, leaving it queued: {}",
+                        report.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private List<Report> claim() {
+        // Counting and claiming would otherwise race with other instances, which could each
+        // see the whole budget and overshoot max-outstanding
+        jobLockRepository.lock(CLAIM_LOCK);
+        long outstanding = reportRepository.countActiveScheduled();
+        int budget = (int) Math.min(batchSize, maxOutstanding - outstanding);
+        if (budget <= 0) {
+            log.debug("Scheduled report budget exhausted, {} outstanding", outstanding);
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Report> reports = new ArrayList<>();
+        for (ReportSchedule schedule : scheduleRepository.findDueForUpdate(now, budget)) {
+            Report report = reportRepository.save(toReport(schedule, now));
+            schedule.setLastRunAt(now);
+            schedule.setLastReportId(report.getId());
+            schedule.setNextRunAt(scheduleService.nextRunAt(schedule, now));
+            if (schedule.getNextRunAt() == null) {
+                log.info("Report schedule {} has no further runs, disabling it", schedule.getId());
+                schedule.setEnabled(false);
+            }
+            schedule.setUpdatedAt(now);
+            scheduleRepository.save(schedule);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.schedules.delivery-interval-ms:10000}")
+    public void deliver() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Report report : reportRepository.findPendingDeliveryForUpdate(batchSize)) {
+                try {
+                    reportRepository.markDelivery(report.getId(), deliver(report));
+                } catch (Exception e) {
+                    // Left PENDING and retried on the next poll
+                    log.warn("Failed to hand over report {} for delivery: {}", report.getId(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    private DeliveryStatus deliver(Report report) {
+        Optional<ReportSchedule> schedule = scheduleRepository.findById(report.getScheduleId());
+        if (schedule.isEmpty() || schedule.get().getRecipients().isEmpty()) {
+            log.info("Schedule of report {} is gone, skipping delivery", report.getId());
+            return DeliveryStatus.SKIPPED;
+        }
+
+        String key = report.getStatus() == ReportStatus.COMPLETED ? report.getGeneratedFilePath() : null;
+        ReportFormat format = report.getFormat() != null ? report.getFormat() : ReportFormat.PDF;
+        deliveryPublisher.publish(new ReportDelivery(
+                report.getId(),
+                report.getName(),
+                report.getStatus(),
+                schedule.get().getRecipients(),
+                key,
+                key != null ? key.substring(key.lastIndexOf('/') + 1) : null,
+                format.getContentType(),
+                key != null ? reportStorage.size(key) : null,
+                report.getDateFrom().toLocalDate(),
+                report.getDateTo().toLocalDate(),
+                report.getErrorMessage()));
+        delivered.increment();
+        return DeliveryStatus.SENT;
+    }
+
+    private Report toReport(ReportSchedule schedule, LocalDateTime now) {
+        // The period is relative to the day of the run in the schedule's own time zone. The
+        // jitter may push the run past midnight, so the day is taken from the cron occurrence.
+        LocalDateTime runAt = schedule.getNextRunAt() != null
+                ? scheduleService.nominalRunAt(schedule, schedule.getNextRunAt()) : now;
+        ReportPeriod.Range range = schedule.getPeriod().range(runAt.atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(ReportScheduleService.zone(schedule.getTimeZone()))
+                .toLocalDate());
+        return Report.builder()
+                .id(UUID.randomUUID())
+                .name(schedule.getName() + " " + range.from() + " to " + range.to())
+                .type(schedule.getType())
+                .format(schedule.getFormat())
+                .status(ReportStatus.QUEUED)
+                .userId(schedule.getUserId())
+                .parameters(schedule.getParameters())
+                .dateFrom(range.from().atStartOfDay())
+                .dateTo(range.to().atStartOfDay())
+                .createdAt(now)
+                .scheduleId(schedule.getId())
+                .deliveryStatus(DeliveryStatus.PENDING)
+                .build();
+    }
+}
@@ -1,29 +1,79 @@
 package com.sems.reporting.application;
 
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseWatermark;
 import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportFile;
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportLayout;
 import com.sems.reporting.domain.model.ReportStatus;
 import com.sems.reporting.domain.model.ReportType;
 import com.sems.reporting.domain.port.in.ReportUseCase;
+import com.sems.reporting.domain.port.out.ReportRenderer;
 import com.sems.reporting.domain.port.out.ReportRepository;
 import com.sems.reporting.domain.port.out.ExpenseDataClient;
-import lombok.RequiredArgsConstructor;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import com.sems.reporting.domain.port.out.ReportWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReportService implements ReportUseCase {
 
+    private static final List<String> DETAIL_COLUMNS =
+            List.of("Date", "Title", "Category", "Status", "Amount", "Currency", "Project", "Expense ID");
+    private static final List<String> SUMMARY_COLUMNS = List.of("Category", "Currency", "Expenses", "Total");
+    private static final List<String> BUDGET_COLUMNS = List.of("Category", "Status", "Currency", "Expenses", "Total");
+    private static final String ALL_CATEGORIES = "All categories";
+    // Progress is reported in steps of this many percent
+    private static final int PROGRESS_STEP = 5;
+
     private final ReportRepository reportRepository;
     private final ExpenseDataClient expenseDataClient;
+    private final ExpenseAnalyticsService analyticsService;
+    private final ReportStorage reportStorage;
+    private final ReportCache reportCache;
+    private final ExpenseFanOutCollector fanOutCollector;
+    private final Map<ReportFormat, ReportRenderer> renderers;
+
+    public ReportService(ReportRepository reportRepository,
+                         ExpenseDataClient expenseDataClient,
+                         ExpenseAnalyticsService analyticsService,
+                         ReportStorage reportStorage,
+                         ReportCache reportCache,
+                         ExpenseFanOutCollector fanOutCollector,
+                         List<ReportRenderer> renderers) {
+        this.reportRepository = reportRepository;
+        this.expenseDataClient = expenseDataClient;
+        this.analyticsService = analyticsService;
+        this.reportStorage = reportStorage;
+        this.reportCache = reportCache;
+        this.fanOutCollector = fanOutCollector;
+        this.renderers = renderers.stream().collect(Collectors.toMap(ReportRenderer::format, Function.identity(),
+                (first, second) -> first, () -> new EnumMap<>(ReportFormat.class)));
+    }
     
     @Override
-    public Report createReport(String name, String type, UUID userId, String parameters, LocalDateTime dateFrom, LocalDateTime dateTo) {
+    public Report createReport(String name, String type, String format, UUID userId, String parameters, LocalDateTime dateFrom, LocalDateTime dateTo) {
         ReportType reportType;
         try {
             reportType = ReportType.valueOf(type.toUpperCase());
@@ -32,10 +82,20 @@ public class ReportService implements ReportUseCase {
             reportType = ReportType.CUSTOM;
         }
         
+        ReportFormat reportFormat = ReportFormat.PDF;
+        if (format != null && !format.isBlank()) {
+            try {
+                reportFormat = ReportFormat.valueOf(format.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid report format: {}, defaulting to PDF", format);
+            }
+        }
+        
         Report report = Report.builder()
                 .id(UUID.randomUUID())
                 .name(name)
                 .type(reportType)
+                .format(reportFormat)
                 .status(ReportStatus.QUEUED)
                 .userId(userId)
                 .parameters(parameters)
@@ -43,8 +103,37 @@ public class ReportService implements ReportUseCase {
                 .dateTo(dateTo)
                 .createdAt(LocalDateTime.now())
                 .build();
-        
-        return reportRepository.save(report);
+        return submit(report);
+    }
+    
+    /**
+     * Saves a new QUEUED report, or completes it straight away when an up-to-date file for the
+     * same parameters is already cached.
+     */
+    public Report submit(Report report) {
+        ExpenseQuery query;
+        try {
+            query = queryFor(report);
+        } catch (IllegalArgumentException e) {
+            // Left for the job to fail with
+            return reportRepository.save(report);
+        }
+        return reportCache.complete(report, query)
+                .orElseGet(() -> reportRepository.save(report));
+    }
+
+    /**
+     * Completes an already QUEUED report straight away when an up-to-date file for the same
+     * parameters is cached and no job has picked the report up yet.
+     */
+    public void completeFromCache(Report report) {
+        ExpenseQuery query;
+        try {
+            query = queryFor(report);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        reportCache.completeQueued(report, query);
     }
 
     @Override
@@ -58,39 +147,62 @@ public class ReportService implements ReportUseCase {
         return reportRepository.findByUserId(userId);
     }
 
+    /**
+     * Queues the report for the {@link ReportJobEngine}. Reports that are already queued or
+     * running are left alone; completed or failed ones are generated again.
+     */
     @Override
     public void generateReport(UUID reportId) {
         Report report = getReportById(reportId);
-        report.setStatus(ReportStatus.PROCESSING);
-        reportRepository.save(report);
-        
-        try {
-            // Perform report generation based on report type
-            switch (report.getType()) {
-                case EXPENSE_SUMMARY:
-                case EXPENSE_DETAILED:
-                    generateExpenseReport(report);
-                    break;
-                case BUDGET_ANALYSIS:
-                    generateBudgetAnalysisReport(report);
-                    break;
-                case DEPARTMENT_SUMMARY:
-                    generateDepartmentReport(report);
-                    break;
-                case USER_ACTIVITY:
-                case CUSTOM:
-                default:
-                    generateCustomReport(report);
-            }
-            
-            report.setStatus(ReportStatus.COMPLETED);
-            report.setCompletedAt(LocalDateTime.now());
-        } catch (Exception e) {
-            log.error("Error generating report: {}", e.getMessage(), e);
-            report.setStatus(ReportStatus.FAILED);
+        if (report.getStatus() == ReportStatus.QUEUED || report.getStatus() == ReportStatus.PROCESSING) {
+            log.debug("Report {} is already {}", reportId, report.getStatus());
+            return;
         }
         
+        String previousFile = report.getGeneratedFilePath();
+        report.setStatus(ReportStatus.QUEUED);
+        report.setProgress(0);
+        report.setAttempts(0);
+        report.setErrorMessage(null);
+        report.setCompletedAt(null);
+        report.setGeneratedFilePath(null);
         reportRepository.save(report);
+        if (previousFile != null) {
+            reportCache.release(previousFile);
+        }
+    }
+    
+    /**
+     * Renders the report in its format into {@link ReportStorage} and returns the stored file's
+     * key. Detailed listings are streamed straight from expense-service into the renderer, so
+     * memory use doesn't grow with the report; summaries are grouped by the
+     * {@link ExpenseAnalyticsService} where possible. The file is offered to the
+     * {@link ReportCache} afterwards. Called by the job engine on one of its workers;
+     * failures propagate so the engine can record them.
+     */
+    public String executeReport(Report report, ReportProgress progress) {
+        ReportFormat format = formatOf(report);
+        ReportRenderer renderer = renderers.get(format);
+        if (renderer == null) {
+            throw new IllegalStateException("No renderer for report format: " + format);
+        }
+
+        ExpenseQuery query = queryFor(report);
+        LocalDateTime startedAt = LocalDateTime.now();
+        ExpenseWatermark watermark = reportCache.watermark(query);
+
+        // Every generation gets its own file, so one being downloaded or shared with the cache
+        // is never overwritten by a regeneration
+        String key = "reports/" + baseName(report) + "_" + UUID.randomUUID() + "." + format.getExtension();
+        reportStorage.write(key, out -> {
+            switch (report.getType()) {
+                case EXPENSE_SUMMARY, DEPARTMENT_SUMMARY -> writeSummary(report, query, renderer, out, progress);
+                case BUDGET_ANALYSIS -> writeBudgetAnalysis(report, query, renderer, out, progress);
+                case EXPENSE_DETAILED, USER_ACTIVITY, CUSTOM -> writeDetail(report, query, renderer, out, progress);
+            }
+        });
+        reportCache.store(report, key, watermark, startedAt);
+        return key;
     }
 
     @Override
@@ -100,44 +212,179 @@ public class ReportService implements ReportUseCase {
 
     @Override
     public void deleteReport(UUID reportId) {
+        String key = reportRepository.findById(reportId)
+                .map(Report::getGeneratedFilePath)
+                .orElse(null);
         reportRepository.delete(reportId);
+        // The file may be shared with the report cache or reports served from it
+        if (key != null) {
+            reportCache.release(key);
+        }
     }
-    
-    private void generateExpenseReport(Report report) {
-        // Fetch expense data
-        var expenses = expenseDataClient.getExpensesByUserAndDateRange(
-                report.getUserId(), report.getDateFrom(), report.getDateTo());
-        
-        // Report generation logic would go here
-        // For now, just simulate a file path for the generated report
-        String filePath = "reports/" + report.getId() + "_expense_report.pdf";
-        report.setGeneratedFilePath(filePath);
+
+    @Override
+    public ReportFile downloadReport(UUID reportId) {
+        Report report = getReportById(reportId);
+        String key = report.getGeneratedFilePath();
+        if (report.getStatus() != ReportStatus.COMPLETED || key == null) {
+            throw new IllegalStateException("Report " + reportId + " is not ready for download");
+        }
+
+        String fileName = baseName(report) + "." + formatOf(report).getExtension();
+        return new ReportFile(fileName, formatOf(report).getContentType(), reportStorage.size(key), reportStorage.open(key));
     }
     
-    private void generateBudgetAnalysisReport(Report report) {
-        var budgetData = expenseDataClient.getBudgetAnalysis(
-                report.getUserId(), report.getDateFrom(), report.getDateTo());
-        
-        // Report generation logic would go here
-        String filePath = "reports/" + report.getId() + "_budget_analysis.pdf";
-        report.setGeneratedFilePath(filePath);
+    private static String baseName(Report report) {
+        return report.getId() + "_" + report.getType().name().toLowerCase();
     }
-    
-    private void generateDepartmentReport(Report report) {
-        // Extract department parameter
-        String department = report.getParameters(); // Simplified for example
-        
-        var departmentExpenses = expenseDataClient.getExpensesByDepartmentAndDateRange(
-                department, report.getDateFrom(), report.getDateTo());
-        
-        // Report generation logic would go here
-        String filePath = "reports/" + report.getId() + "_department_report.pdf";
-        report.setGeneratedFilePath(filePath);
+
+    private void writeDetail(Report report, ExpenseQuery query, ReportRenderer renderer,
+                             OutputStream out, ReportProgress progress) throws IOException {
+        DateRangeProgress tracker = new DateRangeProgress(query, progress);
+        try (ReportWriter writer = renderer.open(out, new ReportLayout(report.getName(), DETAIL_COLUMNS))) {
+            long rows = expenseDataClient.streamExpenses(query, row -> {
+                try {
+                    writer.writeRow(Arrays.asList(row.expenseDate(), row.title(), row.category(), row.status(),
+                            row.amount(), row.currency(), row.projectId(), row.id()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                tracker.advance(row.expenseDate());
+            });
+            log.info("Report {} lists {} expenses", report.getId(), rows);
+        }
     }
-    
-    private void generateCustomReport(Report report) {
-        // Handle custom report generation
-        String filePath = "reports/" + report.getId() + "_custom_report.pdf";
-        report.setGeneratedFilePath(filePath);
+
+    private void writeSummary(Report report, ExpenseQuery query, ReportRenderer renderer,
+                              OutputStream out, ReportProgress progress) throws IOException {
+        List<ExpenseAggregate> byCategory = aggregate(query,
+                List.of(ExpenseDimension.CATEGORY, ExpenseDimension.CURRENCY), progress);
+
+        Map<String, Totals> byCurrency = new TreeMap<>();
+        try (ReportWriter writer = renderer.open(out, new ReportLayout(report.getName(), SUMMARY_COLUMNS))) {
+            for (ExpenseAggregate aggregate : byCategory) {
+                String currency = aggregate.key().get(1);
+                writer.writeRow(Arrays.asList(aggregate.key().get(0), currency, aggregate.count(), aggregate.total()));
+                byCurrency.computeIfAbsent(currency != null ? currency : "", c -> new Totals()).add(aggregate);
+            }
+            for (Map.Entry<String, Totals> entry : byCurrency.entrySet()) {
+                writer.writeRow(Arrays.asList(ALL_CATEGORIES, entry.getKey(), entry.getValue().count, entry.getValue().total));
+            }
+        }
+    }
+
+    private void writeBudgetAnalysis(Report report, ExpenseQuery query, ReportRenderer renderer,
+                                     OutputStream out, ReportProgress progress) throws IOException {
+        List<ExpenseAggregate> spending = aggregate(query,
+                List.of(ExpenseDimension.CATEGORY, ExpenseDimension.STATUS, ExpenseDimension.CURRENCY), progress);
+
+        try (ReportWriter writer = renderer.open(out, new ReportLayout(report.getName(), BUDGET_COLUMNS))) {
+            for (ExpenseAggregate aggregate : spending) {
+                writer.writeRow(Arrays.asList(aggregate.key().get(0), aggregate.key().get(1), aggregate.key().get(2),
+                        aggregate.count(), aggregate.total()));
+            }
+        }
+    }
+
+    /**
+     * Groups from the local analytics store when it covers the range; otherwise streams the
+     * expenses from expense-service, per department and month in parallel, and groups them on
+     * the way.
+     */
+    private List<ExpenseAggregate> aggregate(ExpenseQuery query, List<ExpenseDimension> groupBy, ReportProgress progress) {
+        Optional<List<ExpenseAggregate>> local = analyticsService.aggregate(query, groupBy);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        return fanOutCollector.aggregate(query, groupBy, progress);
+    }
+
+    /**
+     * The expenses the report reads. Summaries only cover the statuses the analytics store tracks,
+     * whether or not they're served from it.
+     */
+    private ExpenseQuery queryFor(Report report) {
+        return switch (report.getType()) {
+            case EXPENSE_SUMMARY, BUDGET_ANALYSIS -> tracked(userQuery(report));
+            case DEPARTMENT_SUMMARY -> tracked(departmentQuery(report));
+            case EXPENSE_DETAILED, USER_ACTIVITY, CUSTOM -> userQuery(report);
+        };
+    }
+
+    private static ExpenseQuery tracked(ExpenseQuery query) {
+        query.setStatuses(ExpenseAnalyticsService.TRACKED_STATUSES);
+        return query;
+    }
+
+    private ExpenseQuery userQuery(Report report) {
+        return ExpenseQuery.builder()
+                .dateFrom(report.getDateFrom().toLocalDate())
+                .dateTo(report.getDateTo().toLocalDate())
+                .userIds(List.of(report.getUserId()))
+                .build();
+    }
+
+    private ExpenseQuery departmentQuery(Report report) {
+        return ExpenseQuery.builder()
+                .dateFrom(report.getDateFrom().toLocalDate())
+                .dateTo(report.getDateTo().toLocalDate())
+                .departmentIds(parseDepartmentIds(report.getParameters()))
+                .build();
+    }
+
+    // One department id, or several separated by commas for a company-wide report
+    private List<UUID> parseDepartmentIds(String parameters) {
+        try {
+            return Arrays.stream((parameters == null ? "" : parameters).split(","))
+                    .map(String::trim)
+                    .map(UUID::fromString)
+                    .distinct()
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Department report needs department ids, got: " + parameters);
+        }
+    }
+
+    // Reports created before formats existed were PDFs
+    private static ReportFormat formatOf(Report report) {
+        return report.getFormat() != null ? report.getFormat() : ReportFormat.PDF;
+    }
+
+    private static final class Totals {
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        void add(ExpenseAggregate aggregate) {
+            count += aggregate.count();
+            total = total.add(aggregate.total());
+        }
+    }
+
+    /**
+     * Estimates progress from how far into the date range the streamed expenses are, which
+     * works because the export is ordered by expense date.
+     */
+    private static final class DateRangeProgress {
+        private final ReportProgress progress;
+        private final long firstDay;
+        private final long days;
+        private int reported;
+
+        DateRangeProgress(ExpenseQuery query, ReportProgress progress) {
+            this.progress = progress;
+            this.firstDay = query.getDateFrom().toEpochDay();
+            this.days = query.getDateTo().toEpochDay() - firstDay + 1;
+        }
+
+        void advance(LocalDate expenseDate) {
+            if (expenseDate == null) {
+                return;
+            }
+            int percent = (int) ((expenseDate.toEpochDay() - firstDay) * 100 / days);
+            if (percent >= reported + PROGRESS_STEP) {
+                reported = percent;
+                progress.update(percent);
+            }
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.sems.reporting.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The HTTP client used for calls to other services. Connections are pooled and kept alive
+ * rather than opened per request, bounded overall and per route (one route per service
+ * instance). Expired and idle connections are evicted in the background and stale ones
+ * revalidated before reuse. Responses are requested and decoded gzip-compressed, and pool
+ * usage is exported as {@code httpcomponents.httpclient.pool.*} metrics.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(
+            @Value("${app.http.client.max-connections:100}") int maxConnections,
+            @Value("${app.http.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${app.http.client.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.http.client.socket-timeout-ms:30000}") long socketTimeoutMs,
+            @Value("${app.http.client.time-to-live-ms:300000}") long timeToLiveMs,
+            @Value("${app.http.client.validate-after-inactivity-ms:2000}") long validateAfterInactivityMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(socketTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${app.http.client.connection-request-timeout-ms:1000}") long connectionRequestTimeoutMs,
+            @Value("${app.http.client.response-timeout-ms:30000}") long responseTimeoutMs,
+            @Value("${app.http.client.max-idle-ms:30000}") long maxIdleMs) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // How long a request waits for a free pooled connection
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(maxIdleMs))
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, "inter-service");
+    }
+}
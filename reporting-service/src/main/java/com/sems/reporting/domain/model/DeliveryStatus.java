@@ -0,0 +1,10 @@
+package com.sems.reporting.domain.model;
+
+/**
+ * Whether a scheduled report has been handed on for delivery to its schedule's recipients.
+ */
+public enum DeliveryStatus {
+    PENDING,
+    SENT,
+    SKIPPED
+}
@@ -0,0 +1,23 @@
+package com.sems.reporting.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Count and total of the expenses sharing one combination of dimension values, given in
+ * the order the dimensions were grouped by. Missing values are null.
+ */
+public record ExpenseAggregate(List<String> key, long count, BigDecimal total) {
+
+    public static final Comparator<ExpenseAggregate> BY_KEY = (left, right) -> {
+        for (int i = 0; i < Math.min(left.key.size(), right.key.size()); i++) {
+            int result = Comparator.nullsLast(Comparator.<String>naturalOrder())
+                    .compare(left.key.get(i), right.key.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(left.key.size(), right.key.size());
+    };
+}
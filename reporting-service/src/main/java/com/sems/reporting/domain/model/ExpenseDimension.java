@@ -0,0 +1,29 @@
+package com.sems.reporting.domain.model;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Attributes expenses can be grouped by.
+ */
+public enum ExpenseDimension {
+    USER(ExpenseRow::userId),
+    DEPARTMENT(ExpenseRow::departmentId),
+    PROJECT(ExpenseRow::projectId),
+    CATEGORY(ExpenseRow::category),
+    STATUS(ExpenseRow::status),
+    CURRENCY(ExpenseRow::currency);
+
+    private final Function<ExpenseRow, Object> accessor;
+
+    ExpenseDimension(Function<ExpenseRow, Object> accessor) {
+        this.accessor = accessor;
+    }
+
+    /**
+     * This dimension's value of the row as a string, or null if the row has none.
+     */
+    public String valueOf(ExpenseRow row) {
+        return Objects.toString(accessor.apply(row), null);
+    }
+}
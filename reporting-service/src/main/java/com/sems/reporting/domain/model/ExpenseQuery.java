@@ -0,0 +1,28 @@
+package com.sems.reporting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filter for streaming expenses. The date range is required and inclusive; missing lists
+ * don't restrict the result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseQuery {
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private List<UUID> userIds;
+    private List<UUID> departmentIds;
+    private List<UUID> projectIds;
+    private List<String> statuses;
+    private List<String> categories;
+}
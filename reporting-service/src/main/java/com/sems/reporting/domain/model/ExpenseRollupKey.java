@@ -0,0 +1,17 @@
+package com.sems.reporting.domain.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Cell of the expense rollups: the expenses of one day sharing department, project,
+ * category, status and currency.
+ */
+public record ExpenseRollupKey(LocalDate bucket, UUID departmentId, UUID projectId,
+                               String category, String status, String currency) {
+
+    public static ExpenseRollupKey of(ExpenseRow row) {
+        return new ExpenseRollupKey(row.expenseDate(), row.departmentId(), row.projectId(),
+                row.category(), row.status(), row.currency());
+    }
+}
@@ -0,0 +1,24 @@
+package com.sems.reporting.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One expense as streamed from expense-service's export feed.
+ */
+public record ExpenseRow(
+    UUID id,
+    UUID userId,
+    UUID departmentId,
+    UUID projectId,
+    String title,
+    BigDecimal amount,
+    String currency,
+    String category,
+    String status,
+    LocalDate expenseDate,
+    UUID approvedBy,
+    LocalDateTime createdAt
+) {}
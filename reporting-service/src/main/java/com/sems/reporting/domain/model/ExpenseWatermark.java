@@ -0,0 +1,17 @@
+package com.sems.reporting.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Count and latest modification of the expenses matching a query, as reported by
+ * expense-service.
+ */
+public record ExpenseWatermark(long count, LocalDateTime lastModifiedAt) {
+
+    /**
+     * Compact form stored alongside cached reports.
+     */
+    public String token() {
+        return count + "@" + lastModifiedAt;
+    }
+}
@@ -16,13 +16,22 @@ public class Report {
     private UUID id;
     private String name;
     private ReportType type;
+    private ReportFormat format;
     private ReportStatus status;
     private UUID userId;
     private String parameters;
     private LocalDateTime dateFrom;
     private LocalDateTime dateTo;
     private String generatedFilePath;
+    private int progress;
+    private int attempts;
+    private String claimToken;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime startedAt;
+    private String errorMessage;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime completedAt;
+    private UUID scheduleId;
+    private DeliveryStatus deliveryStatus;
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.sems.reporting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A generated report file that can be handed out again for reports with the same
+ * fingerprint, as long as the expense data's watermark hasn't moved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCacheEntry {
+    private String fingerprint;
+    private String watermark;
+    private String storageKey;
+    private long sizeBytes;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastAccessedAt;
+}
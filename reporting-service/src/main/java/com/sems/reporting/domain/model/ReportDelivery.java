@@ -0,0 +1,23 @@
+package com.sems.reporting.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A finished scheduled report to be emailed to its recipients. The file is referenced by its
+ * key in the shared report storage; it is absent for failed reports.
+ */
+public record ReportDelivery(
+        UUID reportId,
+        String reportName,
+        ReportStatus status,
+        List<String> recipients,
+        String storageKey,
+        String fileName,
+        String contentType,
+        Long sizeBytes,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        String errorMessage) {
+}
@@ -0,0 +1,8 @@
+package com.sems.reporting.domain.model;
+
+import java.io.InputStream;
+
+/**
+ * A generated report opened for download. The caller closes {@code content}.
+ */
+public record ReportFile(String fileName, String contentType, long size, InputStream content) {}
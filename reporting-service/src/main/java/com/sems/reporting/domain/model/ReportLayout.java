@@ -0,0 +1,8 @@
+package com.sems.reporting.domain.model;
+
+import java.util.List;
+
+/**
+ * Title and column headings of a rendered report table.
+ */
+public record ReportLayout(String title, List<String> columns) {}
@@ -0,0 +1,46 @@
+package com.sems.reporting.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Date range a scheduled report covers, relative to the day it runs.
+ */
+public enum ReportPeriod {
+    PREVIOUS_DAY,
+    PREVIOUS_WEEK,
+    PREVIOUS_MONTH,
+    PREVIOUS_QUARTER,
+    PREVIOUS_YEAR,
+    MONTH_TO_DATE,
+    YEAR_TO_DATE;
+
+    public Range range(LocalDate today) {
+        return switch (this) {
+            case PREVIOUS_DAY -> new Range(today.minusDays(1), today.minusDays(1));
+            case PREVIOUS_WEEK -> {
+                LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+                yield new Range(monday, monday.plusDays(6));
+            }
+            case PREVIOUS_MONTH -> {
+                LocalDate first = today.withDayOfMonth(1).minusMonths(1);
+                yield new Range(first, first.with(TemporalAdjusters.lastDayOfMonth()));
+            }
+            case PREVIOUS_QUARTER -> {
+                LocalDate first = today.with(IsoFields.DAY_OF_QUARTER, 1).minusMonths(3);
+                yield new Range(first, first.plusMonths(3).minusDays(1));
+            }
+            case PREVIOUS_YEAR -> {
+                LocalDate first = today.withDayOfYear(1).minusYears(1);
+                yield new Range(first, first.with(TemporalAdjusters.lastDayOfYear()));
+            }
+            case MONTH_TO_DATE -> new Range(today.withDayOfMonth(1), today);
+            case YEAR_TO_DATE -> new Range(today.withDayOfYear(1), today);
+        };
+    }
+
+    public record Range(LocalDate from, LocalDate to) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.sems.reporting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A report generated on a cron schedule for a rolling period and emailed to its
+ * recipients. {@code nextRunAt} already includes the dispatch jitter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSchedule {
+    private UUID id;
+    private String name;
+    private ReportType type;
+    private ReportFormat format;
+    private UUID userId;
+    private String parameters;
+    private String cron;
+    private String timeZone;
+    private ReportPeriod period;
+    private List<String> recipients;
+    private boolean enabled;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime lastRunAt;
+    private UUID lastReportId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
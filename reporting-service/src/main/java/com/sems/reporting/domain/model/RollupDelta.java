@@ -0,0 +1,21 @@
+package com.sems.reporting.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Change to the count and total of a rollup cell.
+ */
+public record RollupDelta(long count, BigDecimal total) {
+
+    public RollupDelta plus(RollupDelta other) {
+        return new RollupDelta(count + other.count, total.add(other.total));
+    }
+
+    public RollupDelta negate() {
+        return new RollupDelta(-count, total.negate());
+    }
+
+    public boolean isZero() {
+        return count == 0 && total.signum() == 0;
+    }
+}
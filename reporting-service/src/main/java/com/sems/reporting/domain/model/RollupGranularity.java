@@ -0,0 +1,26 @@
+package com.sems.reporting.domain.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Period rollup results are bucketed by. Periods are ISO formatted, so they sort in order.
+ */
+public enum RollupGranularity {
+    DAY,
+    MONTH,
+    YEAR,
+    TOTAL;
+
+    /**
+     * The period containing the day, or null for {@link #TOTAL}.
+     */
+    public String period(LocalDate day) {
+        return switch (this) {
+            case DAY -> day.toString();
+            case MONTH -> YearMonth.from(day).toString();
+            case YEAR -> String.valueOf(day.getYear());
+            case TOTAL -> null;
+        };
+    }
+}
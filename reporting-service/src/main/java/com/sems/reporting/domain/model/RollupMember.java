@@ -0,0 +1,11 @@
+package com.sems.reporting.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The rollup cell an expense is currently counted in and with which amount, so a later
+ * change can take it out again. {@code version} is the timestamp of the state it reflects.
+ */
+public record RollupMember(UUID expenseId, ExpenseRollupKey key, BigDecimal amount, long version) {
+}
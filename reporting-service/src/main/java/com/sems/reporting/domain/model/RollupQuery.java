@@ -0,0 +1,32 @@
+package com.sems.reporting.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Query over the expense rollups. Results are grouped by period, unless the granularity is
+ * {@link RollupGranularity#TOTAL}, and then by {@code groupBy}; missing filter lists don't
+ * restrict the result. Drilling down means filtering on a row's values and grouping by a
+ * further dimension or a finer granularity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupQuery {
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private RollupGranularity granularity;
+    private List<ExpenseDimension> groupBy;
+    private List<UUID> departmentIds;
+    private List<UUID> projectIds;
+    private List<String> categories;
+    private List<String> statuses;
+    private List<String> currencies;
+}
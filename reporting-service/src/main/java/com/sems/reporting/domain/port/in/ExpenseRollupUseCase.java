@@ -0,0 +1,19 @@
+package com.sems.reporting.domain.port.in;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.RollupQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExpenseRollupUseCase {
+
+    List<ExpenseAggregate> query(RollupQuery query);
+
+    /**
+     * Rebuilds the rollups of the date range from expense-service in the background.
+     *
+     * @throws IllegalStateException if a backfill is already running on this instance
+     */
+    void startBackfill(LocalDate dateFrom, LocalDate dateTo);
+}
@@ -0,0 +1,19 @@
+package com.sems.reporting.domain.port.in;
+
+import com.sems.reporting.domain.model.ReportSchedule;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ReportScheduleUseCase {
+
+    ReportSchedule createSchedule(ReportSchedule schedule);
+
+    ReportSchedule getScheduleById(UUID scheduleId);
+
+    List<ReportSchedule> getUserSchedules(UUID userId);
+
+    ReportSchedule setEnabled(UUID scheduleId, boolean enabled);
+
+    void deleteSchedule(UUID scheduleId);
+}
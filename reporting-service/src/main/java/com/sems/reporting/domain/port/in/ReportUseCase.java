@@ -1,6 +1,7 @@
 package com.sems.reporting.domain.port.in;
 
 import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,6 +11,7 @@ public interface ReportUseCase {
     
     Report createReport(String name, 
                         String type, 
+                        String format, 
                         UUID userId, 
                         String parameters, 
                         LocalDateTime dateFrom, 
@@ -24,4 +26,6 @@ public interface ReportUseCase {
     List<Report> getReportsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
     void deleteReport(UUID reportId);
+    
+    ReportFile downloadReport(UUID reportId);
 } 
\ No newline at end of file
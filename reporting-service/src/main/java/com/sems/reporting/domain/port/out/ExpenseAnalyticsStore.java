@@ -0,0 +1,40 @@
+package com.sems.reporting.domain.port.out;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+
+import java.util.List;
+
+/**
+ * Local copy of the expenses that reports aggregate over.
+ */
+public interface ExpenseAnalyticsStore {
+
+    /**
+     * Inserts the expense, or replaces the stored state of an expense with the same id.
+     */
+    void upsert(ExpenseRow row);
+
+    /**
+     * Counts and sums the expenses matching {@code filter} per combination of the
+     * {@code groupBy} values, ordered by those values.
+     */
+    List<ExpenseAggregate> aggregate(ExpenseQuery filter, List<ExpenseDimension> groupBy);
+
+    int size();
+
+    /**
+     * Starts tracking which expenses are upserted from now on, for {@link #sweep()}.
+     * Starting again discards what was tracked so far.
+     */
+    void startSweep();
+
+    /**
+     * Removes every expense not upserted since {@link #startSweep()} and stops tracking.
+     *
+     * @return the number of expenses removed
+     */
+    int sweep();
+}
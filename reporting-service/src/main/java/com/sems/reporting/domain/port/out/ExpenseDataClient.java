@@ -1,15 +1,28 @@
 package com.sems.reporting.domain.port.out;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.model.ExpenseWatermark;
+
+import java.util.function.Consumer;
 
 public interface ExpenseDataClient {
-    
-    List<Map<String, Object>> getExpensesByUserAndDateRange(UUID userId, LocalDateTime start, LocalDateTime end);
-    
-    List<Map<String, Object>> getExpensesByDepartmentAndDateRange(String department, LocalDateTime start, LocalDateTime end);
-    
-    Map<String, Object> getBudgetAnalysis(UUID userId, LocalDateTime start, LocalDateTime end);
-} 
\ No newline at end of file
+
+    /**
+     * Hands every expense matching the query to {@code consumer} as it arrives, without
+     * buffering the result, and returns the number of rows read.
+     */
+    long streamExpenses(ExpenseQuery query, Consumer<ExpenseRow> consumer);
+
+    /**
+     * Like {@link #streamExpenses}, for background loads that copy expenses into local stores.
+     * They are limited separately, so they never take the capacity reports are generated with.
+     */
+    long streamExpensesInBackground(ExpenseQuery query, Consumer<ExpenseRow> consumer);
+
+    /**
+     * Count and last modification of the expenses matching the query; the expenses can only
+     * have changed if the watermark did.
+     */
+    ExpenseWatermark watermark(ExpenseQuery query);
+} 
@@ -0,0 +1,35 @@
+package com.sems.reporting.domain.port.out;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseRollupKey;
+import com.sems.reporting.domain.model.RollupDelta;
+import com.sems.reporting.domain.model.RollupMember;
+import com.sems.reporting.domain.model.RollupQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ExpenseRollupRepository {
+
+    /**
+     * Members of the given expenses, row-locked in a stable order. Must run inside a transaction.
+     */
+    Map<UUID, RollupMember> findMembersForUpdate(Collection<UUID> expenseIds);
+
+    void saveMembers(Collection<RollupMember> members);
+
+    /**
+     * Adds the deltas to their cells, creating missing cells and dropping emptied ones. Cells
+     * are locked in a stable order, which keeps deadlocks rare; inserting missing cells can
+     * still deadlock on the database's gap locks, so callers retry on lock failures.
+     */
+    void applyDeltas(Map<ExpenseRollupKey, RollupDelta> deltas);
+
+    /**
+     * Non-empty groups for the query, keyed by period (unless totalled) and then the
+     * {@code groupBy} dimensions, sorted by key.
+     */
+    List<ExpenseAggregate> aggregate(RollupQuery query);
+}
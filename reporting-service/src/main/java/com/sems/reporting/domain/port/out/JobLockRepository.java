@@ -0,0 +1,29 @@
+package com.sems.reporting.domain.port.out;
+
+import java.time.Duration;
+
+/**
+ * Named locks shared by every reporting-service instance.
+ */
+public interface JobLockRepository {
+
+    /**
+     * Blocks until the current transaction holds the named lock, which is released when it
+     * commits or rolls back. Must run inside a transaction.
+     */
+    void lock(String name);
+
+    /**
+     * Leases the named lock to {@code owner} for {@code duration}, for work that outlives a
+     * transaction. Succeeds if the lock is free, its lease has run out or {@code owner} already
+     * holds it, in which case the lease is extended. Must run inside a transaction.
+     *
+     * @return whether {@code owner} now holds the lease
+     */
+    boolean tryLease(String name, String owner, Duration duration);
+
+    /**
+     * Ends the lease of {@code owner}, if it still holds it. Must run inside a transaction.
+     */
+    void releaseLease(String name, String owner);
+}
@@ -0,0 +1,32 @@
+package com.sems.reporting.domain.port.out;
+
+import com.sems.reporting.domain.model.ReportCacheEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportCacheRepository {
+
+    Optional<ReportCacheEntry> findByFingerprint(String fingerprint);
+
+    /**
+     * The entry, row-locked until the transaction ends so it can't be evicted meanwhile.
+     */
+    Optional<ReportCacheEntry> findByFingerprintForUpdate(String fingerprint);
+
+    ReportCacheEntry save(ReportCacheEntry entry);
+
+    void touch(String fingerprint, LocalDateTime accessedAt);
+
+    long totalSize();
+
+    /**
+     * Least recently used entries first, row-locked. Must run inside a transaction.
+     */
+    List<ReportCacheEntry> findLeastRecentlyUsedForUpdate(int limit);
+
+    void delete(String fingerprint);
+
+    boolean existsByStorageKey(String storageKey);
+}
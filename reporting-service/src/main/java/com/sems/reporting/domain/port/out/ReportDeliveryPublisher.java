@@ -0,0 +1,11 @@
+package com.sems.reporting.domain.port.out;
+
+import com.sems.reporting.domain.model.ReportDelivery;
+
+public interface ReportDeliveryPublisher {
+
+    /**
+     * Hands the delivery to notification-service; returns once it has been accepted.
+     */
+    void publish(ReportDelivery delivery);
+}
@@ -0,0 +1,18 @@
+package com.sems.reporting.domain.port.out;
+
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportLayout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders report tables in one {@link ReportFormat}. Writers keep at most a bounded window
+ * of rows in memory, whatever the size of the report.
+ */
+public interface ReportRenderer {
+
+    ReportFormat format();
+
+    ReportWriter open(OutputStream out, ReportLayout layout) throws IOException;
+}
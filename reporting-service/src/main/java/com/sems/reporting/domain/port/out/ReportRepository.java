@@ -1,9 +1,13 @@
 package com.sems.reporting.domain.port.out;
 
+import com.sems.reporting.domain.model.DeliveryStatus;
 import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +22,52 @@ public interface ReportRepository {
     List<Report> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     
     void delete(UUID id);
-} 
\ No newline at end of file
+    
+    boolean existsByGeneratedFilePath(String generatedFilePath);
+    
+    /**
+     * Oldest QUEUED reports, row-locked with {@code SKIP LOCKED} so concurrent instances
+     * see disjoint candidates. Must run inside a transaction.
+     */
+    List<Report> findQueuedForUpdate(int limit);
+    
+    Map<UUID, Long> countProcessingByUser(Collection<UUID> userIds);
+    
+    long countByStatus(ReportStatus status);
+    
+    /**
+     * Reports created by schedules that are queued or processing.
+     */
+    long countActiveScheduled();
+    
+    /**
+     * Finished scheduled reports still to be delivered, row-locked with {@code SKIP LOCKED}.
+     * Must run inside a transaction.
+     */
+    List<Report> findPendingDeliveryForUpdate(int limit);
+    
+    void markDelivery(UUID id, DeliveryStatus deliveryStatus);
+    
+    void markClaimed(UUID id, String claimToken, LocalDateTime now);
+    
+    /**
+     * Completes a QUEUED report with an existing file, unless a job engine has claimed it
+     * meanwhile. Returns whether the report was completed.
+     */
+    boolean completeQueued(UUID id, String generatedFilePath, LocalDateTime now);
+    
+    int heartbeat(Collection<String> claimTokens, LocalDateTime now);
+    
+    void updateProgress(UUID id, String claimToken, int progress);
+    
+    /**
+     * Writes the outcome of a job, but only while the caller still holds the claim.
+     * Returns false when the job was meanwhile requeued and claimed elsewhere.
+     */
+    boolean finish(UUID id, String claimToken, ReportStatus status, String generatedFilePath,
+                   String errorMessage, LocalDateTime completedAt);
+    
+    int failOrphaned(LocalDateTime staleBefore, int maxAttempts, String errorMessage);
+    
+    int requeueOrphaned(LocalDateTime staleBefore);
+}
@@ -0,0 +1,25 @@
+package com.sems.reporting.domain.port.out;
+
+import com.sems.reporting.domain.model.ReportSchedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ReportScheduleRepository {
+
+    ReportSchedule save(ReportSchedule schedule);
+
+    Optional<ReportSchedule> findById(UUID id);
+
+    List<ReportSchedule> findByUserId(UUID userId);
+
+    void delete(UUID id);
+
+    /**
+     * Enabled schedules due at {@code now}, earliest first, row-locked with {@code SKIP LOCKED}
+     * so concurrent instances dispatch disjoint schedules. Must run inside a transaction.
+     */
+    List<ReportSchedule> findDueForUpdate(LocalDateTime now, int limit);
+}
@@ -0,0 +1,36 @@
+package com.sems.reporting.domain.port.out;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Stores generated report files by key.
+ */
+public interface ReportStorage {
+
+    /**
+     * Stores whatever {@code writer} writes under {@code key}. The file only becomes visible
+     * once the writer returns; if it throws, nothing is stored and any previous file is kept.
+     */
+    void write(String key, ContentWriter writer);
+
+    /**
+     * @throws com.sems.reporting.application.exception.ResourceNotFoundException if nothing is stored under {@code key}
+     */
+    InputStream open(String key);
+
+    /**
+     * @throws com.sems.reporting.application.exception.ResourceNotFoundException if nothing is stored under {@code key}
+     */
+    long size(String key);
+
+    boolean exists(String key);
+
+    void delete(String key);
+
+    @FunctionalInterface
+    interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sems.reporting.domain.port.out;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the rows of one report table. Cells may be strings, numbers, dates, UUIDs or null.
+ * Closing completes the document; the underlying stream stays open.
+ */
+public interface ReportWriter extends Closeable {
+
+    void writeRow(List<?> cells) throws IOException;
+}
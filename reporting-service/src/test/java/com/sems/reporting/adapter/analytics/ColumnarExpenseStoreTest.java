@@ -0,0 +1,122 @@
+package com.sems.reporting.adapter.analytics;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarExpenseStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    private ColumnarExpenseStore store;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarExpenseStore();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void aggregate_ShouldGroupMatchingRows() {
+        store.upsert(expense(UUID.randomUUID(), "TRAVEL", "APPROVED", "12.50", DAY));
+        store.upsert(expense(UUID.randomUUID(), "TRAVEL", "APPROVED", "7.50", DAY.plusDays(1)));
+        store.upsert(expense(UUID.randomUUID(), "MEALS", "SUBMITTED", "4.25", DAY));
+        store.upsert(expense(UUID.randomUUID(), "MEALS", "APPROVED", "9.99", DAY.plusDays(30)));
+
+        List<ExpenseAggregate> result = store.aggregate(query(DAY, DAY.plusDays(1)),
+                List.of(ExpenseDimension.CATEGORY, ExpenseDimension.CURRENCY));
+
+        assertEquals(List.of(
+                new ExpenseAggregate(List.of("MEALS", "USD"), 1, new BigDecimal("4.25")),
+                new ExpenseAggregate(List.of("TRAVEL", "USD"), 2, new BigDecimal("20.00"))), result);
+    }
+
+    @Test
+    void upsert_ShouldReplaceExistingRow() {
+        UUID expenseId = UUID.randomUUID();
+        store.upsert(expense(expenseId, "TRAVEL", "SUBMITTED", "10.00", DAY));
+        store.upsert(expense(expenseId, "TRAVEL", "APPROVED", "12.00", DAY));
+
+        List<ExpenseAggregate> result = store.aggregate(query(DAY, DAY), List.of(ExpenseDimension.STATUS));
+
+        assertEquals(1, store.size());
+        assertEquals(List.of(new ExpenseAggregate(List.of("APPROVED"), 1, new BigDecimal("12.00"))), result);
+    }
+
+    @Test
+    void aggregate_ShouldApplyDimensionFilters() {
+        store.upsert(expense(UUID.randomUUID(), "TRAVEL", "APPROVED", "10.00", DAY));
+        store.upsert(expense(UUID.randomUUID(), "TRAVEL", "REJECTED", "5.00", DAY));
+
+        ExpenseQuery approved = query(DAY, DAY);
+        approved.setStatuses(List.of("APPROVED"));
+        ExpenseQuery otherUser = query(DAY, DAY);
+        otherUser.setUserIds(List.of(UUID.randomUUID()));
+
+        assertEquals(List.of(new ExpenseAggregate(List.of("TRAVEL"), 1, new BigDecimal("10.00"))),
+                store.aggregate(approved, List.of(ExpenseDimension.CATEGORY)));
+        assertTrue(store.aggregate(otherUser, List.of(ExpenseDimension.CATEGORY)).isEmpty());
+    }
+
+    @Test
+    void aggregate_ShouldKeepMissingValuesAsNull() {
+        store.upsert(expense(UUID.randomUUID(), "TRAVEL", "APPROVED", "10.00", DAY));
+
+        List<ExpenseAggregate> result = store.aggregate(query(DAY, DAY), List.of(ExpenseDimension.PROJECT));
+
+        assertEquals(List.of(new ExpenseAggregate(Arrays.asList((String) null), 1, new BigDecimal("10.00"))), result);
+    }
+
+    @Test
+    void sweep_ShouldRemoveRowsNotUpsertedSinceStart() {
+        UUID kept = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        store.upsert(expense(stale, "MEALS", "SUBMITTED", "1.00", DAY));
+        store.upsert(expense(kept, "TRAVEL", "SUBMITTED", "2.00", DAY));
+
+        store.startSweep();
+        store.upsert(expense(kept, "TRAVEL", "APPROVED", "3.00", DAY));
+        store.upsert(expense(added, "TRAVEL", "APPROVED", "4.00", DAY));
+
+        assertEquals(1, store.sweep());
+        assertEquals(2, store.size());
+        assertEquals(List.of(new ExpenseAggregate(List.of("TRAVEL"), 2, new BigDecimal("7.00"))),
+                store.aggregate(query(DAY, DAY), List.of(ExpenseDimension.CATEGORY)));
+
+        // Moved rows still resolve to their own slot
+        store.upsert(expense(added, "TRAVEL", "PAID", "5.00", DAY));
+        assertEquals(2, store.size());
+        assertEquals(List.of(new ExpenseAggregate(List.of("TRAVEL"), 2, new BigDecimal("8.00"))),
+                store.aggregate(query(DAY, DAY), List.of(ExpenseDimension.CATEGORY)));
+    }
+
+    @Test
+    void sweep_ShouldKeepEverythingWithoutStart() {
+        store.upsert(expense(UUID.randomUUID(), "MEALS", "SUBMITTED", "1.00", DAY));
+
+        assertEquals(0, store.sweep());
+        assertEquals(1, store.size());
+    }
+
+    private ExpenseQuery query(LocalDate from, LocalDate to) {
+        return ExpenseQuery.builder().dateFrom(from).dateTo(to).build();
+    }
+
+    private ExpenseRow expense(UUID id, String category, String status, String amount, LocalDate date) {
+        return new ExpenseRow(id, userId, null, null, "Expense", new BigDecimal(amount), "USD",
+                category, status, date, null, null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sems.reporting.adapter.render;
+
+import com.sems.reporting.domain.model.ReportLayout;
+import com.sems.reporting.domain.port.out.ReportWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReportRendererTest {
+
+    private final CsvReportRenderer renderer = new CsvReportRenderer();
+
+    @Test
+    void writeRow_NeutralizesFormulaPrefixes() throws IOException {
+        String csv = render(List.of("=1+1", "+1", "-1", "@SUM(A1)", "\t=cmd", "\r=cmd"));
+
+        assertEquals("'=1+1,'+1,'-1,'@SUM(A1),'\t=cmd,\"'\r=cmd\"\r\n", body(csv));
+    }
+
+    @Test
+    void writeRow_QuotesSeparatorsAndKeepsNumbersPlain() throws IOException {
+        String csv = render(Arrays.asList("Dinner, drinks", "say \"hi\"", new BigDecimal("1E+3"), 7, null));
+
+        assertEquals("\"Dinner, drinks\",\"say \"\"hi\"\"\",1000,7,\r\n", body(csv));
+    }
+
+    private static String body(String csv) {
+        return csv.substring(csv.indexOf("\r\n") + 2);
+    }
+
+    private String render(List<?> row) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = renderer.open(out, new ReportLayout("Expenses", List.of("a", "b", "c", "d", "e", "f")))) {
+            writer.writeRow(row);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sems.reporting.adapter.render;
+
+import com.sems.reporting.domain.model.ReportLayout;
+import com.sems.reporting.domain.port.out.ReportWriter;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfReportRendererTest {
+
+    private final PdfReportRenderer renderer = new PdfReportRenderer();
+
+    @Test
+    void writeRow_BreaksPagesAndRepeatsHeader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = renderer.open(out, new ReportLayout("Expenses", List.of("Title", "Amount")))) {
+            for (int i = 0; i < 100; i++) {
+                writer.writeRow(Arrays.asList("Taxi " + i, new BigDecimal("12.5")));
+            }
+        }
+
+        try (PDDocument document = Loader.loadPDF(out.toByteArray())) {
+            assertTrue(document.getNumberOfPages() > 1);
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(2);
+            stripper.setEndPage(2);
+            String secondPage = stripper.getText(document);
+            assertTrue(secondPage.contains("Expenses"));
+            assertTrue(secondPage.contains("Amount"));
+            assertTrue(secondPage.contains("Page 2"));
+            assertTrue(new PDFTextStripper().getText(document).contains("Taxi 99"));
+        }
+    }
+
+    @Test
+    void writeRow_ReplacesUnencodableCharactersAndTruncatesLongCells() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = renderer.open(out, new ReportLayout("Expenses", List.of("Title", "Amount")))) {
+            writer.writeRow(Arrays.asList("Taxi → airport 中", new BigDecimal("3.005")));
+            writer.writeRow(Arrays.asList("x".repeat(1000), null));
+        }
+
+        try (PDDocument document = Loader.loadPDF(out.toByteArray())) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("Taxi ? airport ?"), text);
+            assertTrue(text.contains("3.00"), text);
+            assertTrue(text.contains("..."), text);
+            assertFalse(text.contains("x".repeat(1000)));
+        }
+    }
+}
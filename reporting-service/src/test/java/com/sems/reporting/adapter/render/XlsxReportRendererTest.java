@@ -0,0 +1,55 @@
+package com.sems.reporting.adapter.render;
+
+import com.sems.reporting.domain.model.ReportLayout;
+import com.sems.reporting.domain.port.out.ReportWriter;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxReportRendererTest {
+
+    private final XlsxReportRenderer renderer = new XlsxReportRenderer(2);
+
+    @Test
+    void writeRow_KeepsHeaderAndTypedCellsBeyondWindow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = renderer.open(out, new ReportLayout("Expenses / Q1", List.of("Title", "Amount", "Date")))) {
+            for (int i = 0; i < 10; i++) {
+                writer.writeRow(Arrays.asList("Taxi " + i, new BigDecimal("12.50"), LocalDate.of(2024, 3, 1 + i)));
+            }
+            writer.writeRow(Arrays.asList("=HYPERLINK(\"x\")", null, null));
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(1, workbook.getNumberOfSheets());
+            Sheet sheet = workbook.getSheetAt(0);
+            // Sheet names can't contain a slash
+            assertEquals("Expenses   Q1", sheet.getSheetName());
+            assertEquals("Amount", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(11, sheet.getLastRowNum());
+
+            Row first = sheet.getRow(1);
+            assertEquals("Taxi 0", first.getCell(0).getStringCellValue());
+            assertEquals(12.5, first.getCell(1).getNumericCellValue());
+            assertEquals("#,##0.00", first.getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(LocalDate.of(2024, 3, 1), first.getCell(2).getLocalDateTimeCellValue().toLocalDate());
+
+            // Text is stored as a string cell, never as a formula
+            Row last = sheet.getRow(11);
+            assertEquals(CellType.STRING, last.getCell(0).getCellType());
+            assertEquals(CellType.BLANK, last.getCell(1).getCellType());
+        }
+    }
+}
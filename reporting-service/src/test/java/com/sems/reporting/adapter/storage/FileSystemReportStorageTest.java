@@ -0,0 +1,80 @@
+package com.sems.reporting.adapter.storage;
+
+import com.sems.reporting.application.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemReportStorageTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemReportStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemReportStorage(root.toString());
+    }
+
+    @Test
+    void write_StoresContentUnderKey() throws IOException {
+        storage.write("reports/2024/summary.csv", out -> out.write("a,b".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(storage.exists("reports/2024/summary.csv"));
+        assertEquals(3, storage.size("reports/2024/summary.csv"));
+        try (InputStream in = storage.open("reports/2024/summary.csv")) {
+            assertEquals("a,b", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void write_FailedWriterKeepsPreviousFileAndLeavesNoPartial() throws IOException {
+        storage.write("summary.csv", out -> out.write('1'));
+
+        assertThrows(IllegalStateException.class, () -> storage.write("summary.csv", out -> {
+            out.write('2');
+            throw new IllegalStateException("expense-service unavailable");
+        }));
+
+        assertEquals(1, storage.size("summary.csv"));
+        try (InputStream in = storage.open("summary.csv")) {
+            assertEquals('1', in.read());
+        }
+        try (Stream<Path> files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void openAndSize_MissingFileIsNotFound() {
+        assertFalse(storage.exists("missing.csv"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.open("missing.csv"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.size("missing.csv"));
+    }
+
+    @Test
+    void delete_MissingFileIsIgnored() {
+        storage.write("summary.csv", out -> out.write('1'));
+
+        storage.delete("summary.csv");
+        storage.delete("summary.csv");
+
+        assertFalse(storage.exists("summary.csv"));
+    }
+
+    @Test
+    void resolve_RejectsKeysOutsideRoot() {
+        assertThrows(IllegalArgumentException.class, () -> storage.open("../outside.csv"));
+        assertThrows(IllegalArgumentException.class, () -> storage.write("", out -> { }));
+    }
+}
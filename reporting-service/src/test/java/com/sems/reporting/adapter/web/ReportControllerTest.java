@@ -103,6 +103,7 @@ class ReportControllerTest {
         given(reportUseCase.createReport(
                 eq(createReportRequest.getName()),
                 eq(createReportRequest.getType()),
+                eq(createReportRequest.getFormat()),
                 eq(createReportRequest.getUserId()),
                 eq(createReportRequest.getParameters()),
                 eq(createReportRequest.getDateFrom()),
@@ -123,6 +124,7 @@ class ReportControllerTest {
         verify(reportUseCase).createReport(
                 eq(createReportRequest.getName()),
                 eq(createReportRequest.getType()),
+                eq(createReportRequest.getFormat()),
                 eq(createReportRequest.getUserId()),
                 eq(createReportRequest.getParameters()),
                 eq(createReportRequest.getDateFrom()),
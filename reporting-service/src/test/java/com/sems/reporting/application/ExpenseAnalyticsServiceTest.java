@@ -0,0 +1,151 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.adapter.analytics.ColumnarExpenseStore;
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseAnalyticsServiceTest {
+
+    private static final int HISTORY_DAYS = 365;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private ExpenseDataClient expenseDataClient;
+
+    private final ColumnarExpenseStore store = new ColumnarExpenseStore();
+
+    private ExpenseAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ExpenseAnalyticsService(store, expenseDataClient, new SimpleMeterRegistry(), true, HISTORY_DAYS, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void aggregate_EmptyUntilLoaded() {
+        assertTrue(service.aggregate(query(TODAY.minusDays(7)), List.of(ExpenseDimension.STATUS)).isEmpty());
+    }
+
+    @Test
+    void load_StreamsTrackedHistoryAndServesCoveredRanges() {
+        loads(List.of(row(UUID.randomUUID(), "APPROVED", "10.00"), row(UUID.randomUUID(), "SUBMITTED", "5.00")));
+
+        service.load();
+
+        ArgumentCaptor<ExpenseQuery> query = ArgumentCaptor.forClass(ExpenseQuery.class);
+        verify(expenseDataClient).streamExpensesInBackground(query.capture(), any());
+        assertEquals(TODAY.minusDays(HISTORY_DAYS), query.getValue().getDateFrom());
+        assertEquals(ExpenseAnalyticsService.TRACKED_STATUSES, query.getValue().getStatuses());
+
+        Optional<List<ExpenseAggregate>> covered = service.aggregate(query(TODAY.minusDays(HISTORY_DAYS)),
+                List.of(ExpenseDimension.STATUS));
+        assertEquals(2, covered.orElseThrow().size());
+        assertTrue(service.aggregate(query(TODAY.minusDays(HISTORY_DAYS + 1)), List.of(ExpenseDimension.STATUS)).isEmpty());
+    }
+
+    @Test
+    void load_FailureLeavesStoreUncovered() {
+        when(expenseDataClient.streamExpensesInBackground(any(), any())).thenThrow(new IllegalStateException("expense-service down"));
+
+        service.load();
+
+        assertTrue(service.aggregate(query(TODAY), List.of(ExpenseDimension.STATUS)).isEmpty());
+    }
+
+    @Test
+    void load_EventDuringLoadWinsOverSnapshot() {
+        UUID expenseId = UUID.randomUUID();
+        when(expenseDataClient.streamExpensesInBackground(any(), any())).thenAnswer(invocation -> {
+            Consumer<ExpenseRow> consumer = invocation.getArgument(1);
+            // Approved while the export was running, but the export still read the old state
+            service.apply(row(expenseId, "APPROVED", "10.00"), System.currentTimeMillis());
+            consumer.accept(row(expenseId, "SUBMITTED", "10.00"));
+            return 1L;
+        });
+
+        service.load();
+
+        assertEquals(List.of(new ExpenseAggregate(List.of("APPROVED"), 1, new BigDecimal("10.00"))),
+                service.aggregate(query(TODAY), List.of(ExpenseDimension.STATUS)).orElseThrow());
+    }
+
+    @Test
+    void apply_DropsEventsOlderThanSnapshotAndUntrackedStatuses() {
+        UUID expenseId = UUID.randomUUID();
+        loads(List.of(row(expenseId, "APPROVED", "10.00")));
+        service.load();
+
+        service.apply(row(expenseId, "SUBMITTED", "10.00"), System.currentTimeMillis() - 60_000);
+        service.apply(row(UUID.randomUUID(), "DRAFT", "3.00"), System.currentTimeMillis());
+
+        assertEquals(List.of(new ExpenseAggregate(List.of("APPROVED"), 1, new BigDecimal("10.00"))),
+                service.aggregate(query(TODAY), List.of(ExpenseDimension.STATUS)).orElseThrow());
+    }
+
+    @Test
+    void reload_RepairsDriftAndRemovesExpensesNoLongerExported() {
+        UUID drifted = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        UUID changedDuringReload = UUID.randomUUID();
+        loads(List.of(row(drifted, "SUBMITTED", "10.00"), row(deleted, "SUBMITTED", "5.00")));
+        service.load();
+
+        doAnswer(invocation -> {
+            Consumer<ExpenseRow> consumer = invocation.getArgument(1);
+            service.apply(row(changedDuringReload, "PAID", "1.00"), System.currentTimeMillis());
+            consumer.accept(row(drifted, "APPROVED", "10.00"));
+            return 1L;
+        }).when(expenseDataClient).streamExpensesInBackground(any(), any());
+        service.load();
+
+        assertEquals(2, store.size());
+        assertEquals(List.of(new ExpenseAggregate(List.of("APPROVED"), 1, new BigDecimal("10.00")),
+                        new ExpenseAggregate(List.of("PAID"), 1, new BigDecimal("1.00"))),
+                service.aggregate(query(TODAY), List.of(ExpenseDimension.STATUS)).orElseThrow());
+    }
+
+    private void loads(List<ExpenseRow> rows) {
+        when(expenseDataClient.streamExpensesInBackground(any(), any())).thenAnswer(invocation -> {
+            Consumer<ExpenseRow> consumer = invocation.getArgument(1);
+            rows.forEach(consumer);
+            return (long) rows.size();
+        });
+    }
+
+    private static ExpenseQuery query(LocalDate from) {
+        return ExpenseQuery.builder().dateFrom(from).dateTo(TODAY).build();
+    }
+
+    private static ExpenseRow row(UUID id, String status, String amount) {
+        return new ExpenseRow(id, UUID.randomUUID(), null, null, "Expense", new BigDecimal(amount), "EUR",
+                "TRAVEL", status, TODAY, null, null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.ExpenseAggregate;
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseFanOutCollectorTest {
+
+    private static final UUID SALES = UUID.randomUUID();
+    private static final UUID FINANCE = UUID.randomUUID();
+
+    @Mock
+    private ExpenseDataClient expenseDataClient;
+
+    private ExpenseFanOutCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new ExpenseFanOutCollector(expenseDataClient, new SimpleMeterRegistry(), 4, 3, 60000, 2, 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        collector.shutdown();
+    }
+
+    @Test
+    void slices_splitPerDepartmentAndCalendarMonth() {
+        List<ExpenseQuery> slices = collector.slices(query(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 10)));
+
+        assertEquals(6, slices.size());
+        assertEquals(LocalDate.of(2024, 1, 15), slices.get(0).getDateFrom());
+        assertEquals(LocalDate.of(2024, 1, 31), slices.get(0).getDateTo());
+        assertEquals(LocalDate.of(2024, 2, 1), slices.get(1).getDateFrom());
+        assertEquals(LocalDate.of(2024, 3, 10), slices.get(2).getDateTo());
+        assertEquals(List.of(SALES), slices.get(0).getDepartmentIds());
+        assertEquals(List.of(FINANCE), slices.get(3).getDepartmentIds());
+        assertEquals(List.of("APPROVED"), slices.get(5).getStatuses());
+    }
+
+    @Test
+    void slices_widenMonthsToStayWithinMaxSlices() {
+        ExpenseFanOutCollector bounded = new ExpenseFanOutCollector(expenseDataClient, new SimpleMeterRegistry(), 1, 1, 60000, 2, 8);
+        try {
+            List<ExpenseQuery> slices = bounded.slices(query(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+
+            assertTrue(slices.size() <= 8);
+            assertEquals(LocalDate.of(2024, 3, 31), slices.get(0).getDateTo());
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void aggregate_mergesSlicesAndRetriesFailedOnes() {
+        AtomicInteger failures = new AtomicInteger();
+        when(expenseDataClient.streamExpenses(any(ExpenseQuery.class), any())).thenAnswer(invocation -> {
+            ExpenseQuery slice = invocation.getArgument(0);
+            if (slice.getDepartmentIds().equals(List.of(FINANCE))
+                    && slice.getDateFrom().getMonthValue() == 2 && failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            Consumer<ExpenseRow> consumer = invocation.getArgument(1);
+            consumer.accept(expense("TRAVEL", "10.00"));
+            consumer.accept(expense("MEALS", "2.50"));
+            return 2L;
+        });
+
+        List<ExpenseAggregate> result = collector.aggregate(query(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 10)),
+                List.of(ExpenseDimension.CATEGORY), ReportProgress.NONE);
+
+        assertEquals(List.of(
+                new ExpenseAggregate(List.of("MEALS"), 6, new BigDecimal("15.00")),
+                new ExpenseAggregate(List.of("TRAVEL"), 6, new BigDecimal("60.00"))), result);
+        verify(expenseDataClient, times(7)).streamExpenses(any(ExpenseQuery.class), any());
+    }
+
+    @Test
+    void aggregate_failsOnceASliceUsesUpItsAttempts() {
+        when(expenseDataClient.streamExpenses(any(ExpenseQuery.class), any()))
+                .thenThrow(new IllegalStateException("expense-service unavailable"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> collector.aggregate(
+                query(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)), List.of(ExpenseDimension.CATEGORY),
+                ReportProgress.NONE));
+
+        assertTrue(error.getMessage().contains("after 2 attempts"));
+    }
+
+    private static ExpenseQuery query(LocalDate from, LocalDate to) {
+        return ExpenseQuery.builder()
+                .dateFrom(from)
+                .dateTo(to)
+                .departmentIds(List.of(SALES, FINANCE))
+                .statuses(List.of("APPROVED"))
+                .build();
+    }
+
+    private static ExpenseRow expense(String category, String amount) {
+        return new ExpenseRow(UUID.randomUUID(), UUID.randomUUID(), null, null, "Expense", new BigDecimal(amount), "USD",
+                category, "APPROVED", LocalDate.of(2024, 1, 20), null, LocalDateTime.of(2024, 1, 20, 9, 0));
+    }
+}
@@ -0,0 +1,163 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.ExpenseDimension;
+import com.sems.reporting.domain.model.ExpenseRollupKey;
+import com.sems.reporting.domain.model.ExpenseRow;
+import com.sems.reporting.domain.model.RollupDelta;
+import com.sems.reporting.domain.model.RollupMember;
+import com.sems.reporting.domain.model.RollupQuery;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import com.sems.reporting.domain.port.out.ExpenseRollupRepository;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private ExpenseRollupRepository rollupRepository;
+
+    @Mock
+    private ExpenseDataClient expenseDataClient;
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExpenseRollupService rollupService;
+    private UUID expenseId;
+    private UUID departmentId;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new ExpenseRollupService(rollupRepository, expenseDataClient, jobLockRepository,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), 500, 5000, 2, 300000);
+        expenseId = UUID.randomUUID();
+        departmentId = UUID.randomUUID();
+    }
+
+    @Test
+    void apply_ShouldMoveExpenseToItsNewCell() {
+        ExpenseRollupKey submitted = key("SUBMITTED");
+        when(rollupRepository.findMembersForUpdate(anyCollection())).thenReturn(Map.of(expenseId,
+                new RollupMember(expenseId, submitted, new BigDecimal("10.00"), 100)));
+
+        rollupService.apply(expense("APPROVED"), 200);
+
+        verify(rollupRepository).applyDeltas(Map.of(
+                submitted, new RollupDelta(-1, new BigDecimal("-10.00")),
+                key("APPROVED"), new RollupDelta(1, new BigDecimal("10.00"))));
+        verify(rollupRepository).saveMembers(argThat(members -> members.size() == 1
+                && members.iterator().next().version() == 200));
+    }
+
+    @Test
+    void apply_ShouldIgnoreOutdatedEvent() {
+        when(rollupRepository.findMembersForUpdate(anyCollection())).thenReturn(Map.of(expenseId,
+                new RollupMember(expenseId, key("APPROVED"), new BigDecimal("10.00"), 200)));
+
+        rollupService.apply(expense("SUBMITTED"), 150);
+
+        verify(rollupRepository).applyDeltas(Map.of());
+        verify(rollupRepository).saveMembers(argThat(members -> members.isEmpty()));
+    }
+
+    @Test
+    void apply_ShouldIgnoreDrafts() {
+        rollupService.apply(expense("DRAFT"), 100);
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void apply_ShouldRetryAfterDeadlock() {
+        when(rollupRepository.findMembersForUpdate(anyCollection()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .thenReturn(Map.of());
+
+        rollupService.apply(expense("SUBMITTED"), 100);
+
+        verify(rollupRepository, times(2)).findMembersForUpdate(anyCollection());
+        verify(rollupRepository).applyDeltas(Map.of(key("SUBMITTED"), new RollupDelta(1, new BigDecimal("10.00"))));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void apply_ShouldGiveUpAfterLockRetries() {
+        when(rollupRepository.findMembersForUpdate(anyCollection()))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+
+        assertThrows(CannotAcquireLockException.class, () -> rollupService.apply(expense("SUBMITTED"), 100));
+        verify(rollupRepository, times(3)).findMembersForUpdate(anyCollection());
+        verify(rollupRepository, never()).applyDeltas(any());
+    }
+
+    @Test
+    void startBackfill_ShouldRejectWhileAnotherInstanceHoldsTheLease() {
+        when(jobLockRepository.tryLease(eq(ExpenseRollupService.BACKFILL_LOCK), anyString(), any()))
+                .thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> rollupService.startBackfill(DAY, DAY));
+        assertThrows(IllegalStateException.class, () -> rollupService.startBackfill(DAY, DAY));
+        verify(jobLockRepository, times(2)).tryLease(any(), any(), any());
+        verifyNoInteractions(expenseDataClient);
+    }
+
+    @Test
+    void startBackfill_ShouldReleaseTheLeaseWhenDone() {
+        when(jobLockRepository.tryLease(eq(ExpenseRollupService.BACKFILL_LOCK), anyString(), any()))
+                .thenReturn(true);
+        when(expenseDataClient.streamExpensesInBackground(any(), any())).thenReturn(0L);
+
+        rollupService.startBackfill(DAY, DAY);
+
+        verify(jobLockRepository, timeout(5000)).releaseLease(eq(ExpenseRollupService.BACKFILL_LOCK), anyString());
+        rollupService.shutdown();
+    }
+
+    @Test
+    void query_ShouldRejectUserDimension() {
+        RollupQuery query = RollupQuery.builder()
+                .dateFrom(DAY)
+                .dateTo(DAY)
+                .groupBy(List.of(ExpenseDimension.USER))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> rollupService.query(query));
+        verify(rollupRepository, never()).aggregate(any());
+    }
+
+    private ExpenseRollupKey key(String status) {
+        return new ExpenseRollupKey(DAY, departmentId, null, "TRAVEL", status, "USD");
+    }
+
+    private ExpenseRow expense(String status) {
+        return new ExpenseRow(expenseId, UUID.randomUUID(), departmentId, null, "Taxi", new BigDecimal("10"),
+                "USD", "TRAVEL", status, DAY, null, null);
+    }
+}
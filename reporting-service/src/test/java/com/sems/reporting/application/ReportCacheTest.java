@@ -0,0 +1,183 @@
+package com.sems.reporting.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseWatermark;
+import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportCacheEntry;
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportStatus;
+import com.sems.reporting.domain.model.ReportType;
+import com.sems.reporting.domain.port.out.ExpenseDataClient;
+import com.sems.reporting.domain.port.out.ReportCacheRepository;
+import com.sems.reporting.domain.port.out.ReportRepository;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCacheTest {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Mock
+    private ReportCacheRepository cacheRepository;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportStorage reportStorage;
+
+    @Mock
+    private ExpenseDataClient expenseDataClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportCache reportCache;
+    private UUID userId;
+    private ExpenseWatermark watermark;
+
+    @BeforeEach
+    void setUp() {
+        reportCache = new ReportCache(cacheRepository, reportRepository, reportStorage, expenseDataClient,
+                new TransactionTemplate(transactionManager), new ObjectMapper(), new SimpleMeterRegistry(),
+                true, 1024, 60000);
+        userId = UUID.randomUUID();
+        watermark = new ExpenseWatermark(42, MONTH_START.minusDays(1));
+    }
+
+    @Test
+    void fingerprint_ShouldIgnoreParameterFormatting() {
+        assertEquals(reportCache.fingerprint(report("{\"b\": 1, \"a\": [1, 2]}")),
+                reportCache.fingerprint(report("{\"a\":[1,2],\"b\":1}")));
+        assertNotEquals(reportCache.fingerprint(report("{\"a\":[1,2]}")),
+                reportCache.fingerprint(report("{\"a\":[2,1]}")));
+    }
+
+    @Test
+    void complete_WhenWatermarkUnchanged_ShouldReuseCachedFile() {
+        Report report = report(null);
+        when(cacheRepository.findByFingerprint(anyString())).thenReturn(Optional.of(entry(watermark)));
+        when(cacheRepository.findByFingerprintForUpdate(anyString())).thenReturn(Optional.of(entry(watermark)));
+        when(expenseDataClient.watermark(any(ExpenseQuery.class))).thenReturn(watermark);
+        when(reportStorage.exists("reports/cached.csv")).thenReturn(true);
+        when(reportRepository.save(any(Report.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Optional<Report> result = reportCache.complete(report, new ExpenseQuery());
+
+        assertTrue(result.isPresent());
+        assertEquals(ReportStatus.COMPLETED, result.get().getStatus());
+        assertEquals("reports/cached.csv", result.get().getGeneratedFilePath());
+    }
+
+    @Test
+    void completeQueued_WhenJobAlreadyClaimedReport_ShouldMiss() {
+        Report report = report(null);
+        when(cacheRepository.findByFingerprint(anyString())).thenReturn(Optional.of(entry(watermark)));
+        when(cacheRepository.findByFingerprintForUpdate(anyString())).thenReturn(Optional.of(entry(watermark)));
+        when(expenseDataClient.watermark(any(ExpenseQuery.class))).thenReturn(watermark);
+        when(reportStorage.exists("reports/cached.csv")).thenReturn(true);
+        when(reportRepository.completeQueued(eq(report.getId()), eq("reports/cached.csv"), any())).thenReturn(false);
+
+        assertTrue(reportCache.completeQueued(report, new ExpenseQuery()).isEmpty());
+        verify(cacheRepository, never()).touch(anyString(), any());
+        verify(reportRepository, never()).save(any());
+    }
+
+    @Test
+    void complete_WhenDataChanged_ShouldMiss() {
+        when(cacheRepository.findByFingerprint(anyString())).thenReturn(Optional.of(entry(watermark)));
+        when(cacheRepository.findByFingerprintForUpdate(anyString())).thenReturn(Optional.of(entry(watermark)));
+        when(expenseDataClient.watermark(any(ExpenseQuery.class)))
+                .thenReturn(new ExpenseWatermark(43, MONTH_START));
+
+        assertTrue(reportCache.complete(report(null), new ExpenseQuery()).isEmpty());
+        verify(reportRepository, never()).save(any());
+    }
+
+    @Test
+    void store_WhenFileLargerThanBudget_ShouldNotCacheOrDeleteIt() {
+        when(reportStorage.size("reports/new.csv")).thenReturn(2048L);
+
+        reportCache.store(report(null), "reports/new.csv", watermark, MONTH_START);
+
+        verify(cacheRepository, never()).save(any());
+        verify(reportStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void store_ShouldNeverEvictTheEntryJustStored() {
+        Report report = report(null);
+        String fingerprint = reportCache.fingerprint(report);
+        ReportCacheEntry older = entry(watermark);
+        ReportCacheEntry stored = ReportCacheEntry.builder()
+                .fingerprint(fingerprint)
+                .watermark(watermark.token())
+                .storageKey("reports/new.csv")
+                .sizeBytes(1000)
+                .build();
+        when(reportStorage.size("reports/new.csv")).thenReturn(1000L);
+        when(cacheRepository.findByFingerprintForUpdate(fingerprint)).thenReturn(Optional.empty());
+        when(cacheRepository.totalSize()).thenReturn(1100L, 1100L, 1000L);
+        when(cacheRepository.findLeastRecentlyUsedForUpdate(anyInt())).thenReturn(List.of(stored, older));
+
+        reportCache.store(report, "reports/new.csv", watermark, MONTH_START);
+
+        verify(cacheRepository).delete("fingerprint");
+        verify(cacheRepository, never()).delete(fingerprint);
+        verify(reportStorage).delete("reports/cached.csv");
+        verify(reportStorage, never()).delete("reports/new.csv");
+    }
+
+    @Test
+    void release_WhenFileStillReferenced_ShouldKeepIt() {
+        when(reportRepository.existsByGeneratedFilePath("reports/cached.csv")).thenReturn(true);
+
+        reportCache.release("reports/cached.csv");
+
+        verify(reportStorage, never()).delete(anyString());
+    }
+
+    private ReportCacheEntry entry(ExpenseWatermark watermark) {
+        return ReportCacheEntry.builder()
+                .fingerprint("fingerprint")
+                .watermark(watermark.token())
+                .storageKey("reports/cached.csv")
+                .sizeBytes(100)
+                .build();
+    }
+
+    private Report report(String parameters) {
+        return Report.builder()
+                .id(UUID.randomUUID())
+                .name("Month end")
+                .type(ReportType.EXPENSE_SUMMARY)
+                .format(ReportFormat.CSV)
+                .status(ReportStatus.QUEUED)
+                .userId(userId)
+                .parameters(parameters)
+                .dateFrom(MONTH_START)
+                .dateTo(MONTH_START.plusMonths(1).minusSeconds(1))
+                .build();
+    }
+}
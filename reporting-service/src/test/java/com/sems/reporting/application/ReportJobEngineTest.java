@@ -0,0 +1,105 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportStatus;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import com.sems.reporting.domain.port.out.ReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobEngineTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportJobEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        engine = new ReportJobEngine(reportRepository, reportService, jobLockRepository,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), 4, 2, 16, 3, 120000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void poll_CountsAndClaimsUnderClusterLock() {
+        when(reportRepository.countByStatus(ReportStatus.PROCESSING)).thenReturn(0L);
+        when(reportRepository.findQueuedForUpdate(anyInt())).thenReturn(List.of());
+
+        engine.poll();
+
+        InOrder inOrder = inOrder(jobLockRepository, reportRepository);
+        inOrder.verify(jobLockRepository).lock("report-job-claim");
+        inOrder.verify(reportRepository).countByStatus(ReportStatus.PROCESSING);
+        inOrder.verify(reportRepository).findQueuedForUpdate(anyInt());
+    }
+
+    @Test
+    void poll_SkipsUsersAtTheirLimit() {
+        UUID busyUser = UUID.randomUUID();
+        UUID idleUser = UUID.randomUUID();
+        Report first = queued(busyUser);
+        Report second = queued(busyUser);
+        Report other = queued(idleUser);
+        when(reportRepository.countByStatus(ReportStatus.PROCESSING)).thenReturn(1L);
+        when(reportRepository.findQueuedForUpdate(anyInt())).thenReturn(List.of(first, second, other));
+        when(reportRepository.countProcessingByUser(any())).thenReturn(Map.of(busyUser, 1L));
+
+        engine.poll();
+
+        verify(reportRepository).markClaimed(eq(first.getId()), anyString(), any());
+        verify(reportRepository, never()).markClaimed(eq(second.getId()), anyString(), any());
+        verify(reportRepository).markClaimed(eq(other.getId()), anyString(), any());
+    }
+
+    @Test
+    void poll_StopsAtGlobalLimit() {
+        when(reportRepository.countByStatus(ReportStatus.PROCESSING)).thenReturn(16L);
+
+        engine.poll();
+
+        verify(jobLockRepository).lock("report-job-claim");
+        verify(reportRepository, never()).findQueuedForUpdate(anyInt());
+    }
+
+    private static Report queued(UUID userId) {
+        return Report.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(ReportStatus.QUEUED)
+                .build();
+    }
+}
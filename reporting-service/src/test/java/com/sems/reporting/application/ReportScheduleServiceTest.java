@@ -0,0 +1,143 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.application.exception.ResourceNotFoundException;
+import com.sems.reporting.domain.model.ReportPeriod;
+import com.sems.reporting.domain.model.ReportSchedule;
+import com.sems.reporting.domain.model.ReportType;
+import com.sems.reporting.domain.port.out.ReportScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportScheduleServiceTest {
+
+    private static final Duration MAX_JITTER = Duration.ofMinutes(15);
+
+    @Mock
+    private ReportScheduleRepository scheduleRepository;
+
+    private ReportScheduleService scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = new ReportScheduleService(scheduleRepository, MAX_JITTER.toMillis());
+    }
+
+    @Test
+    void nextRunAt_jittersWithinWindowAndIsStable() {
+        String zone = ZoneId.systemDefault().getId();
+        LocalDateTime after = LocalDateTime.of(2024, 3, 4, 10, 0);
+        LocalDateTime nominal = LocalDateTime.of(2024, 3, 11, 9, 0);
+
+        Set<LocalDateTime> runs = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            ReportSchedule schedule = schedule("0 9 * * MON", zone);
+            LocalDateTime next = scheduleService.nextRunAt(schedule, after);
+
+            assertFalse(next.isBefore(nominal));
+            assertTrue(next.isBefore(nominal.plus(MAX_JITTER)));
+            assertEquals(next, scheduleService.nextRunAt(schedule, after));
+            runs.add(next);
+        }
+        // Schedules sharing a cron time are spread out rather than dispatched together
+        assertTrue(runs.size() > 10);
+    }
+
+    @Test
+    void nextRunAt_keepsJitterWithinHalfTheGapForFrequentSchedules() {
+        LocalDateTime after = LocalDateTime.of(2024, 3, 4, 10, 1);
+
+        LocalDateTime next = scheduleService.nextRunAt(schedule("*/10 * * * *", ZoneId.systemDefault().getId()), after);
+
+        LocalDateTime nominal = LocalDateTime.of(2024, 3, 4, 10, 10);
+        assertFalse(next.isBefore(nominal));
+        assertTrue(next.isBefore(nominal.plusMinutes(5)));
+    }
+
+    @Test
+    void nominalRunAt_undoesJitterPastMidnight() {
+        ReportSchedule schedule = schedule("55 23 * * *", ZoneId.systemDefault().getId());
+
+        LocalDateTime nominal = scheduleService.nominalRunAt(schedule, LocalDateTime.of(2024, 3, 5, 0, 5));
+
+        assertEquals(LocalDateTime.of(2024, 3, 4, 23, 55), nominal);
+    }
+
+    @Test
+    void nominalRunAt_matchesNextRunAtForFrequentSchedules() {
+        ReportSchedule schedule = schedule("*/10 * * * *", ZoneId.systemDefault().getId());
+        LocalDateTime after = LocalDateTime.of(2024, 3, 4, 10, 1);
+
+        LocalDateTime next = scheduleService.nextRunAt(schedule, after);
+
+        assertEquals(LocalDateTime.of(2024, 3, 4, 10, 10), scheduleService.nominalRunAt(schedule, next));
+    }
+
+    @Test
+    void getScheduleById_notFoundForUnknownSchedule() {
+        UUID id = UUID.randomUUID();
+        when(scheduleRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> scheduleService.getScheduleById(id));
+    }
+
+    @Test
+    void createSchedule_rejectsInvalidCron() {
+        ReportSchedule schedule = schedule("every monday", "UTC");
+
+        assertThrows(IllegalArgumentException.class, () -> scheduleService.createSchedule(schedule));
+        verify(scheduleRepository, never()).save(any());
+    }
+
+    @Test
+    void createSchedule_setsFirstRunAndNormalisesRecipients() {
+        when(scheduleRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ReportSchedule schedule = schedule("0 8 1 * *", "Europe/Berlin");
+        schedule.setRecipients(List.of(" finance@example.com", "finance@example.com", "cfo@example.com "));
+
+        ReportSchedule created = scheduleService.createSchedule(schedule);
+
+        assertTrue(created.isEnabled());
+        assertNotNull(created.getId());
+        assertTrue(created.getNextRunAt().isAfter(LocalDateTime.now()));
+        assertEquals(List.of("finance@example.com", "cfo@example.com"), created.getRecipients());
+    }
+
+    @Test
+    void previousWeek_coversMondayToSunday() {
+        ReportPeriod.Range range = ReportPeriod.PREVIOUS_WEEK.range(LocalDate.of(2024, 3, 13));
+
+        assertEquals(LocalDate.of(2024, 3, 4), range.from());
+        assertEquals(LocalDate.of(2024, 3, 10), range.to());
+    }
+
+    private static ReportSchedule schedule(String cron, String zone) {
+        return ReportSchedule.builder()
+                .id(UUID.randomUUID())
+                .name("Weekly spend")
+                .type(ReportType.EXPENSE_SUMMARY)
+                .userId(UUID.randomUUID())
+                .cron(cron)
+                .timeZone(zone)
+                .period(ReportPeriod.PREVIOUS_WEEK)
+                .recipients(List.of("finance@example.com"))
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.sems.reporting.application;
+
+import com.sems.reporting.domain.model.DeliveryStatus;
+import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportDelivery;
+import com.sems.reporting.domain.model.ReportFormat;
+import com.sems.reporting.domain.model.ReportPeriod;
+import com.sems.reporting.domain.model.ReportSchedule;
+import com.sems.reporting.domain.model.ReportStatus;
+import com.sems.reporting.domain.model.ReportType;
+import com.sems.reporting.domain.port.out.JobLockRepository;
+import com.sems.reporting.domain.port.out.ReportDeliveryPublisher;
+import com.sems.reporting.domain.port.out.ReportRepository;
+import com.sems.reporting.domain.port.out.ReportScheduleRepository;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSchedulerTest {
+
+    @Mock
+    private ReportScheduleRepository scheduleRepository;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReportStorage reportStorage;
+
+    @Mock
+    private ReportDeliveryPublisher deliveryPublisher;
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReportScheduleService scheduleService = new ReportScheduleService(scheduleRepository, 900_000);
+        scheduler = new ReportScheduler(scheduleRepository, reportRepository, scheduleService, reportService,
+                reportStorage, deliveryPublisher, jobLockRepository, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(), 4, 10);
+    }
+
+    @Test
+    void dispatch_ShouldTakePeriodFromCronOccurrenceNotJitteredRun() {
+        ReportSchedule schedule = schedule();
+        // 23:55 jittered past midnight
+        schedule.setNextRunAt(LocalDateTime.of(2024, 3, 5, 0, 5));
+        when(reportRepository.countActiveScheduled()).thenReturn(0L);
+        when(scheduleRepository.findDueForUpdate(any(), anyInt())).thenReturn(List.of(schedule));
+        when(reportRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        scheduler.dispatch();
+
+        ArgumentCaptor<Report> report = ArgumentCaptor.forClass(Report.class);
+        verify(reportRepository).save(report.capture());
+        assertEquals(ReportStatus.QUEUED, report.getValue().getStatus());
+        assertEquals(LocalDate.of(2024, 3, 3).atStartOfDay(), report.getValue().getDateFrom());
+        assertEquals(LocalDate.of(2024, 3, 3).atStartOfDay(), report.getValue().getDateTo());
+        assertEquals(schedule.getId(), report.getValue().getScheduleId());
+        assertEquals(report.getValue().getId(), schedule.getLastReportId());
+        assertTrue(schedule.getNextRunAt().isAfter(LocalDateTime.of(2024, 3, 5, 0, 5)));
+        verify(scheduleRepository).save(schedule);
+        verify(reportService).completeFromCache(report.getValue());
+    }
+
+    @Test
+    void dispatch_ShouldCountAndClaimUnderLockThenCheckCacheAfterCommit() {
+        ReportSchedule schedule = schedule();
+        schedule.setNextRunAt(LocalDateTime.of(2024, 3, 4, 23, 55));
+        when(reportRepository.countActiveScheduled()).thenReturn(3L);
+        when(scheduleRepository.findDueForUpdate(any(), eq(1))).thenReturn(List.of(schedule));
+        when(reportRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        scheduler.dispatch();
+
+        InOrder order = inOrder(jobLockRepository, reportRepository, transactionManager, reportService);
+        order.verify(jobLockRepository).lock(anyString());
+        order.verify(reportRepository).countActiveScheduled();
+        order.verify(transactionManager).commit(any());
+        order.verify(reportService).completeFromCache(any());
+        verify(reportService, never()).submit(any());
+    }
+
+    @Test
+    void dispatch_ShouldWaitWhileScheduledReportsAreOutstanding() {
+        when(reportRepository.countActiveScheduled()).thenReturn(4L);
+
+        scheduler.dispatch();
+
+        verify(jobLockRepository).lock(anyString());
+        verifyNoInteractions(scheduleRepository, reportService);
+    }
+
+    @Test
+    void deliver_ShouldPublishAndMarkSent() {
+        ReportSchedule schedule = schedule();
+        Report report = report(schedule.getId());
+        when(reportRepository.findPendingDeliveryForUpdate(10)).thenReturn(List.of(report));
+        when(scheduleRepository.findById(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(reportStorage.size(report.getGeneratedFilePath())).thenReturn(42L);
+
+        scheduler.deliver();
+
+        ArgumentCaptor<ReportDelivery> delivery = ArgumentCaptor.forClass(ReportDelivery.class);
+        verify(deliveryPublisher).publish(delivery.capture());
+        assertEquals(List.of("finance@example.com"), delivery.getValue().recipients());
+        assertEquals("summary.csv", delivery.getValue().fileName());
+        assertEquals(42L, delivery.getValue().sizeBytes());
+        verify(reportRepository).markDelivery(report.getId(), DeliveryStatus.SENT);
+    }
+
+    @Test
+    void deliver_ShouldLeaveReportPendingWhenPublishFails() {
+        ReportSchedule schedule = schedule();
+        Report report = report(schedule.getId());
+        when(reportRepository.findPendingDeliveryForUpdate(10)).thenReturn(List.of(report));
+        when(scheduleRepository.findById(schedule.getId())).thenReturn(Optional.of(schedule));
+        doThrow(new IllegalStateException("Kafka unavailable")).when(deliveryPublisher).publish(any());
+
+        scheduler.deliver();
+
+        verify(reportRepository, never()).markDelivery(any(), any());
+    }
+
+    @Test
+    void deliver_ShouldSkipReportOfDeletedSchedule() {
+        Report report = report(UUID.randomUUID());
+        when(reportRepository.findPendingDeliveryForUpdate(10)).thenReturn(List.of(report));
+        when(scheduleRepository.findById(report.getScheduleId())).thenReturn(Optional.empty());
+
+        scheduler.deliver();
+
+        verifyNoInteractions(deliveryPublisher);
+        verify(reportRepository).markDelivery(report.getId(), DeliveryStatus.SKIPPED);
+    }
+
+    private static ReportSchedule schedule() {
+        return ReportSchedule.builder()
+                .id(UUID.randomUUID())
+                .name("Daily spend")
+                .type(ReportType.EXPENSE_SUMMARY)
+                .format(ReportFormat.CSV)
+                .userId(UUID.randomUUID())
+                .cron("55 23 * * *")
+                .timeZone(ZoneId.systemDefault().getId())
+                .period(ReportPeriod.PREVIOUS_DAY)
+                .recipients(List.of("finance@example.com"))
+                .enabled(true)
+                .build();
+    }
+
+    private static Report report(UUID scheduleId) {
+        return Report.builder()
+                .id(UUID.randomUUID())
+                .name("Daily spend 2024-03-03 to 2024-03-03")
+                .type(ReportType.EXPENSE_SUMMARY)
+                .format(ReportFormat.CSV)
+                .status(ReportStatus.COMPLETED)
+                .generatedFilePath("reports/summary.csv")
+                .dateFrom(LocalDate.of(2024, 3, 3).atStartOfDay())
+                .dateTo(LocalDate.of(2024, 3, 3).atStartOfDay())
+                .scheduleId(scheduleId)
+                .deliveryStatus(DeliveryStatus.PENDING)
+                .build();
+    }
+}
@@ -1,22 +1,34 @@
 package com.sems.reporting.application;
 
+import com.sems.reporting.adapter.render.CsvReportRenderer;
+import com.sems.reporting.domain.model.ExpenseQuery;
+import com.sems.reporting.domain.model.ExpenseRow;
 import com.sems.reporting.domain.model.Report;
+import com.sems.reporting.domain.model.ReportFile;
+import com.sems.reporting.domain.model.ReportFormat;
 import com.sems.reporting.domain.model.ReportStatus;
 import com.sems.reporting.domain.model.ReportType;
 import com.sems.reporting.domain.port.out.ExpenseDataClient;
 import com.sems.reporting.domain.port.out.ReportRepository;
+import com.sems.reporting.domain.port.out.ReportStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +40,15 @@ class ReportServiceTest {
     @Mock
     private ExpenseDataClient expenseDataClient;
 
-    @InjectMocks
+    @Mock
+    private ExpenseAnalyticsService analyticsService;
+
+    @Mock
+    private ReportStorage reportStorage;
+
+    @Mock
+    private ReportCache reportCache;
+
     private ReportService reportService;
 
     private UUID reportId;
@@ -39,6 +59,9 @@ class ReportServiceTest {
 
     @BeforeEach
     void setUp() {
+        reportService = new ReportService(reportRepository, expenseDataClient, analyticsService, reportStorage, reportCache,
+                new ExpenseFanOutCollector(expenseDataClient, new SimpleMeterRegistry(), 2, 2, 60000, 2, 256),
+                List.of(new CsvReportRenderer()));
         reportId = UUID.randomUUID();
         userId = UUID.randomUUID();
         startDate = LocalDateTime.now().minusDays(30);
@@ -66,7 +89,7 @@ class ReportServiceTest {
         when(reportRepository.save(any(Report.class))).thenReturn(testReport);
 
         // When
-        Report result = reportService.createReport(name, type, userId, parameters, startDate, endDate);
+        Report result = reportService.createReport(name, type, null, userId, parameters, startDate, endDate);
 
         // Then
         assertNotNull(result);
@@ -86,12 +109,13 @@ class ReportServiceTest {
         when(reportRepository.save(any(Report.class))).thenAnswer(i -> i.getArgument(0));
 
         // When
-        Report result = reportService.createReport(name, type, userId, parameters, startDate, endDate);
+        Report result = reportService.createReport(name, type, null, userId, parameters, startDate, endDate);
 
         // Then
         assertNotNull(result);
         assertEquals(name, result.getName());
         assertEquals(ReportType.CUSTOM, result.getType());
+        assertEquals(ReportFormat.PDF, result.getFormat());
         verify(reportRepository, times(1)).save(any(Report.class));
     }
 
@@ -140,25 +164,97 @@ class ReportServiceTest {
     }
 
     @Test
-    void generateReport_ShouldUpdateReportStatus() {
+    void generateReport_ShouldRequeueFinishedReport() {
         // Given
-        Report processingReport = new Report();
-        processingReport.setId(reportId);
-        processingReport.setType(ReportType.EXPENSE_SUMMARY);
-        processingReport.setStatus(ReportStatus.PROCESSING);
-        
+        testReport.setStatus(ReportStatus.FAILED);
+        testReport.setErrorMessage("boom");
         when(reportRepository.findById(reportId)).thenReturn(Optional.of(testReport));
-        when(reportRepository.save(any(Report.class))).thenReturn(processingReport);
-        when(expenseDataClient.getExpensesByUserAndDateRange(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(reportRepository.save(any(Report.class))).thenAnswer(i -> i.getArgument(0));
 
         // When
         reportService.generateReport(reportId);
 
         // Then
-        verify(reportRepository, times(1)).findById(reportId);
-        verify(reportRepository, times(2)).save(any(Report.class)); // Once for PROCESSING and once for COMPLETED
-        verify(expenseDataClient, times(1)).getExpensesByUserAndDateRange(any(), any(), any());
+        assertEquals(ReportStatus.QUEUED, testReport.getStatus());
+        assertNull(testReport.getErrorMessage());
+        verify(reportRepository, times(1)).save(testReport);
+        verifyNoInteractions(expenseDataClient);
+    }
+
+    @Test
+    void generateReport_WhenAlreadyQueued_ShouldNotSave() {
+        // Given
+        when(reportRepository.findById(reportId)).thenReturn(Optional.of(testReport));
+
+        // When
+        reportService.generateReport(reportId);
+
+        // Then
+        verify(reportRepository, never()).save(any(Report.class));
+    }
+
+    @Test
+    void executeReport_ShouldRenderSummaryIntoStorage() {
+        // Given
+        testReport.setFormat(ReportFormat.CSV);
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            invocation.<ReportStorage.ContentWriter>getArgument(1).write(stored);
+            return null;
+        }).when(reportStorage).write(anyString(), any());
+        when(expenseDataClient.streamExpenses(any(ExpenseQuery.class), any())).thenAnswer(invocation -> {
+            Consumer<ExpenseRow> consumer = invocation.getArgument(1);
+            consumer.accept(expense("TRAVEL", "12.50"));
+            consumer.accept(expense("TRAVEL", "7.50"));
+            consumer.accept(expense("MEALS", "4.25"));
+            return 3L;
+        });
+
+        // When
+        String filePath = reportService.executeReport(testReport, ReportProgress.NONE);
+
+        // Then
+        assertTrue(filePath.matches("reports/" + reportId + "_expense_summary_[0-9a-f-]{36}\\.csv"), filePath);
+        assertEquals("Category,Currency,Expenses,Total\r\n"
+                + "MEALS,USD,1,4.25\r\n"
+                + "TRAVEL,USD,2,20.00\r\n"
+                + "All categories,USD,3,24.25\r\n", stored.toString(StandardCharsets.UTF_8));
+        verify(expenseDataClient, times(1)).streamExpenses(
+                argThat(query -> query.getUserIds().equals(List.of(userId))), any());
+        verify(reportRepository, never()).save(any(Report.class));
+    }
+
+    @Test
+    void executeReport_ShouldWriteEachGenerationToItsOwnFile() {
+        // Given
+        testReport.setFormat(ReportFormat.CSV);
+
+        // When
+        String first = reportService.executeReport(testReport, ReportProgress.NONE);
+        String second = reportService.executeReport(testReport, ReportProgress.NONE);
+
+        // Then
+        assertNotEquals(first, second);
+        verify(reportStorage).write(eq(first), any());
+        verify(reportStorage).write(eq(second), any());
+    }
+
+    @Test
+    void downloadReport_ShouldNameFileAfterReport() {
+        // Given
+        testReport.setFormat(ReportFormat.CSV);
+        testReport.setStatus(ReportStatus.COMPLETED);
+        String key = "reports/" + reportId + "_expense_summary_" + UUID.randomUUID() + ".csv";
+        testReport.setGeneratedFilePath(key);
+        when(reportRepository.findById(reportId)).thenReturn(Optional.of(testReport));
+        when(reportStorage.size(key)).thenReturn(3L);
+
+        // When
+        ReportFile file = reportService.downloadReport(reportId);
+
+        // Then
+        assertEquals(reportId + "_expense_summary.csv", file.fileName());
+        assertEquals(3L, file.size());
     }
 
     @Test
@@ -188,4 +284,9 @@ class ReportServiceTest {
         // Then
         verify(reportRepository, times(1)).delete(reportId);
     }
-} 
\ No newline at end of file
+
+    private ExpenseRow expense(String category, String amount) {
+        return new ExpenseRow(UUID.randomUUID(), userId, null, null, "Expense", new BigDecimal(amount), "USD",
+                category, "APPROVED", startDate.toLocalDate(), null, startDate);
+    }
+}
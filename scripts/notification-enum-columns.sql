@@ -0,0 +1,15 @@
+-- One-time fix for sems_notification databases created before notifications.type and
+-- notifications.status were mapped to varchar. Hibernate generated them as MySQL ENUM
+-- columns, which ddl-auto=update never widens, so rows with a newer constant such as
+-- status SENDING or type EXPENSE_DIGEST fail to insert. Run before deploying the release
+-- that introduces them; the statements are safe to repeat.
+
+USE sems_notification;
+
+ALTER TABLE notifications
+    MODIFY COLUMN type VARCHAR(32) NOT NULL,
+    MODIFY COLUMN status VARCHAR(32) NOT NULL;
+
+ALTER TABLE notifications_archive
+    MODIFY COLUMN type VARCHAR(32) NOT NULL,
+    MODIFY COLUMN status VARCHAR(32) NOT NULL;
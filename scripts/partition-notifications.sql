@@ -0,0 +1,21 @@
+-- One-time conversion of sems_notification.notifications to monthly RANGE partitions on
+-- created_at. Once partitioned, notification-service adds future partitions itself and
+-- retires expired ones by archiving and dropping whole partitions instead of deleting rows.
+--
+-- MySQL requires the partitioning column in every unique key, so the primary key becomes
+-- (id, created_at). The ALTER rebuilds the table: run it in a maintenance window.
+-- Add one partition per month that still holds data, oldest first, before p_future.
+
+USE sems_notification;
+
+ALTER TABLE notifications
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE notifications
+    PARTITION BY RANGE COLUMNS (created_at) (
+        PARTITION p202401 VALUES LESS THAN ('2024-02-01'),
+        PARTITION p202402 VALUES LESS THAN ('2024-03-01'),
+        PARTITION p202403 VALUES LESS THAN ('2024-04-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,123 @@
+package com.sems.common.resilience;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hedges calls to another service: a call still unanswered after {@code delayMs} is sent a
+ * second time alongside and the first success wins. Both legs run on a pool of at most
+ * {@code threads} threads without a queue; when it's full a call runs on the caller's thread
+ * or goes unhedged. With a delay of 0 calls are simply run.
+ * <p>
+ * Only hedge idempotent reads, and pass the bulkhead inside {@code call} so hedging never
+ * exceeds its concurrency limit.
+ */
+public class Hedger {
+
+    private final String target;
+    private final long delayMs;
+    private final ThreadPoolExecutor executor;
+    private final Counter hedges;
+
+    public Hedger(String target, long delayMs, int threads, Counter hedges) {
+        this.target = target;
+        this.delayMs = delayMs;
+        this.hedges = hedges;
+        if (delayMs > 0) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(),
+                    r -> {
+                        Thread thread = new Thread(r, target + "-hedge-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public <T> T call(Supplier<T> call) {
+        if (executor == null) {
+            return call.get();
+        }
+        CompletableFuture<T> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return call.get();
+        }
+        try {
+            return primary.get(delayMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Fall through to the hedge
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + target, e);
+        }
+
+        CompletableFuture<T> backup;
+        try {
+            backup = CompletableFuture.supplyAsync(call, executor);
+            hedges.increment();
+        } catch (RejectedExecutionException e) {
+            // No thread to spare, keep waiting on the first call
+            backup = null;
+        }
+        return await(backup != null ? firstSuccessful(primary, backup) : primary);
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> backup) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        for (CompletableFuture<T> leg : List.of(primary, backup)) {
+            leg.whenComplete((result, error) -> {
+                if (error == null) {
+                    winner.complete(result);
+                } else if (failed.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + target, e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
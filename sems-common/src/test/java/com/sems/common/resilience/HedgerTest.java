@@ -0,0 +1,99 @@
+package com.sems.common.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Counter hedges = meterRegistry.counter("test.hedges");
+    private Hedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void call_runsOnCallerThreadWithoutDelay() {
+        hedger = new Hedger("test-service", 0, 4, hedges);
+        Thread caller = Thread.currentThread();
+
+        assertEquals(caller, hedger.call(Thread::currentThread));
+        assertEquals(0, hedges.count());
+    }
+
+    @Test
+    void call_answersFromHedgeWhenFirstCallIsSlow() {
+        hedger = new Hedger("test-service", 50, 4, hedges);
+        AtomicInteger calls = new AtomicInteger();
+
+        long started = System.nanoTime();
+        String result = hedger.call(() -> {
+            if (calls.getAndIncrement() == 0) {
+                sleep(5000);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2000);
+        assertEquals(1, hedges.count());
+    }
+
+    @Test
+    void call_waitsForSlowCallWhenHedgeFails() {
+        hedger = new Hedger("test-service", 20, 4, hedges);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            if (calls.getAndIncrement() == 0) {
+                sleep(200);
+                return "slow";
+            }
+            throw new IllegalStateException("Connection refused");
+        });
+
+        assertEquals("slow", result);
+    }
+
+    @Test
+    void call_rethrowsFailureOfUnhedgedCall() {
+        hedger = new Hedger("test-service", 1000, 4, hedges);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> hedger.call(() -> {
+                    throw new IllegalArgumentException("Bad request");
+                }));
+
+        assertEquals("Bad request", error.getMessage());
+        assertEquals(0, hedges.count());
+    }
+
+    @Test
+    void call_runsInlineWhenNoThreadIsFree() {
+        hedger = new Hedger("test-service", 50, 1, hedges);
+        Thread caller = Thread.currentThread();
+
+        Thread inner = hedger.call(() -> hedger.call(Thread::currentThread));
+
+        assertNotEquals(caller, inner);
+        assertEquals(0, hedges.count());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}